@@ -116,6 +116,13 @@ public interface PaxWebConfig {
 	 */
 	String PID_CFG_SERVER_THREAD_NAME_PREFIX = "org.ops4j.pax.web.server.threadNamePrefix";
 
+	/**
+	 * Whether requests should be handled in virtual threads (requires JDK 21+, ignored with a warning on older
+	 * JVMs). Defaults to {@code false}. {@link #PID_CFG_SERVER_MAX_THREADS} then doesn't limit concurrent requests.
+	 * Jetty: {@code org.eclipse.jetty.util.thread.QueuedThreadPool#setVirtualThreadsExecutor(java.util.concurrent.Executor)}
+	 */
+	String PID_CFG_SERVER_VIRTUAL_THREADS = "org.ops4j.pax.web.server.virtualThreads";
+
 	/**
 	 * Jetty: adds {@code org.eclipse.jetty.server.ForwardedRequestCustomizer} to {@code HttpConfiguration}
 	 */
@@ -138,12 +145,53 @@ public interface PaxWebConfig {
 	 */
 	String PID_CFG_EVENT_DISPATCHER_THREAD_COUNT = "org.ops4j.pax.web.server.eventDispatcherThreadCount";
 
+	/**
+	 * <p>Time (in milliseconds) without new web element registrations after which the coalesced changes are applied
+	 * and affected contexts are (re)started. Defaults to {@code 0}, which disables coalescing, so each registration
+	 * is applied (and context is started) immediately.</p>
+	 *
+	 * <p>When enabled, registration returns before the affected context is (re)started, which has two
+	 * consequences:<ul>
+	 *     <li>Failures that happen when the context starts (context listeners, servlet initialization,
+	 *     {@code load-on-startup}) are only logged and are not reported to the registering code.</li>
+	 *     <li>Until the coalesced changes are applied (up to this time after the last registration), the affected
+	 *     context isn't started with new elements, so requests to newly registered servlets may get
+	 *     {@code 404}.</li>
+	 * </ul></p>
+	 */
+	String PID_CFG_BATCH_COALESCING_WINDOW = "org.ops4j.pax.web.server.batchCoalescingWindow";
+
+	/**
+	 * Maximum number of web element registrations/unregistrations coalesced before the affected contexts are
+	 * (re)started, even if the registrations keep coming within {@link #PID_CFG_BATCH_COALESCING_WINDOW}.
+	 * Defaults to {@code 100}.
+	 */
+	String PID_CFG_BATCH_COALESCING_MAX_BATCHES = "org.ops4j.pax.web.server.batchCoalescingMaxBatches";
+
 	/**
 	 * {@link org.osgi.framework.BundleContext} property to configure thread count for WAR
 	 * extender. Before Pax Web 8 it was hardcoded to 3 (which is still the default value).
 	 */
 	String BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_THREADS = "org.ops4j.pax.web.extender.war.threads";
 
+	/**
+	 * {@link org.osgi.framework.BundleContext} property to enable parallel scanning of WAB's jars, web fragments
+	 * and classes using a {@link java.util.concurrent.ForkJoinPool} with parallelism set by
+	 * {@link #BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_THREADS}. The scanned fragments and classes are still processed
+	 * in the same order as without parallel scanning. Defaults to {@code false}.
+	 */
+	String BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_PARALLEL_SCANNING = "org.ops4j.pax.web.extender.war.parallelScanning";
+
+	/**
+	 * {@link org.osgi.framework.BundleContext} property to enable persistent index of WAB's classes that were
+	 * found during scanning for annotated servlets/filters/listeners and for types declared in
+	 * {@link jakarta.servlet.annotation.HandlesTypes}. The index is stored in the data area of pax-web-extender-war
+	 * bundle and is keyed by WAB's and wired bundles' identity, version and last modification time. When the key
+	 * matches, only the indexed classes are checked again instead of scanning all the classes.
+	 * The index of a WAB is removed when the WAB is uninstalled. Defaults to {@code false}.
+	 */
+	String BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_SCAN_INDEX = "org.ops4j.pax.web.extender.war.scanIndex";
+
 	/**
 	 * Context property listing symbolic names of the bundles or jar names (in {@code /WEB-INF/lib}) patterns to skip
 	 * when searching for TLDs, web fragments and annotated classes. This property can have special value of
@@ -314,6 +362,15 @@ public interface PaxWebConfig {
 	String PID_CFG_DIGESTAUTH_MAX_NONCE_COUNT = "org.ops4j.pax.web.digestAuth.maxNonceCount";
 	/** Returns whether to forward (false, default) to form-login error page or use redirect (true) */
 	String PID_CFG_FORMAUTH_REDIRECT = "org.ops4j.pax.web.formAuth.errorRedirect";
+	/**
+	 * Time (in ms) for which successfully verified user credentials are cached by Undertow identity managers,
+	 * defaults to {@code 0}, which disables the cache. Cached credentials can be cleared earlier using
+	 * {@code invalidate(id)} and {@code invalidateAll()} operations of {@code org.ops4j.pax.web:type=CredentialCache}
+	 * MBean
+	 */
+	String PID_CFG_CREDENTIAL_CACHE_TTL = "org.ops4j.pax.web.credentialCache.ttl";
+	/** Maximum number of cached user credentials, defaults to 1024 */
+	String PID_CFG_CREDENTIAL_CACHE_MAX_ENTRIES = "org.ops4j.pax.web.credentialCache.maxEntries";
 
 	// --- logging configuration properties
 
@@ -433,6 +490,72 @@ public interface PaxWebConfig {
 	 */
 	String PID_CFG_DEFAULT_SERVLET_CACHE_TTL = "org.ops4j.pax.web.resource.cache.ttl";
 
+	/**
+	 * <p>Boolean property to specify whether resource servlets should serve {@code .br} / {@code .gz} siblings
+	 * of requested resources (if available in the bundle) to clients that accept such encoding. Defaults to
+	 * {@code false}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_PRECOMPRESSED = "org.ops4j.pax.web.resource.compression.precompressed";
+
+	/**
+	 * <p>Boolean property to specify whether resource servlets should compress (gzip) the resources of
+	 * {@link #PID_CFG_DEFAULT_SERVLET_COMPRESSION_MIME_TYPES compressible MIME types}. Compressed content is kept in
+	 * memory cache, so each resource is compressed once. Defaults to {@code false}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_GZIP = "org.ops4j.pax.web.resource.compression.gzip";
+
+	/**
+	 * <p>Comma-separated list of MIME types which are compressed by resource servlets when
+	 * {@link #PID_CFG_DEFAULT_SERVLET_GZIP} is enabled.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_COMPRESSION_MIME_TYPES = "org.ops4j.pax.web.resource.compression.mimeTypes";
+
+	/**
+	 * <p>Integer property to specify minimal size (in bytes) of resources compressed by resource servlets.
+	 * Defaults to {@code 1024}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_COMPRESSION_MIN_SIZE = "org.ops4j.pax.web.resource.compression.minSize";
+
+	/**
+	 * <p>Integer property to specify maximum total size (in kB) of compressed resources cached by resource
+	 * servlets. Defaults to {@code 10240}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_COMPRESSION_CACHE_SIZE = "org.ops4j.pax.web.resource.compression.cacheSize";
+
+	/**
+	 * <p>Boolean property to specify whether resource servlets should extract bundle resources (available through
+	 * {@code bundle:}/{@code bundleentry:} URLs) to files under {@link #PID_CFG_TEMP_DIR}, so they're served by
+	 * the runtimes directly from the file system (using {@code FileChannel} transfers/sendfile). Each resource is
+	 * extracted once per bundle revision. Defaults to {@code false}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_EXTRACTION = "org.ops4j.pax.web.resource.extraction";
+
+	/**
+	 * <p>Integer property to specify minimal size (in bytes) of bundle resources extracted when
+	 * {@link #PID_CFG_DEFAULT_SERVLET_EXTRACTION} is enabled. Defaults to {@code 65536}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_EXTRACTION_MIN_SIZE = "org.ops4j.pax.web.resource.extraction.minSize";
+
+	/**
+	 * <p>Property to specify how resource servlets calculate {@code ETag} of resources:<ul>
+	 *     <li>{@code default} - each runtime uses its own {@code ETag} (usually weak, based on size and
+	 *     modification time)</li>
+	 *     <li>{@code hash} - strong {@code ETag} based on hash of the content, calculated once per bundle revision
+	 *     and consistent across the runtimes</li>
+	 * </ul>
+	 * Defaults to {@code default}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_ETAG = "org.ops4j.pax.web.resource.etag";
+
+	/**
+	 * <p>Regular expression matching names of fingerprinted resources, which are sent with
+	 * {@code Cache-Control: public, max-age=31536000, immutable} when {@link #PID_CFG_DEFAULT_SERVLET_ETAG} is
+	 * {@code hash}. There's no default - {@code immutable} caching is used only when this property is set. For
+	 * example {@code ^.+[.-](?=[0-9a-f]*[0-9])(?=[0-9a-f]*[a-f])[0-9a-f]{8,}\\.[A-Za-z0-9]+$} matches names like
+	 * {@code app.3f2a9c1b.js}.</p>
+	 */
+	String PID_CFG_DEFAULT_SERVLET_IMMUTABLE_PATTERN = "org.ops4j.pax.web.resource.etag.immutablePattern";
+
 	/** Boolean property to configure the container to show or hide stack traces in <em>error handler</em>. */
 	String PID_CFG_SHOW_STACKS = "org.ops4j.pax.web.server.showStacks";
 
@@ -470,6 +593,12 @@ public interface PaxWebConfig {
 	/** Global Scratch directory for JSPs - by default it is relative to global tmp dir and depends on the context */
 	String PID_CFG_JSP_SCRATCH_DIR = "org.ops4j.pax.web.jsp.scratch.dir";
 
+	/**
+	 * Boolean property that enables translation and compilation of all the JSPs of a context (in parallel) when
+	 * JSP servlet is initialized instead of on first request. Defaults to {@code false}.
+	 */
+	String PID_CFG_JSP_PRECOMPILE = "org.ops4j.pax.web.jsp.precompile";
+
 	// Properties related to Jasypt encryption - both direct usage of Jasypt and via OSGi services
 
 	String PID_CFG_ENC_PROPERTY_PREFIX = "org.ops4j.pax.web.enc.";
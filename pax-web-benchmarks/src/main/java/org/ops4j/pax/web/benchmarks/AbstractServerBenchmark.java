@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for all the benchmarks - starts {@link BenchmarkServer} for each {@link Runtime} and lets
+ * subclasses register their web elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public abstract class AbstractServerBenchmark {
+
+	@Param({ "JETTY", "TOMCAT", "UNDERTOW" })
+	public Runtime runtime;
+
+	protected BenchmarkServer server;
+
+	@Setup(Level.Trial)
+	public void startServer() throws Exception {
+		server = new BenchmarkServer(runtime);
+		server.start(this::configure);
+		register(server);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopServer() throws Exception {
+		if (server != null) {
+			server.stop();
+			server = null;
+		}
+	}
+
+	/**
+	 * Additional configuration of the server (as if it was {@code org.ops4j.pax.web} PID).
+	 * @param properties
+	 */
+	protected void configure(Hashtable<Object, Object> properties) {
+	}
+
+	/**
+	 * Registration of the web elements used by the benchmark.
+	 * @param server
+	 */
+	protected abstract void register(BenchmarkServer server) throws Exception;
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Hashtable;
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletContext;
+
+import org.ops4j.pax.web.service.PaxWebConfig;
+import org.ops4j.pax.web.service.WebContainerContext;
+import org.ops4j.pax.web.service.internal.ConfigurationBuilder;
+import org.ops4j.pax.web.service.internal.MetaTypePropertyResolver;
+import org.ops4j.pax.web.service.jetty.internal.JettyServerControllerFactory;
+import org.ops4j.pax.web.service.spi.ServerController;
+import org.ops4j.pax.web.service.spi.ServerControllerFactory;
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.context.DefaultHttpContext;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.ops4j.pax.web.service.spi.model.ServerModel;
+import org.ops4j.pax.web.service.spi.model.elements.FilterModel;
+import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.task.Batch;
+import org.ops4j.pax.web.service.spi.util.NamedThreadFactory;
+import org.ops4j.pax.web.service.spi.util.Utils;
+import org.ops4j.pax.web.service.tomcat.internal.TomcatServerControllerFactory;
+import org.ops4j.pax.web.service.undertow.internal.UndertowServerControllerFactory;
+import org.ops4j.util.property.DictionaryPropertyResolver;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.framework.Version;
+import org.osgi.framework.namespace.HostNamespace;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.BundleWiring;
+import org.xnio.nio.NioXnioProvider;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * <p>Embedded Pax Web server used by the benchmarks. The server is configured in the same way as in
+ * {@code pax-web-itest-server} (without OSGi framework), but all the registrations are performed directly
+ * through {@link ServerModel} and {@link Batch}, so we measure the runtimes without Http Service or Whiteboard
+ * machinery in the way.</p>
+ *
+ * <p>The requests are sent over loopback interface with keep-alive {@link HttpClient}.</p>
+ */
+public class BenchmarkServer {
+
+	private final Runtime runtime;
+
+	private int port;
+	private ServerController controller;
+	private ServerModel serverModel;
+	private ExecutorService registrationExecutor;
+
+	private Bundle bundle;
+	private HttpClient client;
+
+	public BenchmarkServer(Runtime runtime) {
+		this.runtime = runtime;
+	}
+
+	/**
+	 * Configures and starts the server using default configuration, possibly altered by the callback.
+	 * @param callback
+	 * @throws Exception
+	 */
+	public void start(Consumer<Hashtable<Object, Object>> callback) throws Exception {
+		try (ServerSocket serverSocket = new ServerSocket(0)) {
+			port = serverSocket.getLocalPort();
+		}
+
+		Hashtable<Object, Object> properties = new Hashtable<>(System.getProperties());
+		properties.put(PaxWebConfig.PID_CFG_TEMP_DIR, "target/tmp");
+		properties.put(PaxWebConfig.PID_CFG_HTTP_PORT, Integer.toString(port));
+		if (callback != null) {
+			callback.accept(properties);
+		}
+
+		MetaTypePropertyResolver metatypeResolver = new MetaTypePropertyResolver();
+		DictionaryPropertyResolver resolver = new DictionaryPropertyResolver(properties, metatypeResolver);
+		Configuration config = ConfigurationBuilder.getConfiguration(resolver, Utils.toMap(properties));
+
+		ClassLoader classLoader = getClass().getClassLoader();
+		ServerControllerFactory factory = switch (runtime) {
+			case JETTY -> new JettyServerControllerFactory(null, classLoader);
+			case TOMCAT -> new TomcatServerControllerFactory(null, classLoader);
+			case UNDERTOW -> new UndertowServerControllerFactory(null, classLoader, new NioXnioProvider());
+		};
+		controller = factory.createServerController(config);
+		controller.configure();
+		controller.start();
+
+		registrationExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory("paxweb-config"));
+		serverModel = new ServerModel(registrationExecutor);
+
+		bundle = mockBundle("org.ops4j.pax.web.benchmarks");
+
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	public void stop() throws Exception {
+		if (controller != null) {
+			controller.stop();
+			controller = null;
+		}
+		if (registrationExecutor != null) {
+			registrationExecutor.shutdownNow();
+			registrationExecutor = null;
+		}
+		client = null;
+	}
+
+	public Runtime getRuntime() {
+		return runtime;
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public Bundle getBundle() {
+		return bundle;
+	}
+
+	/**
+	 * Creates (or gets existing) {@link OsgiContextModel} for given context path and id (name) of the context.
+	 * @param contextPath
+	 * @param contextId
+	 * @return
+	 */
+	public OsgiContextModel context(String contextPath, String contextId) throws Exception {
+		return context(contextPath, new DefaultHttpContext(bundle, contextId));
+	}
+
+	/**
+	 * Creates (or gets existing) {@link OsgiContextModel} for given context path, which uses static resources
+	 * from given directory (pretending they're bundle entries).
+	 * @param contextPath
+	 * @param contextId
+	 * @param resources
+	 * @return
+	 */
+	public OsgiContextModel context(String contextPath, String contextId, Path resources) throws Exception {
+		return context(contextPath, new DefaultHttpContext(bundle, contextId) {
+			@Override
+			public URL getResource(String name) {
+				Path p = resources.resolve(name.startsWith("/") ? name.substring(1) : name);
+				try {
+					return p.toFile().isFile() ? p.toUri().toURL() : null;
+				} catch (IOException e) {
+					return null;
+				}
+			}
+		});
+	}
+
+	private OsgiContextModel context(String contextPath, WebContainerContext wcc) throws Exception {
+		return serverModel.run(() -> {
+			Batch batch = new Batch("Context " + contextPath + " (" + wcc.getContextId() + ")");
+			OsgiContextModel model = serverModel.getOrCreateOsgiContextModel(wcc, bundle, contextPath, batch);
+			controller.sendBatch(batch);
+			batch.accept(serverModel);
+			return model;
+		}, false);
+	}
+
+	public void servlet(OsgiContextModel context, String name, Servlet servlet, String... patterns) throws Exception {
+		ServletModel model = new ServletModel.Builder()
+				.withServletName(name)
+				.withUrlPatterns(patterns)
+				.withServlet(servlet)
+				.withOsgiContextModel(context)
+				.withRegisteringBundle(bundle)
+				.build();
+		register(model);
+	}
+
+	public void resources(OsgiContextModel context, String alias) throws Exception {
+		ServletModel model = new ServletModel.Builder()
+				.withAlias(alias)
+				.withServletName("default-" + context.getName() + "-" + alias.replace('/', '_'))
+				.withServletSupplier(() -> controller.createResourceServlet(null, ""))
+				.withLoadOnStartup(1)
+				.withAsyncSupported(true)
+				.resourceServlet(true)
+				.withOsgiContextModel(context)
+				.withRegisteringBundle(bundle)
+				.build();
+		model.setBasePath("");
+		register(model);
+	}
+
+	public void filter(OsgiContextModel context, String name, Filter filter, String... patterns) throws Exception {
+		FilterModel model = new FilterModel.Builder()
+				.withFilterName(name)
+				.withUrlPatterns(patterns)
+				.withFilter(filter)
+				.withOsgiContextModel(context)
+				.withRegisteringBundle(bundle)
+				.build();
+		register(model);
+	}
+
+	public void preprocessor(OsgiContextModel context, String name, Filter preprocessor) throws Exception {
+		FilterModel model = new FilterModel.Builder()
+				.withFilterName(name)
+				.withUrlPatterns(new String[] { "/*" })
+				.withFilter(preprocessor)
+				.withOsgiContextModel(context)
+				.withRegisteringBundle(bundle)
+				.isPreprocessor(true)
+				.build();
+		register(model);
+	}
+
+	private void register(ServletModel model) throws Exception {
+		model.performValidation();
+		serverModel.run(() -> {
+			Batch batch = new Batch("Registration of " + model);
+			serverModel.addServletModel(model, batch);
+			controller.sendBatch(batch);
+			batch.accept(serverModel);
+			return null;
+		}, false);
+	}
+
+	private void register(FilterModel model) throws Exception {
+		model.performValidation();
+		serverModel.run(() -> {
+			Batch batch = new Batch("Registration of " + model);
+			serverModel.addFilterModel(model, batch);
+			controller.sendBatch(batch);
+			batch.accept(serverModel);
+			return null;
+		}, false);
+	}
+
+	/**
+	 * Creates new {@link HttpClient} - for benchmarks that need separate client state (like cookies) per thread.
+	 * @return
+	 */
+	public HttpClient newClient() {
+		return HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.cookieHandler(new java.net.CookieManager())
+				.build();
+	}
+
+	public HttpRequest request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).GET().build();
+	}
+
+	/**
+	 * Sends prepared GET request using shared client and returns the response body.
+	 * @param request
+	 * @return
+	 */
+	public byte[] get(HttpRequest request) throws IOException, InterruptedException {
+		return get(client, request);
+	}
+
+	public byte[] get(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected response " + response.statusCode() + " for "
+					+ request.uri() + " (" + runtime + ")");
+		}
+		return response.body();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Bundle mockBundle(String symbolicName) {
+		Bundle bundle = mock(Bundle.class);
+		BundleContext bundleContext = mock(BundleContext.class);
+		when(bundle.getSymbolicName()).thenReturn(symbolicName);
+		when(bundle.getBundleId()).thenReturn(42L);
+		when(bundle.getState()).thenReturn(Bundle.ACTIVE);
+		when(bundle.getVersion()).thenReturn(Version.parseVersion("1.0.0"));
+		when(bundle.toString()).thenReturn("Bundle \"" + symbolicName + "\"");
+		when(bundle.getBundleContext()).thenReturn(bundleContext);
+		when(bundleContext.getBundle()).thenReturn(bundle);
+
+		BundleWiring wiring = mock(BundleWiring.class);
+		when(bundle.adapt(BundleWiring.class)).thenReturn(wiring);
+		when(wiring.getClassLoader()).thenReturn(getClass().getClassLoader());
+
+		BundleRevision revision = mock(BundleRevision.class);
+		when(bundle.adapt(BundleRevision.class)).thenReturn(revision);
+		when(revision.getWiring()).thenReturn(wiring);
+		when(revision.getBundle()).thenReturn(bundle);
+
+		when(wiring.getProvidedWires(HostNamespace.HOST_NAMESPACE)).thenReturn(new LinkedList<>());
+		when(wiring.getRequiredWires(null)).thenReturn(new LinkedList<>());
+		when(wiring.getBundle()).thenReturn(bundle);
+
+		when(bundleContext.registerService(eq(ServletContext.class), any(ServletContext.class), any()))
+				.thenReturn(mock(ServiceRegistration.class));
+
+		return bundle;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.net.http.HttpRequest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+
+/**
+ * <p>Selection of the target context - both physical (context path) and OSGi one (many
+ * {@link OsgiContextModel OSGi contexts} registered with single context path, where filters should be applied
+ * only if they're registered with the same OSGi context as target servlet).</p>
+ *
+ * <p>Subsequent invocations target different contexts in round-robin fashion.</p>
+ */
+public class ContextSelectionBenchmark extends AbstractServerBenchmark {
+
+	@Param({ "1", "50" })
+	public int contextPaths;
+
+	@Param({ "10" })
+	public int osgiContexts;
+
+	private HttpRequest[] requests;
+
+	@Override
+	protected void register(BenchmarkServer server) throws Exception {
+		requests = new HttpRequest[contextPaths + osgiContexts];
+		int r = 0;
+		for (int i = 0; i < contextPaths; i++) {
+			OsgiContextModel context = server.context("/c" + i, "default");
+			server.servlet(context, "servlet-c" + i, new ServletDispatchBenchmark.HelloServlet(), "/s/*");
+			requests[r++] = server.request("/c" + i + "/s/x");
+		}
+		for (int i = 0; i < osgiContexts; i++) {
+			OsgiContextModel context = server.context("/shared", "context" + i);
+			server.servlet(context, "servlet-o" + i, new ServletDispatchBenchmark.HelloServlet(), "/s" + i + "/*");
+			server.filter(context, "filter-o" + i, new FilterChainBenchmark.CountingFilter(), "/*");
+			requests[r++] = server.request("/shared/s" + i + "/x");
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			next = 0;
+		}
+	}
+
+	@Benchmark
+	public byte[] selectContext(Cursor cursor) throws Exception {
+		HttpRequest request = requests[cursor.next++ % requests.length];
+		return server.get(request);
+	}
+
+}
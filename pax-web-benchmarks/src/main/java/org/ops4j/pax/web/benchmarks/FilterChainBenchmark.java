@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.osgi.service.servlet.whiteboard.Preprocessor;
+
+/**
+ * Dispatch through a chain of filters and OSGi Whiteboard {@link Preprocessor preprocessors}.
+ */
+public class FilterChainBenchmark extends AbstractServerBenchmark {
+
+	@Param({ "5" })
+	public int filters;
+
+	@Param({ "2" })
+	public int preprocessors;
+
+	private HttpRequest request;
+
+	@Override
+	protected void register(BenchmarkServer server) throws Exception {
+		OsgiContextModel context = server.context("/c", "default");
+		server.servlet(context, "hello", new ServletDispatchBenchmark.HelloServlet(), "/hello/*");
+		for (int i = 0; i < filters; i++) {
+			server.filter(context, "filter" + i, new CountingFilter(), "/*");
+		}
+		for (int i = 0; i < preprocessors; i++) {
+			server.preprocessor(context, "preprocessor" + i, new CountingPreprocessor());
+		}
+
+		request = server.request("/c/hello/world");
+	}
+
+	@Benchmark
+	public byte[] filterChain() throws Exception {
+		return server.get(request);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public byte[] filterChainConcurrent() throws Exception {
+		return server.get(request);
+	}
+
+	static class CountingFilter extends HttpFilter {
+		@Override
+		protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+				throws IOException, ServletException {
+			res.addIntHeader("X-Filter", 1);
+			chain.doFilter(req, res);
+		}
+	}
+
+	static class CountingPreprocessor implements Preprocessor {
+		@Override
+		public void init(FilterConfig filterConfig) {
+		}
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			((HttpServletResponse) response).addIntHeader("X-Preprocessor", 1);
+			chain.doFilter(request, response);
+		}
+
+		@Override
+		public void destroy() {
+		}
+	}
+
+}
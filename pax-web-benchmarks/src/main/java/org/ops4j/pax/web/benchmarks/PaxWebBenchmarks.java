@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Entry point of {@code pax-web-benchmarks.jar}. All the standard JMH command line options are accepted,
+ * but unless specified otherwise, the results are written in JSON format to {@code pax-web-benchmarks.json},
+ * so they can be compared between Pax Web releases.</p>
+ *
+ * <p>For example: {@code java -jar pax-web-benchmarks.jar -p runtime=JETTY FilterChain}</p>
+ */
+public final class PaxWebBenchmarks {
+
+	public static final String DEFAULT_RESULT_FILE = "pax-web-benchmarks.json";
+
+	private PaxWebBenchmarks() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+		if (!cmdOptions.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		if (!cmdOptions.getResult().hasValue()) {
+			builder.result(DEFAULT_RESULT_FILE);
+		}
+		if (cmdOptions.getIncludes().isEmpty()) {
+			builder.include(PaxWebBenchmarks.class.getPackageName() + ".*Benchmark");
+		}
+
+		new Runner(builder.build()).run();
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Threads;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+
+/**
+ * The simplest dispatch - single servlet without filters and preprocessors.
+ */
+public class ServletDispatchBenchmark extends AbstractServerBenchmark {
+
+	private HttpRequest request;
+
+	@Override
+	protected void register(BenchmarkServer server) throws Exception {
+		OsgiContextModel context = server.context("/c", "default");
+		server.servlet(context, "hello", new HelloServlet(), "/hello/*");
+
+		request = server.request("/c/hello/world");
+	}
+
+	@Benchmark
+	public byte[] servlet() throws Exception {
+		return server.get(request);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public byte[] servletConcurrent() throws Exception {
+		return server.get(request);
+	}
+
+	static class HelloServlet extends HttpServlet {
+		@Override
+		protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+			resp.setContentType("text/plain");
+			resp.getWriter().print("Hello " + req.getPathInfo());
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+
+/**
+ * Access to {@link HttpSession} - each benchmark thread has its own client (and cookie store), so after first
+ * request, existing session is used.
+ */
+public class SessionBenchmark extends AbstractServerBenchmark {
+
+	private HttpRequest request;
+
+	@Override
+	protected void register(BenchmarkServer server) throws Exception {
+		OsgiContextModel context = server.context("/c", "default");
+		server.servlet(context, "session", new SessionServlet(), "/session");
+
+		request = server.request("/c/session");
+	}
+
+	@State(Scope.Thread)
+	public static class Client {
+		HttpClient client;
+
+		@Setup(Level.Trial)
+		public void create(SessionBenchmark benchmark) {
+			client = benchmark.server.newClient();
+		}
+	}
+
+	@Benchmark
+	public byte[] session(Client client) throws Exception {
+		return server.get(client.client, request);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public byte[] sessionConcurrent(Client client) throws Exception {
+		return server.get(client.client, request);
+	}
+
+	static class SessionServlet extends HttpServlet {
+		@Override
+		protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+			HttpSession session = req.getSession();
+			Integer counter = (Integer) session.getAttribute("counter");
+			counter = counter == null ? 1 : counter + 1;
+			session.setAttribute("counter", counter);
+			resp.setContentType("text/plain");
+			resp.getWriter().print(counter);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.benchmarks;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Level;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+
+/**
+ * Static resources served by runtime-specific resource servlets, where the resources are obtained
+ * through {@link org.ops4j.pax.web.service.WebContainerContext#getResource(String)} (as it's done for bundle
+ * entries).
+ */
+public class StaticResourceBenchmark extends AbstractServerBenchmark {
+
+	@Param({ "1024", "262144" })
+	public int size;
+
+	private Path resources;
+	private HttpRequest request;
+
+	@Override
+	protected void register(BenchmarkServer server) throws Exception {
+		resources = Files.createTempDirectory("pax-web-benchmarks");
+		byte[] content = new byte[size];
+		Arrays.fill(content, (byte) 'x');
+		Files.write(resources.resolve("static.js"), content);
+
+		OsgiContextModel context = server.context("/c", "default", resources);
+		server.resources(context, "/static");
+
+		request = server.request("/c/static/static.js");
+	}
+
+	@TearDown(Level.Trial)
+	public void cleanup() throws Exception {
+		if (resources != null) {
+			Files.deleteIfExists(resources.resolve("static.js"));
+			Files.deleteIfExists(resources);
+		}
+	}
+
+	@Benchmark
+	public byte[] resource() throws Exception {
+		return server.get(request);
+	}
+
+}
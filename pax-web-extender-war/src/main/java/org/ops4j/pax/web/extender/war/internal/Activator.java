@@ -144,6 +144,9 @@ public class Activator extends AbstractExtender {
 	public void bundleChanged(BundleEvent event) {
 		// prevent confusing "Starting destruction process" for bundles that were never tracked
 		Bundle bundle = event.getBundle();
+		if (event.getType() == BundleEvent.UNINSTALLED && warExtenderContext != null) {
+			warExtenderContext.bundleUninstalled(bundle);
+		}
 		if (bundle.getState() != Bundle.ACTIVE && bundle.getState() != Bundle.STARTING) {
 			if (extensions.containsKey(bundle)) {
 				super.bundleChanged(event);
@@ -15,6 +15,7 @@
  */
 package org.ops4j.pax.web.extender.war.internal;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -32,6 +33,8 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -122,6 +125,16 @@ public class WarExtenderContext implements WebContainerListener, ReportViewPlugi
 
 	private final WabConflictListener wabConflictListener;
 
+	/**
+	 * Pool used to scan WAB's jars and classes in parallel. {@code null} if parallel scanning is not enabled.
+	 */
+	private final ForkJoinPool scanningPool;
+
+	/**
+	 * Directory for persistent indexes of scanned WAB classes. {@code null} if scan index is not enabled.
+	 */
+	private final File scanIndexDirectory;
+
 	private final List<String> jarsToSkip = new CopyOnWriteArrayList<>();
 	private final List<String> jarsToScan = new CopyOnWriteArrayList<>();
 
@@ -253,6 +266,38 @@ public class WarExtenderContext implements WebContainerListener, ReportViewPlugi
 			scannedJarsList = Collections.emptyList();
 		}
 
+		String parallelScanning = bundleContext.getProperty(PaxWebConfig.BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_PARALLEL_SCANNING);
+		if (Boolean.parseBoolean(parallelScanning)) {
+			int threads = 3;
+			String threadsValue = bundleContext.getProperty(PaxWebConfig.BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_THREADS);
+			if (threadsValue != null && !"".equals(threadsValue)) {
+				try {
+					threads = Math.max(1, Integer.parseInt(threadsValue));
+				} catch (NumberFormatException ignored) {
+				}
+			}
+			LOG.info("Configuring parallel WAB scanning. Parallelism = {}", threads);
+			scanningPool = new ForkJoinPool(threads, fjp -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+				thread.setName("wab-scanner-" + thread.getPoolIndex());
+				return thread;
+			}, null, false);
+		} else {
+			scanningPool = null;
+		}
+
+		String scanIndex = bundleContext.getProperty(PaxWebConfig.BUNDLE_CONTEXT_PROPERTY_WAR_EXTENDER_SCAN_INDEX);
+		if (Boolean.parseBoolean(scanIndex)) {
+			scanIndexDirectory = bundleContext.getDataFile("scan-index");
+			if (scanIndexDirectory == null) {
+				LOG.warn("Can't enable WAB scan index - file system support is not available");
+			} else {
+				LOG.info("Configuring WAB scan index in {}", scanIndexDirectory);
+			}
+		} else {
+			scanIndexDirectory = null;
+		}
+
 		// dispatcher of events related to WAB lifecycle (128.5 Events)
 		webApplicationEventDispatcher = new WebApplicationEventDispatcher(bundleContext);
 
@@ -292,6 +337,10 @@ public class WarExtenderContext implements WebContainerListener, ReportViewPlugi
 		}
 
 		webContainerManager.shutdown();
+
+		if (scanningPool != null) {
+			scanningPool.shutdownNow();
+		}
 	}
 
 	public ExecutorService getPool() {
@@ -302,6 +351,42 @@ public class WarExtenderContext implements WebContainerListener, ReportViewPlugi
 		this.pool.set(pool);
 	}
 
+	/**
+	 * Returns a {@link ForkJoinPool} to scan WAB's jars and classes in parallel or {@code null} if jars should
+	 * be scanned sequentially.
+	 * @return
+	 */
+	public ForkJoinPool getScanningPool() {
+		return scanningPool;
+	}
+
+	/**
+	 * Returns a file where the index of scanned classes of given WAB is stored or {@code null} if WAB classes should
+	 * always be fully scanned. The index is kept in the data area of this bundle and not in Pax Web temporary
+	 * directory, because the file name uses bundle ID, which is unique only within single framework storage, while
+	 * the temporary directory (by default {@code java.io.tmpdir}) may be shared.
+	 * @param wab
+	 * @return
+	 */
+	public File getScanIndexFile(Bundle wab) {
+		return scanIndexDirectory == null ? null : new File(scanIndexDirectory, "wab-" + wab.getBundleId() + ".idx");
+	}
+
+	/**
+	 * Called when a bundle is uninstalled to remove data kept for it.
+	 * @param bundle
+	 */
+	public void bundleUninstalled(Bundle bundle) {
+		File indexFile = getScanIndexFile(bundle);
+		if (indexFile != null && indexFile.isFile()) {
+			if (indexFile.delete()) {
+				LOG.debug("Removed scan index {} of uninstalled {}", indexFile, bundle);
+			} else {
+				LOG.warn("Can't remove scan index {} of uninstalled {}", indexFile, bundle);
+			}
+		}
+	}
+
 	public List<String> getJarsToSkip() {
 		return jarsToSkip;
 	}
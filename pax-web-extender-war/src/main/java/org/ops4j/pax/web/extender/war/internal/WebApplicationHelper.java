@@ -21,6 +21,7 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 
+import org.ops4j.pax.web.service.spi.context.CacheableResourceLookup;
 import org.ops4j.pax.web.service.spi.context.DefaultServletContextHelper;
 import org.ops4j.pax.web.service.spi.util.Path;
 import org.ops4j.pax.web.utils.ClassPathUtil;
@@ -35,8 +36,11 @@ import org.slf4j.LoggerFactory;
  * which doesn't consider fragments, while chapter "128.3.5 Static Content" says:<blockquote>
  *     For a WAB, these resources must be found according to the findEntries method, this method includes fragments.
  * </blockquote></p>
+ *
+ * <p>The lookups depend only on WAB bundle, its fragments and reachable bundles, so the results are cached in
+ * {@link org.ops4j.pax.web.service.spi.servlet.OsgiServletContext}.</p>
  */
-public class WebApplicationHelper extends DefaultServletContextHelper {
+public class WebApplicationHelper extends DefaultServletContextHelper implements CacheableResourceLookup {
 
 	public static final Logger LOG = LoggerFactory.getLogger(WebApplicationHelper.class);
 
@@ -48,8 +52,6 @@ public class WebApplicationHelper extends DefaultServletContextHelper {
 		this.metainfResourceRoots = metainfResourceRoots;
 	}
 
-	// TODO: even if resources may be cached at Jetty/Tomcat/UndertowResourceServlet, we should cache URLs here
-
 	@Override
 	public URL getResource(String name) {
 		if ("/".equals(name)) {
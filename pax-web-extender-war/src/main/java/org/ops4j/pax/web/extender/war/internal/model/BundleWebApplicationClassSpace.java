@@ -16,13 +16,17 @@
 package org.ops4j.pax.web.extender.war.internal.model;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -34,6 +38,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import jakarta.servlet.ServletContainerInitializer;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.annotation.MultipartConfig;
@@ -92,6 +99,9 @@ public class BundleWebApplicationClassSpace {
 
 	private static final Set<ServletContainerInitializer> NO_SCIS = new HashSet<>();
 
+	/** Number of {@code *.class} files parsed in parallel before they're processed */
+	private static final int SCAN_CHUNK_SIZE = 1024;
+
 	private final Bundle wabBundle;
 	private OsgiServletContextClassLoader wabClassLoader;
 
@@ -155,10 +165,16 @@ public class BundleWebApplicationClassSpace {
 	private List<String> orderedLibs = null;
 
 	// similar to org.apache.catalina.startup.ContextConfig.ok
-	private boolean fragmentParsingOK = true;
+	private volatile boolean fragmentParsingOK = true;
 
 	private WebXml mainWebXml;
 
+	/**
+	 * The WAB, its attached fragments and all wired bundles checked for web fragments - used to determine whether
+	 * persistent {@link ClassScanIndex} is still valid.
+	 */
+	private final List<Bundle> classSpaceBundles = new ArrayList<>();
+
 	/**
 	 * Creates a classpace for a {@link Bundle} with "main" web descriptor already parsed. In OSGi, there may be
 	 * more {@code web.xml} descriptors found, when WAB itself is a host for some OSGi bundle fragments.
@@ -282,24 +298,30 @@ public class BundleWebApplicationClassSpace {
 		// but doesn't mention anything about searching these directory entries for web fragments. So we're following
 		// Tomcat here.
 
+		classSpaceBundles.add(wabBundle);
+
 		LOG.trace("Searching for web fragments in WAB Bundle-ClassPath jars");
-		URL[] jars = ClassPathUtil.getClassPathJars(wabBundle, false);
-		for (URL url : jars) {
+		List<URL> jars = Arrays.asList(ClassPathUtil.getClassPathJars(wabBundle, false));
+		List<ScanResult<WebXml>> jarFragments = scan(jars, url -> {
 			LOG.trace("  Checking embedded jar {}", url);
-
-			try {
-				String jarName = extractJarFileName(url.toString());
-				boolean skipScanning = extenderContext.skipJarScanning(jarName);
-				WebXml fragment = process(url, parseRequired && !skipScanning, skipScanning, jarName);
-				// URL of the JAR, not of its /META-INF/web-fragment.xml, because there may be no such file
-				fragment.setWebappJar(true);
-
-				addFragment(fragment);
-				wabClassPath.put(fragment.getJarName(), url);
-				wabClassPathSkipped.put(fragment.getJarName(), skipScanning);
-			} catch (Exception e) {
-				LOG.warn("  Problem scanning embedded jar {}: {}", url, e.getMessage(), e);
+			String jarName = extractJarFileName(url.toString());
+			boolean skipScanning = extenderContext.skipJarScanning(jarName);
+			return process(url, parseRequired && !skipScanning, skipScanning, jarName);
+		});
+		for (int i = 0; i < jars.size(); i++) {
+			URL url = jars.get(i);
+			ScanResult<WebXml> result = jarFragments.get(i);
+			if (result.error != null) {
+				LOG.warn("  Problem scanning embedded jar {}: {}", url, result.error.getMessage(), result.error);
+				continue;
 			}
+			WebXml fragment = result.value;
+			// URL of the JAR, not of its /META-INF/web-fragment.xml, because there may be no such file
+			fragment.setWebappJar(true);
+
+			addFragment(fragment);
+			wabClassPath.put(fragment.getJarName(), url);
+			wabClassPathSkipped.put(fragment.getJarName(), extenderContext.skipJarScanning(fragment.getJarName()));
 		}
 
 		// 2) The WAB itself may have attached bundle fragments, which should be treated (my decision) as webAppJars
@@ -313,6 +335,7 @@ public class BundleWebApplicationClassSpace {
 				for (BundleWire wire : hostWires) {
 					Bundle b = wire.getRequirerWiring().getBundle();
 					LOG.trace("  Checking bundle fragment {}", b);
+					classSpaceBundles.add(b);
 					try {
 						// take bundle.getEntry("/") as the URL of the web fragment
 						URL fragmentRootURL = b.getEntry("/");
@@ -386,6 +409,7 @@ public class BundleWebApplicationClassSpace {
 			}
 		}
 
+		List<Bundle> scannedBundles = new ArrayList<>(bundles.size());
 		while (bundles.size() > 0) {
 			// org.apache.tomcat.util.scan.StandardJarScanner.processURLs() - Tomcat traverses CL hierarchy
 			// and collects non-filtered (see conf/catalina.properties:
@@ -398,25 +422,32 @@ public class BundleWebApplicationClassSpace {
 				continue;
 			}
 
-			if (processedBundles.contains(scannedBundle)) {
-				continue;
+			if (processedBundles.add(scannedBundle)) {
+				scannedBundles.add(scannedBundle);
 			}
+		}
 
+		classSpaceBundles.addAll(scannedBundles);
+
+		// bundles may be checked in parallel, but the fragments are added in the original order
+		List<ScanResult<List<WebXml>>> bundleFragments = scan(scannedBundles, scannedBundle -> {
 			LOG.trace("  Checking wired bundle {}", scannedBundle);
-			try {
-				extenderContext.skipBundleScanning(scannedBundle);
-				List<WebXml> fragmentList = process(scannedBundle, parseRequired);
-				for (WebXml fragment : fragmentList) {
-					addFragment(fragment);
-					if (!fragment.getWebappJar()) {
-						containerFragmentBundles.put(fragment.getJarName(), scannedBundle);
-					} else {
-						applicationFragmentBundles.put(fragment.getJarName(), scannedBundle);
-					}
+			return process(scannedBundle, parseRequired);
+		});
+		for (int i = 0; i < scannedBundles.size(); i++) {
+			Bundle scannedBundle = scannedBundles.get(i);
+			ScanResult<List<WebXml>> result = bundleFragments.get(i);
+			if (result.error != null) {
+				LOG.warn("  Problem scanning wired bundle {}: {}", scannedBundle, result.error.getMessage(), result.error);
+				continue;
+			}
+			for (WebXml fragment : result.value) {
+				addFragment(fragment);
+				if (!fragment.getWebappJar()) {
+					containerFragmentBundles.put(fragment.getJarName(), scannedBundle);
+				} else {
+					applicationFragmentBundles.put(fragment.getJarName(), scannedBundle);
 				}
-				processedBundles.add(scannedBundle);
-			} catch (Exception e) {
-				LOG.warn("  Problem scanning wired bundle {}: {}", scannedBundle, e.getMessage(), e);
 			}
 		}
 
@@ -584,7 +615,9 @@ public class BundleWebApplicationClassSpace {
 					LOG.trace("    Found web fragment with invalid descriptor, name: {}, url: {}, jarName: {}",
 							fragment.getName(), fragment.getURL(), fragment.getJarName());
 				}
-				fragmentParsingOK &= ok;
+				if (!ok) {
+					fragmentParsingOK = false;
+				}
 				fragments.add(fragment);
 			}
 			return fragments;
@@ -915,6 +948,21 @@ public class BundleWebApplicationClassSpace {
 		root.interfaceNames = new String[0];
 		javaClassCache.put(root.superClassName, root);
 
+		// with persistent index, we may skip listing and parsing of all the classes and check only the classes
+		// which were relevant (matching @HandlesTypes or annotated) when the same class space was scanned before
+		File indexFile = extenderContext.getScanIndexFile(wabBundle);
+		ClassScanIndex index = null;
+		ClassScanIndex previousIndex = null;
+		if (indexFile != null) {
+			String key = scanIndexKey(htToSci);
+			previousIndex = ClassScanIndex.load(indexFile, key);
+			if (previousIndex != null) {
+				LOG.debug("Using scan index {} for {}", indexFile, wabBundle);
+			}
+			index = new ClassScanIndex(key);
+		}
+		boolean indexComplete = previousIndex != null;
+
 		// 1. scan classes in non-JAR entries from WAB's Bundle-ClassPath
 		//     - always for types from @HandlesTypes
 		//     - possibly for other annotated types if metadata-complete="false" on this.mainWebXml
@@ -923,21 +971,31 @@ public class BundleWebApplicationClassSpace {
 		URL[] urls = ClassPathUtil.getClassPathNonJars(wabBundle);
 		boolean htOnly = mainWebXml.isMetadataComplete();
 		Set<String> processedRoots = new HashSet<>();
+		// directories for which classes were taken from the index, so they're not in processedRoots yet
+		List<URL> indexedDirectories = new ArrayList<>();
 
 		for (URL url : urls) {
 			LOG.trace("  Scanning embedded directory: {}", url);
-			List<URL> classes = ClassPathUtil.findEntries(wabBundle, new URL[] { url }, "/", "*.class", true);
-			for (URL u : classes) {
-				processedRoots.add(u.toExternalForm());
-				if (!u.getPath().endsWith(".class")) {
-					// skip entries like
-					// "jar:bundle://40.0:0/WEB-INF/lib/spring-core-5.3.6.jar!/org/springframework/core/type/classreading/"
-					continue;
+			String indexRoot = "dir:" + url.toExternalForm();
+			List<URL> classFiles = previousIndex == null ? null : previousIndex.getClasses(indexRoot);
+			if (classFiles == null) {
+				indexComplete = false;
+				List<URL> classes = ClassPathUtil.findEntries(wabBundle, new URL[] { url }, "/", "*.class", true);
+				classFiles = new ArrayList<>(classes.size());
+				for (URL u : classes) {
+					processedRoots.add(u.toExternalForm());
+					if (!u.getPath().endsWith(".class")) {
+						// skip entries like
+						// "jar:bundle://40.0:0/WEB-INF/lib/spring-core-5.3.6.jar!/org/springframework/core/type/classreading/"
+						continue;
+					}
+					classFiles.add(u);
 				}
-				LOG.trace("    Scanning {}", u);
-				processClass(u, mainWebXml, wabBundle, htOnly, htToSci, sciToHt, javaClassCache,
-						thereAreHTClasses, thereAreHTAnnotations);
+			} else {
+				indexedDirectories.add(url);
 			}
+			processClasses(classFiles, mainWebXml, wabBundle, htOnly, htToSci, sciToHt, javaClassCache,
+					thereAreHTClasses, thereAreHTAnnotations, indexRoot, index);
 		}
 
 		// 2. scan all ordered jars - not only those from jakarta.servlet.ServletContext.ORDERED_LIBS, but really
@@ -979,9 +1037,28 @@ public class BundleWebApplicationClassSpace {
 			LOG.trace("  Scanning ordered fragment {}, {} ({})", jarName, fragment.getURL(),
 					fragment.getWebappJar() ? "WAB" : "container");
 
+			boolean fragmentHtOnly = htOnly || fragment.isMetadataComplete() || !fragment.getWebappJar();
+			String indexRoot = "fragment:" + jarName;
+			List<URL> classFiles = previousIndex == null ? null : previousIndex.getClasses(indexRoot);
+			if (classFiles != null) {
+				processClasses(classFiles, fragment, fragmentBundle, fragmentHtOnly, htToSci, sciToHt, javaClassCache,
+						thereAreHTClasses, thereAreHTAnnotations, indexRoot, index);
+				continue;
+			}
+			indexComplete = false;
+
+			if (fragmentBundle == wabBundle && bundleFragment && !indexedDirectories.isEmpty()) {
+				// directories were not listed, because their classes were taken from the index, but we need
+				// to know their entries to skip them below
+				for (URL u : ClassPathUtil.findEntries(wabBundle, indexedDirectories.toArray(new URL[0]), "/", "*.class", true)) {
+					processedRoots.add(u.toExternalForm());
+				}
+				indexedDirectories.clear();
+			}
+
 			List<URL> classes = ClassPathUtil.findEntries(fragmentBundle,
 					new URL[] { fragment.getURL() }, "/", "*.class", true);
-			boolean fragmentHtOnly = htOnly || fragment.isMetadataComplete() || !fragment.getWebappJar();
+			classFiles = new ArrayList<>(classes.size());
 			for (URL u : classes) {
 				if (fragmentBundle == wabBundle && bundleFragment) {
 					// when a bundle fragment is scanned through WABs bundle, *.class resources found using
@@ -1006,19 +1083,156 @@ public class BundleWebApplicationClassSpace {
 					// "jar:bundle://40.0:0/WEB-INF/lib/spring-core-5.3.6.jar!/org/springframework/core/type/classreading/"
 					continue;
 				}
-				LOG.trace("    Scanning {}", u);
-				processClass(u, fragment, fragmentBundle, fragmentHtOnly, htToSci, sciToHt, javaClassCache,
-						thereAreHTClasses, thereAreHTAnnotations);
+				classFiles.add(u);
 			}
+			processClasses(classFiles, fragment, fragmentBundle, fragmentHtOnly, htToSci, sciToHt, javaClassCache,
+					thereAreHTClasses, thereAreHTAnnotations, indexRoot, index);
 		}
 
 		javaClassCache.clear();
+
+		if (index != null && !indexComplete) {
+			index.store(indexFile, wabBundle.toString());
+		}
+	}
+
+	/**
+	 * Calculates a key for {@link ClassScanIndex} of this class space. The key covers identity, version and last
+	 * modification time of all the bundles in the class space, the ordered fragments and the types from
+	 * {@link jakarta.servlet.annotation.HandlesTypes} of all SCIs.
+	 * @param htToSci
+	 * @return
+	 */
+	private String scanIndexKey(Map<Class<?>, Set<ServletContainerInitializer>> htToSci) {
+		// order of wired bundles and of (relatively ordered) fragments may differ between restarts, but it doesn't
+		// change the set of relevant classes in each root
+		List<String> elements = new ArrayList<>();
+		for (Bundle b : classSpaceBundles) {
+			elements.add("bundle:" + b.getBundleId() + ":" + b.getSymbolicName() + ":" + b.getVersion()
+					+ ":" + b.getLastModified());
+		}
+		elements.add("metadata-complete:" + mainWebXml.isMetadataComplete());
+		for (Map.Entry<String, WebXml> e : orderedFragments.entrySet()) {
+			WebXml fragment = e.getValue();
+			elements.add("fragment:" + e.getKey() + ":" + fragment.isMetadataComplete() + ":"
+					+ fragment.getWebappJar() + ":" + wabClassPathSkipped.get(e.getKey()));
+		}
+		for (Map.Entry<Class<?>, Set<ServletContainerInitializer>> e : htToSci.entrySet()) {
+			List<String> scis = new ArrayList<>();
+			for (ServletContainerInitializer sci : e.getValue()) {
+				scis.add(sci.getClass().getName());
+			}
+			Collections.sort(scis);
+			elements.add("ht:" + e.getKey().getName() + ":" + scis);
+		}
+		Collections.sort(elements);
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String element : elements) {
+				digest.update(element.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) '\n');
+			}
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest()) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Parses (possibly in parallel, in chunks of {@link #SCAN_CHUNK_SIZE}) and then processes (sequentially, in
+	 * original order) {@code *.class} files of single root/fragment. Classes relevant for the scanning are
+	 * recorded in the {@link ClassScanIndex} (if available).
+	 */
+	private void processClasses(List<URL> classFiles, WebXml fragment, Bundle bundle, boolean fragmentHtOnly,
+			Map<Class<?>, Set<ServletContainerInitializer>> htToSci,
+			Map<ServletContainerInitializer, Set<Class<?>>> sciToHt, Map<String, ClassCacheEntry> javaClassCache,
+			boolean thereAreHTClasses, boolean thereAreHTAnnotations, String indexRoot, ClassScanIndex index) {
+		List<URL> relevant = new ArrayList<>();
+		if (extenderContext.getScanningPool() == null) {
+			for (URL u : classFiles) {
+				LOG.trace("    Scanning {}", u);
+				JavaClass clazz = parseClass(u);
+				if (clazz != null && processClass(clazz, fragment, bundle, fragmentHtOnly, htToSci, sciToHt,
+						javaClassCache, thereAreHTClasses, thereAreHTAnnotations)) {
+					relevant.add(u);
+				}
+			}
+			if (index != null) {
+				index.record(indexRoot, relevant);
+			}
+			return;
+		}
+
+		for (int start = 0; start < classFiles.size(); start += SCAN_CHUNK_SIZE) {
+			List<URL> chunk = classFiles.subList(start, Math.min(classFiles.size(), start + SCAN_CHUNK_SIZE));
+			List<ScanResult<JavaClass>> parsed = scan(chunk, this::parseClass);
+			for (int i = 0; i < chunk.size(); i++) {
+				LOG.trace("    Scanning {}", chunk.get(i));
+				JavaClass clazz = parsed.get(i).value;
+				if (clazz != null && processClass(clazz, fragment, bundle, fragmentHtOnly, htToSci, sciToHt,
+						javaClassCache, thereAreHTClasses, thereAreHTAnnotations)) {
+					relevant.add(chunk.get(i));
+				}
+			}
+		}
+		if (index != null) {
+			index.record(indexRoot, relevant);
+		}
+	}
+
+	/**
+	 * Parses {@code *.class} file using BCEL {@link ClassParser}.
+	 * @param url
+	 * @return parsed class or {@code null} if it can't be read
+	 */
+	private JavaClass parseClass(URL url) {
+		try (InputStream is = url.openStream()) {
+			return new ClassParser(is).parse();
+		} catch (IOException e) {
+			LOG.warn("Can't read {}: {}", url, e.getMessage(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Maps the items (jars, bundles, classes) using a function that may be called in parallel if
+	 * {@link WarExtenderContext#getScanningPool()} is available. Results are returned in the order of the items,
+	 * so they can be merged deterministically.
+	 * @param items
+	 * @param task
+	 * @return
+	 */
+	private <T, R> List<ScanResult<R>> scan(List<T> items, ScanTask<T, R> task) {
+		ForkJoinPool pool = extenderContext.getScanningPool();
+		if (pool == null || items.size() < 2) {
+			List<ScanResult<R>> results = new ArrayList<>(items.size());
+			for (T item : items) {
+				results.add(ScanResult.of(task, item));
+			}
+			return results;
+		}
+		try {
+			// parallel stream run from within ForkJoinPool's task uses this pool
+			return pool.submit(() -> items.parallelStream()
+					.map(item -> ScanResult.of(task, item))
+					.collect(Collectors.toList())).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while scanning " + wabBundle, e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Problem scanning " + wabBundle + ": " + e.getCause().getMessage(), e.getCause());
+		}
 	}
 
 	/**
 	 * Check the class whether it's one of the types mentioned in {@link jakarta.servlet.annotation.HandlesTypes}
 	 * and also potentially check it for annotations like {@link jakarta.servlet.annotation.WebServlet}.
-	 * @param url an URI for {@code *.class} file
+	 * @param clazz parsed {@code *.class} file
 	 * @param fragment a {@link WebXml} representing a "web fragment" - whether or not it is associated with
 	 *        {@code web-fragment.xml}
 	 * @param bundle {@link Bundle} used to load the classes from
@@ -1030,32 +1244,30 @@ public class BundleWebApplicationClassSpace {
 	 *        {@link jakarta.servlet.annotation.HandlesTypes}
 	 * @param thereAreHTAnnotations {@code true} if any of the SCIs has any annotation types among values of
 	 *        {@link jakarta.servlet.annotation.HandlesTypes}
+	 * @return {@code true} if the class was passed to any SCI or was an annotated web element
 	 */
-	private void processClass(URL url, WebXml fragment, Bundle bundle, boolean fragmentHtOnly,
+	private boolean processClass(JavaClass clazz, WebXml fragment, Bundle bundle, boolean fragmentHtOnly,
 			Map<Class<?>, Set<ServletContainerInitializer>> htToSci,
 			Map<ServletContainerInitializer, Set<Class<?>>> sciToHt, Map<String, ClassCacheEntry> javaClassCache,
 			boolean thereAreHTClasses, boolean thereAreHTAnnotations) {
-		try (InputStream is = url.openStream()) {
-			ClassParser parser = new ClassParser(is);
-			JavaClass clazz = parser.parse();
-			if (thereAreHTClasses || thereAreHTAnnotations) {
-				if ((clazz.getAccessFlags() & org.apache.tomcat.util.bcel.Const.ACC_ANNOTATION) == 0) {
-					// check only a non-annotation *.class, whether it:
-					// - is annotated with any annotation from @HandlesTypes
-					// - implements an interface from @HandlesTypes
-					// - extends a class from from @HandlesTypes
-					checkHandlesTypes(clazz, bundle, htToSci, sciToHt, javaClassCache,
-							thereAreHTClasses, thereAreHTAnnotations);
-				}
+		boolean relevant = false;
+		if (thereAreHTClasses || thereAreHTAnnotations) {
+			if ((clazz.getAccessFlags() & org.apache.tomcat.util.bcel.Const.ACC_ANNOTATION) == 0) {
+				// check only a non-annotation *.class, whether it:
+				// - is annotated with any annotation from @HandlesTypes
+				// - implements an interface from @HandlesTypes
+				// - extends a class from from @HandlesTypes
+				relevant = checkHandlesTypes(clazz, bundle, htToSci, sciToHt, javaClassCache,
+						thereAreHTClasses, thereAreHTAnnotations);
 			}
+		}
 
-			if (!fragmentHtOnly) {
-				// do not check if the class should be scanned for annotations like @WebServlet, @WebFilter, ...
-				checkClass(fragment, bundle, htToSci, clazz, javaClassCache);
-			}
-		} catch (IOException e) {
-			LOG.warn("Can't read {}: {}", url, e.getMessage(), e);
+		if (!fragmentHtOnly) {
+			// do not check if the class should be scanned for annotations like @WebServlet, @WebFilter, ...
+			relevant |= checkClass(fragment, bundle, htToSci, clazz, javaClassCache);
 		}
+
+		return relevant;
 	}
 
 	/**
@@ -1075,14 +1287,16 @@ public class BundleWebApplicationClassSpace {
 	 *        {@link jakarta.servlet.annotation.HandlesTypes}
 	 * @param thereAreHTAnnotations {@code true} if any of the SCIs has any annotation types among values of
 	 *        {@link jakarta.servlet.annotation.HandlesTypes}
+	 * @return {@code true} if the class was passed to any SCI
 	 */
-	private void checkHandlesTypes(JavaClass clazz, Bundle bundle,
+	private boolean checkHandlesTypes(JavaClass clazz, Bundle bundle,
 			Map<Class<?>, Set<ServletContainerInitializer>> htToSci,
 			Map<ServletContainerInitializer, Set<Class<?>>> sciToHt,
 			Map<String, ClassCacheEntry> javaClassCache, boolean thereAreHTClasses, boolean thereAreHTAnnotations) {
 
 		String className = clazz.getClassName();
 		Class<?> loadedClass = null;
+		boolean relevant = false;
 
 		if (thereAreHTClasses) {
 			// check if this JavaClass:
@@ -1119,15 +1333,16 @@ public class BundleWebApplicationClassSpace {
 					if (LOG.isTraceEnabled()) {
 						LOG.trace("      Can't load {}, using {}: {}. Skipping.", className, bundle, t.getMessage());
 					}
-					return;
+					return relevant;
 				}
 				if (loadedClass == null) {
-					return;
+					return relevant;
 				}
 				// we already know which SCIs have @HT with this class' superclass or interfaces
 				for (ServletContainerInitializer sci : cce.scis) {
 					sciToHt.computeIfAbsent(sci, s -> new HashSet<>()).add(loadedClass);
 				}
+				relevant = true;
 			}
 		}
 
@@ -1135,7 +1350,7 @@ public class BundleWebApplicationClassSpace {
 			// check if this JavaClass:
 			//  - is annotated with a type mentioned in @HandlesTypes (see https://bz.apache.org/bugzilla/show_bug.cgi?id=65244)
 			if (clazz.getAnnotationEntries() == null) {
-				return;
+				return relevant;
 			}
 			for (AnnotationEntry ae : clazz.getAnnotationEntries()) {
 				// type is in "Ljakarta/servlet/annotation/HandlesTypes;" form
@@ -1160,21 +1375,24 @@ public class BundleWebApplicationClassSpace {
 										LOG.trace("      Can't load {} annotated with {}, using {}: {}. Skipping.",
 												className, annotationClassName, bundle, t.getMessage());
 									}
-									return;
+									return relevant;
 								}
 								if (loadedClass == null) {
-									return;
+									return relevant;
 								}
 							}
 							// all SCIs interested in this type needs to get real related class
 							for (ServletContainerInitializer sci : entry.getValue()) {
 								sciToHt.computeIfAbsent(sci, s -> new HashSet<>()).add(loadedClass);
 							}
+							relevant = true;
 						}
 					}
 				}
 			}
 		}
+
+		return relevant;
 	}
 
 	/**
@@ -1186,11 +1404,12 @@ public class BundleWebApplicationClassSpace {
 	 * @param htToSci
 	 * @param clazz
 	 * @param javaClassCache
+	 * @return {@code true} if the class is annotated servlet, filter or listener
 	 */
-	private void checkClass(WebXml fragment, Bundle bundle, Map<Class<?>, Set<ServletContainerInitializer>> htToSci, JavaClass clazz, Map<String, ClassCacheEntry> javaClassCache) {
+	private boolean checkClass(WebXml fragment, Bundle bundle, Map<Class<?>, Set<ServletContainerInitializer>> htToSci, JavaClass clazz, Map<String, ClassCacheEntry> javaClassCache) {
 		AnnotationEntry[] ae = clazz.getAnnotationEntries();
 		if (ae == null) {
-			return;
+			return false;
 		}
 
 		String webElementClassName = clazz.getClassName();
@@ -1201,18 +1420,20 @@ public class BundleWebApplicationClassSpace {
 				case "jakarta.servlet.annotation.WebServlet":
 					LOG.trace("      Processing annotated servlet {}", webElementClassName);
 					processAnnotatedServletClass(webElementClassName, fragment, bundle, ann, clazz, javaClassCache);
-					return;
+					return true;
 				case "jakarta.servlet.annotation.WebFilter":
 					LOG.trace("      Processing annotated filter {}", webElementClassName);
 					processAnnotatedFilterClass(webElementClassName, fragment, bundle, ann, clazz);
-					return;
+					return true;
 				case "jakarta.servlet.annotation.WebListener":
 					LOG.trace("      Processing annotated listener {}", webElementClassName);
 					fragment.addListener(webElementClassName);
-					return;
+					return true;
 				default:
 			}
 		}
+
+		return false;
 	}
 
 	private void processAnnotatedServletClass(String className, WebXml fragment, Bundle bundle, AnnotationEntry ann, JavaClass clazz, Map<String, ClassCacheEntry> javaClassCache) {
@@ -1699,4 +1920,36 @@ public class BundleWebApplicationClassSpace {
 		Set<ServletContainerInitializer> scis;
 	}
 
+	/**
+	 * Scanning operation for single jar, bundle or class.
+	 * @param <T>
+	 * @param <R>
+	 */
+	@FunctionalInterface
+	private interface ScanTask<T, R> {
+		R scan(T item) throws Exception;
+	}
+
+	/**
+	 * Result (or failure) of single {@link ScanTask}.
+	 * @param <R>
+	 */
+	private static final class ScanResult<R> {
+		private final R value;
+		private final Exception error;
+
+		private ScanResult(R value, Exception error) {
+			this.value = value;
+			this.error = error;
+		}
+
+		static <T, R> ScanResult<R> of(ScanTask<T, R> task, T item) {
+			try {
+				return new ScanResult<>(task.scan(item), null);
+			} catch (Exception e) {
+				return new ScanResult<>(null, e);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.extender.war.internal.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Persistent index of WAB classes which were <em>relevant</em> during scanning - annotated with
+ * {@link jakarta.servlet.annotation.WebServlet} (or other web annotations) or matching any of the types
+ * declared in {@link jakarta.servlet.annotation.HandlesTypes}.</p>
+ *
+ * <p>The classes are grouped by <em>root</em> (directory entry of {@code Bundle-ClassPath} or a web fragment) and
+ * the index is valid only for a {@code key} calculated from the WAB's class space. When the key matches, only the
+ * indexed classes have to be checked instead of all the classes found in the roots.</p>
+ */
+class ClassScanIndex {
+
+	public static final Logger LOG = LoggerFactory.getLogger(ClassScanIndex.class);
+
+	private static final String KEY = "key=";
+	private static final String ROOT = "root=";
+
+	private final String key;
+
+	/** Relevant classes (as external form of {@code *.class} resource URLs) keyed by root. */
+	private final Map<String, List<String>> roots = new LinkedHashMap<>();
+
+	ClassScanIndex(String key) {
+		this.key = key;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Records the classes found relevant in given root. Should be called for each root, even with empty list.
+	 * @param root
+	 * @param classes
+	 */
+	public void record(String root, List<URL> classes) {
+		List<String> urls = roots.computeIfAbsent(root, r -> new ArrayList<>(classes.size()));
+		for (URL url : classes) {
+			urls.add(url.toExternalForm());
+		}
+	}
+
+	/**
+	 * Returns the classes recorded for given root or {@code null} if the root wasn't recorded.
+	 * @param root
+	 * @return
+	 */
+	public List<URL> getClasses(String root) {
+		List<String> urls = roots.get(root);
+		if (urls == null) {
+			return null;
+		}
+		List<URL> result = new ArrayList<>(urls.size());
+		for (String url : urls) {
+			try {
+				result.add(new URL(url));
+			} catch (MalformedURLException e) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Loads an index from a file. The index is returned only if its key matches the passed key and all the
+	 * recorded classes are still available.
+	 * @param file
+	 * @param key
+	 * @return
+	 */
+	public static ClassScanIndex load(File file, String key) {
+		if (!file.isFile()) {
+			return null;
+		}
+		ClassScanIndex index = new ClassScanIndex(key);
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			List<String> urls = null;
+			boolean keyMatches = false;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				if (line.startsWith(KEY)) {
+					keyMatches = key.equals(line.substring(KEY.length()));
+					if (!keyMatches) {
+						LOG.debug("Scan index {} is outdated", file);
+						return null;
+					}
+				} else if (!keyMatches) {
+					return null;
+				} else if (line.startsWith(ROOT)) {
+					urls = index.roots.computeIfAbsent(line.substring(ROOT.length()), r -> new ArrayList<>());
+				} else if (urls != null) {
+					urls.add(line);
+				}
+			}
+			if (!keyMatches) {
+				return null;
+			}
+		} catch (IOException e) {
+			LOG.warn("Can't read scan index {}: {}", file, e.getMessage(), e);
+			return null;
+		}
+
+		// the key should cover all the bundles, but let's be sure that indexed classes are still there
+		for (List<String> urls : index.roots.values()) {
+			for (String url : urls) {
+				try (InputStream ignored = new URL(url).openStream()) {
+					LOG.trace("  Found indexed class {}", url);
+				} catch (IOException e) {
+					LOG.debug("Indexed class {} is no longer available, scan index {} is outdated", url, file);
+					return null;
+				}
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Stores the index in a file.
+	 * @param file
+	 * @param description
+	 */
+	public void store(File file, String description) {
+		Path target = file.toPath();
+		Path tmp = null;
+		try {
+			Files.createDirectories(target.getParent());
+			tmp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+				writer.write("# Pax Web class scan index for " + description);
+				writer.newLine();
+				writer.write(KEY + key);
+				writer.newLine();
+				for (Map.Entry<String, List<String>> e : roots.entrySet()) {
+					writer.write(ROOT + e.getKey());
+					writer.newLine();
+					for (String url : e.getValue()) {
+						writer.write(url);
+						writer.newLine();
+					}
+				}
+			}
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			tmp = null;
+		} catch (IOException e) {
+			LOG.warn("Can't store scan index {}: {}", file, e.getMessage(), e);
+		} finally {
+			if (tmp != null) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (IOException ignored) {
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.extender.war.internal.model;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassScanIndexTest {
+
+	@TempDir
+	File dir;
+
+	@Test
+	public void storeAndLoad() throws Exception {
+		File c1 = new File(dir, "C1.class");
+		File c2 = new File(dir, "C2.class");
+		Files.write(c1.toPath(), new byte[] { 1 });
+		Files.write(c2.toPath(), new byte[] { 2 });
+		URL u1 = c1.toURI().toURL();
+		URL u2 = c2.toURI().toURL();
+
+		File file = new File(dir, "index/wab-42.idx");
+		assertNull(ClassScanIndex.load(file, "k1"));
+
+		ClassScanIndex index = new ClassScanIndex("k1");
+		index.record("dir:/WEB-INF/classes/", Arrays.asList(u1, u2));
+		index.record("fragment:lib.jar", Collections.emptyList());
+		index.store(file, "test");
+		assertTrue(file.isFile());
+
+		ClassScanIndex loaded = ClassScanIndex.load(file, "k1");
+		assertNotNull(loaded);
+		assertEquals(Arrays.asList(u1, u2), loaded.getClasses("dir:/WEB-INF/classes/"));
+		assertEquals(Collections.emptyList(), loaded.getClasses("fragment:lib.jar"));
+		assertNull(loaded.getClasses("fragment:other.jar"));
+
+		// different class space
+		assertNull(ClassScanIndex.load(file, "k2"));
+
+		// indexed class was removed
+		assertTrue(c2.delete());
+		assertNull(ClassScanIndex.load(file, "k1"));
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.extender.whiteboard.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.osgi.framework.Filter;
+import org.osgi.service.servlet.whiteboard.HttpWhiteboardConstants;
+
+/**
+ * <p>Index of {@link OsgiContextModel} contexts by {@link HttpWhiteboardConstants#HTTP_WHITEBOARD_CONTEXT_NAME}
+ * registration property, used to evaluate {@code osgi.http.whiteboard.context.select} selectors without matching
+ * all the contexts.</p>
+ *
+ * <p>Selectors like {@code (osgi.http.whiteboard.context.name=xxx)} are checked only against the contexts with
+ * given name and {@code (osgi.http.whiteboard.context.name=*)} selects all the contexts with a name. Other
+ * selectors are matched against all the contexts. Results are cached by selector, so the index should be
+ * recreated whenever the contexts change.</p>
+ */
+class ContextSelectorIndex {
+
+	private static final Pattern NAME_SELECTOR = Pattern.compile("^\\(" + Pattern.quote(HttpWhiteboardConstants.HTTP_WHITEBOARD_CONTEXT_NAME)
+			+ "=([^*()\\\\\\s]*|\\*)\\)$");
+
+	private final List<OsgiContextModel> contexts;
+
+	/** Contexts by {@link String} value of {@link HttpWhiteboardConstants#HTTP_WHITEBOARD_CONTEXT_NAME} */
+	private final Map<String, List<OsgiContextModel>> byName = new HashMap<>();
+
+	/** Contexts with a name, but not as single {@link String} - these are always checked using the selector */
+	private final List<OsgiContextModel> otherNames = new ArrayList<>();
+
+	/** Contexts with any name */
+	private final List<OsgiContextModel> named = new ArrayList<>();
+
+	/** Selector to matching contexts cache */
+	private final Map<String, List<OsgiContextModel>> cache = new HashMap<>();
+
+	/**
+	 * Creates an index of the contexts that may be selected (are registered).
+	 * @param contexts
+	 */
+	ContextSelectorIndex(List<OsgiContextModel> contexts) {
+		this.contexts = contexts;
+		for (OsgiContextModel model : contexts) {
+			Object name = model.getContextRegistrationProperties().get(HttpWhiteboardConstants.HTTP_WHITEBOARD_CONTEXT_NAME);
+			if (name instanceof String) {
+				byName.computeIfAbsent((String) name, n -> new ArrayList<>(1)).add(model);
+				named.add(model);
+			} else if (name != null) {
+				otherNames.add(model);
+				named.add(model);
+			}
+		}
+	}
+
+	/**
+	 * Returns all the indexed contexts matching the selector.
+	 * @param selector
+	 * @return
+	 */
+	List<OsgiContextModel> select(Filter selector) {
+		return cache.computeIfAbsent(selector.toString(), s -> Collections.unmodifiableList(match(selector, s)));
+	}
+
+	private List<OsgiContextModel> match(Filter selector, String filter) {
+		Matcher m = NAME_SELECTOR.matcher(filter);
+		if (m.matches()) {
+			String name = m.group(1);
+			if ("*".equals(name)) {
+				// presence filter
+				return new ArrayList<>(named);
+			}
+			List<OsgiContextModel> result = new ArrayList<>(byName.getOrDefault(name, Collections.emptyList()));
+			for (OsgiContextModel model : otherNames) {
+				if (selector.matchCase(model.getContextRegistrationProperties())) {
+					result.add(model);
+				}
+			}
+			return result;
+		}
+
+		// full scan for other filters
+		List<OsgiContextModel> result = new ArrayList<>();
+		for (OsgiContextModel model : contexts) {
+			if (selector.matchCase(model.getContextRegistrationProperties())) {
+				result.add(model);
+			}
+		}
+		return result;
+	}
+
+}
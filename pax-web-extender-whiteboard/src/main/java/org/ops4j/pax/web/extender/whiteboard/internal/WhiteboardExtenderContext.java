@@ -27,6 +27,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -134,6 +135,19 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 	/** Flag marking actual registration of {@link OsgiContextModel#DEFAULT_CONTEXT_MODEL}. */
 	private AtomicBoolean defaultContextRegistered = new AtomicBoolean(false);
 
+	/**
+	 * Version of the state used to resolve contexts - incremented whenever {@link #osgiContextsList}, the
+	 * registration state of the contexts or {@link #defaultContextRegistered} change.
+	 */
+	private final AtomicLong contextsVersion = new AtomicLong();
+
+	/**
+	 * Index (and cache) of selected contexts from {@link #osgiContextsList} for {@link #contextsVersion}.
+	 * Accessed within the {@link #lock}.
+	 */
+	private ContextSelectorIndex contextSelectorIndex;
+	private long contextSelectorIndexVersion = -1L;
+
 	/**
 	 * Local executor used only to handle events from ServerModel to free its own global executor.
 	 * See <a href="https://github.com/ops4j/org.ops4j.pax.web/issues/2057">pax.web#2057</a>
@@ -196,6 +210,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 		lock.lock();
 		try {
 			application = bundleApplications.remove(bundle);
+			contextsChanged();
 		} finally {
 			lock.unlock();
 		}
@@ -293,35 +308,9 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 			// will be determined at registration time
 			List<OsgiContextModel> targetContexts = new ArrayList<>();
 
-			// check _contexts_ managed at pax-web-extender-whiteboard level
-			for (OsgiContextModel model : osgiContextsList) {
-				// one line "140.3 Common Whiteboard Properties" implementation of LDAP filter matching
-				BundleWhiteboardApplication app = getBundleApplication(model.getOwnerBundle());
-				if (OsgiContextModel.DEFAULT_CONTEXT_MODEL.equals(model) && !defaultContextRegistered.get()) {
-					// it may happen if the HttpService ref is handed to pax-web-extender-whiteboard later
-					continue;
-				}
-				if (!OsgiContextModel.DEFAULT_CONTEXT_MODEL.equals(model)
-						&& (app == null || !app.isRegistered(model))) {
-					// if the HttpService is added after pax-web-extender-whiteboard did the tracking, we may
-					// end with this situation:
-					//  - bundle A registers a "default" context (like OCM-2)
-					//  - bundle B registers a servlet targetting "default" context - it's already found in
-					//    this.osgiContextsList
-					//  - HttpService is registered
-					//  - pax-web-extender-whiteboard gets the service and passes it to each "whiteboard app"
-					//    from the hashmap
-					//  - "whiteboard app" for bundle B gets the reference and registers the servlet - but the runtime
-					//    (Jetty, Tomcat, Undertow) doesn't know anything about the context yet
-					//  - "whiteboard app" for bundle A gets the reference and only then registers its context
-					//
-					// that's why we have to skip the OsgiContextModels that are not really registered yet
-					continue;
-				}
-				if (selector.matchCase(model.getContextRegistrationProperties())) {
-					targetContexts.add(model);
-				}
-			}
+			// check _contexts_ managed at pax-web-extender-whiteboard level - using an index of contexts which is
+			// recreated after the contexts (or their registration state) change and which caches the results by selector
+			targetContexts.addAll(getContextSelectorIndex().select(selector));
 
 			// get all the bundle-scoped contexts from HttpService. These will never
 			// have "osgi.http.whiteboard.context.name" property specified, only
@@ -361,6 +350,52 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 		}
 	}
 
+	/**
+	 * Returns {@link ContextSelectorIndex} for current {@link #contextsVersion} - must be called within the lock.
+	 * @return
+	 */
+	private ContextSelectorIndex getContextSelectorIndex() {
+		long version = contextsVersion.get();
+		if (contextSelectorIndex == null || contextSelectorIndexVersion != version) {
+			List<OsgiContextModel> selectable = new ArrayList<>(osgiContextsList.size());
+			for (OsgiContextModel model : osgiContextsList) {
+				BundleWhiteboardApplication app = getBundleApplication(model.getOwnerBundle());
+				if (OsgiContextModel.DEFAULT_CONTEXT_MODEL.equals(model) && !defaultContextRegistered.get()) {
+					// it may happen if the HttpService ref is handed to pax-web-extender-whiteboard later
+					continue;
+				}
+				if (!OsgiContextModel.DEFAULT_CONTEXT_MODEL.equals(model)
+						&& (app == null || !app.isRegistered(model))) {
+					// if the HttpService is added after pax-web-extender-whiteboard did the tracking, we may
+					// end with this situation:
+					//  - bundle A registers a "default" context (like OCM-2)
+					//  - bundle B registers a servlet targetting "default" context - it's already found in
+					//    this.osgiContextsList
+					//  - HttpService is registered
+					//  - pax-web-extender-whiteboard gets the service and passes it to each "whiteboard app"
+					//    from the hashmap
+					//  - "whiteboard app" for bundle B gets the reference and registers the servlet - but the runtime
+					//    (Jetty, Tomcat, Undertow) doesn't know anything about the context yet
+					//  - "whiteboard app" for bundle A gets the reference and only then registers its context
+					//
+					// that's why we have to skip the OsgiContextModels that are not really registered yet
+					continue;
+				}
+				selectable.add(model);
+			}
+			contextSelectorIndex = new ContextSelectorIndex(selectable);
+			contextSelectorIndexVersion = version;
+		}
+		return contextSelectorIndex;
+	}
+
+	/**
+	 * Marks the state used to resolve the contexts as changed.
+	 */
+	private void contextsChanged() {
+		contextsVersion.incrementAndGet();
+	}
+
 	// --- Handling registration/unregistration of target WebContainer, where we want to register Whiteboard services
 
 	public void webContainerAdded(ServiceReference<WebContainer> ref) {
@@ -369,6 +404,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 			// install global, default OSGi Context Model using bundle context of pax-web-extender-whiteboard bundle
 			view.addWhiteboardOsgiContextModel(OsgiContextModel.DEFAULT_CONTEXT_MODEL);
 			defaultContextRegistered.set(true);
+			contextsChanged();
 			// register a listener, so when WABs are installed/uninstalled, their OsgiContextModels are used as
 			// the context with highest priority - hiding both the context managed by pax-web-runtime and the contexts
 			// registered by pax-web-extender-whiteboard
@@ -404,6 +440,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 		if (view != null) {
 			// uninstall global, default OSGi Context Model
 			defaultContextRegistered.set(false);
+			contextsChanged();
 			view.removeWhiteboardOsgiContextModel(OsgiContextModel.DEFAULT_CONTEXT_MODEL);
 		}
 		// finally now we can actually release the service
@@ -424,6 +461,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 			// whether the web element/context is already registered - that's much easier than in case
 			// of pax-web-extender-war
 			bundleApplications.values().forEach(ba -> ba.webContainerAdded(ref));
+			contextsChanged();
 		} finally {
 			lock.unlock();
 		}
@@ -438,6 +476,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 		lock.lock();
 		try {
 			bundleApplications.values().forEach(ba -> ba.webContainerRemoved(ref));
+			contextsChanged();
 		} finally {
 			lock.unlock();
 		}
@@ -456,6 +495,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 			osgiContextsList.add(model);
 
 			getBundleApplication(bundle).addWebContext(model);
+			contextsChanged();
 
 			reRegisterWebElements();
 		} finally {
@@ -470,6 +510,7 @@ public class WhiteboardExtenderContext implements WebContainerListener, WebConte
 				osgiContexts.get(model.getName()).remove(model);
 			}
 			osgiContextsList.remove(model);
+			contextsChanged();
 
 			reRegisterWebElements();
 
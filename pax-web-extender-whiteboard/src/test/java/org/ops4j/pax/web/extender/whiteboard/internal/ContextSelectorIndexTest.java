@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.extender.whiteboard.internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.PaxWebConstants;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.service.servlet.whiteboard.HttpWhiteboardConstants;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContextSelectorIndexTest {
+
+	@Test
+	public void selectContexts() throws Exception {
+		OsgiContextModel c1 = context("c1", "/c1");
+		OsgiContextModel c2 = context("c2", "/c2");
+		OsgiContextModel c2b = context("c2", "/c2b");
+		OsgiContextModel multi = context(null, "/m");
+		multi.getContextRegistrationProperties().put(HttpWhiteboardConstants.HTTP_WHITEBOARD_CONTEXT_NAME, new String[] { "c1", "x" });
+		OsgiContextModel hs = context(null, "/hs");
+		hs.getContextRegistrationProperties().put(PaxWebConstants.HTTP_SERVICE_CONTEXT_PROPERTY, "b1");
+
+		ContextSelectorIndex index = new ContextSelectorIndex(Arrays.asList(c1, c2, c2b, multi, hs));
+
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=c2)")))
+				.containsExactly(c2, c2b);
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=c1)")))
+				.containsExactly(c1, multi);
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=c3)"))).isEmpty();
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=*)")))
+				.containsExactly(c1, c2, c2b, multi);
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.httpservice=*)")))
+				.containsExactly(hs);
+		assertThat(index.select(FrameworkUtil.createFilter("(|(osgi.http.whiteboard.context.name=c1)(osgi.http.whiteboard.context.path=/c2b))")))
+				.containsExactly(c1, c2b, multi);
+
+		// cached
+		List<OsgiContextModel> result = index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=c2)"));
+		assertThat(index.select(FrameworkUtil.createFilter("(osgi.http.whiteboard.context.name=c2)"))).isSameAs(result);
+	}
+
+	private static OsgiContextModel context(String name, String path) {
+		OsgiContextModel model = new OsgiContextModel(null, 0, 0L, true);
+		model.setContextPath(path);
+		if (name != null) {
+			model.setName(name);
+			model.getContextRegistrationProperties().put(HttpWhiteboardConstants.HTTP_WHITEBOARD_CONTEXT_NAME, name);
+		}
+		model.getContextRegistrationProperties().put(HttpWhiteboardConstants.HTTP_WHITEBOARD_CONTEXT_PATH, path);
+		return model;
+	}
+
+}
@@ -19,8 +19,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import io.undertow.servlet.api.SessionPersistenceManager;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -42,6 +42,7 @@ import org.ops4j.pax.web.itest.server.support.Utils;
 import org.ops4j.pax.web.service.WebContainer;
 import org.ops4j.pax.web.service.internal.HttpServiceEnabled;
 import org.ops4j.pax.web.service.internal.StoppableHttpService;
+import org.ops4j.pax.web.service.undertow.internal.FileSessionPersistence;
 import org.osgi.framework.Bundle;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -108,12 +109,13 @@ public class WebContainerSessionPersistenceTest extends MultiContainerTestSuppor
 		if (runtime == Runtime.UNDERTOW) {
 			controller.stop();
 			controller = null;
-			ObjectInputStream ois = new ObjectInputStream(new FileInputStream("target/sessions/ROOT"));
-			Object sessions = ois.readObject();
-			assertNotNull(sessions);
-			assertTrue(sessions instanceof LinkedHashMap);
-			assertThat(((Map<?, ?>) sessions).size(), equalTo(3));
-			ois.close();
+			assertTrue(new File("target/sessions/ROOT.idx").isFile());
+			Map<String, SessionPersistenceManager.PersistentSession> sessions
+					= new FileSessionPersistence(new File("target/sessions")).loadSessionAttributes("ROOT", getClass().getClassLoader());
+			assertThat(sessions.size(), equalTo(3));
+			for (SessionPersistenceManager.PersistentSession session : sessions.values()) {
+				assertNotNull(session.getSessionData().get("counter"));
+			}
 		} else if (runtime == Runtime.TOMCAT) {
 			controller.stop();
 			ObjectInputStream ois = new ObjectInputStream(new FileInputStream("target/sessions/SESSIONS.ser"));
@@ -47,11 +47,14 @@ import org.osgi.framework.dto.ServiceReferenceDTO;
 import org.ops4j.pax.web.service.http.HttpContext;
 import org.osgi.service.servlet.context.ServletContextHelper;
 import org.osgi.service.servlet.runtime.HttpServiceRuntime;
+import org.osgi.service.servlet.runtime.dto.RuntimeDTO;
 import org.osgi.service.servlet.whiteboard.HttpWhiteboardConstants;
 
 import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertNotSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.ops4j.pax.web.itest.server.support.Utils.httpGET;
@@ -260,7 +263,13 @@ public class WhiteboardContextsTest extends MultiContainerTestSupport {
 		assertThat(httpGET(port, "/c3/s?token=3&get_a=true"), endsWith("}c3{"));
 		assertThat(httpGET(port, "/c4/s?token=4&get_a=true"), endsWith("}c4{"));
 
-		serverModel.getRuntimeDTO();
+		RuntimeDTO runtimeDTO = serverModel.getRuntimeDTO();
+		RuntimeDTO runtimeDTO2 = serverModel.getRuntimeDTO();
+		// the model didn't change, so the DTOs are not built again - but each caller gets its own copy
+		assertNotSame(runtimeDTO.servletContextDTOs, runtimeDTO2.servletContextDTOs);
+		assertNotSame(runtimeDTO.servletContextDTOs[0], runtimeDTO2.servletContextDTOs[0]);
+		assertThat(runtimeDTO2.servletContextDTOs[0].name, equalTo(runtimeDTO.servletContextDTOs[0].name));
+		assertThat(serverModel.calculateRequestInfoDTO("/c2/s").servletDTO.name, equalTo("servlet1"));
 
 		getServletCustomizer().removedService(servletRef, model);
 	}
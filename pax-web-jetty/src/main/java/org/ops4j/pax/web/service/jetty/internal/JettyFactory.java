@@ -49,6 +49,7 @@ import org.ops4j.pax.web.service.spi.config.Configuration;
 import org.ops4j.pax.web.service.spi.config.SecurityConfiguration;
 import org.ops4j.pax.web.service.spi.config.ServerConfiguration;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContextClassLoader;
+import org.ops4j.pax.web.service.spi.util.VirtualThreadSupport;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.wiring.BundleWiring;
@@ -103,6 +104,37 @@ class JettyFactory {
 		}
 	}
 
+	/**
+	 * Changes sizes and idle timeout of running {@link QueuedThreadPool}, using the same defaults as
+	 * {@link #createThreadPool(Configuration)}.
+	 *
+	 * @param qtp
+	 * @param configuration
+	 */
+	public void reconfigureThreadPool(QueuedThreadPool qtp, Configuration configuration) {
+		ServerConfiguration sc = configuration.server();
+
+		Integer maxThreads = sc.getServerMaxThreads();
+		if (maxThreads == null) {
+			maxThreads = 200;
+		}
+		Integer minThreads = sc.getServerMinThreads();
+		if (minThreads == null) {
+			minThreads = Math.min(8, maxThreads);
+		}
+		Integer idleTimeout = sc.getServerIdleTimeout();
+		if (idleTimeout == null) {
+			idleTimeout = 60000;
+		}
+
+		LOG.info("Changing Jetty thread pool {} configuration: minThreads={}, maxThreads={}, idleTimeout={}",
+				qtp.getName(), minThreads, maxThreads, idleTimeout);
+		// lowering maxThreads below current minThreads lowers minThreads too
+		qtp.setMaxThreads(maxThreads);
+		qtp.setMinThreads(Math.min(minThreads, maxThreads));
+		qtp.setIdleTimeout(idleTimeout);
+	}
+
 	/**
 	 * Create {@link QueuedThreadPool} for Jetty Server
 	 *
@@ -133,6 +165,12 @@ class JettyFactory {
 			qtp.setName(prefix);
 		}
 
+		if (VirtualThreadSupport.useVirtualThreads(sc.isServerVirtualThreads())) {
+			// selectors, acceptors and other internal tasks still use the pool, but requests are handled
+			// in virtual threads named after the pool
+			qtp.setVirtualThreadsExecutor(VirtualThreadSupport.newVirtualThreadPerTaskExecutor(qtp.getName() + "-virtual-"));
+		}
+
 		// PAXWEB-1127: load org.eclipse.jetty.util.FutureCallback class, so it's there when we shutdown connectors
 		// to avoid NPE in org.apache.felix.framework.BundleWiringImpl.searchImports()
 		try {
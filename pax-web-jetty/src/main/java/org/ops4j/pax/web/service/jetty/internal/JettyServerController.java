@@ -29,8 +29,13 @@ import org.ops4j.pax.web.service.jetty.internal.web.JettyResourceServlet;
 import org.ops4j.pax.web.service.spi.ServerController;
 import org.ops4j.pax.web.service.spi.ServerState;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.model.events.ServerEvent;
 import org.ops4j.pax.web.service.spi.model.events.ServerListener;
+import org.ops4j.pax.web.service.spi.servlet.ContentHashETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.ops4j.pax.web.service.spi.task.Batch;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
@@ -62,6 +67,15 @@ class JettyServerController implements ServerController {
 	 */
 	private JettyServerWrapper jettyServerWrapper;
 
+	/** Compression of static resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceCompression resourceCompression;
+
+	/** Extraction of bundle resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceExtractionCache resourceExtraction;
+
+	/** {@code ETag} strategy shared by all resource servlets ({@code null} to use Jetty's own {@code ETags}) */
+	private final ResourceETagStrategy etagStrategy;
+
 	JettyServerController(Bundle paxWebJettyBundle, ClassLoader classLoader,
 			JettyFactory jettyFactory, Configuration configuration) {
 		this.paxWebJettyBundle = paxWebJettyBundle;
@@ -71,6 +85,12 @@ class JettyServerController implements ServerController {
 		this.state = ServerState.UNCONFIGURED;
 
 		this.listeners = Collections.synchronizedSet(new LinkedHashSet<>());
+		this.resourceCompression = ResourceCompression.create(configuration.resources());
+		this.resourceExtraction = ResourceExtractionCache.create(configuration);
+		this.etagStrategy = ContentHashETagStrategy.create(configuration.resources());
+		if (resourceCompression != null) {
+			resourceCompression.setETagStrategy(etagStrategy);
+		}
 
 		jettyServerWrapper = new JettyServerWrapper(configuration, jettyFactory, paxWebJettyBundle, classLoader);
 	}
@@ -106,6 +126,9 @@ class JettyServerController implements ServerController {
 		}
 
 		jettyServerWrapper.start();
+		if (resourceExtraction != null) {
+			resourceExtraction.start(paxWebJettyBundle == null ? null : paxWebJettyBundle.getBundleContext());
+		}
 
 		state = ServerState.STARTED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STARTED, jettyServerWrapper.getAddresses(true)));
@@ -120,6 +143,9 @@ class JettyServerController implements ServerController {
 		}
 
 		jettyServerWrapper.stop();
+		if (resourceExtraction != null) {
+			resourceExtraction.stop();
+		}
 
 		state = ServerState.STOPPED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STOPPED, null));
@@ -130,6 +156,20 @@ class JettyServerController implements ServerController {
 		return configuration;
 	}
 
+	@Override
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		if (state != ServerState.STARTED) {
+			return false;
+		}
+		LOG.info("Reconfiguring {} with changed properties {}", this, change.getChangedProperties());
+		try {
+			return jettyServerWrapper.reconfigure(configuration, change);
+		} catch (Exception e) {
+			LOG.warn("Problem reconfiguring Jetty server: {}", e.getMessage(), e);
+			return false;
+		}
+	}
+
 	// --- listener related methods
 
 	@Override
@@ -178,7 +218,11 @@ class JettyServerController implements ServerController {
 		}
 		String chroot = baseUrlResource == null ? base : null;
 
-		return new JettyResourceServlet(baseUrlResource, chroot);
+		JettyResourceServlet servlet = new JettyResourceServlet(baseUrlResource, chroot);
+		servlet.setResourceCompression(resourceCompression);
+		servlet.setResourceExtraction(resourceExtraction);
+		servlet.setETagStrategy(etagStrategy);
+		return servlet;
 	}
 
 	@Override
@@ -47,6 +47,7 @@ import org.eclipse.jetty.security.authentication.DigestAuthenticator;
 import org.eclipse.jetty.security.authentication.FormAuthenticator;
 import org.eclipse.jetty.security.authentication.SPNEGOAuthenticator;
 import org.eclipse.jetty.security.authentication.SslClientCertAuthenticator;
+import org.eclipse.jetty.server.AbstractConnector;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.CustomRequestLog;
@@ -68,6 +69,7 @@ import org.ops4j.pax.web.service.AuthenticatorService;
 import org.ops4j.pax.web.service.PaxWebConfig;
 import org.ops4j.pax.web.service.jetty.internal.web.JettyResourceServlet;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.config.LogConfiguration;
 import org.ops4j.pax.web.service.spi.config.SessionConfiguration;
 import org.ops4j.pax.web.service.spi.model.ContextMetadataModel;
@@ -119,6 +121,7 @@ import org.ops4j.pax.web.service.spi.task.TransactionStateChange;
 import org.ops4j.pax.web.service.spi.task.WebSocketModelChange;
 import org.ops4j.pax.web.service.spi.task.WelcomeFileModelChange;
 import org.ops4j.pax.web.service.spi.util.Utils;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.wiring.BundleWiring;
@@ -627,6 +630,51 @@ class JettyServerWrapper implements BatchVisitor {
 		LOG.info("NCSARequestlogging is using directory {}", lc.getLogNCSADirectory());
 	}
 
+	/**
+	 * Applies changed configuration to running Jetty server: thread pool sizes, connector idle timeout and
+	 * request log retention.
+	 *
+	 * @param configuration
+	 * @param change
+	 * @return {@code false} if any of the changed properties can't be applied without restart
+	 */
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) throws Exception {
+		Set<String> changed = change.getChangedProperties();
+
+		Integer connectorIdleTimeout = configuration.server().getConnectorIdleTimeout();
+		if (changed.contains(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT) && connectorIdleTimeout == null) {
+			// we don't know the timeout that was used by the connectors before the property was set
+			return false;
+		}
+
+		if (changed.contains(PaxWebConfig.PID_CFG_SERVER_MAX_THREADS)
+				|| changed.contains(PaxWebConfig.PID_CFG_SERVER_MIN_THREADS)
+				|| changed.contains(PaxWebConfig.PID_CFG_SERVER_IDLE_TIMEOUT)) {
+			jettyFactory.reconfigureThreadPool(qtp, configuration);
+		}
+
+		if (changed.contains(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT)) {
+			for (Connector connector : server.getConnectors()) {
+				if (connector instanceof AbstractConnector ac) {
+					LOG.info("Changing idle timeout of {} to {}ms", connector, connectorIdleTimeout);
+					ac.setIdleTimeout(connectorIdleTimeout);
+				}
+			}
+		}
+
+		if (changed.contains(PaxWebConfig.PID_CFG_LOG_NCSA_RETAINDAYS)
+				&& server.getRequestLog() instanceof CustomRequestLog requestLog
+				&& requestLog.getWriter() instanceof RequestLogWriter writer) {
+			// retention is passed to RolloverFileOutputStream, which is created when the writer is started
+			LOG.info("Changing NCSA request log retention to {} days", configuration.logging().getLogNCSARetainDays());
+			writer.stop();
+			writer.setRetainDays(configuration.logging().getLogNCSARetainDays());
+			writer.start();
+		}
+
+		return true;
+	}
+
 	/**
 	 * Simply start Jetty server
 	 * @throws Exception
@@ -1465,6 +1513,9 @@ class JettyServerWrapper implements BatchVisitor {
 				}
 			}
 
+			// precompiled OSGi filter chains refer to the previous set of preprocessors
+			((PaxWebServletHandler) sch.getServletHandler()).invalidateOsgiFilterChains();
+
 			// all the filters should be added to org.ops4j.pax.web.service.jetty.internal.PaxWebServletHandler
 			// of ServletContextHandler - regardles of the "OSGi context" with which the filter was registered.
 			//
@@ -2395,39 +2446,7 @@ class JettyServerWrapper implements BatchVisitor {
 			//  - @ConnectorName - not strictly a virtual host, but handled in the same way as VH, but not by matching
 			//    the "Host" header, but incomming connector's name
 			//  - actually, looks like it can also be "virtualHost@connectorName" format, where both must match
-			List<String> allVirtualHosts = new ArrayList<>();
-			List<String> vhosts = new ArrayList<>(highestRanked.getVirtualHosts());
-			if (vhosts.isEmpty()) {
-				vhosts.addAll(Arrays.asList(configuration.server().getVirtualHosts()));
-			}
-			List<String> connectors = new ArrayList<>(highestRanked.getConnectors());
-			if (connectors.isEmpty()) {
-				connectors.addAll(Arrays.asList(configuration.server().getConnectors()));
-			}
-			for (String vhost : vhosts) {
-				if (vhost == null || "".equals(vhost.trim())) {
-					continue;
-				}
-				if (vhost.startsWith("@")) {
-					// it is a connector
-					allVirtualHosts.add(vhost);
-				} else {
-					// it is a normal virtual host (yes - don't process it anyway)
-					allVirtualHosts.add(vhost);
-				}
-			}
-			for (String c : connectors) {
-				if (c == null || "".equals(c.trim())) {
-					continue;
-				}
-				if (c.startsWith("@")) {
-					// it is a connector, but should be specified as special Jetty's VHost - add without processing
-					allVirtualHosts.add(c);
-				} else {
-					// it is a connector, but should be added as "@" prefixed VHost
-					allVirtualHosts.add("@" + c);
-				}
-			}
+			List<String> allVirtualHosts = new ArrayList<>(VirtualHostMatcher.collect(highestRanked, configuration));
 			boolean connectorOnly = false;
 			boolean vhostOnly = false;
 			boolean vhostAndConnector = false;
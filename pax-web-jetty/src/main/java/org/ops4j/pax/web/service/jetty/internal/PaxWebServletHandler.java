@@ -21,8 +21,9 @@ import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import javax.security.auth.Subject;
 import jakarta.servlet.DispatcherType;
@@ -49,6 +50,7 @@ import org.eclipse.jetty.util.Callback;
 import org.ops4j.pax.web.service.WebContainerContext;
 import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
 import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.servlet.CompiledOsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.OsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiSessionAttributeListener;
@@ -76,7 +78,20 @@ public class PaxWebServletHandler extends ServletHandler {
 	 * chains, so handling them is easy. We keep only the configs, because we have to manage the lifecycle
 	 * of OSGi services for {@link Preprocessor} instances.
 	 */
-	private final List<PreprocessorFilterConfig> preprocessors = new LinkedList<>();
+	private final List<PreprocessorFilterConfig> preprocessors = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Resolved instances of {@link #preprocessors}, shared by all {@link CompiledOsgiFilterChain compiled chains}.
+	 * {@code null} means the instances have to be collected again.
+	 */
+	private volatile Preprocessor[] preprocessorInstances;
+
+	/**
+	 * Incremented by {@link #invalidateOsgiFilterChains()}. Chains and {@link #preprocessorInstances} are
+	 * remembered only if the generation didn't change while they were compiled, so a chain compiled concurrently
+	 * with a change of filters or preprocessors is not cached.
+	 */
+	private volatile long osgiFilterChainsGeneration;
 
 	/** Default {@link ServletContext} to use for chains without target servlet (e.g., filters only) */
 	private OsgiServletContext defaultServletContext;
@@ -123,6 +138,7 @@ public class PaxWebServletHandler extends ServletHandler {
 
 	public void setDefaultServletContext(OsgiServletContext defaultServletContext) {
 		this.defaultServletContext = defaultServletContext;
+		invalidateOsgiFilterChains();
 	}
 
 	public OsgiServletContext getDefaultServletContext() {
@@ -132,6 +148,7 @@ public class PaxWebServletHandler extends ServletHandler {
 	public void setDefaultOsgiContextModel(OsgiContextModel defaultOsgiContextModel, WebContainerContext resolvedWebContainerContext) {
 		this.defaultOsgiContextModel = defaultOsgiContextModel;
 		this.defaultWebContainerContext = resolvedWebContainerContext;
+		invalidateOsgiFilterChains();
 	}
 
 	public OsgiContextModel getDefaultOsgiContextModel() {
@@ -155,6 +172,7 @@ public class PaxWebServletHandler extends ServletHandler {
 		for (PreprocessorFilterConfig fc : preprocessors) {
 			fc.getInstance().init(fc);
 		}
+		invalidateOsgiFilterChains();
 
 		try {
 			super.initialize();
@@ -197,6 +215,7 @@ public class PaxWebServletHandler extends ServletHandler {
 		for (PreprocessorFilterConfig fc : preprocessors) {
 			fc.destroy();
 		}
+		invalidateOsgiFilterChains();
 
 		// Jetty 10+ keeps only "durable" servlets/filters/listeners. We're handling it a bit differently,
 		// so we have to preserve them (because there's no reflection-free access to
@@ -360,24 +379,6 @@ public class PaxWebServletHandler extends ServletHandler {
 	}
 
 	protected FilterChain getOsgiFilterChain(final ServletContextRequest baseRequest, String pathInContext, ServletHolder servletHolder) {
-		PaxWebServletHolder holder = (PaxWebServletHolder) servletHolder;
-
-		// either super.getFilterChain() will return a chain that should be invoked once (which will provide
-		// proper behavior filter -> filter -> ... -> filter -> servlet)
-		// or we'll get null and servletHolder will be everything we have
-
-		// remember - if we want to leverage Jetty's filter caching, we have to wrap every filter
-		// with a wrapper that decides if the filter should actually be called, because of "140.5 Registering Servlet
-		// Filters":
-		//
-		//     Servlet filters are only applied to servlet requests if they are bound to the same Servlet Context
-		//     Helper and the same Http Whiteboard implementation.
-		//
-		// otherwise we'd have to construct the chain on every call.
-		// also, we have to handle case where filters are called in a chain that doesn't have a target servlet at all
-
-		FilterChain chain = getFilterChain(baseRequest.getServletApiRequest(), pathInContext, servletHolder);
-
 		// 140.5.1 Servlet Pre-Processors
 		// A Preprocessor is invoked before request dispatching is performed. If multiple pre-processors
 		// are registered they are invoked in the order as described for servlet filters.
@@ -385,32 +386,15 @@ public class PaxWebServletHandler extends ServletHandler {
 		// this means that even if there's no matching target servlet or filters, we HAVE to call preprocessors
 		// felix.http doesn't call handleSecurity() if there's no mapped servlet
 		// (see org.apache.felix.http.base.internal.dispatch.Dispatcher#dispatch())
-
-		// We need different FilterChain that will invoke (in this order):
-		// 1. all org.osgi.service.http.whiteboard.Preprocessors
-		// 2. handleSecurity() (on HttpContext or ServletContextHelper)
-		// 3. original chain
-		if (chain == null) {
-			// 3a. even if there's only a ServletHolder there == null chain
-			// 3b. if the holder is for known 404 servlet, we still need a chain that calls 404 servlet
-			chain = holder::handle;
-		}
-
-		// listener called when org.osgi.service.http.HttpContext.handleSecurity() returns true
-		Consumer<HttpServletRequest> authListener = new AuthBridgeConsumer(baseRequest);
-
-		List<Preprocessor> preprocessorInstances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toList();
-		if (!holder.is404()) {
-			return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), holder.getOsgiServletContext(),
-					holder.getWebContainerContext(), chain, osgiSessionsBridge, authListener);
-		} else {
-			return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), defaultServletContext,
-					defaultWebContainerContext, chain, osgiSessionsBridge, authListener);
-		}
+		//
+		// getFilterChain() always returns a chain that calls preprocessors, handleSecurity() and the original chain
+		return getFilterChain(baseRequest.getServletApiRequest(), pathInContext, servletHolder);
 	}
 
 	/**
-	 * Overriden, because we want our own cache management, where key includes proper OSGi context
+	 * Overriden, because we want our own cache management, where key includes proper OSGi context. We cache
+	 * {@link CompiledOsgiFilterChain precompiled chains} per servlet holder, path and {@link DispatcherType}, so
+	 * each request only allocates single {@link OsgiFilterChain} that keeps the position in the chain.
 	 * @param baseRequest
 	 * @param pathInContext
 	 * @param servletHolder
@@ -420,40 +404,62 @@ public class PaxWebServletHandler extends ServletHandler {
 	protected FilterChain getFilterChain(HttpServletRequest baseRequest, String pathInContext, ServletHolder servletHolder) {
 		PaxWebServletHolder holder = (PaxWebServletHolder) servletHolder;
 
-		// calculate caching key for filter chain
-		WebContainerContext wcc = holder.getWebContainerContext();
-		String prefix = wcc == null ? "" : wcc.getContextId() + "|";
-		if (wcc != null && wcc.isShared()) {
-			prefix = "~|" + prefix;
+		// the holder (so also the OSGi context) is part of the key, as the cache is kept by the holder itself
+		String key = pathInContext == null ? holder.getName() : pathInContext;
+		Map<String, CompiledOsgiFilterChain> cache = holder.getOsgiFilterChains(baseRequest.getDispatcherType());
+
+		CompiledOsgiFilterChain compiled = cache.get(key);
+		if (compiled == null) {
+			long generation = osgiFilterChainsGeneration;
+			compiled = compileOsgiFilterChain(baseRequest, pathInContext, holder);
+			if (generation == osgiFilterChainsGeneration) {
+				int maxSize = getMaxFilterChainsCacheSize();
+				if (maxSize > 0 && cache.size() >= maxSize) {
+					cache.clear();
+				}
+				cache.put(key, compiled);
+				if (generation != osgiFilterChainsGeneration) {
+					// invalidated between the check and put - the cache may have been cleared before the put
+					cache.remove(key, compiled);
+				}
+			}
 		}
-		String contextlessKey = pathInContext == null ? holder.getName() : pathInContext;
-		String key = prefix + contextlessKey;
 
-		int dispatch = FilterMapping.dispatch(baseRequest.getDispatcherType());
+		return compiled.newChain();
+	}
 
-		// listener called when org.osgi.service.http.HttpContext.handleSecurity() returns true
-		Consumer<HttpServletRequest> authListener = new AuthBridgeConsumer(ServletContextRequest.getServletContextRequest(baseRequest));
-
-		FilterChain chain = _chainCache[dispatch].get(key);
-		if (chain != null) {
-			List<Preprocessor> preprocessorInstances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toList();
-			if (!holder.is404()) {
-				return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), holder.getOsgiServletContext(),
-						holder.getWebContainerContext(), chain, osgiSessionsBridge, authListener);
-			} else {
-				return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), defaultServletContext,
-						defaultWebContainerContext, chain, osgiSessionsBridge, authListener);
-			}
-		}
+	/**
+	 * Creates a {@link CompiledOsgiFilterChain} that doesn't depend on particular request, so it can be cached
+	 * until filters, servlets or preprocessors change.
+	 * @param baseRequest
+	 * @param pathInContext
+	 * @param holder
+	 * @return
+	 */
+	private CompiledOsgiFilterChain compileOsgiFilterChain(HttpServletRequest baseRequest, String pathInContext,
+			PaxWebServletHolder holder) {
+		// remember - if we want to leverage Jetty's filter caching, we have to wrap every filter
+		// with a wrapper that decides if the filter should actually be called, because of "140.5 Registering Servlet
+		// Filters":
+		//
+		//     Servlet filters are only applied to servlet requests if they are bound to the same Servlet Context
+		//     Helper and the same Http Whiteboard implementation.
+		//
+		// otherwise we'd have to construct the chain on every call.
+		// also, we have to handle case where filters are called in a chain that doesn't have a target servlet at all
+
+		String contextlessKey = pathInContext == null ? holder.getName() : pathInContext;
+		int dispatch = FilterMapping.dispatch(baseRequest.getDispatcherType());
 
 		// always clear contextlessKey in parent cache, so super.getFilterChain will create new filter chain
 		_chainCache[dispatch].remove(contextlessKey);
 
 		// After an update to Jetty 9.4.34, we have to use different way of rejecting filters from the chain if
 		// they don't match OSGi context... See https://github.com/eclipse/jetty.project/pull/5271
+		FilterChain chain;
 		currentServletHolder.set(holder);
 		try {
-			chain = super.getFilterChain(baseRequest, pathInContext, servletHolder);
+			chain = super.getFilterChain(baseRequest, pathInContext, holder);
 		} finally {
 			currentServletHolder.remove();
 		}
@@ -461,12 +467,6 @@ public class PaxWebServletHandler extends ServletHandler {
 		// the above chain:
 		// 1) may be null if there are no filters at all
 		// 2) may be not null, but all the filters may have to be removed because they could not match target servlet
-		// 3) created new cache entry which we don't want directly, but it can be useful when accessing
-		//    a servlet through different OSGi context
-
-		if (chain != null) {
-			_chainCache[dispatch].put(key, chain);
-		}
 
 		// We need different FilterChain that will invoke (in this order):
 		// 1. all org.osgi.service.http.whiteboard.Preprocessors
@@ -477,13 +477,13 @@ public class PaxWebServletHandler extends ServletHandler {
 			// 3b. if the holder is for known 404 servlet, we still need a chain that calls 404 servlet
 			chain = holder::handle;
 		}
-		List<Preprocessor> preprocessorInstances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toList();
+
 		if (!holder.is404()) {
-			return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), holder.getOsgiServletContext(),
-					holder.getWebContainerContext(), chain, osgiSessionsBridge, authListener);
+			return new CompiledOsgiFilterChain(getPreprocessorInstances(), holder.getOsgiServletContext(),
+					holder.getWebContainerContext(), chain, osgiSessionsBridge, AuthBridgeConsumer.INSTANCE);
 		} else {
-			return new OsgiFilterChain(new ArrayList<>(preprocessorInstances), defaultServletContext,
-					defaultWebContainerContext, chain, osgiSessionsBridge, authListener);
+			return new CompiledOsgiFilterChain(getPreprocessorInstances(), defaultServletContext,
+					defaultWebContainerContext, chain, osgiSessionsBridge, AuthBridgeConsumer.INSTANCE);
 		}
 	}
 
@@ -512,12 +512,63 @@ public class PaxWebServletHandler extends ServletHandler {
 		return preprocessors;
 	}
 
-	private static class AuthBridgeConsumer implements Consumer<HttpServletRequest> {
-		private final ServletContextRequest baseRequest;
+	/**
+	 * Returns (and remembers) resolved {@link Preprocessor} instances, so we don't have to collect them
+	 * for each request.
+	 * @return
+	 */
+	private Preprocessor[] getPreprocessorInstances() {
+		Preprocessor[] instances = preprocessorInstances;
+		if (instances == null) {
+			long generation = osgiFilterChainsGeneration;
+			instances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toArray(Preprocessor[]::new);
+			if (generation == osgiFilterChainsGeneration) {
+				preprocessorInstances = instances;
+				if (generation != osgiFilterChainsGeneration) {
+					preprocessorInstances = null;
+				}
+			}
+		}
+		return instances;
+	}
 
-		AuthBridgeConsumer(ServletContextRequest baseRequest) {
-			this.baseRequest = baseRequest;
+	/**
+	 * Drops all {@link CompiledOsgiFilterChain precompiled chains} and resolved {@link Preprocessor} instances.
+	 * Should be called whenever the list of {@link #getPreprocessors() preprocessors} changes.
+	 */
+	public void invalidateOsgiFilterChains() {
+		// generation is changed first, so chains compiled concurrently are not stored after the caches are cleared
+		osgiFilterChainsGeneration++;
+		preprocessorInstances = null;
+		ServletHolder[] holders = getServlets();
+		if (holders != null) {
+			for (ServletHolder holder : holders) {
+				if (holder instanceof PaxWebServletHolder pwsh) {
+					pwsh.clearOsgiFilterChains();
+				}
+			}
 		}
+	}
+
+	@Override
+	protected void invalidateChainsCache() {
+		super.invalidateChainsCache();
+		invalidateOsgiFilterChains();
+	}
+
+	@Override
+	protected void updateMappings() {
+		super.updateMappings();
+		invalidateOsgiFilterChains();
+	}
+
+	/**
+	 * Stateless listener that translates OSGi authentication attributes into Jetty authentication state. It gets
+	 * Jetty's {@link ServletContextRequest} from the passed (possibly wrapped) request, so single instance can be
+	 * used in cached chains.
+	 */
+	private static final class AuthBridgeConsumer implements Consumer<HttpServletRequest> {
+		static final AuthBridgeConsumer INSTANCE = new AuthBridgeConsumer();
 
 		@Override
 		public void accept(HttpServletRequest req) {
@@ -525,6 +576,7 @@ public class PaxWebServletHandler extends ServletHandler {
 			final Object authType = req.getAttribute(ServletContextHelper.AUTHENTICATION_TYPE);
 
 			if (user != null || authType != null) {
+				ServletContextRequest baseRequest = ServletContextRequest.getServletContextRequest(req);
 				// translate it into Jetty specific authentication
 				if (baseRequest.getServletApiRequest().getAuthentication() == null) {
 					String userName = user != null ? user.toString() : null;
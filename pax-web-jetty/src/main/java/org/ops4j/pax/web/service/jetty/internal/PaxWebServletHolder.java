@@ -16,6 +16,9 @@
 package org.ops4j.pax.web.service.jetty.internal;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
@@ -29,6 +32,7 @@ import org.ops4j.pax.web.service.WebContainerContext;
 import org.ops4j.pax.web.service.jetty.internal.web.JettyResourceServlet;
 import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
 import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.servlet.CompiledOsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.OsgiInitializedServlet;
 import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
@@ -76,6 +80,12 @@ public class PaxWebServletHolder extends ServletHolder {
 
 	private boolean whiteboardTCCL;
 
+	/**
+	 * {@link CompiledOsgiFilterChain Precompiled chains} for this servlet - indexed by {@link DispatcherType}
+	 * and keyed by path in context (or servlet name for named dispatch). Managed by {@link PaxWebServletHandler}.
+	 */
+	private final Map<String, CompiledOsgiFilterChain>[] osgiFilterChains = newOsgiFilterChainMaps();
+
 	/**
 	 * Constructor to use when wrapping internal {@link Servlet servlets} which won't use OSGi machinery.
 	 *
@@ -158,6 +168,33 @@ public class PaxWebServletHolder extends ServletHolder {
 		return is404;
 	}
 
+	/**
+	 * Returns a map of {@link CompiledOsgiFilterChain precompiled chains} for given {@link DispatcherType}.
+	 * @param dispatcherType
+	 * @return
+	 */
+	Map<String, CompiledOsgiFilterChain> getOsgiFilterChains(DispatcherType dispatcherType) {
+		return osgiFilterChains[dispatcherType.ordinal()];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, CompiledOsgiFilterChain>[] newOsgiFilterChainMaps() {
+		Map<String, CompiledOsgiFilterChain>[] maps = new Map[DispatcherType.values().length];
+		for (int i = 0; i < maps.length; i++) {
+			maps[i] = new ConcurrentHashMap<>();
+		}
+		return maps;
+	}
+
+	/**
+	 * Drops all {@link CompiledOsgiFilterChain precompiled chains} for this servlet.
+	 */
+	void clearOsgiFilterChains() {
+		for (Map<String, CompiledOsgiFilterChain> chains : osgiFilterChains) {
+			chains.clear();
+		}
+	}
+
 	@Override
 	public void doStart() throws Exception {
 		if (servletReference != null) {
@@ -15,19 +15,33 @@
  */
 package org.ops4j.pax.web.service.jetty.internal.web;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import org.eclipse.jetty.ee10.servlet.DefaultServlet;
 import org.eclipse.jetty.ee10.servlet.ResourceServlet;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+import org.eclipse.jetty.http.content.HttpContent;
 import org.eclipse.jetty.http.content.ValidatingCachingHttpContentFactory;
 import org.eclipse.jetty.server.ResourceService;
+import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.jetty.util.resource.PathResource;
 import org.eclipse.jetty.util.resource.Resource;
 import org.eclipse.jetty.util.resource.ResourceFactory;
 import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,18 +73,41 @@ public class JettyResourceServlet extends ResourceServlet {
 
 	private PaxWebResource baseResource;
 
+	private ResourceCompression resourceCompression;
+
+	private ResourceExtractionCache resourceExtraction;
+
+	private ResourceETagStrategy etagStrategy;
+
 	public JettyResourceServlet(PathResource baseUrlResource, String chroot) {
 		this.baseUrlResource = baseUrlResource;
 		this.chroot = chroot;
 	}
 
+	public void setResourceCompression(ResourceCompression resourceCompression) {
+		this.resourceCompression = resourceCompression;
+	}
+
+	public void setResourceExtraction(ResourceExtractionCache resourceExtraction) {
+		this.resourceExtraction = resourceExtraction;
+	}
+
+	public void setETagStrategy(ResourceETagStrategy etagStrategy) {
+		this.etagStrategy = etagStrategy;
+	}
+
 	@Override
 	public void init() throws ServletException {
-		this.baseResource = new PaxWebResource(getServletContext(), baseUrlResource, chroot);
+		this.baseResource = new PaxWebResource(getServletContext(), baseUrlResource, chroot, resourceExtraction);
 		try {
 			BASE_RESOURCE.set(baseResource);
 			super.init();
 
+			if (etagStrategy != null) {
+				getResourceService().setHttpContentFactory(
+						new ETagHttpContentFactory(getResourceService().getHttpContentFactory(), etagStrategy));
+			}
+
 			String maxCacheSize = getInitParameter("maxCacheSize");
 			String maxCachedFileSize = getInitParameter("maxCachedFileSize");
 			String maxCachedFiles = getInitParameter("maxCachedFiles");
@@ -100,7 +137,14 @@ public class JettyResourceServlet extends ResourceServlet {
 	 * @param welcomeFiles
 	 */
 	public void setWelcomeFiles(String[] welcomeFiles) {
-		if (getResourceService() != null && getResourceService().getHttpContentFactory() instanceof ValidatingCachingHttpContentFactory cache) {
+		if (getResourceService() == null) {
+			return;
+		}
+		HttpContent.Factory factory = getResourceService().getHttpContentFactory();
+		if (factory instanceof ETagHttpContentFactory etagFactory) {
+			factory = etagFactory.delegate;
+		}
+		if (factory instanceof ValidatingCachingHttpContentFactory cache) {
 			cache.flushCache();
 		}
 	}
@@ -113,6 +157,41 @@ public class JettyResourceServlet extends ResourceServlet {
 		}
 	}
 
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		if ((resourceCompression != null || etagStrategy != null) && baseResource != null) {
+			String encodedPath = getEncodedPathInContext(req, false);
+			String path = encodedPath == null ? null : URIUtil.decodePath(encodedPath);
+			if (path != null && etagStrategy != null && etagStrategy.isImmutable(path) && resourceURL(path) != null) {
+				resp.setHeader("Cache-Control", ResourceETagStrategy.IMMUTABLE_CACHE_CONTROL);
+			}
+			if (path != null && resourceCompression != null
+					&& resourceCompression.serve(req, resp, path, this::resourceURL)) {
+				return;
+			}
+		}
+		super.doGet(req, resp);
+	}
+
+	/**
+	 * Returns {@link URL} of existing, non-directory resource, so it can be compressed or cached as immutable
+	 * @param path
+	 * @return
+	 */
+	private URL resourceURL(String path) {
+		try {
+			Resource resource = baseResource.resolve(path);
+			if (resource == null || !resource.exists() || resource.isDirectory()) {
+				return null;
+			}
+			URI uri = resource.getURI();
+			return uri == null ? null : uri.toURL();
+		} catch (Exception e) {
+			LOG.debug("Can't resolve {}: {}", path, e.getMessage());
+			return null;
+		}
+	}
+
 	@Override
 	protected ServletContextHandler initContextHandler(ServletContext servletContext) {
 		// necessary for super.init() and to reimplement
@@ -127,4 +206,53 @@ public class JettyResourceServlet extends ResourceServlet {
 		return super.initContextHandler(servletContext);
 	}
 
+
+	/**
+	 * {@link HttpContent.Factory} which replaces Jetty's {@code ETag} with the one calculated by
+	 * {@link ResourceETagStrategy}, so {@link ResourceService} uses it for the response and conditional requests.
+	 */
+	private static class ETagHttpContentFactory implements HttpContent.Factory {
+
+		private final HttpContent.Factory delegate;
+		private final ResourceETagStrategy etagStrategy;
+
+		ETagHttpContentFactory(HttpContent.Factory delegate, ResourceETagStrategy etagStrategy) {
+			this.delegate = delegate;
+			this.etagStrategy = etagStrategy;
+		}
+
+		@Override
+		public HttpContent getContent(String path) throws IOException {
+			HttpContent content = delegate.getContent(path);
+			if (content == null || content.getResource() == null || content.getResource().isDirectory()
+					|| content.getResource().getURI() == null) {
+				return content;
+			}
+			String etag;
+			try {
+				Instant lastModified = content.getLastModifiedInstant();
+				etag = etagStrategy.getETag(content.getResource().getURI().toURL(),
+						lastModified == null ? -1L : lastModified.toEpochMilli(), content.getContentLengthValue());
+			} catch (IllegalArgumentException | IOException e) {
+				LOG.debug("Can't calculate ETag for {}: {}", path, e.getMessage());
+				return content;
+			}
+			if (etag == null) {
+				return content;
+			}
+			final HttpField etagField = new PreEncodedHttpField(HttpHeader.ETAG, etag);
+			return new HttpContent.Wrapper(content) {
+				@Override
+				public HttpField getETag() {
+					return etagField;
+				}
+
+				@Override
+				public String getETagValue() {
+					return etagField.getValue();
+				}
+			};
+		}
+	}
+
 }
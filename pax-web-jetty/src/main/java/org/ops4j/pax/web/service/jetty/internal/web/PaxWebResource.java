@@ -3,7 +3,9 @@ package org.ops4j.pax.web.service.jetty.internal.web;
 import jakarta.servlet.ServletContext;
 import org.eclipse.jetty.util.resource.PathResource;
 import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.resource.ResourceFactory;
 import org.ops4j.pax.web.service.jetty.internal.PaxWebServletContextHandler;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 
 import java.io.IOException;
 import java.net.URI;
@@ -32,14 +34,18 @@ public class PaxWebResource extends Resource {
 	private final PathResource baseUrlResource;
 	// used in normal OSGi cases, where chroot is a base for WAB or the web context to prepend before resolved path
 	private final String chroot;
+	// used to serve bundle resources from the file system
+	private final ResourceExtractionCache resourceExtraction;
 
 	private final Resource realBaseResource;
 	private boolean directFileMapping = false;
 
-	public PaxWebResource(ServletContext servletContext, PathResource baseUrlResource, String chroot) {
+	public PaxWebResource(ServletContext servletContext, PathResource baseUrlResource, String chroot,
+			ResourceExtractionCache resourceExtraction) {
 		this.servletContext = servletContext;
 		this.baseUrlResource = baseUrlResource;
 		this.chroot = chroot;
+		this.resourceExtraction = resourceExtraction;
 		if (this.baseUrlResource != null) {
 			realBaseResource = this.baseUrlResource;
 		} else if (this.chroot != null) {
@@ -143,6 +149,14 @@ public class PaxWebResource extends Resource {
 					return new EquinoxBundleentryDirectoryURLResource(PaxWebServletContextHandler.toJettyResource(url));
 				}
 
+				if (resourceExtraction != null) {
+					URL extracted = resourceExtraction.extract(url);
+					if (extracted != url) {
+						// PathResource, so Jetty can use file channels/mapped buffers
+						return ResourceFactory.root().newResource(extracted);
+					}
+				}
+
 				return PaxWebServletContextHandler.toJettyResource(url);
 			}
 		} catch (IOException e) {
@@ -18,25 +18,28 @@ package org.ops4j.pax.web.jsp;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Properties;
-import java.util.WeakHashMap;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.servlet.Filter;
 
 public class InstanceManager implements org.apache.tomcat.InstanceManager {
 
-	private final Map<String, Map<String, String>> injectionMap = new HashMap<>();
+	private static final Method[] NO_METHODS = new Method[0];
 
 	private final Properties restrictedFilters = new Properties();
 	private final Properties restrictedListeners = new Properties();
-	private final Map<Class<?>, List<AnnotationCacheEntry>> annotationCache = new WeakHashMap<>();
+
+	/**
+	 * Lifecycle metadata of classes instantiated through this manager. {@link ClassValue} doesn't need locking
+	 * and doesn't prevent unloading of classes (e.g., after refresh of a bundle with tag handlers).
+	 */
+	private final ClassValue<LifecycleMetadata> lifecycleMetadata = new ClassValue<>() {
+		@Override
+		protected LifecycleMetadata computeValue(Class<?> type) {
+			return new LifecycleMetadata(type, type.getSuperclass() == null ? null : get(type.getSuperclass()));
+		}
+	};
 
 	@Override
 	public Object newInstance(String className) throws IllegalAccessException,
@@ -78,8 +81,10 @@ public class InstanceManager implements org.apache.tomcat.InstanceManager {
 
 	private Object newInstance(Object instance, Class<?> clazz)
 			throws IllegalAccessException, InvocationTargetException {
-		Map<String, String> injections = injectionMap.get(clazz.getName());
-		populateAnnotationsCache(clazz, injections);
+		LifecycleMetadata metadata = lifecycleMetadata.get(clazz);
+		if (!metadata.instantiated) {
+			metadata.instantiated = true;
+		}
 		return instance;
 	}
 
@@ -90,129 +95,22 @@ public class InstanceManager implements org.apache.tomcat.InstanceManager {
 	}
 
 	/**
-	 * Call preDestroy method on the specified instance recursively from deepest
-	 * superclass to actual class.
+	 * Call preDestroy methods on the specified instance from deepest superclass to actual class.
 	 *
 	 * @param instance object to call preDestroy methods on
-	 * @param clazz    (super) class to examine for preDestroy annotation.
+	 * @param clazz    class of the instance to examine for preDestroy annotation.
 	 * @throws IllegalAccessException                      if preDestroy method is inaccessible.
 	 * @throws java.lang.reflect.InvocationTargetException if call fails
 	 */
 	protected void preDestroy(Object instance, final Class<?> clazz)
 			throws IllegalAccessException, InvocationTargetException {
-		Class<?> superClass = clazz.getSuperclass();
-		if (superClass != Object.class) {
-			preDestroy(instance, superClass);
-		}
-
-		// At the end the postconstruct annotated
-		// method is invoked
-		List<AnnotationCacheEntry> annotations = null;
-		synchronized (annotationCache) {
-			annotations = annotationCache.get(clazz);
-		}
-		if (annotations == null) {
+		LifecycleMetadata metadata = lifecycleMetadata.get(clazz);
+		if (!metadata.instantiated) {
 			// instance not created through the instance manager
 			return;
 		}
-		for (AnnotationCacheEntry entry : annotations) {
-			if (entry.getType() == AnnotationCacheEntryType.PRE_DESTROY) {
-				Method preDestroy = getMethod(clazz, entry);
-				synchronized (preDestroy) {
-					boolean accessibility = preDestroy.canAccess(instance);
-					preDestroy.setAccessible(true);
-					preDestroy.invoke(instance);
-					preDestroy.setAccessible(accessibility);
-				}
-			}
-		}
-	}
-
-	/**
-	 * Make sure that the annotations cache has been populated for the provided
-	 * class.
-	 *
-	 * @param clazz      clazz to populate annotations for
-	 * @param injections map of injections for this class from xml deployment
-	 *                   descriptor
-	 * @throws IllegalAccessException                      if injection target is inaccessible
-	 * @throws java.lang.reflect.InvocationTargetException if injection fails
-	 */
-	protected void populateAnnotationsCache(Class<?> clazz,
-											Map<String, String> injections) throws IllegalAccessException,
-			InvocationTargetException {
-
-		while (clazz != null) {
-			List<AnnotationCacheEntry> annotations = null;
-			synchronized (annotationCache) {
-				annotations = annotationCache.get(clazz);
-			}
-			if (annotations == null) {
-				annotations = new ArrayList<>();
-
-				// Initialize methods annotations
-				Method[] methods = null;
-				methods = clazz.getDeclaredMethods();
-
-				Method postConstruct = null;
-				Method preDestroy = null;
-				for (Method method : methods) {
-
-					if (method.isAnnotationPresent(PostConstruct.class)) {
-						if ((postConstruct != null)
-								|| (method.getParameterTypes().length != 0)
-								|| (Modifier.isStatic(method.getModifiers()))
-								|| (method.getExceptionTypes().length > 0)
-								|| (!method.getReturnType().getName()
-								.equals("void"))) {
-							throw new IllegalArgumentException(
-									"Invalid PostConstruct annotation");
-						}
-						postConstruct = method;
-					}
-
-					if (method.isAnnotationPresent(PreDestroy.class)) {
-						if ((preDestroy != null || method.getParameterTypes().length != 0)
-								|| (Modifier.isStatic(method.getModifiers()))
-								|| (method.getExceptionTypes().length > 0)
-								|| (!method.getReturnType().getName()
-								.equals("void"))) {
-							throw new IllegalArgumentException(
-									"Invalid PreDestroy annotation");
-						}
-						preDestroy = method;
-					}
-				}
-				if (postConstruct != null) {
-					annotations.add(new AnnotationCacheEntry(postConstruct
-							.getName(), postConstruct.getParameterTypes(),
-							null, AnnotationCacheEntryType.POST_CONSTRUCT));
-				}
-				if (preDestroy != null) {
-					annotations.add(new AnnotationCacheEntry(preDestroy
-							.getName(), preDestroy.getParameterTypes(), null,
-							AnnotationCacheEntryType.PRE_DESTROY));
-				}
-				if (annotations.size() == 0) {
-					// Use common empty list to save memory
-					annotations = Collections.emptyList();
-				}
-				synchronized (annotationCache) {
-					annotationCache.put(clazz, annotations);
-				}
-			}
-			// CHECKSTYLE:OFF
-			clazz = clazz.getSuperclass();
-			// CHECKSTYLE:ON
-		}
-	}
-
-	/**
-	 * Makes cache size available to unit tests.
-	 */
-	protected int getAnnotationCacheSize() {
-		synchronized (annotationCache) {
-			return annotationCache.size();
+		for (Method preDestroy : metadata.preDestroyMethods) {
+			preDestroy.invoke(instance);
 		}
 	}
 
@@ -255,51 +153,52 @@ public class InstanceManager implements org.apache.tomcat.InstanceManager {
 		return name.toString();
 	}
 
-	private static Method getMethod(final Class<?> clazz,
-									final AnnotationCacheEntry entry) {
-		Method result = null;
-
-		try {
-			result = clazz.getDeclaredMethod(entry.getAccessibleObjectName(),
-					entry.getParamTypes());
-		} catch (NoSuchMethodException e) {
-			// Should never happen. On that basis don't log it.
-		}
-		return result;
-	}
-
-	private static final class AnnotationCacheEntry {
-		private final String accessibleObjectName;
-		private final Class<?>[] paramTypes;
-		private final AnnotationCacheEntryType type;
+	/**
+	 * Validated lifecycle methods of a class (together with the methods of its superclasses), made accessible
+	 * once, so instances can be created and destroyed without locking and without reflective lookups.
+	 */
+	private static final class LifecycleMetadata {
+		/** {@link PreDestroy} methods from deepest superclass to the class itself */
+		private final Method[] preDestroyMethods;
+
+		/** Whether an instance of the class was created through this manager */
+		private volatile boolean instantiated;
+
+		LifecycleMetadata(Class<?> clazz, LifecycleMetadata superMetadata) {
+			Method postConstruct = null;
+			Method preDestroy = null;
+			for (Method method : clazz.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(PostConstruct.class)) {
+					if (postConstruct != null || !isLifecycleMethod(method)) {
+						throw new IllegalArgumentException("Invalid PostConstruct annotation");
+					}
+					postConstruct = method;
+				}
+				if (method.isAnnotationPresent(PreDestroy.class)) {
+					if (preDestroy != null || !isLifecycleMethod(method)) {
+						throw new IllegalArgumentException("Invalid PreDestroy annotation");
+					}
+					preDestroy = method;
+				}
+			}
 
-		AnnotationCacheEntry(String accessibleObjectName,
-									Class<?>[] paramTypes, String name,
-									AnnotationCacheEntryType type) {
-			this.accessibleObjectName = accessibleObjectName;
-			if (paramTypes != null) {
-				this.paramTypes = Arrays.copyOf(paramTypes, paramTypes.length);
+			Method[] inherited = superMetadata == null ? NO_METHODS : superMetadata.preDestroyMethods;
+			if (preDestroy == null) {
+				preDestroyMethods = inherited;
 			} else {
-				this.paramTypes = null;
+				preDestroy.trySetAccessible();
+				preDestroyMethods = new Method[inherited.length + 1];
+				System.arraycopy(inherited, 0, preDestroyMethods, 0, inherited.length);
+				preDestroyMethods[inherited.length] = preDestroy;
 			}
-			this.type = type;
-		}
-
-		public String getAccessibleObjectName() {
-			return accessibleObjectName;
 		}
 
-		public Class<?>[] getParamTypes() {
-			return paramTypes;
+		private static boolean isLifecycleMethod(Method method) {
+			return method.getParameterCount() == 0
+					&& !Modifier.isStatic(method.getModifiers())
+					&& method.getExceptionTypes().length == 0
+					&& method.getReturnType() == void.class;
 		}
-
-		public AnnotationCacheEntryType getType() {
-			return type;
-		}
-	}
-
-	private enum AnnotationCacheEntryType {
-		FIELD, SETTER, POST_CONSTRUCT, PRE_DESTROY
 	}
 
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.jsp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+
+import org.apache.jasper.EmbeddedServletOptions;
+import org.apache.jasper.Options;
+import org.apache.jasper.compiler.JspRuntimeContext;
+import org.apache.jasper.servlet.JspServletWrapper;
+import org.ops4j.pax.web.service.PaxWebConstants;
+import org.ops4j.pax.web.service.spi.util.NamedThreadFactory;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Translates and compiles all the JSPs of a context when {@link JspServlet} is initialized, so the first request
+ * to each JSP doesn't have to wait for Jasper and the Java compiler.</p>
+ *
+ * <p>JSPs are compiled in parallel into the scratch directory of the JSP servlet, using the same {@link Options}
+ * (and the same {@link org.apache.jasper.compiler.TldCache} prepared by {@link JasperInitializer}) as the servlet
+ * itself. The JSP servlet finds the classes up to date and only loads them. After successful compilation, a marker
+ * file (one per JSP servlet) with the bundle ID and its last modification time (which changes with every bundle
+ * update) is written to scratch directory, so after a restart of unchanged bundle, the classes are simply reused.</p>
+ *
+ * <p>Compilation runs in background, so servlet initialization (done in configuration thread) is not delayed.
+ * Requests arriving before it's finished simply compile the requested JSP on demand, as without
+ * precompilation.</p>
+ */
+class JspPrecompiler {
+
+	public static final Logger LOG = LoggerFactory.getLogger(JspPrecompiler.class);
+
+	static final String PRECOMPILE_INIT_PARAM = "precompile";
+	static final String MARKER = ".pax-web-precompiled";
+
+	private static final Pattern UNSAFE_FILE_NAME_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+
+	private final ServletConfig config;
+	private final ClassLoader classLoader;
+
+	JspPrecompiler(ServletConfig config, ClassLoader classLoader) {
+		this.config = config;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Starts {@link #precompile() precompilation} in a background thread.
+	 * @return a {@link Future} that can be used to wait for or cancel the precompilation
+	 */
+	public Future<?> start() {
+		ExecutorService starter = Executors.newSingleThreadExecutor(
+				new NamedThreadFactory("jsp-precompile-" + config.getServletName()));
+		try {
+			return starter.submit(this::precompile);
+		} finally {
+			starter.shutdown();
+		}
+	}
+
+	/**
+	 * Compiles all the JSPs of the context (or only the JSP configured with {@code jspFile} init parameter).
+	 * Compilation errors are only logged - failing JSPs will be compiled (and reported) again on first request.
+	 */
+	void precompile() {
+		ServletContext context = config.getServletContext();
+		Options options = new EmbeddedServletOptions(config, context);
+		File scratchDir = options.getScratchDir();
+		String jspFile = config.getInitParameter("jspFile");
+		String revision = revision(context);
+		if (revision != null && jspFile != null) {
+			revision += " " + jspFile;
+		}
+		File marker = scratchDir == null ? null : new File(scratchDir, markerName(config.getServletName()));
+		if (marker != null && revision != null && marker.isFile() && revision.equals(read(marker))) {
+			LOG.debug("JSPs of {} in {} are already compiled for {}", config.getServletName(), scratchDir, revision);
+			return;
+		}
+
+		List<String> jsps = new ArrayList<>();
+		if (jspFile != null) {
+			jsps.add(jspFile);
+		} else {
+			collect(context, "/", jsps);
+		}
+		if (jsps.isEmpty()) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		JspRuntimeContext rctxt;
+		ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+		try {
+			// parent class loader of JSP class loaders is taken from TCCL
+			Thread.currentThread().setContextClassLoader(classLoader);
+			rctxt = new JspRuntimeContext(context, options);
+		} finally {
+			Thread.currentThread().setContextClassLoader(tccl);
+		}
+
+		int threads = Math.min(jsps.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				new NamedThreadFactory("jsp-precompile-" + config.getServletName()));
+		List<Future<Boolean>> results = new ArrayList<>(jsps.size());
+		try {
+			for (String jsp : jsps) {
+				results.add(executor.submit(() -> compile(options, rctxt, jsp)));
+			}
+			boolean success = true;
+			for (Future<Boolean> result : results) {
+				success &= result.get();
+			}
+			LOG.info("Compiled {} JSPs of {} in {}ms", jsps.size(), config.getServletName(),
+					System.currentTimeMillis() - start);
+			if (success && marker != null && revision != null) {
+				Files.write(marker.toPath(), revision.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			LOG.warn("Problem precompiling JSPs of {}: {}", config.getServletName(), e.getMessage(), e);
+		} finally {
+			executor.shutdownNow();
+			rctxt.destroy();
+		}
+	}
+
+	private boolean compile(Options options, JspRuntimeContext rctxt, String jsp) {
+		ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+		try {
+			Thread.currentThread().setContextClassLoader(classLoader);
+			// compiles only if the class is missing or older than the JSP (or any of its dependencies)
+			new JspServletWrapper(config, options, jsp, rctxt).getJspEngineContext().compile();
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Can't precompile {}: {}", jsp, e.getMessage());
+			return false;
+		} finally {
+			Thread.currentThread().setContextClassLoader(tccl);
+		}
+	}
+
+	/**
+	 * Recursively collects {@code *.jsp} and {@code *.jspx} resources, skipping directories that can't contain
+	 * JSP pages that can be requested directly.
+	 * @param context
+	 * @param path
+	 * @param jsps
+	 */
+	private static void collect(ServletContext context, String path, List<String> jsps) {
+		Set<String> paths = context.getResourcePaths(path);
+		if (paths == null) {
+			return;
+		}
+		List<String> sorted = new ArrayList<>(paths);
+		Collections.sort(sorted);
+		for (String p : sorted) {
+			if (p.endsWith("/")) {
+				if (!skip(p)) {
+					collect(context, p, jsps);
+				}
+			} else if (p.endsWith(".jsp") || p.endsWith(".jspx")) {
+				jsps.add(p);
+			}
+		}
+	}
+
+	private static boolean skip(String dir) {
+		return "/WEB-INF/classes/".equals(dir) || "/WEB-INF/lib/".equals(dir) || "/WEB-INF/tags/".equals(dir)
+				|| "/META-INF/".equals(dir) || "/OSGI-INF/".equals(dir) || "/OSGI-OPT/".equals(dir);
+	}
+
+	/**
+	 * Name of the marker file for given JSP servlet. Each JSP servlet of the context has its own marker, because
+	 * a servlet with {@code jspFile} compiles only single JSP.
+	 * @param servletName
+	 * @return
+	 */
+	static String markerName(String servletName) {
+		return MARKER + "-" + UNSAFE_FILE_NAME_CHARS.matcher(servletName == null ? "" : servletName).replaceAll("_");
+	}
+
+	/**
+	 * Identifies the revision of the bundle with JSPs - {@link Bundle#getLastModified()} changes when the bundle is
+	 * installed, updated or uninstalled.
+	 * @param context
+	 * @return
+	 */
+	private static String revision(ServletContext context) {
+		Object bc = context.getAttribute(PaxWebConstants.CONTEXT_PARAM_BUNDLE_CONTEXT);
+		if (!(bc instanceof BundleContext)) {
+			return null;
+		}
+		Bundle bundle = ((BundleContext) bc).getBundle();
+		if (bundle == null) {
+			return null;
+		}
+		return bundle.getBundleId() + ":" + bundle.getLastModified();
+	}
+
+	private static String read(File marker) {
+		try {
+			return new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 package org.ops4j.pax.web.jsp;
 
 import java.io.IOException;
+import java.util.concurrent.Future;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -25,12 +26,15 @@ import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
 
 /**
  * Pax Web extension of the original {@link org.apache.jasper.servlet.JspServlet} to set proper TCCL, so Jasper
- * can correctly create {@link jakarta.el.ExpressionFactory}.
+ * can correctly create {@link jakarta.el.ExpressionFactory}. With {@code precompile=true} init parameter, all
+ * JSPs of the context are compiled by {@link JspPrecompiler} in background after initialization.
  */
 public class JspServlet extends org.apache.jasper.servlet.JspServlet {
 
 	private ClassLoader cl;
 
+	private Future<?> precompilation;
+
 	@Override
 	public void init(ServletConfig config) throws ServletException {
 		ClassLoader tccl = Thread.currentThread().getContextClassLoader();
@@ -48,6 +52,23 @@ public class JspServlet extends org.apache.jasper.servlet.JspServlet {
 		} finally {
 			Thread.currentThread().setContextClassLoader(tccl);
 		}
+
+		if ("true".equalsIgnoreCase(config.getInitParameter(JspPrecompiler.PRECOMPILE_INIT_PARAM))) {
+			precompilation = new JspPrecompiler(config, cl).start();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (precompilation != null) {
+			precompilation.cancel(true);
+			precompilation = null;
+		}
+		super.destroy();
+	}
+
+	Future<?> getPrecompilation() {
+		return precompilation;
 	}
 
 	@Override
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.jsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.annotation.PreDestroy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InstanceManagerTest {
+
+	private static final List<String> CALLS = new ArrayList<>();
+
+	@Test
+	public void preDestroyFromSuperclassToClass() throws Exception {
+		InstanceManager manager = new InstanceManager();
+		CALLS.clear();
+
+		// not created through the manager
+		manager.destroyInstance(new Handler());
+		assertThat(CALLS).isEmpty();
+
+		Object handler = manager.newInstance(Handler.class.getName(), getClass().getClassLoader());
+		assertThat(handler).isInstanceOf(Handler.class);
+		manager.destroyInstance(handler);
+		assertThat(CALLS).containsExactly("base", "handler");
+
+		assertThatThrownBy(() -> manager.newInstance(new InvalidHandler()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	public static class BaseHandler {
+		@PreDestroy
+		private void baseDestroy() {
+			CALLS.add("base");
+		}
+	}
+
+	public static class Handler extends BaseHandler {
+		@PreDestroy
+		public void destroy() {
+			CALLS.add("handler");
+		}
+	}
+
+	public static class InvalidHandler {
+		@PreDestroy
+		public static void destroy() {
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.jsp;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import jakarta.servlet.descriptor.JspConfigDescriptor;
+import jakarta.servlet.jsp.JspFactory;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.PaxWebConstants;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.wiring.BundleWiring;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JspPrecompilerTest {
+
+	@Test
+	public void allJspsCompiledAfterInit() throws Exception {
+		JspFactory.setDefaultFactory(new org.apache.jasper.runtime.JspFactoryImpl());
+		File scratchDir = new File("target", "jsp-precompiled");
+		FileUtils.deleteDirectory(scratchDir);
+		scratchDir.mkdirs();
+
+		MockServletContext context = new MockServletContext("src/test/resources/web", new FileSystemResourceLoader()) {
+			@Override
+			public JspConfigDescriptor getJspConfigDescriptor() {
+				return null;
+			}
+		};
+		Bundle bundle = mock(Bundle.class);
+		BundleContext bc = mock(BundleContext.class);
+		when(bc.getBundle()).thenReturn(bundle);
+		when(bundle.getBundleContext()).thenReturn(bc);
+		when(bundle.adapt(BundleWiring.class)).thenReturn(mock(BundleWiring.class));
+		when(bundle.getBundleId()).thenReturn(42L);
+		when(bundle.getLastModified()).thenReturn(1234L);
+		context.setAttribute(PaxWebConstants.CONTEXT_PARAM_BUNDLE_CONTEXT, bc);
+		new JasperInitializer().onStartup(null, context);
+
+		MockServletConfig config = new MockServletConfig(context, "jsp");
+		config.addInitParameter("development", "false");
+		config.addInitParameter("scratchdir", scratchDir.getCanonicalPath());
+		config.addInitParameter("precompile", "true");
+		JspServlet servlet = new JspServlet();
+		servlet.init(config);
+		servlet.getPrecompilation().get(60, TimeUnit.SECONDS);
+
+		File classes = new File(scratchDir, "org/apache/jsp");
+		assertThat(new File(classes, "simple_jsp.class")).isFile();
+		assertThat(new File(classes, "functions_jsp.class")).isFile();
+		assertThat(new File(classes, "tagfiles_jsp.class")).isFile();
+		assertThat(new File(classes, "tag/web/text_tag.class")).isFile();
+		File marker = new File(scratchDir, JspPrecompiler.markerName("jsp"));
+		assertThat(new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8)).isEqualTo("42:1234");
+		servlet.destroy();
+
+		// servlet for single JSP doesn't reuse the marker of the servlet for all JSPs
+		MockServletConfig singleConfig = new MockServletConfig(context, "simple");
+		singleConfig.addInitParameter("development", "false");
+		singleConfig.addInitParameter("scratchdir", scratchDir.getCanonicalPath());
+		singleConfig.addInitParameter("precompile", "true");
+		singleConfig.addInitParameter("jspFile", "/simple.jsp");
+		JspServlet single = new JspServlet();
+		single.init(singleConfig);
+		single.getPrecompilation().get(60, TimeUnit.SECONDS);
+
+		File singleMarker = new File(scratchDir, JspPrecompiler.markerName("simple"));
+		assertThat(new String(Files.readAllBytes(singleMarker.toPath()), StandardCharsets.UTF_8))
+				.isEqualTo("42:1234 /simple.jsp");
+		single.destroy();
+	}
+
+}
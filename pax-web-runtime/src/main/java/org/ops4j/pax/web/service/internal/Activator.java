@@ -44,6 +44,7 @@ import org.ops4j.pax.web.service.internal.security.SecurePropertyResolver;
 import org.ops4j.pax.web.service.spi.ServerController;
 import org.ops4j.pax.web.service.spi.ServerControllerFactory;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.config.JspConfiguration;
 import org.ops4j.pax.web.service.spi.config.LogConfiguration;
 import org.ops4j.pax.web.service.spi.config.ResourceConfiguration;
@@ -226,7 +227,7 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 		}
 
 		if (serverControllerFactory != null && serverController != null) {
-			serverControllerFactory.releaseServerController(serverController, serverController.getConfiguration());
+			serverControllerFactory.releaseServerController(unwrap(serverController), serverController.getConfiguration());
 		}
 
 		cleanUpHttpServiceRegistrations();
@@ -424,6 +425,12 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 			return;
 		}
 
+		if (Utils.same(controllerFactory, this.serverControllerFactory) && serverController != null
+				&& webElementEventDispatcher != null && reconfigure(dictionary)) {
+			// only some properties have changed and they were applied without restarting the server
+			return;
+		}
+
 		if (webElementEventDispatcher != null) {
 			webElementEventDispatcher.destroy();
 			webElementEventDispatcher = null;
@@ -452,7 +459,7 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 				LOG.error("Problem stopping server controller: " + e.getMessage(), e);
 			}
 			if (previousServerControllerFactory != null) {
-				previousServerControllerFactory.releaseServerController(serverController, serverController.getConfiguration());
+				previousServerControllerFactory.releaseServerController(unwrap(serverController), serverController.getConfiguration());
 			}
 			serverController = null;
 		}
@@ -469,6 +476,66 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 		performConfiguration();
 	}
 
+	/**
+	 * Tries to apply changed configuration to running server without stopping it. Only possible when all changed
+	 * properties are {@link ConfigurationChange.Scope#LIVE} and the configuration is not encrypted.
+	 *
+	 * @param dictionary
+	 * @return {@code true} if the change was applied and nothing more has to be done
+	 */
+	private boolean reconfigure(Dictionary<String, ?> dictionary) {
+		ConfigurationChange change = ConfigurationChange.between(this.configuration, dictionary);
+		if (change.getScope() != ConfigurationChange.Scope.LIVE) {
+			LOG.info("Changed properties {} require {} of the server", change.getChangedProperties(),
+					change.getScope() == ConfigurationChange.Scope.CONNECTOR ? "re-creation of connectors and restart" : "restart");
+			return false;
+		}
+
+		Map<String, String> allProperties = collectProperties(dictionary);
+		if ("true".equalsIgnoreCase(allProperties.get(PaxWebConfig.PID_CFG_ENC_ENABLED))) {
+			// decryption may require tracking of Jasypt services, let's do it with full restart
+			return false;
+		}
+
+		Configuration newConfiguration = ConfigurationBuilder.getConfiguration(createPropertyResolver(dictionary), allProperties);
+		if (!serverController.reconfigure(newConfiguration, change)) {
+			LOG.info("Server controller {} can't apply changed properties {} without restart",
+					serverController, change.getChangedProperties());
+			return false;
+		}
+
+		LOG.info("Changed properties {} applied to running server controller {}",
+				change.getChangedProperties(), serverController);
+		this.configuration = Utils.toHashtable(dictionary);
+		return true;
+	}
+
+	/**
+	 * Collects all properties (environment, system, metatype and PID properties) as a map
+	 * @param dictionary
+	 * @return
+	 */
+	private Map<String, String> collectProperties(Dictionary<String, ?> dictionary) {
+		Map<String, String> allProperties = new HashMap<>(System.getenv());
+		allProperties.putAll(Utils.toMap(System.getProperties()));
+		allProperties.putAll(Utils.toMap(new MetaTypePropertyResolver().getProperties()));
+		allProperties.putAll(Utils.toMap(dictionary));
+		return allProperties;
+	}
+
+	/**
+	 * Creates chained {@link PropertyResolver} that gets properties from Config Admin, Bundle Context and Meta Type
+	 * information (in such order).
+	 * @param dictionary
+	 * @return
+	 */
+	private PropertyResolver createPropertyResolver(Dictionary<String, ?> dictionary) {
+		MetaTypePropertyResolver defaultResolver = new MetaTypePropertyResolver();
+		// can't get all bundle context properties as map...
+		PropertyResolver tmpResolver = new BundleContextPropertyResolver(bundleContext, defaultResolver);
+		return dictionary != null ? new DictionaryPropertyResolver(dictionary, tmpResolver) : tmpResolver;
+	}
+
 	/**
 	 * Actual configuration method called only when {@link ServerControllerFactory} is added.
 	 */
@@ -479,17 +546,8 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 			// information (in such order).
 			// Properties as map will also be available in proper order
 
-			Map<String, String> allProperties = new HashMap<>(System.getenv());
-			allProperties.putAll(Utils.toMap(System.getProperties()));
-
-			MetaTypePropertyResolver defaultResolver = new MetaTypePropertyResolver();
-			allProperties.putAll(Utils.toMap(defaultResolver.getProperties()));
-
-			// can't get all bundle context properties as map...
-			PropertyResolver tmpResolver = new BundleContextPropertyResolver(bundleContext, defaultResolver);
-
-			PropertyResolver resolver = this.configuration != null ? new DictionaryPropertyResolver(this.configuration, tmpResolver) : tmpResolver;
-			allProperties.putAll(Utils.toMap(this.configuration));
+			Map<String, String> allProperties = collectProperties(this.configuration);
+			PropertyResolver resolver = createPropertyResolver(this.configuration);
 
 			// before creating a configuration, we have to check if the encryption is enabled - and there are two
 			// ways to implement the decryption
@@ -580,6 +638,14 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 			LOG.info("Starting server controller {}", serverController.getClass().getName());
 			serverController.start();
 
+			Integer coalescingWindow = configuration.server().getBatchCoalescingWindow();
+			if (coalescingWindow != null && coalescingWindow > 0) {
+				// registrations sent to the controller in bursts will restart the affected contexts only once
+				LOG.info("Coalescing web element changes within {}ms window", coalescingWindow);
+				serverController = new CoalescingServerController(serverController, runtimeExecutor,
+						coalescingWindow, configuration.server().getBatchCoalescingMaxBatches());
+			}
+
 			// this is where org.ops4j.pax.web.service.http.HttpService bundle-scoped service is registered in OSGi
 			// this is the most fundamental operation related to Http Service specification
 			Dictionary<String, Object> props = determineServiceProperties(configuration);
@@ -653,6 +719,18 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 		}
 	}
 
+	/**
+	 * Returns the {@link ServerController} created by {@link ServerControllerFactory}, so it can be released.
+	 * @param controller
+	 * @return
+	 */
+	private ServerController unwrap(ServerController controller) {
+		if (controller instanceof CoalescingServerController) {
+			return ((CoalescingServerController) controller).getDelegate();
+		}
+		return controller;
+	}
+
 	private void cleanUpHttpServiceRegistrations() {
 		if (httpServiceRuntimeReg != null) {
 			LOG.info("Unregistering current HttpServiceRuntime");
@@ -703,6 +781,7 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 		setProperty(properties, PaxWebConfig.PID_CFG_SERVER_MAX_THREADS, sc.getServerMaxThreads());
 		setProperty(properties, PaxWebConfig.PID_CFG_SERVER_MIN_THREADS, sc.getServerMinThreads());
 		setProperty(properties, PaxWebConfig.PID_CFG_SERVER_THREAD_NAME_PREFIX, sc.getServerThreadNamePrefix());
+		setProperty(properties, PaxWebConfig.PID_CFG_SERVER_VIRTUAL_THREADS, sc.isServerVirtualThreads());
 		setProperty(properties, PaxWebConfig.PID_CFG_SHOW_STACKS, sc.isShowStacks());
 		setProperty(properties, PaxWebConfig.PID_CFG_EVENT_DISPATCHER_THREAD_COUNT, sc.getEventDispatcherThreadCount());
 		setProperty(properties, PaxWebConfig.PID_CFG_HTTP_CHECK_FORWARDED_HEADERS, sc.checkForwardedHeaders());
@@ -746,6 +825,7 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 
 		JspConfiguration jsp = configuration.jsp();
 		setProperty(properties, PaxWebConfig.PID_CFG_JSP_SCRATCH_DIR, jsp.getGloablJspScratchDir());
+		setProperty(properties, PaxWebConfig.PID_CFG_JSP_PRECOMPILE, jsp.isJspPrecompile());
 
 		SecurityConfiguration sec = configuration.security();
 		setProperty(properties, PaxWebConfig.PID_CFG_SSL_PROVIDER, sec.getSslProvider());
@@ -784,6 +864,8 @@ public class Activator implements BundleActivator, PaxWebManagedService.Configur
 		setProperty(properties, PaxWebConfig.PID_CFG_DIGESTAUTH_MAX_NONCE_AGE, sec.getDigestAuthMaxNonceAge());
 		setProperty(properties, PaxWebConfig.PID_CFG_DIGESTAUTH_MAX_NONCE_COUNT, sec.getDigestAuthMaxNonceCount());
 		setProperty(properties, PaxWebConfig.PID_CFG_FORMAUTH_REDIRECT, sec.getFormAuthRedirect());
+		setProperty(properties, PaxWebConfig.PID_CFG_CREDENTIAL_CACHE_TTL, sec.getCredentialCacheTtl());
+		setProperty(properties, PaxWebConfig.PID_CFG_CREDENTIAL_CACHE_MAX_ENTRIES, sec.getCredentialCacheMaxEntries());
 
 		setProperty(properties, PaxWebConfig.PID_CFG_ENC_ENABLED, sec.isEncEnabled());
 		setProperty(properties, PaxWebConfig.PID_CFG_ENC_MASTERPASSWORD, "********"/*sec.getEncMasterPassword()*/);
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.internal;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import jakarta.servlet.Servlet;
+
+import org.ops4j.pax.web.service.spi.ServerController;
+import org.ops4j.pax.web.service.spi.ServerState;
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.ops4j.pax.web.service.spi.model.elements.ElementModel;
+import org.ops4j.pax.web.service.spi.model.elements.EventListenerModel;
+import org.ops4j.pax.web.service.spi.model.elements.FilterModel;
+import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.model.events.ServerListener;
+import org.ops4j.pax.web.service.spi.task.Batch;
+import org.ops4j.pax.web.service.spi.task.Change;
+import org.ops4j.pax.web.service.spi.task.ContextStartChange;
+import org.ops4j.pax.web.service.spi.task.ErrorPageModelChange;
+import org.ops4j.pax.web.service.spi.task.ErrorPageStateChange;
+import org.ops4j.pax.web.service.spi.task.EventListenerModelChange;
+import org.ops4j.pax.web.service.spi.task.FilterModelChange;
+import org.ops4j.pax.web.service.spi.task.FilterStateChange;
+import org.ops4j.pax.web.service.spi.task.ServletModelChange;
+import org.ops4j.pax.web.service.spi.task.WebSocketModelChange;
+import org.ops4j.pax.web.service.spi.task.WelcomeFileModelChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>{@link ServerController} which coalesces bursts of {@link Batch batches} with web element changes (like
+ * the ones sent when a feature with many Whiteboard services is installed), so each affected context is
+ * (re)started only once per burst.</p>
+ *
+ * <p>The batches are still passed to the target controller immediately (so the runtime matches the
+ * {@link org.ops4j.pax.web.service.spi.model.ServerModel} and errors of the registration itself are reported to the
+ * registering party), but each affected context path is first associated with a config transaction - the same mechanism that's used for
+ * WABs. Within a transaction, the runtimes don't start the contexts and delay the removal of servlets and event
+ * listeners, so add/remove pairs of the same burst don't cause additional restarts. The transactions are committed
+ * (and the contexts started) when there are no new batches for configured time or when configured number of
+ * batches was coalesced. Any batch with other kind of changes (context/security configuration, WABs, ...) first
+ * commits the pending transactions.</p>
+ *
+ * <p>Because contexts are started by the deferred commit, failures during context start (listeners, servlet
+ * initialization, {@code load-on-startup}) are only logged and not reported to the registering party, and newly
+ * registered servlets may return {@code 404} until the commit (up to the coalescing window after the last
+ * batch).</p>
+ *
+ * <p>All the methods related to batches are called in the single configuration thread - the one used by
+ * {@link ScheduledExecutorService} passed to the constructor.</p>
+ */
+public class CoalescingServerController implements ServerController {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CoalescingServerController.class);
+
+	private final ServerController delegate;
+	private final ScheduledExecutorService configExecutor;
+	private final long window;
+	private final int maxBatches;
+
+	/** Context paths associated with config transaction started by this controller */
+	private final Set<String> transactions = new LinkedHashSet<>();
+
+	private int coalescedBatches = 0;
+
+	/** Incremented with each commit, so scheduled commit of earlier burst is ignored */
+	private long burst = 0L;
+
+	private ScheduledFuture<?> scheduledCommit;
+
+	/**
+	 * Creates the controller which commits the changes after {@code window} milliseconds without new batches
+	 * or after {@code maxBatches} coalesced batches.
+	 * @param delegate
+	 * @param configExecutor
+	 * @param window
+	 * @param maxBatches
+	 */
+	public CoalescingServerController(ServerController delegate, ScheduledExecutorService configExecutor,
+			long window, int maxBatches) {
+		this.delegate = delegate;
+		this.configExecutor = configExecutor;
+		this.window = window;
+		this.maxBatches = maxBatches;
+	}
+
+	public ServerController getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public void sendBatch(Batch batch) {
+		Set<String> contextPaths = coalescableContextPaths(batch);
+		if (contextPaths == null) {
+			// changes that have to be applied to the committed state of the contexts
+			commit();
+			delegate.sendBatch(batch);
+			return;
+		}
+		if (contextPaths.isEmpty()) {
+			// for example dynamic registrations done while the context is being started
+			delegate.sendBatch(batch);
+			return;
+		}
+
+		Batch begin = null;
+		for (String contextPath : contextPaths) {
+			if (transactions.add(contextPath)) {
+				if (begin == null) {
+					begin = new Batch("Coalesced changes of " + contextPaths);
+				}
+				begin.beginTransaction(contextPath);
+			}
+		}
+		if (begin != null) {
+			delegate.sendBatch(begin);
+		}
+
+		try {
+			delegate.sendBatch(batch);
+		} finally {
+			if (++coalescedBatches >= maxBatches) {
+				commit();
+			} else {
+				scheduleCommit();
+			}
+		}
+	}
+
+	/**
+	 * Commits all the transactions started by this controller, which starts the affected contexts. Has to be
+	 * called in configuration thread.
+	 */
+	public void commit() {
+		if (scheduledCommit != null) {
+			scheduledCommit.cancel(false);
+			scheduledCommit = null;
+		}
+		burst++;
+		coalescedBatches = 0;
+		if (transactions.isEmpty()) {
+			return;
+		}
+
+		Batch commit = new Batch("Commit of coalesced changes of " + transactions);
+		transactions.forEach(commit::commitTransaction);
+		transactions.clear();
+		delegate.sendBatch(commit);
+	}
+
+	private void scheduleCommit() {
+		if (scheduledCommit != null) {
+			scheduledCommit.cancel(false);
+		}
+		final long currentBurst = burst;
+		try {
+			scheduledCommit = configExecutor.schedule(() -> {
+				if (currentBurst != burst) {
+					return;
+				}
+				try {
+					commit();
+				} catch (Exception e) {
+					LOG.warn("Problem committing coalesced changes: {}", e.getMessage(), e);
+				}
+			}, window, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// configuration thread is stopping
+			commit();
+		}
+	}
+
+	/**
+	 * Returns context paths affected by a {@link Batch} which contains only web element changes that may be
+	 * coalesced. Empty set is returned for batches that should bypass coalescing and {@code null} for batches that
+	 * require all pending transactions to be committed first.
+	 * @param batch
+	 * @return
+	 */
+	static Set<String> coalescableContextPaths(Batch batch) {
+		Set<String> contextPaths = new LinkedHashSet<>();
+		for (Change change : batch.getOperations()) {
+			if (change instanceof ServletModelChange) {
+				ServletModelChange c = (ServletModelChange) change;
+				if (c.isDynamic() || dynamic(c.getServletModels() == null ? null : c.getServletModels().keySet())) {
+					return Collections.emptySet();
+				}
+				collect(contextPaths, c.getServletModel(), c.getNewModels());
+				collect(contextPaths, c.getServletModels() == null ? null : c.getServletModels().keySet());
+			} else if (change instanceof FilterModelChange) {
+				FilterModelChange c = (FilterModelChange) change;
+				if (c.isDynamic() || dynamic(c.getFilterModels())) {
+					return Collections.emptySet();
+				}
+				collect(contextPaths, c.getFilterModel(), c.getNewModels());
+				collect(contextPaths, c.getFilterModels());
+			} else if (change instanceof EventListenerModelChange) {
+				EventListenerModelChange c = (EventListenerModelChange) change;
+				if (c.isDynamic() || dynamic(c.getEventListenerModels())) {
+					return Collections.emptySet();
+				}
+				collect(contextPaths, c.getEventListenerModel(), c.getNewModels());
+				collect(contextPaths, c.getEventListenerModels());
+			} else if (change instanceof FilterStateChange) {
+				if (((FilterStateChange) change).isDynamic()) {
+					return Collections.emptySet();
+				}
+				contextPaths.addAll(((FilterStateChange) change).getContextFilters().keySet());
+			} else if (change instanceof ErrorPageModelChange) {
+				ErrorPageModelChange c = (ErrorPageModelChange) change;
+				collect(contextPaths, c.getErrorPageModel(), c.getNewModels());
+				collect(contextPaths, c.getErrorPageModels());
+			} else if (change instanceof ErrorPageStateChange) {
+				contextPaths.addAll(((ErrorPageStateChange) change).getContextErrorPages().keySet());
+			} else if (change instanceof WelcomeFileModelChange) {
+				WelcomeFileModelChange c = (WelcomeFileModelChange) change;
+				collect(contextPaths, c.getWelcomeFileModel(), c.getNewModels());
+			} else if (change instanceof WebSocketModelChange) {
+				WebSocketModelChange c = (WebSocketModelChange) change;
+				collect(contextPaths, c.getWebSocketModel(), c.getNewModels());
+				collect(contextPaths, c.getWebSocketModels() == null ? null : c.getWebSocketModels().keySet());
+			} else if (change instanceof ContextStartChange) {
+				Collections.addAll(contextPaths, ((ContextStartChange) change).getContextPaths());
+			} else {
+				return null;
+			}
+		}
+		return contextPaths;
+	}
+
+	private static boolean dynamic(Collection<? extends ElementModel<?, ?>> models) {
+		if (models != null) {
+			for (ElementModel<?, ?> model : models) {
+				if ((model instanceof ServletModel && ((ServletModel) model).isDynamic())
+						|| (model instanceof FilterModel && ((FilterModel) model).isDynamic())
+						|| (model instanceof EventListenerModel && ((EventListenerModel) model).isDynamic())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static void collect(Set<String> contextPaths, ElementModel<?, ?> model, Collection<OsgiContextModel> newModels) {
+		if (model != null) {
+			model.getContextModels().forEach(ocm -> contextPaths.add(ocm.getContextPath()));
+		}
+		if (newModels != null) {
+			newModels.forEach(ocm -> contextPaths.add(ocm.getContextPath()));
+		}
+	}
+
+	private static void collect(Set<String> contextPaths, Collection<? extends ElementModel<?, ?>> models) {
+		if (models != null) {
+			models.forEach(model -> collect(contextPaths, model, null));
+		}
+	}
+
+	// --- pure delegation
+
+	@Override
+	public ServerState getState() {
+		return delegate.getState();
+	}
+
+	@Override
+	public void configure() throws Exception {
+		delegate.configure();
+	}
+
+	@Override
+	public void start() throws Exception {
+		delegate.start();
+	}
+
+	@Override
+	public void stop() throws Exception {
+		commit();
+		delegate.stop();
+	}
+
+	@Override
+	public Configuration getConfiguration() {
+		return delegate.getConfiguration();
+	}
+
+	@Override
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		return delegate.reconfigure(configuration, change);
+	}
+
+	@Override
+	public void addListener(ServerListener listener) {
+		delegate.addListener(listener);
+	}
+
+	@Override
+	public void removeListener(ServerListener listener) {
+		delegate.removeListener(listener);
+	}
+
+	@Override
+	public Servlet createResourceServlet(URL urlBase, String base) {
+		return delegate.createResourceServlet(urlBase, base);
+	}
+
+	@Override
+	public String toString() {
+		return delegate.toString();
+	}
+
+}
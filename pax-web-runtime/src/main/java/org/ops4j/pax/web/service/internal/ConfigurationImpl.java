@@ -242,6 +242,9 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 
 		private final int eventDispatcherThreadCount;
 
+		private final int batchCoalescingWindow;
+		private final int batchCoalescingMaxBatches;
+
 		private final boolean showStacks;
 
 		private final String[] virtualHosts;
@@ -319,6 +322,11 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 			Integer eventDispatcherThreadCount = resolveIntegerProperty(PaxWebConfig.PID_CFG_EVENT_DISPATCHER_THREAD_COUNT);
 			this.eventDispatcherThreadCount = eventDispatcherThreadCount == null ? 1 : eventDispatcherThreadCount;
 
+			Integer coalescingWindow = resolveIntegerProperty(PaxWebConfig.PID_CFG_BATCH_COALESCING_WINDOW);
+			this.batchCoalescingWindow = coalescingWindow == null ? 0 : Math.max(0, coalescingWindow);
+			Integer coalescingMaxBatches = resolveIntegerProperty(PaxWebConfig.PID_CFG_BATCH_COALESCING_MAX_BATCHES);
+			this.batchCoalescingMaxBatches = coalescingMaxBatches == null ? 100 : Math.max(1, coalescingMaxBatches);
+
 			Boolean stacks = resolveBooleanProperty(PaxWebConfig.PID_CFG_SHOW_STACKS);
 			showStacks = stacks != null && stacks;
 
@@ -424,6 +432,12 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 			return resolveStringProperty(PaxWebConfig.PID_CFG_SERVER_THREAD_NAME_PREFIX);
 		}
 
+		@Override
+		public Boolean isServerVirtualThreads() {
+			Boolean virtualThreads = resolveBooleanProperty(PaxWebConfig.PID_CFG_SERVER_VIRTUAL_THREADS);
+			return virtualThreads != null && virtualThreads;
+		}
+
 		@Override
 		public Boolean checkForwardedHeaders() {
 			return resolveBooleanProperty(PaxWebConfig.PID_CFG_HTTP_CHECK_FORWARDED_HEADERS);
@@ -434,6 +448,16 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 			return this.eventDispatcherThreadCount;
 		}
 
+		@Override
+		public Integer getBatchCoalescingWindow() {
+			return this.batchCoalescingWindow;
+		}
+
+		@Override
+		public Integer getBatchCoalescingMaxBatches() {
+			return this.batchCoalescingMaxBatches;
+		}
+
 		@Override
 		public Boolean isShowStacks() {
 			return showStacks;
@@ -667,6 +691,18 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 			return resolveBooleanProperty(PaxWebConfig.PID_CFG_FORMAUTH_REDIRECT);
 		}
 
+		@Override
+		public Long getCredentialCacheTtl() {
+			Long ttl = resolveLongProperty(PaxWebConfig.PID_CFG_CREDENTIAL_CACHE_TTL);
+			return ttl == null ? 0L : Math.max(0L, ttl);
+		}
+
+		@Override
+		public Integer getCredentialCacheMaxEntries() {
+			Integer maxEntries = resolveIntegerProperty(PaxWebConfig.PID_CFG_CREDENTIAL_CACHE_MAX_ENTRIES);
+			return maxEntries == null ? 1024 : Math.max(1, maxEntries);
+		}
+
 		@Override
 		public Boolean isEncEnabled() {
 			Boolean enabled = resolveBooleanProperty(PaxWebConfig.PID_CFG_ENC_ENABLED);
@@ -760,6 +796,58 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 		public Integer maxCacheTTL() {
 			return resolveIntegerProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_CACHE_TTL);
 		}
+
+		@Override
+		public boolean precompressed() {
+			Boolean precompressed = resolveBooleanProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_PRECOMPRESSED);
+			return precompressed != null && precompressed;
+		}
+
+		@Override
+		public boolean gzip() {
+			Boolean gzip = resolveBooleanProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_GZIP);
+			return gzip != null && gzip;
+		}
+
+		@Override
+		public String[] compressibleMimeTypes() {
+			String mimeTypes = resolveStringProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_COMPRESSION_MIME_TYPES);
+			if (mimeTypes == null || "".equals(mimeTypes.trim())) {
+				return null;
+			}
+			return mimeTypes.trim().split("\\s*,\\s*");
+		}
+
+		@Override
+		public Integer compressionMinSize() {
+			return resolveIntegerProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_COMPRESSION_MIN_SIZE);
+		}
+
+		@Override
+		public Integer compressionCacheSize() {
+			return resolveIntegerProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_COMPRESSION_CACHE_SIZE);
+		}
+
+		@Override
+		public boolean extraction() {
+			Boolean extraction = resolveBooleanProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_EXTRACTION);
+			return extraction != null && extraction;
+		}
+
+		@Override
+		public Integer extractionMinSize() {
+			return resolveIntegerProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_EXTRACTION_MIN_SIZE);
+		}
+
+		@Override
+		public String etagStrategy() {
+			return resolveStringProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_ETAG);
+		}
+
+		@Override
+		public String immutablePattern() {
+			return resolveStringProperty(PaxWebConfig.PID_CFG_DEFAULT_SERVLET_IMMUTABLE_PATTERN);
+		}
 	}
 
 	private class SessionConfigurationImpl implements SessionConfiguration {
@@ -963,10 +1051,14 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 
 		private final ServerConfiguration serverConfig;
 		private String globalScratchDir = null;
+		private final boolean precompile;
 
 		JspConfigurationImpl(ServerConfiguration serverConfiguration) {
 			this.serverConfig = serverConfiguration;
 
+			Boolean precompile = resolveBooleanProperty(PaxWebConfig.PID_CFG_JSP_PRECOMPILE);
+			this.precompile = precompile != null && precompile;
+
 			String location = resolveStringProperty(PaxWebConfig.PID_CFG_JSP_SCRATCH_DIR);
 			File result = null;
 			if (location != null) {
@@ -1015,6 +1107,11 @@ public class ConfigurationImpl extends PropertyStore implements Configuration {
 		public String getGloablJspScratchDir() {
 			return globalScratchDir;
 		}
+
+		@Override
+		public Boolean isJspPrecompile() {
+			return precompile;
+		}
 	}
 
 }
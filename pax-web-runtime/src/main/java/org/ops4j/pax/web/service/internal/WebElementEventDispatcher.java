@@ -15,16 +15,19 @@
  */
 package org.ops4j.pax.web.service.internal;
 
-import java.util.Collections;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.ops4j.pax.web.service.spi.config.Configuration;
 import org.ops4j.pax.web.service.spi.model.events.WebElementEvent;
@@ -47,21 +50,38 @@ import org.slf4j.LoggerFactory;
  * <p>It's activated using a method from {@link WebElementEventListener} that called to <em>send</em> the event and the
  * event is passed to other registered {@link WebElementEventListener}s.</p>
  *
+ * <p>Sending an event never waits for the listeners. Each listener has its own queue of events, which
+ * is drained (in batches, preserving the order of events) by a single task at a time using the dispatcher's
+ * executor.</p>
+ *
+ * <p>Queue of each listener is bounded by {@link #QUEUE_CAPACITY}. When a listener can't keep up and its queue
+ * is full, superseded events are collapsed - {@code DEPLOYING}, {@code UNDEPLOYING} and {@code WAITING} events
+ * of an element for which a later event is already queued are removed, so the listener gets only the latest
+ * state. Final states ({@code DEPLOYED}, {@code UNDEPLOYED} and {@code FAILED}) are never dropped and the
+ * registration of web elements is never blocked, so if nothing can be collapsed, the queue grows above its
+ * capacity and a warning is logged.</p>
+ *
  * @author Achim Nierbeck
  */
 public class WebElementEventDispatcher implements WebElementEventListener,
 		ServiceTrackerCustomizer<WebElementEventListener, WebElementEventListener>, BundleListener {
 
+	/** Number of events waiting for single listener above which superseded events are collapsed */
+	static final int QUEUE_CAPACITY = 4096;
+
 	private static final Logger LOG = LoggerFactory.getLogger(WebElementEventDispatcher.class);
 
+	/** Maximum number of events delivered by single task, so listeners share the executor fairly */
+	private static final int BATCH_SIZE = 256;
+
 	private final BundleContext bundleContext;
 	private final ExecutorService executor;
 
 	/** {@link ServiceTracker} for {@link WebElementEventListener web element listeners} */
 	private final ServiceTracker<WebElementEventListener, WebElementEventListener> webElementListenerTracker;
 
-	/** All tracked {@link WebElementEventListener web element listeners} */
-	private final Set<WebElementEventListener> listeners = new CopyOnWriteArraySet<>();
+	/** All tracked {@link WebElementEventListener web element listeners} with their queues */
+	private final Map<WebElementEventListener, ListenerQueue> listeners = new ConcurrentHashMap<>();
 
 	public WebElementEventDispatcher(final BundleContext bundleContext, Configuration configuration) {
 		this.bundleContext = bundleContext;
@@ -83,9 +103,7 @@ public class WebElementEventDispatcher implements WebElementEventListener,
 		WebElementEventListener listener = bundleContext.getService(reference);
 		if (listener != null) {
 			LOG.debug("New WebElementEventListener added: {} to {}@{}", listener.getClass().getName(), this.getClass().getSimpleName(), System.identityHashCode(this));
-			synchronized (listeners) {
-				listeners.add(listener);
-			}
+			listeners.put(listener, new ListenerQueue(listener));
 		}
 		return listener;
 	}
@@ -96,7 +114,10 @@ public class WebElementEventDispatcher implements WebElementEventListener,
 
 	@Override
 	public void removedService(ServiceReference<WebElementEventListener> reference, WebElementEventListener service) {
-		listeners.remove(service);
+		ListenerQueue queue = listeners.remove(service);
+		if (queue != null) {
+			queue.clear();
+		}
 		bundleContext.ungetService(reference);
 		LOG.debug("WebElementEventListener is removed: {}", service.getClass().getName());
 	}
@@ -106,11 +127,52 @@ public class WebElementEventDispatcher implements WebElementEventListener,
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Sending web element event " + event + " for bundle " + event.getBundleName());
 		}
-		synchronized (listeners) {
-			callListeners(event);
+		for (ListenerQueue queue : listeners.values()) {
+			try {
+				queue.offer(event);
+			} catch (RejectedExecutionException ree) {
+				LOG.warn("Executor shut down", ree);
+				break;
+			}
 		}
 	}
 
+	/**
+	 * Returns the number of events waiting for delivery to all the listeners.
+	 * @return
+	 */
+	public int getQueuedEvents() {
+		int depth = 0;
+		for (ListenerQueue queue : listeners.values()) {
+			depth += queue.size();
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns the highest number of events waiting for delivery to single listener.
+	 * @return
+	 */
+	public int getMaxQueueDepth() {
+		int depth = 0;
+		for (ListenerQueue queue : listeners.values()) {
+			depth = Math.max(depth, queue.size());
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns the number of superseded events removed from full queues of all the listeners.
+	 * @return
+	 */
+	public long getCollapsedEvents() {
+		long collapsed = 0;
+		for (ListenerQueue queue : listeners.values()) {
+			collapsed += queue.collapsed();
+		}
+		return collapsed;
+	}
+
 	void destroy() {
 		bundleContext.removeBundleListener(this);
 		webElementListenerTracker.close();
@@ -122,32 +184,136 @@ public class WebElementEventDispatcher implements WebElementEventListener,
 		}
 	}
 
-	private void callListeners(WebElementEvent event) {
-		for (WebElementEventListener listener : listeners) {
+	/**
+	 * Queue of events for single {@link WebElementEventListener} drained by at most one task at a time.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final WebElementEventListener listener;
+
+		// all the fields below are guarded by this queue
+		private final Deque<WebElementEvent> events = new ArrayDeque<>();
+		private boolean scheduled;
+		/** Size at which superseded events are collapsed - raised when nothing more can be collapsed */
+		private int collapseAt = QUEUE_CAPACITY;
+		private boolean overflowReported;
+		private long collapsed;
+
+		ListenerQueue(WebElementEventListener listener) {
+			this.listener = listener;
+		}
+
+		void offer(WebElementEvent event) {
+			synchronized (this) {
+				if (events.size() >= collapseAt) {
+					collapse(event);
+					if (events.size() >= QUEUE_CAPACITY) {
+						// only final states are waiting - check again after a quarter of capacity more events
+						collapseAt = events.size() + QUEUE_CAPACITY / 4;
+						if (!overflowReported) {
+							overflowReported = true;
+							LOG.warn("Listener {} can't keep up with web element events, {} events are waiting for delivery",
+									listener.getClass().getName(), events.size());
+						}
+					}
+				}
+				events.addLast(event);
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
 			try {
-				callListener(listener, event);
-			} catch (RejectedExecutionException ree) {
-				LOG.warn("Executor shut down", ree);
-				break;
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				synchronized (this) {
+					scheduled = false;
+				}
+				throw e;
 			}
 		}
-	}
 
-	private void callListener(final WebElementEventListener listener, final WebElementEvent event) {
-		try {
-			executor.invokeAny(Collections.<Callable<Void>>singleton(() -> {
-				listener.registrationEvent(event);
-				return null;
-			}), 60L, TimeUnit.SECONDS);
-		} catch (InterruptedException ie) {
-			LOG.warn("Thread interrupted", ie);
-			Thread.currentThread().interrupt();
-		} catch (TimeoutException te) {
-			LOG.warn("Listener timed out, will be ignored", te);
-			listeners.remove(listener);
-		} catch (ExecutionException ee) {
-			LOG.warn("Listener caused an exception, will be ignored", ee);
-			listeners.remove(listener);
+		/**
+		 * Removes queued transitional events of elements for which a later event is queued (or is being added).
+		 * @param event event being added
+		 */
+		private void collapse(WebElementEvent event) {
+			Set<String> later = new HashSet<>();
+			String id = event.getData() == null ? null : event.getData().getElementId();
+			if (id != null) {
+				later.add(id);
+			}
+			for (Iterator<WebElementEvent> it = events.descendingIterator(); it.hasNext(); ) {
+				WebElementEvent queued = it.next();
+				String queuedId = queued.getData() == null ? null : queued.getData().getElementId();
+				if (queuedId != null && !later.add(queuedId) && isTransitional(queued.getType())) {
+					it.remove();
+					collapsed++;
+				}
+			}
+		}
+
+		private boolean isTransitional(WebElementEvent.State state) {
+			return state == WebElementEvent.State.DEPLOYING || state == WebElementEvent.State.UNDEPLOYING
+					|| state == WebElementEvent.State.WAITING;
+		}
+
+		synchronized int size() {
+			return events.size();
+		}
+
+		synchronized long collapsed() {
+			return collapsed;
+		}
+
+		synchronized void clear() {
+			events.clear();
+		}
+
+		@Override
+		public void run() {
+			List<WebElementEvent> batch = new ArrayList<>(BATCH_SIZE);
+			while (true) {
+				batch.clear();
+				synchronized (this) {
+					while (batch.size() < BATCH_SIZE && !events.isEmpty()) {
+						batch.add(events.pollFirst());
+					}
+					if (events.size() < QUEUE_CAPACITY) {
+						collapseAt = QUEUE_CAPACITY;
+						overflowReported = false;
+					}
+				}
+				for (WebElementEvent event : batch) {
+					if (listeners.get(listener) != this) {
+						// listener was removed
+						return;
+					}
+					try {
+						listener.registrationEvent(event);
+					} catch (Exception e) {
+						LOG.warn("Listener caused an exception, will be ignored", e);
+						listeners.remove(listener, this);
+						clear();
+						return;
+					}
+				}
+
+				synchronized (this) {
+					scheduled = !events.isEmpty();
+					if (!scheduled) {
+						return;
+					}
+				}
+				// more events arrived (or the batch was full) - continue in new task, so other listeners
+				// are not starved
+				try {
+					executor.execute(this);
+					return;
+				} catch (RejectedExecutionException e) {
+					// executor is shutting down - deliver remaining events in this task
+				}
+			}
 		}
 	}
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import jakarta.servlet.http.HttpServlet;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.spi.ServerController;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.task.Batch;
+import org.ops4j.pax.web.service.spi.task.Change;
+import org.ops4j.pax.web.service.spi.task.OpCode;
+import org.ops4j.pax.web.service.spi.task.TransactionStateChange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CoalescingServerControllerTest {
+
+	@Test
+	public void contextsAreStartedOncePerBurst() {
+		List<Batch> sent = new ArrayList<>();
+		CoalescingServerController controller = controller(sent, 3);
+
+		controller.sendBatch(servletBatch("s1", "/c1"));
+		controller.sendBatch(servletBatch("s2", "/c1"));
+		assertThat(sent).hasSize(3);
+		assertThat(transaction(sent.get(0))).isEqualTo("ASSOCIATE: /c1");
+
+		// third batch reaches the limit
+		controller.sendBatch(servletBatch("s3", "/c2"));
+		assertThat(sent).hasSize(6);
+		assertThat(transaction(sent.get(3))).isEqualTo("ASSOCIATE: /c2");
+		assertThat(sent.get(5).getOperations()).hasSize(2);
+		assertThat(transaction(sent.get(5))).isEqualTo("DISASSOCIATE: /c1");
+	}
+
+	@Test
+	public void otherChangesCommitFirst() {
+		List<Batch> sent = new ArrayList<>();
+		CoalescingServerController controller = controller(sent, 100);
+
+		controller.sendBatch(servletBatch("s1", "/c1"));
+		Batch wab = new Batch("WAB");
+		wab.beginTransaction("/c1");
+		wab.commitTransaction("/c1");
+		controller.sendBatch(wab);
+
+		assertThat(sent).hasSize(4);
+		assertThat(transaction(sent.get(2))).isEqualTo("DISASSOCIATE: /c1");
+		assertThat(sent.get(3)).isSameAs(wab);
+
+		// nothing more to commit
+		controller.commit();
+		assertThat(sent).hasSize(4);
+	}
+
+	private CoalescingServerController controller(List<Batch> sent, int maxBatches) {
+		ServerController delegate = mock(ServerController.class);
+		doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(delegate).sendBatch(any(Batch.class));
+		ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+		when(executor.schedule(any(Runnable.class), anyLong(), any())).thenAnswer(invocation -> mock(ScheduledFuture.class));
+		return new CoalescingServerController(delegate, executor, 60_000L, maxBatches);
+	}
+
+	private Batch servletBatch(String name, String contextPath) {
+		OsgiContextModel ocm = new OsgiContextModel(null, null, contextPath, false);
+		ServletModel model = new ServletModel.Builder(name)
+				.withUrlPatterns(new String[] { "/" + name })
+				.withServletClass(HttpServlet.class)
+				.withOsgiContextModel(ocm)
+				.build();
+		Batch batch = new Batch("servlet " + name);
+		batch.addServletModel(model);
+		return batch;
+	}
+
+	private String transaction(Batch batch) {
+		Change change = batch.getOperations().get(0);
+		assertThat(change).isInstanceOf(TransactionStateChange.class);
+		assertThat(change.getKind()).isIn(OpCode.ASSOCIATE, OpCode.DISASSOCIATE);
+		return change.toString();
+	}
+
+}
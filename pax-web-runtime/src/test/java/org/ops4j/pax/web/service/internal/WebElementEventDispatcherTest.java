@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.model.events.WebElementEvent;
+import org.ops4j.pax.web.service.spi.model.events.WebElementEventData;
+import org.ops4j.pax.web.service.spi.model.events.WebElementEventListener;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class WebElementEventDispatcherTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void slowListenerDoesNotBlockRegistration() throws Exception {
+		BundleContext context = mock(BundleContext.class);
+		Configuration configuration = mock(Configuration.class, RETURNS_DEEP_STUBS);
+		when(configuration.server().getEventDispatcherThreadCount()).thenReturn(2);
+
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		List<WebElementEvent> slowEvents = new CopyOnWriteArrayList<>();
+		List<WebElementEvent> fastEvents = new CopyOnWriteArrayList<>();
+		int count = 5000;
+		WebElementEventListener slow = event -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			slowEvents.add(event);
+		};
+		WebElementEventListener fast = event -> {
+			fastEvents.add(event);
+			if (fastEvents.size() == count) {
+				done.countDown();
+			}
+		};
+		ServiceReference<WebElementEventListener> ref1 = mock(ServiceReference.class);
+		ServiceReference<WebElementEventListener> ref2 = mock(ServiceReference.class);
+		when(context.getService(ref1)).thenReturn(slow);
+		when(context.getService(ref2)).thenReturn(fast);
+
+		WebElementEventDispatcher dispatcher = new WebElementEventDispatcher(context, configuration);
+		dispatcher.addingService(ref1);
+		dispatcher.addingService(ref2);
+
+		WebElementEventData data = mock(WebElementEventData.class, withSettings().stubOnly());
+		when(data.getOriginBundle()).thenReturn(mock(Bundle.class, withSettings().stubOnly()));
+		WebElementEvent[] events = new WebElementEvent[count];
+		for (int i = 0; i < count; i++) {
+			events[i] = new WebElementEvent(WebElementEvent.State.DEPLOYED, data);
+			dispatcher.registrationEvent(events[i]);
+		}
+
+		// fast listener gets all the events in order, while slow listener's queue grows
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(fastEvents).containsExactly(events);
+		assertThat(dispatcher.getMaxQueueDepth()).isPositive();
+
+		release.countDown();
+		dispatcher.destroy();
+		assertThat(slowEvents).containsExactly(events);
+		assertThat(dispatcher.getQueuedEvents()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void uncollapsibleEventsAboveCapacityAreNotLost() throws Exception {
+		BundleContext context = mock(BundleContext.class);
+		Configuration configuration = mock(Configuration.class, RETURNS_DEEP_STUBS);
+		when(configuration.server().getEventDispatcherThreadCount()).thenReturn(1);
+
+		CountDownLatch release = new CountDownLatch(1);
+		List<WebElementEvent> received = new CopyOnWriteArrayList<>();
+		WebElementEventListener blocked = event -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(event);
+		};
+		ServiceReference<WebElementEventListener> ref = mock(ServiceReference.class);
+		when(context.getService(ref)).thenReturn(blocked);
+
+		WebElementEventDispatcher dispatcher = new WebElementEventDispatcher(context, configuration);
+		dispatcher.addingService(ref);
+
+		WebElementEventData data = mock(WebElementEventData.class, withSettings().stubOnly());
+		when(data.getOriginBundle()).thenReturn(mock(Bundle.class, withSettings().stubOnly()));
+		int count = WebElementEventDispatcher.QUEUE_CAPACITY * 2;
+		WebElementEvent[] events = new WebElementEvent[count];
+		for (int i = 0; i < count; i++) {
+			events[i] = new WebElementEvent(i % 2 == 0 ? WebElementEvent.State.DEPLOYING : WebElementEvent.State.DEPLOYED, data);
+			dispatcher.registrationEvent(events[i]);
+		}
+
+		// the listener is blocked on first event, all the others are waiting
+		assertThat(dispatcher.getQueuedEvents()).isGreaterThan(WebElementEventDispatcher.QUEUE_CAPACITY);
+
+		release.countDown();
+		dispatcher.destroy();
+		assertThat(received).containsExactly(events);
+		assertThat(dispatcher.getQueuedEvents()).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void supersededEventsAreCollapsedWhenQueueIsFull() throws Exception {
+		BundleContext context = mock(BundleContext.class);
+		Configuration configuration = mock(Configuration.class, RETURNS_DEEP_STUBS);
+		when(configuration.server().getEventDispatcherThreadCount()).thenReturn(1);
+
+		CountDownLatch release = new CountDownLatch(1);
+		List<WebElementEvent> received = new CopyOnWriteArrayList<>();
+		WebElementEventListener blocked = event -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			received.add(event);
+		};
+		ServiceReference<WebElementEventListener> ref = mock(ServiceReference.class);
+		when(context.getService(ref)).thenReturn(blocked);
+
+		WebElementEventDispatcher dispatcher = new WebElementEventDispatcher(context, configuration);
+		dispatcher.addingService(ref);
+
+		Bundle bundle = mock(Bundle.class, withSettings().stubOnly());
+		// final states of all the elements fit into the queue, but not together with DEPLOYING events
+		int elements = WebElementEventDispatcher.QUEUE_CAPACITY - 1;
+		List<WebElementEvent> deployed = new ArrayList<>();
+		for (int i = 0; i < elements; i++) {
+			WebElementEventData data = new WebElementEventData() { };
+			data.setElementId("element-" + i);
+			data.setOriginBundle(bundle);
+			dispatcher.registrationEvent(new WebElementEvent(WebElementEvent.State.DEPLOYING, data));
+			WebElementEvent event = new WebElementEvent(WebElementEvent.State.DEPLOYED, data);
+			deployed.add(event);
+			dispatcher.registrationEvent(event);
+		}
+
+		// the queue doesn't grow above its capacity, because DEPLOYING events are superseded
+		assertThat(dispatcher.getMaxQueueDepth()).isLessThanOrEqualTo(WebElementEventDispatcher.QUEUE_CAPACITY);
+		assertThat(dispatcher.getCollapsedEvents()).isPositive();
+
+		release.countDown();
+		dispatcher.destroy();
+		// no final state is lost and the order is preserved
+		assertThat(received.stream().filter(e -> e.getType() == WebElementEvent.State.DEPLOYED))
+				.containsExactlyElementsOf(deployed);
+		assertThat(received.size() + dispatcher.getCollapsedEvents()).isEqualTo(elements * 2L);
+	}
+
+}
@@ -20,6 +20,7 @@ import java.net.URL;
 import jakarta.servlet.Servlet;
 
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.model.events.ServerListener;
 import org.ops4j.pax.web.service.spi.task.Batch;
 
@@ -75,6 +76,22 @@ public interface ServerController {
 	 */
 	Configuration getConfiguration();
 
+	/**
+	 * <p>Applies changed configuration to running server without stopping it. Only changes with
+	 * {@link ConfigurationChange.Scope#LIVE} scope are passed here. If the server can't apply any of the changed
+	 * properties in place, it should return {@code false} (possibly without applying any change) and
+	 * pax-web-runtime will restart the server with new configuration.</p>
+	 *
+	 * <p>{@link #getConfiguration()} still returns the configuration used to create this controller.</p>
+	 *
+	 * @param configuration new configuration
+	 * @param change the properties that have changed
+	 * @return {@code true} if all the changes were applied
+	 */
+	default boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		return false;
+	}
+
 	// --- listener related methods
 
 	/**
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.ops4j.pax.web.service.PaxWebConfig;
+import org.osgi.framework.Constants;
+
+/**
+ * <p>Difference between two versions of {@code org.ops4j.pax.web} PID configuration together with the
+ * {@link Scope} of the change, which determines what has to be done to apply new configuration.</p>
+ *
+ * <p>Properties are compared <em>raw</em> (before resolving placeholders and decrypting values), so any change to
+ * a property which is not known to Pax Web (and may be used in placeholders) requires full restart.</p>
+ */
+public final class ConfigurationChange {
+
+	/**
+	 * What has to be done to apply changed property.
+	 */
+	public enum Scope {
+		/** The property may be applied to running server (thread pool sizes, timeouts, ...) */
+		LIVE,
+		/** The property requires re-creation of connectors/listeners (ports, addresses, SSL configuration) */
+		CONNECTOR,
+		/** The property requires full restart of the server and redeployment of all web applications */
+		RESTART
+	}
+
+	/** Properties added by Configuration Admin (or FileInstall) which don't affect the configuration */
+	private static final Set<String> IGNORED = new HashSet<>(Arrays.asList(
+			Constants.SERVICE_PID,
+			"service.factoryPid",
+			"service.bundleLocation",
+			"felix.fileinstall.filename"
+	));
+
+	private static final Set<String> LIVE_PROPERTIES = new HashSet<>(Arrays.asList(
+			PaxWebConfig.PID_CFG_SERVER_MAX_THREADS,
+			PaxWebConfig.PID_CFG_SERVER_MIN_THREADS,
+			PaxWebConfig.PID_CFG_SERVER_IDLE_TIMEOUT,
+			PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT,
+			PaxWebConfig.PID_CFG_LOG_NCSA_RETAINDAYS
+	));
+
+	private static final Set<String> CONNECTOR_PROPERTIES = new HashSet<>(Arrays.asList(
+			PaxWebConfig.PID_CFG_HTTP_PORT,
+			PaxWebConfig.PID_CFG_HTTP_PORT_SECURE,
+			PaxWebConfig.PID_CFG_HTTP_ENABLED,
+			PaxWebConfig.PID_CFG_HTTP_SECURE_ENABLED,
+			PaxWebConfig.PID_CFG_LISTENING_ADDRESSES,
+			PaxWebConfig.PID_CFG_HTTP_CONNECTOR_NAME,
+			PaxWebConfig.PID_CFG_HTTP_SECURE_CONNECTOR_NAME,
+			PaxWebConfig.PID_CFG_HTTP_CHECK_FORWARDED_HEADERS,
+			PaxWebConfig.PID_CFG_VALIDATE_CERTS,
+			PaxWebConfig.PID_CFG_VALIDATE_PEER_CERTS,
+			PaxWebConfig.PID_CFG_ENABLE_OCSP,
+			PaxWebConfig.PID_CFG_ENABLE_CRLDP,
+			PaxWebConfig.PID_CFG_CRL_PATH,
+			PaxWebConfig.PID_CFG_OCSP_RESPONDER_URL,
+			PaxWebConfig.PID_CFG_MAX_CERT_PATH_LENGTH
+	));
+
+	private static final String SSL_PREFIX = "org.ops4j.pax.web.ssl.";
+
+	private final Set<String> changedProperties;
+	private final Scope scope;
+
+	private ConfigurationChange(Set<String> changedProperties) {
+		this.changedProperties = Collections.unmodifiableSet(changedProperties);
+		Scope s = Scope.LIVE;
+		for (String property : changedProperties) {
+			Scope ps = classify(property);
+			if (ps.compareTo(s) > 0) {
+				s = ps;
+			}
+		}
+		this.scope = s;
+	}
+
+	/**
+	 * Calculates a difference between two configurations (each may be {@code null})
+	 * @param previous
+	 * @param current
+	 * @return
+	 */
+	public static ConfigurationChange between(Dictionary<String, ?> previous, Dictionary<String, ?> current) {
+		Set<String> changed = new TreeSet<>();
+		collectChanges(previous, current, changed);
+		collectChanges(current, previous, changed);
+		return new ConfigurationChange(changed);
+	}
+
+	/**
+	 * Determines the {@link Scope} of a change of single property.
+	 * @param property
+	 * @return
+	 */
+	public static Scope classify(String property) {
+		if (IGNORED.contains(property) || LIVE_PROPERTIES.contains(property)) {
+			return Scope.LIVE;
+		}
+		if (CONNECTOR_PROPERTIES.contains(property) || property.startsWith(SSL_PREFIX)) {
+			return Scope.CONNECTOR;
+		}
+		return Scope.RESTART;
+	}
+
+	private static void collectChanges(Dictionary<String, ?> d1, Dictionary<String, ?> d2, Set<String> changed) {
+		if (d1 == null) {
+			return;
+		}
+		Enumeration<String> keys = d1.keys();
+		while (keys.hasMoreElements()) {
+			String key = keys.nextElement();
+			Object v2 = d2 == null ? null : d2.get(key);
+			if (!Objects.deepEquals(d1.get(key), v2)) {
+				changed.add(key);
+			}
+		}
+	}
+
+	/**
+	 * Names of changed (added, removed or modified) properties
+	 * @return
+	 */
+	public Set<String> getChangedProperties() {
+		return changedProperties;
+	}
+
+	/**
+	 * The widest {@link Scope} of all changed properties. {@link Scope#LIVE} if nothing has changed.
+	 * @return
+	 */
+	public Scope getScope() {
+		return scope;
+	}
+
+	public boolean isEmpty() {
+		return changedProperties.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "ConfigurationChange{scope=" + scope + ", properties=" + changedProperties + "}";
+	}
+
+}
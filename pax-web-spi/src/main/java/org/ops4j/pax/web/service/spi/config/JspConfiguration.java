@@ -33,4 +33,11 @@ public interface JspConfiguration {
 	 */
 	String getGloablJspScratchDir();
 
+	/**
+	 * Should all the JSPs of a context be translated and compiled when JSP servlet is initialized? Compiled
+	 * classes are kept in scratch directory and reused after restart if the bundle wasn't updated.
+	 * @return
+	 */
+	Boolean isJspPrecompile();
+
 }
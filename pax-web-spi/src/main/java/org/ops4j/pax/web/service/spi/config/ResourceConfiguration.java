@@ -58,4 +58,52 @@ public interface ResourceConfiguration {
 	 */
 	Integer maxCacheTTL();
 
+	/**
+	 * <p>Boolean property to specify whether {@code .br} / {@code .gz} siblings of resources should be served
+	 * to clients that accept such encodings.</p>
+	 */
+	boolean precompressed();
+
+	/**
+	 * <p>Boolean property to specify whether resources of compressible MIME types should be gzipped (once)
+	 * by resource servlets.</p>
+	 */
+	boolean gzip();
+
+	/**
+	 * <p>MIME types of the resources which should be gzipped if {@link #gzip()} is enabled.</p>
+	 */
+	String[] compressibleMimeTypes();
+
+	/**
+	 * <p>Integer property to specify minimal size (in bytes) of resources to gzip.</p>
+	 */
+	Integer compressionMinSize();
+
+	/**
+	 * <p>Integer property to specify maximum total size of cached gzipped resources in kB.</p>
+	 */
+	Integer compressionCacheSize();
+
+	/**
+	 * <p>Boolean property to specify whether bundle resources should be extracted to temporary directory
+	 * and served from the file system.</p>
+	 */
+	boolean extraction();
+
+	/**
+	 * <p>Integer property to specify minimal size (in bytes) of bundle resources to extract.</p>
+	 */
+	Integer extractionMinSize();
+
+	/**
+	 * <p>Name of the strategy used to calculate {@code ETag} of resources ({@code default} or {@code hash}).</p>
+	 */
+	String etagStrategy();
+
+	/**
+	 * <p>Regular expression matching names of fingerprinted (immutable) resources.</p>
+	 */
+	String immutablePattern();
+
 }
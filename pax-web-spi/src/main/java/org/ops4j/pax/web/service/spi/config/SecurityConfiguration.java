@@ -246,6 +246,18 @@ public interface SecurityConfiguration {
 	 */
 	Boolean getFormAuthRedirect();
 
+	/**
+	 * Returns time (in ms) for which verified credentials are cached, defaults to {@code 0} (no caching)
+	 * @return
+	 */
+	Long getCredentialCacheTtl();
+
+	/**
+	 * Returns maximum number of cached credentials, defaults to 1024
+	 * @return
+	 */
+	Integer getCredentialCacheMaxEntries();
+
 	/**
 	 * Checks if configuration values are expected to be encrypted - this triggers a configuration (or tracking)
 	 * of Jasypt StringEncryptor (optional dependency)
@@ -144,6 +144,16 @@ public interface ServerConfiguration {
 	 */
 	String getServerThreadNamePrefix();
 
+	/**
+	 * Specifies whether requests should be handled in virtual threads (if supported by the JVM).<ul>
+	 *     <li>Jetty: {@code org.eclipse.jetty.util.thread.QueuedThreadPool#setVirtualThreadsExecutor(java.util.concurrent.Executor)}</li>
+	 *     <li>Tomcat: {@code org.apache.catalina.core.StandardVirtualThreadExecutor}</li>
+	 *     <li>Undertow: {@code io.undertow.servlet.api.DeploymentInfo#setExecutor(java.util.concurrent.Executor)}</li>
+	 * </ul>
+	 * @return
+	 */
+	Boolean isServerVirtualThreads();
+
 	/**
 	 * Should the connector handle {@code X-Forwarded-*} / {@code X-Proxied-*} headers?<ul>
 	 *     <li>Jetty: {@code org.eclipse.jetty.server.ForwardedRequestCustomizer}</li>
@@ -160,6 +170,19 @@ public interface ServerConfiguration {
 	 */
 	Integer getEventDispatcherThreadCount();
 
+	/**
+	 * Time (in milliseconds) without new web element changes after which coalesced changes are applied.
+	 * {@code 0} means that changes are not coalesced.
+	 * @return
+	 */
+	Integer getBatchCoalescingWindow();
+
+	/**
+	 * Maximum number of coalesced web element changes.
+	 * @return
+	 */
+	Integer getBatchCoalescingMaxBatches();
+
 	/**
 	 * Flag that specifies whether stack traces should be visible in error pages.
 	 * @return
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.context;
+
+/**
+ * <p>Marker interface for {@link org.ops4j.pax.web.service.WebContainerContext},
+ * {@link org.ops4j.pax.web.service.http.HttpContext} or {@link org.osgi.service.servlet.context.ServletContextHelper}
+ * implementations for which the results of {@code getResource()} and {@code getResourcePaths()} depend only
+ * on the content of the bundles (and not for example on the file system or the state of the application).</p>
+ *
+ * <p>Such results may be cached by {@link org.ops4j.pax.web.service.spi.servlet.OsgiServletContext} until the bundles
+ * are updated or refreshed.</p>
+ */
+public interface CacheableResourceLookup {
+
+	/**
+	 * Returns a number which should be changed whenever the set of bundles used for resource lookup changes.
+	 * Cached results obtained with different revision are not used.
+	 * @return
+	 */
+	default long getResourceLookupRevision() {
+		return 0L;
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -33,7 +34,8 @@ import org.slf4j.LoggerFactory;
  * Default implementation of {@link MultiBundleWebContainerContext}. Its identity consists <strong>only</strong>
  * of the context's name.
  */
-public final class DefaultMultiBundleWebContainerContext implements MultiBundleWebContainerContext {
+public final class DefaultMultiBundleWebContainerContext implements MultiBundleWebContainerContext,
+		CacheableResourceLookup {
 
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultMultiBundleWebContainerContext.class);
 
@@ -42,6 +44,9 @@ public final class DefaultMultiBundleWebContainerContext implements MultiBundleW
 
 	private final Queue<Bundle> bundles = new ConcurrentLinkedQueue<>();
 
+	/** Changed each time a bundle is added or removed, so cached resource lookups are not used anymore */
+	private final AtomicLong revision = new AtomicLong();
+
 	public DefaultMultiBundleWebContainerContext(DefaultHttpContext delegate) {
 		this.delegate = delegate;
 	}
@@ -129,6 +134,7 @@ public final class DefaultMultiBundleWebContainerContext implements MultiBundleW
 	public boolean registerBundle(Bundle bundle) {
 		if (!bundles.contains(bundle)) {
 			bundles.add(bundle);
+			revision.incrementAndGet();
 			return true;
 		}
 		return false;
@@ -136,7 +142,16 @@ public final class DefaultMultiBundleWebContainerContext implements MultiBundleW
 
 	@Override
 	public boolean deregisterBundle(Bundle bundle) {
-		return bundles.remove(bundle);
+		if (bundles.remove(bundle)) {
+			revision.incrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public long getResourceLookupRevision() {
+		return revision.get();
 	}
 
 }
@@ -327,6 +327,9 @@ public final class OsgiContextModel extends Identity implements Comparable<OsgiC
 	/** If there's any failure during the lifetime of the context, we can provide a failure DTO information here. */
 	private int dtoFailureCode = -1;
 
+	/** Notified when {@link #dtoFailureCode} is changed, so cached DTOs can be rebuilt */
+	private volatile Runnable dtoStateListener;
+
 	/** Such model is shared, if underlying {@link WebContainerContext} is shared */
 	private Boolean shared = true;
 
@@ -684,6 +687,18 @@ public final class OsgiContextModel extends Identity implements Comparable<OsgiC
 
 	public void setDtoFailureCode(int dtoFailureCode) {
 		this.dtoFailureCode = dtoFailureCode;
+		Runnable listener = dtoStateListener;
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	/**
+	 * Sets a callback invoked when DTO failure code of this context changes.
+	 * @param dtoStateListener
+	 */
+	public void setDtoStateListener(Runnable dtoStateListener) {
+		this.dtoStateListener = dtoStateListener;
 	}
 
 // --- methods that are used directly from web.xml (or fragment) parsing and from WebContainer methods
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.osgi.dto.DTO;
+import org.osgi.service.servlet.runtime.dto.FilterDTO;
+import org.osgi.service.servlet.runtime.dto.RequestInfoDTO;
+import org.osgi.service.servlet.runtime.dto.ResourceDTO;
+import org.osgi.service.servlet.runtime.dto.ServletContextDTO;
+import org.osgi.service.servlet.runtime.dto.ServletDTO;
+
+/**
+ * <p>Index of servlet, resource and filter mappings of all {@link ServletContextDTO contexts} used to calculate
+ * {@link RequestInfoDTO} without checking all the patterns. For each context there are:<ul>
+ *     <li>map of exact mappings</li>
+ *     <li>map of prefix mappings (without trailing {@code /*}) checked for each {@code /} of the path starting
+ *     from the longest prefix</li>
+ *     <li>map of extension mappings</li>
+ *     <li>default servlet ({@code /} mapping)</li>
+ * </ul>
+ * and the filters which apply to {@code REQUEST} dispatcher (with compiled regex mappings).</p>
+ *
+ * <p>The index is immutable and is built from {@link org.osgi.service.servlet.runtime.dto.RuntimeDTO} once
+ * after each change of the model.</p>
+ */
+public final class RequestInfoIndex {
+
+	/** Contexts sorted by the longest context path */
+	private final ContextMappings[] contexts;
+
+	public RequestInfoIndex(ServletContextDTO[] servletContextDTOs) {
+		ServletContextDTO[] sorted = servletContextDTOs == null ? new ServletContextDTO[0] : servletContextDTOs.clone();
+		Arrays.sort(sorted, new ContextComparator());
+		contexts = new ContextMappings[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			contexts[i] = new ContextMappings(sorted[i]);
+		}
+	}
+
+	/**
+	 * Calculates {@link RequestInfoDTO} for a request path (which includes context path).
+	 * @param path
+	 * @return
+	 */
+	public RequestInfoDTO calculateRequestInfoDTO(String path) {
+		RequestInfoDTO dto = new RequestInfoDTO();
+		dto.path = path;
+		if (path == null) {
+			return dto;
+		}
+
+		int query = path.indexOf('?');
+		String requestPath = query >= 0 ? path.substring(0, query) : path;
+
+		for (ContextMappings context : contexts) {
+			String contextPath = context.contextPath;
+			if (!requestPath.startsWith(contextPath)) {
+				continue;
+			}
+			String remaining = requestPath.substring(contextPath.length());
+			if (!("/".equals(contextPath) || "".equals(remaining) || remaining.startsWith("/"))) {
+				continue;
+			}
+			if (!remaining.startsWith("/")) {
+				remaining = "/" + remaining;
+			}
+			dto.servletContextId = context.serviceId;
+
+			// checking servlets/resources
+			DTO target = context.findTarget(remaining);
+			String targetName = null;
+			if (target instanceof ResourceDTO) {
+				dto.resourceDTO = (ResourceDTO) target;
+				targetName = "default";
+			} else if (target instanceof ServletDTO) {
+				dto.servletDTO = (ServletDTO) target;
+				targetName = dto.servletDTO.name;
+			}
+
+			// checking filters
+			List<FilterDTO> matchingFilters = new ArrayList<>();
+			for (FilterMapping filter : context.filters) {
+				if (filter.matches(targetName, remaining)) {
+					matchingFilters.add(filter.dto);
+				}
+			}
+			dto.filterDTOs = matchingFilters.toArray(new FilterDTO[0]);
+
+			// end of searching through context paths
+			break;
+		}
+
+		return dto;
+	}
+
+	/**
+	 * Compiled mappings of single {@link ServletContextDTO}.
+	 */
+	private static final class ContextMappings {
+		private final String contextPath;
+		private final long serviceId;
+
+		private final Map<String, DTO> exact = new HashMap<>();
+		private final Map<String, DTO> prefixes = new HashMap<>();
+		private final Map<String, DTO> extensions = new HashMap<>();
+		private DTO defaultTarget;
+
+		private final FilterMapping[] filters;
+
+		ContextMappings(ServletContextDTO scDTO) {
+			this.contextPath = scDTO.contextPath == null ? "" : scDTO.contextPath;
+			this.serviceId = scDTO.serviceId;
+
+			// resources after servlets, so they take precedence for the same pattern (as before)
+			if (scDTO.servletDTOs != null) {
+				for (ServletDTO sdto : scDTO.servletDTOs) {
+					add(sdto.patterns, sdto);
+				}
+			}
+			if (scDTO.resourceDTOs != null) {
+				for (ResourceDTO rdto : scDTO.resourceDTOs) {
+					add(rdto.patterns, rdto);
+				}
+			}
+
+			List<FilterMapping> filterMappings = new ArrayList<>();
+			if (scDTO.filterDTOs != null) {
+				for (FilterDTO fdto : scDTO.filterDTOs) {
+					if (fdto.dispatcher == null || fdto.dispatcher.length == 0
+							|| Arrays.asList(fdto.dispatcher).contains("REQUEST")) {
+						filterMappings.add(new FilterMapping(fdto));
+					}
+				}
+			}
+			this.filters = filterMappings.toArray(new FilterMapping[0]);
+		}
+
+		private void add(String[] patterns, DTO target) {
+			if (patterns == null) {
+				return;
+			}
+			for (String p : patterns) {
+				if ("/".equals(p)) {
+					defaultTarget = target;
+				} else if ("".equals(p)) {
+					// special 12.2. Specification of Mappings mapping
+					exact.put("/", target);
+				} else if (p.startsWith("*.")) {
+					extensions.put(p.substring(2), target);
+				} else if (p.endsWith("/*")) {
+					prefixes.put(p.substring(0, p.length() - 2), target);
+				} else {
+					exact.put(p, target);
+				}
+			}
+		}
+
+		/**
+		 * Servlet specification 12.1 "Use of URL Paths" - exact, longest prefix, extension and default mapping.
+		 * @param remaining
+		 * @return
+		 */
+		DTO findTarget(String remaining) {
+			DTO target = exact.get(remaining);
+			if (target != null) {
+				return target;
+			}
+			if (!prefixes.isEmpty()) {
+				target = prefixes.get(remaining);
+				int slash = remaining.length();
+				while (target == null && slash > 0) {
+					slash = remaining.lastIndexOf('/', slash - 1);
+					if (slash < 0) {
+						break;
+					}
+					target = prefixes.get(remaining.substring(0, slash));
+				}
+				if (target != null) {
+					return target;
+				}
+			}
+			if (!extensions.isEmpty()) {
+				int slash = remaining.lastIndexOf('/');
+				int dot = remaining.lastIndexOf('.');
+				if (dot > slash) {
+					target = extensions.get(remaining.substring(dot + 1));
+					if (target != null) {
+						return target;
+					}
+				}
+			}
+			return defaultTarget;
+		}
+	}
+
+	/**
+	 * {@link FilterDTO} with compiled regex mappings.
+	 */
+	private static final class FilterMapping {
+		private final FilterDTO dto;
+		private final Pattern[] regexs;
+
+		FilterMapping(FilterDTO dto) {
+			this.dto = dto;
+			if (dto.regexs == null) {
+				this.regexs = new Pattern[0];
+			} else {
+				this.regexs = Arrays.stream(dto.regexs).map(Pattern::compile).toArray(Pattern[]::new);
+			}
+		}
+
+		boolean matches(String targetName, String remaining) {
+			if (dto.servletNames != null && targetName != null) {
+				for (String sn : dto.servletNames) {
+					if (targetName.equals(sn)) {
+						return true;
+					}
+				}
+			}
+			if (dto.patterns != null) {
+				for (String p : dto.patterns) {
+					if (!p.contains("*") && p.equals(remaining)) {
+						// found exact match
+						return true;
+					} else if ("".equals(p) && "/".equals(remaining)) {
+						// special 12.2. Specification of Mappings mapping
+						return true;
+					} else if (p.endsWith("/*") && matchesPrefix(p.substring(0, p.length() - 2), remaining)) {
+						// found prefix match
+						return true;
+					} else if (p.startsWith("*.") && remaining.endsWith(p.substring(1))) {
+						// found extension match
+						return true;
+					}
+				}
+			}
+			for (Pattern re : regexs) {
+				if (re.matcher(remaining).matches()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Prefix of {@code /prefix/*} pattern matches only whole path segments, so {@code /foo/*} matches
+		 * {@code /foo} and {@code /foo/bar}, but not {@code /foobar}.
+		 * @param prefix
+		 * @param remaining
+		 * @return
+		 */
+		private static boolean matchesPrefix(String prefix, String remaining) {
+			return remaining.startsWith(prefix)
+					&& (remaining.length() == prefix.length() || remaining.charAt(prefix.length()) == '/');
+		}
+	}
+
+	/**
+	 * {@link Comparator} that sorts {@link ServletContextDTO} by the longest context path.
+	 */
+	private static class ContextComparator implements Comparator<ServletContextDTO> {
+		@Override
+		public int compare(ServletContextDTO o1, ServletContextDTO o2) {
+			String cp1 = o1.contextPath;
+			String cp2 = o2.contextPath;
+			long slashes1 = cp1.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
+			long slashes2 = cp2.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
+			if (slashes1 != slashes2) {
+				// more slashes - "earlier" (lower) context
+				return Long.compare(slashes2, slashes1);
+			}
+			if (cp1.length() != cp2.length()) {
+				// order by length, so "/" is at the end
+				return Integer.compare(cp2.length(), cp1.length());
+			}
+			// by rank
+			if (o1 instanceof OsgiContextModel.RankedServletContextDTO && o2 instanceof OsgiContextModel.RankedServletContextDTO) {
+				OsgiContextModel.RankedServletContextDTO ro1 = (OsgiContextModel.RankedServletContextDTO) o1;
+				OsgiContextModel.RankedServletContextDTO ro2 = (OsgiContextModel.RankedServletContextDTO) o2;
+				if (ro1.rank != ro2.rank) {
+					return ro1.rank < ro2.rank ? 1 : -1;
+				}
+			}
+			// by id
+			if (o1.serviceId != o2.serviceId) {
+				return o1.serviceId < o2.serviceId ? -1 : 1;
+			}
+			// alphabetlically
+			return cp1.compareTo(cp2);
+		}
+	}
+
+}
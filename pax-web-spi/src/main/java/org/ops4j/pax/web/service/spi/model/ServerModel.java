@@ -20,7 +20,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Dictionary;
 import java.util.EventListener;
 import java.util.HashMap;
@@ -43,9 +42,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import jakarta.servlet.Filter;
 import jakarta.servlet.Servlet;
@@ -98,7 +98,6 @@ import org.ops4j.pax.web.service.spi.whiteboard.WhiteboardWebContainerView;
 import org.ops4j.pax.web.service.whiteboard.ContextMapping;
 import org.ops4j.pax.web.service.whiteboard.HttpContextMapping;
 import org.ops4j.pax.web.service.whiteboard.ServletContextHelperMapping;
-import org.osgi.dto.DTO;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -144,6 +143,13 @@ import static org.ops4j.pax.web.service.spi.util.Utils.getHighestRankedModel;
  * <em>contexts</em> (OSGi contexts like {@link HttpContext}, not Servlet contexts)) want to register servlets using
  * the same alias / URL mapping.</p>
  *
+ * <p>All the tasks changing the model are run in single configuration thread. Tasks are not sharded per context,
+ * because many of them span contexts (a whiteboard element may be registered into several contexts, name and
+ * pattern conflicts are checked across all contexts and {@code disabledServletModels} may be re-enabled in any
+ * of them) and because runtimes apply the resulting batches to shared server structures. The only batching
+ * done here is publication of {@code service.changecount}, which happens once per burst of tasks instead of
+ * after each task.</p>
+ *
  * @author Alin Dreghiciu
  * @author Grzegorz Grzybek
  */
@@ -154,6 +160,9 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	/** This virtual host name is used if there is no Web-VirtualHosts in manifest. */
 	private static final String DEFAULT_VIRTUAL_HOST = "default";
 
+	/** Maximum time for which publication of changed {@code service.changecount} may be deferred */
+	private static final long MAX_CHANGE_COUNT_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
 	private final Executor executor;
 
 	/** Unique identifier of the Thread from (assumed) single thread pool executor. */
@@ -441,6 +450,41 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	 */
 	private final AtomicLong changeCount = new AtomicLong(0L);
 
+	/**
+	 * Number of tasks passed to {@link #executor} and not finished yet. {@code service.changecount} is published
+	 * when the last task of a burst finishes, so registration of many elements doesn't fire
+	 * {@link org.osgi.framework.ServiceEvent#MODIFIED} event for each element.
+	 */
+	private final AtomicInteger pendingTasks = new AtomicInteger(0);
+
+	/** Whether {@link #changeCount} was changed since it was last published in service registration properties */
+	private final AtomicBoolean changeCountDirty = new AtomicBoolean(false);
+
+	/**
+	 * {@link System#nanoTime()} of last publication of {@link #changeCount}. Under constant registration load
+	 * there may always be a pending task, so the count is published at least every
+	 * {@link #MAX_CHANGE_COUNT_DELAY_NANOS}.
+	 */
+	private volatile long changeCountPublished = System.nanoTime();
+
+	/**
+	 * Number of modifying tasks finished in configuration thread. Unlike {@link #changeCount}, it's incremented
+	 * after the model is changed, so it can be used to check if {@link #runtimeSnapshot} is current.
+	 */
+	private final AtomicLong modelVersion = new AtomicLong(0L);
+
+	/** Last built {@link RuntimeDTO}, served to readers without going through configuration thread */
+	private volatile RuntimeSnapshot runtimeSnapshot;
+
+	/**
+	 * Incremented when state presented in DTOs changes outside of configuration tasks (for example when a servlet
+	 * fails to initialize during first request), so cached {@link RuntimeDTO} has to be rebuilt. Models included
+	 * in {@link #runtimeSnapshot} notify this model through {@link #dtoStateListener}.
+	 */
+	private final AtomicLong dtoStateChanges = new AtomicLong(0L);
+
+	private final Runnable dtoStateListener = dtoStateChanges::incrementAndGet;
+
 	private final List<ReportViewPlugin> plugins = new CopyOnWriteArrayList<>();
 
 	private final AtomicBoolean stopping = new AtomicBoolean(false);
@@ -531,28 +575,63 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	 * @throws NamespaceException
 	 */
 	public <T> T run(ModelRegistrationTask<T> task, boolean asynchronous) throws ServletException, NamespaceException {
-		// in theory, a task doesn't have to change the model, but we accept false positives
-		// that's the only required place to increment the change count thanks to single-threaded config pool ;)
-		incrementChangeCounter();
+		return run(task, asynchronous, true);
+	}
+
+	/**
+	 * Runs a task in configuration thread. Only tasks which may modify the model increment the
+	 * {@code service.changecount} and invalidate cached {@link RuntimeDTO}.
+	 * @param modelTask
+	 * @param asynchronous
+	 * @param modifying
+	 * @param <T>
+	 * @return
+	 * @throws ServletException
+	 * @throws NamespaceException
+	 */
+	private <T> T run(ModelRegistrationTask<T> modelTask, boolean asynchronous, boolean modifying) throws ServletException, NamespaceException {
+		if (modifying) {
+			// in theory, a task doesn't have to change the model, but we accept false positives
+			// that's the only required place to increment the change count thanks to single-threaded config pool ;)
+			incrementChangeCounter();
+		}
+		final ModelRegistrationTask<T> task = modifying ? versioned(modelTask) : modelTask;
 
 		if (!asynchronous && Thread.currentThread().getId() == registrationThreadId) {
 			// we can run immediately
-			return task.run();
+			try {
+				return task.run();
+			} finally {
+				if (pendingTasks.get() == 0) {
+					// not called from a task scheduled by this model
+					publishChangeCount();
+				}
+			}
 		}
 
 		final Throwable originalTrace = new Throwable();
 
 		try {
 			try {
-				CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
-					try {
-						return task.run();
-					} catch (ServletException e) {
-						throw new ModelRegistrationException(e);
-					} catch (NamespaceException e) {
-						throw new ModelRegistrationException(e);
-					}
-				}, executor);
+				pendingTasks.incrementAndGet();
+				CompletableFuture<T> future;
+				try {
+					future = CompletableFuture.supplyAsync(() -> {
+						try {
+							return task.run();
+						} catch (ServletException e) {
+							throw new ModelRegistrationException(e);
+						} catch (NamespaceException e) {
+							throw new ModelRegistrationException(e);
+						} finally {
+							// synchronous caller should see the change count matching the change it requested
+							taskFinished(!asynchronous);
+						}
+					}, executor);
+				} catch (RejectedExecutionException e) {
+					pendingTasks.decrementAndGet();
+					throw e;
+				}
 				if (asynchronous) {
 					return null;
 				} else {
@@ -589,13 +668,14 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	 *
 	 * <p>The task is executed by {@link Executor} associated with this {@link ServerModel}.</p>
 	 *
-	 * @param task
+	 * @param modelTask
 	 * @return
 	 * @throws ServletException
 	 * @throws NamespaceException
 	 */
-	public <T> void runAsync(ModelRegistrationTask<T> task) {
+	public <T> void runAsync(ModelRegistrationTask<T> modelTask) {
 		incrementChangeCounter();
+		final ModelRegistrationTask<T> task = versioned(modelTask);
 
 		if (Thread.currentThread().getId() == registrationThreadId) {
 			// we never try to block the current thread, so we ensure that the task is rescheduled to be invoked
@@ -605,6 +685,7 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 
 		final Throwable originalTrace = new Throwable();
 
+		pendingTasks.incrementAndGet();
 		try {
 			CompletableFuture.supplyAsync(() -> {
 				try {
@@ -613,14 +694,46 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 					throw new ModelRegistrationException(e);
 				} catch (NamespaceException e) {
 					throw new ModelRegistrationException(e);
+				} finally {
+					taskFinished(false);
 				}
 			}, executor);
 		} catch (RuntimeException e) {
+			pendingTasks.decrementAndGet();
 			e.addSuppressed(originalTrace);
 			throw e;
 		}
 	}
 
+	/**
+	 * Wraps a task, so {@link #modelVersion} is incremented after the task changes the model.
+	 * @param task
+	 * @param <T>
+	 * @return
+	 */
+	private <T> ModelRegistrationTask<T> versioned(ModelRegistrationTask<T> task) {
+		return () -> {
+			try {
+				return task.run();
+			} finally {
+				modelVersion.incrementAndGet();
+			}
+		};
+	}
+
+	/**
+	 * Called in configuration thread after each task - changed {@code service.changecount} is published when
+	 * there are no more pending tasks, when a synchronous task finishes (before its caller is notified) or when
+	 * the last publication is older than {@link #MAX_CHANGE_COUNT_DELAY_NANOS}.
+	 * @param synchronous
+	 */
+	private void taskFinished(boolean synchronous) {
+		if (pendingTasks.decrementAndGet() == 0 || synchronous
+				|| System.nanoTime() - changeCountPublished >= MAX_CHANGE_COUNT_DELAY_NANOS) {
+			publishChangeCount();
+		}
+	}
+
 	public void setStopping() {
 		this.stopping.set(true);
 	}
@@ -630,8 +743,8 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	}
 
 	/**
-	 * Increment internal change counter and propagate this information to {@link ServiceRegistration} for
-	 * {@link HttpServiceRuntime} and {@link ServiceReferenceDTO}
+	 * Increment internal change counter. The new value is propagated to {@link ServiceRegistration} for
+	 * {@link HttpServiceRuntime} after the task (or rather the last of currently scheduled tasks) finishes.
 	 */
 	private void incrementChangeCounter() {
 		if (stopping.get()) {
@@ -639,6 +752,19 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 		}
 
 		changeCount.incrementAndGet();
+		changeCountDirty.set(true);
+	}
+
+	/**
+	 * Propagate current value of the change counter to {@link ServiceRegistration} for {@link HttpServiceRuntime}
+	 * (and {@link ServiceReferenceDTO}) if it has changed.
+	 */
+	private void publishChangeCount() {
+		if (stopping.get() || !changeCountDirty.compareAndSet(true, false)) {
+			return;
+		}
+		changeCountPublished = System.nanoTime();
+
 		try {
 			if (httpServiceRuntimeReg == null || httpServiceRuntimeReg.getReference() == null) {
 				// usually during tests
@@ -3166,36 +3292,111 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 
 	// --- implementation of org.osgi.service.servlet.runtime.HttpServiceRuntime
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The DTOs of contexts and elements are built in configuration thread only after the model changes. Each
+	 * call returns a deep copy of the cached {@link RuntimeDTO}, so callers may modify it without affecting
+	 * other callers.</p>
+	 */
 	@Override
 	public RuntimeDTO getRuntimeDTO() {
-		return runSilently(() -> {
-			RuntimeDTO dto = new RuntimeDTO();
+		RuntimeSnapshot snapshot = getRuntimeSnapshot();
+		if (snapshot == null) {
+			return null;
+		}
+		// --- context and element information
+		//     the snapshot is copied deeply, so a caller can't change the DTOs seen by other callers
 
-			// --- service information
+		RuntimeDTO dto = Utils.copyDTO(snapshot.dto);
 
-			dto.serviceDTO = new ServiceReferenceDTO();
-			dto.serviceDTO.id = httpServiceRuntimeDTO.id;
-			dto.serviceDTO.bundle = httpServiceRuntimeDTO.bundle;
-			dto.serviceDTO.usingBundles = Arrays.stream(httpServiceRuntimeReg.getReference().getUsingBundles())
-					.mapToLong(Bundle::getBundleId).toArray();
-			dto.serviceDTO.properties = new HashMap<>(httpServiceRuntimeDTO.properties);
-			dto.serviceDTO.properties.put("service.changecount", changeCount.get());
-			// osgi.http.endpoint will be updated by org.ops4j.pax.web.service.internal.Activator.AddressConfiguration
+		// --- service information - not cached, because using bundles and properties change independently
+		//     of the model
 
-			// --- context information
+		dto.serviceDTO = new ServiceReferenceDTO();
+		dto.serviceDTO.id = httpServiceRuntimeDTO.id;
+		dto.serviceDTO.bundle = httpServiceRuntimeDTO.bundle;
+		dto.serviceDTO.usingBundles = Arrays.stream(httpServiceRuntimeReg.getReference().getUsingBundles())
+				.mapToLong(Bundle::getBundleId).toArray();
+		dto.serviceDTO.properties = new HashMap<>(httpServiceRuntimeDTO.properties);
+		dto.serviceDTO.properties.put("service.changecount", snapshot.changeCount);
+		// osgi.http.endpoint will be updated by org.ops4j.pax.web.service.internal.Activator.AddressConfiguration
 
-			Map<OsgiContextModel, OsgiContextModel.RankedServletContextDTO> scDTOs = new LinkedHashMap<>();
-			List<FailedServletContextDTO> failedScDTOs = new ArrayList<>();
+		return dto;
+	}
 
-			// OsgiContextModels from WABs - we don't care about contexts "awaiting allocation"
-			bundleWabAllocatedContexts.values().forEach(ocm -> {
-				scDTOs.put(ocm, ocm.toDTO());
-			});
-			// OsgiContextModels from HttpService/WebContainer (including Whiteboard ones with direct context instance)
-			// including non-failed ones and failed (usually shaded - set elements from 2nd to the end)
-			bundleContexts.values().forEach(ocms -> {
-				boolean first = true;
-				for (OsgiContextModel ocm : ocms) {
+	/**
+	 * Returns current {@link RuntimeSnapshot} without going through configuration thread, or builds new one
+	 * if the model has changed since the last snapshot was built.
+	 * @return
+	 */
+	private RuntimeSnapshot getRuntimeSnapshot() {
+		RuntimeSnapshot snapshot = runtimeSnapshot;
+		if (snapshot != null && snapshot.isCurrent(modelVersion.get(), dtoStateChanges.get())) {
+			return snapshot;
+		}
+		try {
+			return run(() -> {
+				// versions are read before building the DTO, so changes done concurrently make it outdated
+				long version = modelVersion.get();
+				long dtoState = dtoStateChanges.get();
+				RuntimeSnapshot current = runtimeSnapshot;
+				if (current != null && current.isCurrent(version, dtoState)) {
+					// built by concurrent reader
+					return current;
+				}
+				current = new RuntimeSnapshot(version, dtoState, changeCount.get(), buildRuntimeDTO());
+				runtimeSnapshot = current;
+				return current;
+			}, false, false);
+		} catch (Exception e) {
+			throw new RuntimeException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Builds {@link RuntimeDTO} (without {@link RuntimeDTO#serviceDTO}) from current model. Has to be called
+	 * in configuration thread.
+	 * @return
+	 */
+	private RuntimeDTO buildRuntimeDTO() {
+		RuntimeDTO dto = new RuntimeDTO();
+
+		// --- context information
+
+		Map<OsgiContextModel, OsgiContextModel.RankedServletContextDTO> scDTOs = new LinkedHashMap<>();
+		List<FailedServletContextDTO> failedScDTOs = new ArrayList<>();
+
+		// OsgiContextModels from WABs - we don't care about contexts "awaiting allocation"
+		bundleWabAllocatedContexts.values().forEach(ocm -> {
+			scDTOs.put(ocm, ocm.toDTO());
+		});
+		// OsgiContextModels from HttpService/WebContainer (including Whiteboard ones with direct context instance)
+		// including non-failed ones and failed (usually shaded - set elements from 2nd to the end)
+		bundleContexts.values().forEach(ocms -> {
+			boolean first = true;
+			for (OsgiContextModel ocm : ocms) {
+				if (first) {
+					scDTOs.put(ocm, ocm.toDTO());
+				} else {
+					failedScDTOs.add(ocm.toFailedDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+				}
+				first = false;
+			}
+		});
+		// HttpService/WebContainer which are shaded by Whiteboard-registered contexts with direct instance
+		bundleDefaultContexts.values().forEach(ocm -> {
+			failedScDTOs.add(ocm.toFailedDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+		});
+		// OsgiContextModels from Whiteboard (excluding ones with direct context instance) - failed and non-failed
+		// they're not kept at ServerModel level at all
+		whiteboardContexts.values().forEach(ocms -> {
+			boolean first = true;
+			for (OsgiContextModel ocm : ocms) {
+				ocm.setDtoStateListener(dtoStateListener);
+				if (ocm.getDtoFailureCode() >= 0) {
+					failedScDTOs.add(ocm.toFailedDTO(ocm.getDtoFailureCode()));
+				} else {
 					if (first) {
 						scDTOs.put(ocm, ocm.toDTO());
 					} else {
@@ -3203,370 +3404,208 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 					}
 					first = false;
 				}
-			});
-			// HttpService/WebContainer which are shaded by Whiteboard-registered contexts with direct instance
-			bundleDefaultContexts.values().forEach(ocm -> {
-				failedScDTOs.add(ocm.toFailedDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
-			});
-			// OsgiContextModels from Whiteboard (excluding ones with direct context instance) - failed and non-failed
-			// they're not kept at ServerModel level at all
-			whiteboardContexts.values().forEach(ocms -> {
-				boolean first = true;
-				for (OsgiContextModel ocm : ocms) {
-					if (ocm.getDtoFailureCode() >= 0) {
-						failedScDTOs.add(ocm.toFailedDTO(ocm.getDtoFailureCode()));
-					} else {
-						if (first) {
-							scDTOs.put(ocm, ocm.toDTO());
-						} else {
-							failedScDTOs.add(ocm.toFailedDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
-						}
-						first = false;
-					}
+			}
+		});
+		// we don't care about shared HttpService/WebContainer contexts as these are Pax Web specific
+
+		dto.servletContextDTOs = scDTOs.values().toArray(new ServletContextDTO[0]);
+		dto.failedServletContextDTOs = failedScDTOs.toArray(new FailedServletContextDTO[0]);
+
+		// --- element information
+		//     successful DTOs are attached to one of the ServletContextDTO
+		//     failed DTOs are attached directly to the RuntimeDTO
+
+		Map<ServletContextDTO, List<ErrorPageDTO>> scErrorPages = new IdentityHashMap<>();
+		Map<ServletContextDTO, List<FilterDTO>> scFilters = new IdentityHashMap<>();
+		Map<ServletContextDTO, List<ListenerDTO>> scListeners = new IdentityHashMap<>();
+		List<PreprocessorDTO> preprocessorDTOs = new ArrayList<>();
+		Map<ServletContextDTO, List<ResourceDTO>> scResources = new IdentityHashMap<>();
+		Map<ServletContextDTO, List<ServletDTO>> scServlets = new IdentityHashMap<>();
+
+		for (ServletContextDTO scDTO : dto.servletContextDTOs) {
+			scErrorPages.put(scDTO, new ArrayList<>());
+			scFilters.put(scDTO, new ArrayList<>());
+			scListeners.put(scDTO, new ArrayList<>());
+			scResources.put(scDTO, new ArrayList<>());
+			scServlets.put(scDTO, new ArrayList<>());
+		}
+
+		List<FailedErrorPageDTO> failedErrorPageDTOs = new ArrayList<>();
+		List<FailedFilterDTO> failedFilterDTOs = new ArrayList<>();
+		List<FailedListenerDTO> failedListenerDTOs = new ArrayList<>();
+		List<FailedPreprocessorDTO> failedPreprocessorDTOs = new ArrayList<>();
+		List<FailedResourceDTO> failedResourceDTOs = new ArrayList<>();
+		List<FailedServletDTO> failedServletDTOs = new ArrayList<>();
+
+		// ------ servlets, resources and error pages
+		this.servletsForDTO.forEach(sm -> {
+			// failure code of included models may be changed later outside of configuration thread
+			sm.setDtoStateListener(dtoStateListener);
+			if (sm.getErrorPageModel() != null) {
+				sm.getErrorPageModel().setDtoStateListener(dtoStateListener);
+			}
+			if (sm.isNotMatched()) {
+				return;
+			}
+			if (sm.isResourceServlet()) {
+				if (!sm.isValid()) {
+					failedResourceDTOs.add(sm.toFailedResourceDTO(sm.getDtoFailureCode()));
+					return;
 				}
-			});
-			// we don't care about shared HttpService/WebContainer contexts as these are Pax Web specific
-
-			dto.servletContextDTOs = scDTOs.values().toArray(new ServletContextDTO[0]);
-			dto.failedServletContextDTOs = failedScDTOs.toArray(new FailedServletContextDTO[0]);
-
-			// --- element information
-			//     successful DTOs are attached to one of the ServletContextDTO
-			//     failed DTOs are attached directly to the RuntimeDTO
-
-			Map<ServletContextDTO, List<ErrorPageDTO>> scErrorPages = new IdentityHashMap<>();
-			Map<ServletContextDTO, List<FilterDTO>> scFilters = new IdentityHashMap<>();
-			Map<ServletContextDTO, List<ListenerDTO>> scListeners = new IdentityHashMap<>();
-			List<PreprocessorDTO> preprocessorDTOs = new ArrayList<>();
-			Map<ServletContextDTO, List<ResourceDTO>> scResources = new IdentityHashMap<>();
-			Map<ServletContextDTO, List<ServletDTO>> scServlets = new IdentityHashMap<>();
-
-			for (ServletContextDTO scDTO : dto.servletContextDTOs) {
-				scErrorPages.put(scDTO, new ArrayList<>());
-				scFilters.put(scDTO, new ArrayList<>());
-				scListeners.put(scDTO, new ArrayList<>());
-				scResources.put(scDTO, new ArrayList<>());
-				scServlets.put(scDTO, new ArrayList<>());
-			}
-
-			List<FailedErrorPageDTO> failedErrorPageDTOs = new ArrayList<>();
-			List<FailedFilterDTO> failedFilterDTOs = new ArrayList<>();
-			List<FailedListenerDTO> failedListenerDTOs = new ArrayList<>();
-			List<FailedPreprocessorDTO> failedPreprocessorDTOs = new ArrayList<>();
-			List<FailedResourceDTO> failedResourceDTOs = new ArrayList<>();
-			List<FailedServletDTO> failedServletDTOs = new ArrayList<>();
-
-			// ------ servlets, resources and error pages
-			this.servletsForDTO.forEach(sm -> {
-				if (sm.isNotMatched()) {
+			} else {
+				if (!sm.isValid()) {
+					failedServletDTOs.add(sm.toFailedServletDTO(sm.getDtoFailureCode()));
 					return;
 				}
-				if (sm.isResourceServlet()) {
-					if (!sm.isValid()) {
-						failedResourceDTOs.add(sm.toFailedResourceDTO(sm.getDtoFailureCode()));
-						return;
-					}
-				} else {
-					if (!sm.isValid()) {
-						failedServletDTOs.add(sm.toFailedServletDTO(sm.getDtoFailureCode()));
-						return;
-					}
-					ErrorPageModel epm = sm.getErrorPageModel();
-					// DTO failure may be set dynamically after validation
-					if (epm != null && (!epm.isValid() || epm.getDtoFailureCode() != -1)) {
-						failedErrorPageDTOs.add(epm.toFailedDTO(sm, epm.getDtoFailureCode()));
-						return;
-					}
+				ErrorPageModel epm = sm.getErrorPageModel();
+				// DTO failure may be set dynamically after validation
+				if (epm != null && (!epm.isValid() || epm.getDtoFailureCode() != -1)) {
+					failedErrorPageDTOs.add(epm.toFailedDTO(sm, epm.getDtoFailureCode()));
+					return;
 				}
+			}
 
-				// case of valid models
-				sm.getContextModels().forEach(ocm -> {
-					if (sm.isResourceServlet()) {
-						scResources.get(scDTOs.get(ocm)).add(sm.toResourceDTO());
-					} else {
-						if (!sm.isErrorPagesOnly()) {
-							scServlets.get(scDTOs.get(ocm)).add(sm.toServletDTO());
-						}
-						if (sm.getErrorPageModel() != null) {
-							scErrorPages.get(scDTOs.get(ocm)).add(sm.getErrorPageModel().toDTO(sm));
-						}
-					}
-				});
-			});
-			this.disabledServletModels.forEach(sm -> {
+			// case of valid models
+			sm.getContextModels().forEach(ocm -> {
 				if (sm.isResourceServlet()) {
-					failedResourceDTOs.add(sm.toFailedResourceDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+					scResources.get(scDTOs.get(ocm)).add(sm.toResourceDTO());
 				} else {
-					failedServletDTOs.add(sm.toFailedServletDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+					if (!sm.isErrorPagesOnly()) {
+						scServlets.get(scDTOs.get(ocm)).add(sm.toServletDTO());
+					}
 					if (sm.getErrorPageModel() != null) {
-						failedErrorPageDTOs.add(sm.getErrorPageModel().toFailedDTO(sm, DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+						scErrorPages.get(scDTOs.get(ocm)).add(sm.getErrorPageModel().toDTO(sm));
 					}
 				}
 			});
-			this.disabledErrorPageModels.forEach(epm -> {
-				failedErrorPageDTOs.add(epm.toFailedDTO(null, DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
-			});
-			// ------ filters and preprocessors
-			this.filtersForDTO.forEach(fm -> {
-				if (!fm.isValid()) {
-					if (fm.isPreprocessor()) {
-						failedPreprocessorDTOs.add(fm.toFailedPreprocessorDTO(fm.getDtoFailureCode()));
-					} else {
-						failedFilterDTOs.add(fm.toFailedFilterDTO(fm.getDtoFailureCode()));
-					}
-				} else {
-					fm.getContextModels().forEach(ocm -> {
-						if (fm.isPreprocessor()) {
-							// diagram Figure 140.3 Runtime DTO Overview Diagram is wrong, because
-							// PreprocessorDTOs are kept at RuntimeDTO level
-							preprocessorDTOs.add(fm.toPreprocessorDTO());
-						} else {
-							// only preprocessors are associated (according to Whiteboard DTO chapter) with
-							// any context - even if in Pax Web they're associated with ALL the contexts
-							scFilters.get(scDTOs.get(ocm)).add(fm.toFilterDTO());
-						}
-					});
+		});
+		this.disabledServletModels.forEach(sm -> {
+			if (sm.isResourceServlet()) {
+				failedResourceDTOs.add(sm.toFailedResourceDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+			} else {
+				failedServletDTOs.add(sm.toFailedServletDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+				if (sm.getErrorPageModel() != null) {
+					failedErrorPageDTOs.add(sm.getErrorPageModel().toFailedDTO(sm, DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
 				}
-			});
-			this.disabledFilterModels.forEach(fm -> {
+			}
+		});
+		this.disabledErrorPageModels.forEach(epm -> {
+			failedErrorPageDTOs.add(epm.toFailedDTO(null, DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+		});
+		// ------ filters and preprocessors
+		this.filtersForDTO.forEach(fm -> {
+			fm.setDtoStateListener(dtoStateListener);
+			if (!fm.isValid()) {
 				if (fm.isPreprocessor()) {
-					failedPreprocessorDTOs.add(fm.toFailedPreprocessorDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
-				} else {
-					failedFilterDTOs.add(fm.toFailedFilterDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
-				}
-			});
-			// ------ listeners
-			this.eventListenersForDTO.forEach(lm -> {
-				if (!lm.isValid()) {
-					failedListenerDTOs.add(lm.toFailedDTO(lm.getDtoFailureCode()));
+					failedPreprocessorDTOs.add(fm.toFailedPreprocessorDTO(fm.getDtoFailureCode()));
 				} else {
-					lm.getContextModels().forEach(ocm -> {
-						scListeners.get(scDTOs.get(ocm)).add(lm.toDTO());
-					});
+					failedFilterDTOs.add(fm.toFailedFilterDTO(fm.getDtoFailureCode()));
 				}
-			});
-			// ------ failed Whiteboard elements
-			this.failedWhiteboardElements.forEach(em -> {
-				if (em instanceof ErrorPageModel) {
-					failedErrorPageDTOs.add(((ErrorPageModel) em).toFailedDTO(null, em.getDtoFailureCode()));
-				} else if (em instanceof FilterModel) {
-					if (((FilterModel) em).isPreprocessor()) {
-						failedPreprocessorDTOs.add(((FilterModel) em).toFailedPreprocessorDTO(em.getDtoFailureCode()));
+			} else {
+				fm.getContextModels().forEach(ocm -> {
+					if (fm.isPreprocessor()) {
+						// diagram Figure 140.3 Runtime DTO Overview Diagram is wrong, because
+						// PreprocessorDTOs are kept at RuntimeDTO level
+						preprocessorDTOs.add(fm.toPreprocessorDTO());
 					} else {
-						failedFilterDTOs.add(((FilterModel) em).toFailedFilterDTO(em.getDtoFailureCode()));
+						// only preprocessors are associated (according to Whiteboard DTO chapter) with
+						// any context - even if in Pax Web they're associated with ALL the contexts
+						scFilters.get(scDTOs.get(ocm)).add(fm.toFilterDTO());
 					}
-				} else if (em instanceof EventListenerModel) {
-					failedListenerDTOs.add(((EventListenerModel) em).toFailedDTO(em.getDtoFailureCode()));
-				} else if (em instanceof ServletModel) {
-					if (((ServletModel) em).isResourceServlet()) {
-						failedResourceDTOs.add(((ServletModel) em).toFailedResourceDTO(em.getDtoFailureCode()));
-					} else {
-						failedServletDTOs.add(((ServletModel) em).toFailedServletDTO(em.getDtoFailureCode()));
-						if (((ServletModel) em).getErrorPageModel() != null) {
-							failedErrorPageDTOs.add(((ServletModel) em).getErrorPageModel().toFailedDTO((ServletModel) em,
-									((ServletModel) em).getErrorPageModel().getDtoFailureCode()));
-						}
+				});
+			}
+		});
+		this.disabledFilterModels.forEach(fm -> {
+			if (fm.isPreprocessor()) {
+				failedPreprocessorDTOs.add(fm.toFailedPreprocessorDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+			} else {
+				failedFilterDTOs.add(fm.toFailedFilterDTO(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE));
+			}
+		});
+		// ------ listeners
+		this.eventListenersForDTO.forEach(lm -> {
+			lm.setDtoStateListener(dtoStateListener);
+			if (!lm.isValid()) {
+				failedListenerDTOs.add(lm.toFailedDTO(lm.getDtoFailureCode()));
+			} else {
+				lm.getContextModels().forEach(ocm -> {
+					scListeners.get(scDTOs.get(ocm)).add(lm.toDTO());
+				});
+			}
+		});
+		// ------ failed Whiteboard elements
+		this.failedWhiteboardElements.forEach(em -> {
+			em.setDtoStateListener(dtoStateListener);
+			if (em instanceof ErrorPageModel) {
+				failedErrorPageDTOs.add(((ErrorPageModel) em).toFailedDTO(null, em.getDtoFailureCode()));
+			} else if (em instanceof FilterModel) {
+				if (((FilterModel) em).isPreprocessor()) {
+					failedPreprocessorDTOs.add(((FilterModel) em).toFailedPreprocessorDTO(em.getDtoFailureCode()));
+				} else {
+					failedFilterDTOs.add(((FilterModel) em).toFailedFilterDTO(em.getDtoFailureCode()));
+				}
+			} else if (em instanceof EventListenerModel) {
+				failedListenerDTOs.add(((EventListenerModel) em).toFailedDTO(em.getDtoFailureCode()));
+			} else if (em instanceof ServletModel) {
+				if (((ServletModel) em).isResourceServlet()) {
+					failedResourceDTOs.add(((ServletModel) em).toFailedResourceDTO(em.getDtoFailureCode()));
+				} else {
+					failedServletDTOs.add(((ServletModel) em).toFailedServletDTO(em.getDtoFailureCode()));
+					if (((ServletModel) em).getErrorPageModel() != null) {
+						failedErrorPageDTOs.add(((ServletModel) em).getErrorPageModel().toFailedDTO((ServletModel) em,
+								((ServletModel) em).getErrorPageModel().getDtoFailureCode()));
 					}
 				}
-			});
+			}
+		});
 
-			for (ServletContextDTO scDTO : dto.servletContextDTOs) {
-				scDTO.errorPageDTOs = scErrorPages.get(scDTO).toArray(new ErrorPageDTO[0]);
-				for (ErrorPageDTO d : scDTO.errorPageDTOs) {
-					d.servletContextId = scDTO.serviceId;
-				}
-				scDTO.filterDTOs = scFilters.get(scDTO).toArray(new FilterDTO[0]);
-				for (FilterDTO d : scDTO.filterDTOs) {
-					d.servletContextId = scDTO.serviceId;
-				}
-				// this should work according to Figure 140.3 Runtime DTO Overview Diagram...
+		for (ServletContextDTO scDTO : dto.servletContextDTOs) {
+			scDTO.errorPageDTOs = scErrorPages.get(scDTO).toArray(new ErrorPageDTO[0]);
+			for (ErrorPageDTO d : scDTO.errorPageDTOs) {
+				d.servletContextId = scDTO.serviceId;
+			}
+			scDTO.filterDTOs = scFilters.get(scDTO).toArray(new FilterDTO[0]);
+			for (FilterDTO d : scDTO.filterDTOs) {
+				d.servletContextId = scDTO.serviceId;
+			}
+			// this should work according to Figure 140.3 Runtime DTO Overview Diagram...
 //				scDTO.preprocessorDTOs = scPreprocessors.get(scDTO).toArray(new PreprocessorDTO[0]);
-				scDTO.listenerDTOs = scListeners.get(scDTO).toArray(new ListenerDTO[0]);
-				for (ListenerDTO d : scDTO.listenerDTOs) {
-					d.servletContextId = scDTO.serviceId;
-				}
-				scDTO.servletDTOs = scServlets.get(scDTO).toArray(new ServletDTO[0]);
-				for (ServletDTO d : scDTO.servletDTOs) {
-					d.servletContextId = scDTO.serviceId;
-				}
-				scDTO.resourceDTOs = scResources.get(scDTO).toArray(new ResourceDTO[0]);
-				for (ResourceDTO d : scDTO.resourceDTOs) {
-					d.servletContextId = scDTO.serviceId;
-				}
+			scDTO.listenerDTOs = scListeners.get(scDTO).toArray(new ListenerDTO[0]);
+			for (ListenerDTO d : scDTO.listenerDTOs) {
+				d.servletContextId = scDTO.serviceId;
 			}
+			scDTO.servletDTOs = scServlets.get(scDTO).toArray(new ServletDTO[0]);
+			for (ServletDTO d : scDTO.servletDTOs) {
+				d.servletContextId = scDTO.serviceId;
+			}
+			scDTO.resourceDTOs = scResources.get(scDTO).toArray(new ResourceDTO[0]);
+			for (ResourceDTO d : scDTO.resourceDTOs) {
+				d.servletContextId = scDTO.serviceId;
+			}
+		}
 
-			dto.failedErrorPageDTOs = failedErrorPageDTOs.toArray(new FailedErrorPageDTO[0]);
-			dto.failedFilterDTOs = failedFilterDTOs.toArray(new FailedFilterDTO[0]);
-			dto.preprocessorDTOs = preprocessorDTOs.toArray(new PreprocessorDTO[0]);
-			dto.failedPreprocessorDTOs = failedPreprocessorDTOs.toArray(new FailedPreprocessorDTO[0]);
-			dto.failedListenerDTOs = failedListenerDTOs.toArray(new FailedListenerDTO[0]);
-			dto.failedResourceDTOs = failedResourceDTOs.toArray(new FailedResourceDTO[0]);
-			dto.failedServletDTOs = failedServletDTOs.toArray(new FailedServletDTO[0]);
+		dto.failedErrorPageDTOs = failedErrorPageDTOs.toArray(new FailedErrorPageDTO[0]);
+		dto.failedFilterDTOs = failedFilterDTOs.toArray(new FailedFilterDTO[0]);
+		dto.preprocessorDTOs = preprocessorDTOs.toArray(new PreprocessorDTO[0]);
+		dto.failedPreprocessorDTOs = failedPreprocessorDTOs.toArray(new FailedPreprocessorDTO[0]);
+		dto.failedListenerDTOs = failedListenerDTOs.toArray(new FailedListenerDTO[0]);
+		dto.failedResourceDTOs = failedResourceDTOs.toArray(new FailedResourceDTO[0]);
+		dto.failedServletDTOs = failedServletDTOs.toArray(new FailedServletDTO[0]);
 
-			return dto;
-		}, false);
+		return dto;
 	}
 
 	@Override
 	public RequestInfoDTO calculateRequestInfoDTO(String path) {
-		return runSilently(() -> {
+		// let's ... simply get the information from RuntimeDTO snapshot
+		RuntimeSnapshot snapshot = getRuntimeSnapshot();
+		if (snapshot == null) {
 			RequestInfoDTO dto = new RequestInfoDTO();
 			dto.path = path;
-
-			// let's ... simply get the information from RuntimeDTO
-			RuntimeDTO runtimeDTO = getRuntimeDTO();
-
-			Set<ServletContextDTO> orderedServletContexts = new TreeSet<>(new ContextComparator());
-			Collections.addAll(orderedServletContexts, runtimeDTO.servletContextDTOs);
-
-			for (ServletContextDTO scdto : orderedServletContexts) {
-				if (path.startsWith(scdto.contextPath)) {
-					String remaining = path.substring(scdto.contextPath.length());
-					if (!("/".equals(scdto.contextPath) || "".equals(remaining) || remaining.startsWith("/"))) {
-						continue;
-					}
-					dto.servletContextId = scdto.serviceId;
-
-					remaining = path.substring(scdto.contextPath.length());
-					if (remaining.contains("?")) {
-						// remove query string
-						remaining = remaining.substring(0, remaining.indexOf("?"));
-					}
-					if (!remaining.startsWith("/")) {
-						remaining = "/" + remaining;
-					}
-
-					// checking servlets/resources
-
-					// we can assume valid patterns: "/", "/xxx/*", "/xxx", "*.x".
-					// "/" has to be saved as fallback pattern (default servlet)
-					Map<String, DTO> orderedMappings = new TreeMap<>(new PatternComparator());
-					for (ServletDTO sdto : scdto.servletDTOs) {
-						for (String p : sdto.patterns) {
-							orderedMappings.put(p, sdto);
-						}
-					}
-					for (ResourceDTO rdto : scdto.resourceDTOs) {
-						for (String p : rdto.patterns) {
-							orderedMappings.put(p, rdto);
-						}
-					}
-					for (Map.Entry<String, DTO> e : orderedMappings.entrySet()) {
-						String mapping = e.getKey();
-						DTO target = e.getValue();
-
-						boolean match = false;
-						if (!"/".equals(mapping)) {
-							if (!mapping.contains("*") && mapping.equals(remaining)) {
-								// found exact match
-								match = true;
-							} else if (mapping.contains("*")) {
-								if (mapping.endsWith("/*") && remaining.startsWith(mapping.substring(0, mapping.length() - 2))) {
-									// found prefix match
-									match = true;
-								} else if (mapping.startsWith("*.") && remaining.endsWith(mapping.substring(1))) {
-									// found extension match
-									match = true;
-								}
-							}
-						} else {
-							// checked always last
-							match = true;
-						}
-						if (match) {
-							if (target instanceof ResourceDTO) {
-								dto.resourceDTO = (ResourceDTO) target;
-							} else {
-								dto.servletDTO = (ServletDTO) target;
-							}
-							// end of searching through servlet/resource mappings
-							break;
-						}
-						// continue with the next pattern
-					}
-
-					// checking filters
-					String targetName = null;
-					if (dto.servletDTO != null) {
-						targetName = dto.servletDTO.name;
-					} else if (dto.resourceDTO != null) {
-						targetName = "default";
-					}
-
-					List<FilterDTO> matchingFilters = new ArrayList<>();
-					for (FilterDTO fdto : scdto.filterDTOs) {
-						if (fdto.servletNames != null) {
-							boolean match = false;
-							for (String sn : fdto.servletNames) {
-								if (sn != null && sn.equals(targetName)) {
-									matchingFilters.add(fdto);
-									match = true;
-									break;
-								}
-							}
-							if (match) {
-								// no need to check the URL mappings
-								continue;
-							}
-						}
-						if (fdto.patterns != null) {
-							boolean match = false;
-							for (String p : fdto.patterns) {
-								if (!p.contains("*") && p.equals(remaining)) {
-									// found exact match
-									match = true;
-								} else if ("".equals(p) && "/".equals(remaining)) {
-									// special 12.2. Specification of Mappings mapping
-									match = true;
-								} else if (p.contains("*")) {
-									if (p.endsWith("/*") && remaining.startsWith(p.substring(0, p.length() - 2))) {
-										// found prefix match
-										match = true;
-									} else if (p.startsWith("*.") && remaining.endsWith(p.substring(1))) {
-										// found extension match
-										match = true;
-									}
-								}
-								if (match) {
-									matchingFilters.add(fdto);
-									break;
-								}
-							}
-							if (match) {
-								// no need to check the regex mapping
-								continue;
-							}
-						}
-						if (fdto.regexs != null) {
-							boolean match = false;
-							for (String p : fdto.regexs) {
-								Pattern re = Pattern.compile(p);
-								if (re.matcher(remaining).matches()) {
-									matchingFilters.add(fdto);
-									break;
-								}
-							}
-						}
-					}
-					dto.filterDTOs = matchingFilters.stream().filter(fdto -> {
-						if (fdto.dispatcher == null || fdto.dispatcher.length == 0) {
-							return true;
-						}
-						for (String d : fdto.dispatcher) {
-							if ("REQUEST".equals(d)) {
-								return true;
-							}
-						}
-						return false;
-					}).toArray(FilterDTO[]::new);
-
-					// end of searching through context paths
-					break;
-				}
-			}
-
 			return dto;
-		}, false);
+		}
+
+		return snapshot.getRequestInfoIndex().calculateRequestInfoDTO(path);
 	}
 
 	@Override
@@ -3758,80 +3797,38 @@ public class ServerModel implements BatchVisitor, HttpServiceRuntime, ReportView
 	}
 
 	/**
-	 * {@link Comparator} that sorts {@link ServletContextDTO} by the longest context path.
+	 * Immutable {@link RuntimeDTO} built for given version of the model.
 	 */
-	private static class ContextComparator implements Comparator<ServletContextDTO> {
-		@Override
-		public int compare(ServletContextDTO o1, ServletContextDTO o2) {
-			String cp1 = o1.contextPath;
-			String cp2 = o2.contextPath;
-			long slashes1 = cp1.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
-			long slashes2 = cp2.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
-			if (slashes1 != slashes2) {
-				// more slashes - "earlier" (lower) context
-				return Long.compare(slashes2, slashes1);
-			}
-			if (cp1.length() != cp2.length()) {
-				// order by length, so "/" is at the end
-				return Integer.compare(cp2.length(), cp1.length());
-			}
-			// by rank
-			if (o1 instanceof OsgiContextModel.RankedServletContextDTO && o2 instanceof OsgiContextModel.RankedServletContextDTO) {
-				OsgiContextModel.RankedServletContextDTO ro1 = (OsgiContextModel.RankedServletContextDTO) o1;
-				OsgiContextModel.RankedServletContextDTO ro2 = (OsgiContextModel.RankedServletContextDTO) o2;
-				if (ro1.rank != ro2.rank) {
-					return ro1.rank < ro2.rank ? 1 : -1;
-				}
-			}
-			// by id
-			if (o1.serviceId != o2.serviceId) {
-				return o1.serviceId < o2.serviceId ? -1 : 1;
-			}
-			// alphabetlically
-			return cp1.compareTo(cp2);
+	private static final class RuntimeSnapshot {
+		private final long modelVersion;
+		private final long dtoState;
+		private final long changeCount;
+		private final RuntimeDTO dto;
+		private volatile RequestInfoIndex requestInfoIndex;
+
+		RuntimeSnapshot(long modelVersion, long dtoState, long changeCount, RuntimeDTO dto) {
+			this.modelVersion = modelVersion;
+			this.dtoState = dtoState;
+			this.changeCount = changeCount;
+			this.dto = dto;
 		}
-	}
 
-	/**
-	 * {@link Comparator} that sorts pattern mappings of {@link ServletDTO} and {@link ResourceDTO} objects
-	 */
-	private static class PatternComparator implements Comparator<String> {
-		@Override
-		public int compare(String p1, String p2) {
-			long slashes1 = p1.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
-			long slashes2 = p2.codePoints().mapToObj(cp -> (char) cp).filter(c -> c == '/').count();
-			// "/" always at the end
-			if ("/".equals(p1)) {
-				return 1;
-			}
-			if ("/".equals(p2)) {
-				return -1;
-			}
-			if (slashes1 != slashes2) {
-				// more slashes - "earlier" (lower) context. "*.xxx" has no slashes, so will have lowest priority
-				return Long.compare(slashes2, slashes1);
-			}
-			// 12.1 Use of URL Paths rules - exact matching is before pattern matching
-			if (p1.contains("*") && p2.contains("*")) {
-				if (p1.length() != p2.length()) {
-					// order by length, so "/" is at the end
-					return Integer.compare(p2.length(), p1.length());
-				}
-				// alphabetlically
-				return p1.compareTo(p2);
-			}
-			if (p1.contains("*")) {
-				return 1;
-			}
-			if (p2.contains("*")) {
-				return 1;
-			}
-			if (p1.length() != p2.length()) {
-				// order by length, so "/" is at the end
-				return Integer.compare(p2.length(), p1.length());
+		boolean isCurrent(long modelVersion, long dtoState) {
+			return this.modelVersion == modelVersion && this.dtoState == dtoState;
+		}
+
+		/**
+		 * {@link RequestInfoIndex} is created when first needed and then shared until the model changes.
+		 * @return
+		 */
+		RequestInfoIndex getRequestInfoIndex() {
+			RequestInfoIndex index = requestInfoIndex;
+			if (index == null) {
+				// racy, but the index is immutable, so at worst it's built twice
+				index = new RequestInfoIndex(dto.servletContextDTOs);
+				requestInfoIndex = index;
 			}
-			// alphabetlically
-			return p1.compareTo(p2);
+			return index;
 		}
 	}
 
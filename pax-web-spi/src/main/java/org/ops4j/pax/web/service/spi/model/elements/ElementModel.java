@@ -74,6 +74,9 @@ public abstract class ElementModel<T, D extends WebElementEventData>
 	/** If there's any failure during the lifetime of the context, we can provide a failure DTO information here. */
 	protected int dtoFailureCode = -1;
 
+	/** Notified when {@link #dtoFailureCode} is changed, so cached DTOs can be rebuilt */
+	private volatile Runnable dtoStateListener;
+
 	private volatile boolean closed = false;
 
 	private int serviceRank = 0;
@@ -251,6 +254,7 @@ public abstract class ElementModel<T, D extends WebElementEventData>
 	 * @param data
 	 */
 	protected void setCommonEventProperties(WebElementEventData data) {
+		data.setElementId(getId());
 		data.setServiceRank(this.serviceRank);
 		data.setServiceId(this.serviceId);
 		data.setElementReference(this.elementReference);
@@ -368,6 +372,19 @@ public abstract class ElementModel<T, D extends WebElementEventData>
 	public void setDtoFailureCode(int dtoFailureCode) {
 		this.dtoFailureCode = dtoFailureCode;
 		this.isValid = dtoFailureCode == -1;
+		Runnable listener = dtoStateListener;
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	/**
+	 * Sets a callback invoked when DTO failure code of this model changes (also outside of configuration thread,
+	 * for example when a servlet fails to initialize).
+	 * @param dtoStateListener
+	 */
+	public void setDtoStateListener(Runnable dtoStateListener) {
+		this.dtoStateListener = dtoStateListener;
 	}
 
 	public void setAsynchronusRegistration(boolean async) {
@@ -820,6 +820,10 @@ public class ServletModel extends ElementModel<Servlet, ServletEventData> {
 			initParams.putIfAbsent("development", "false"); // to prevent checking for lastModified on bundle resources
 			initParams.putIfAbsent("suppressSmap", "true");
 			initParams.putIfAbsent("classdebuginfo", "false");
+			if (Boolean.TRUE.equals(config.isJspPrecompile())) {
+				// Pax Web specific - see org.ops4j.pax.web.jsp.JspServlet.init()
+				initParams.putIfAbsent("precompile", "true");
+			}
 		}
 	}
 
@@ -28,6 +28,8 @@ import org.osgi.framework.ServiceReference;
  */
 public abstract class WebElementEventData {
 
+	/** ID of the element model, the same for all events related to single element */
+	private String elementId;
 	private int serviceRank;
 	private long serviceId;
 	private Bundle originBundle;
@@ -37,6 +39,14 @@ public abstract class WebElementEventData {
 	// stored only if element is associated with single, directly specified HttpContext/WebContainerContext
 	private WebContainerContext httpContext;
 
+	public String getElementId() {
+		return elementId;
+	}
+
+	public void setElementId(String elementId) {
+		this.elementId = elementId;
+	}
+
 	public int getServiceRank() {
 		return serviceRank;
 	}
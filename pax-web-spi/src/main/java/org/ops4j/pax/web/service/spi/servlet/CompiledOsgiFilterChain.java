@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.util.function.Consumer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.ops4j.pax.web.service.WebContainerContext;
+import org.osgi.service.servlet.whiteboard.Preprocessor;
+
+/**
+ * <p>Immutable, precompiled form of {@link OsgiFilterChain}. Everything that doesn't depend on particular
+ * request (preprocessors, {@link ServletContext}, {@link WebContainerContext}, the chain of filters + target
+ * servlet) is calculated once and then each request only needs a lightweight {@link OsgiFilterChain} cursor
+ * created with {@link #newChain()}.</p>
+ *
+ * <p>Runtimes may cache instances of this class (for example per context, path and dispatcher type), but they
+ * have to drop the cached instances when preprocessors or filters change.</p>
+ */
+public final class CompiledOsgiFilterChain {
+
+	private static final Preprocessor[] NO_PREPROCESSORS = new Preprocessor[0];
+
+	private final Preprocessor[] preprocessors;
+
+	private final ServletContext servletContext;
+	private final WebContainerContext webContext;
+
+	private final OsgiSessionAttributeListener osgiSessionsBridge;
+	private final Consumer<HttpServletRequest> authListener;
+
+	private final FilterChain chain;
+
+	/**
+	 * Creates precompiled {@link OsgiFilterChain}.
+	 *
+	 * @param preprocessors resolved {@link Preprocessor} instances - the array is not copied, so it should not
+	 *        be changed after passing it here
+	 * @param servletContext wrapped {@link ServletContext} with proper delegation
+	 * @param context already resolved {@link WebContainerContext}
+	 * @param chain the chain of filters and target servlet to call after preprocessors and security handling
+	 * @param osgiSessionsBridge
+	 * @param authListener listener called after successful {@link WebContainerContext#handleSecurity}. It is
+	 *        shared by all the requests, so it should get any request-specific information from the passed request
+	 *        (or it should be set for each request using {@link OsgiFilterChain#setAuthListener})
+	 */
+	public CompiledOsgiFilterChain(Preprocessor[] preprocessors, ServletContext servletContext,
+			WebContainerContext context, FilterChain chain,
+			OsgiSessionAttributeListener osgiSessionsBridge, Consumer<HttpServletRequest> authListener) {
+		this.preprocessors = preprocessors == null ? NO_PREPROCESSORS : preprocessors;
+		this.servletContext = servletContext;
+		this.webContext = context;
+		this.chain = chain;
+		this.osgiSessionsBridge = osgiSessionsBridge;
+		this.authListener = authListener;
+	}
+
+	/**
+	 * Creates new, per-request {@link OsgiFilterChain} that only keeps the position within this compiled chain.
+	 * @return
+	 */
+	public OsgiFilterChain newChain() {
+		return new OsgiFilterChain(this);
+	}
+
+	Preprocessor[] getPreprocessors() {
+		return preprocessors;
+	}
+
+	ServletContext getServletContext() {
+		return servletContext;
+	}
+
+	WebContainerContext getWebContext() {
+		return webContext;
+	}
+
+	OsgiSessionAttributeListener getOsgiSessionsBridge() {
+		return osgiSessionsBridge;
+	}
+
+	Consumer<HttpServletRequest> getAuthListener() {
+		return authListener;
+	}
+
+	FilterChain getChain() {
+		return chain;
+	}
+
+}
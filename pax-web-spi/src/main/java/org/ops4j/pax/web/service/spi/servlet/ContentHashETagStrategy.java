@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.ops4j.pax.web.service.spi.config.ResourceConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>{@link ResourceETagStrategy} which uses (truncated) SHA-256 hash of resource content as strong
+ * {@code ETag}. The same content gets the same {@code ETag} in all the runtimes and after bundle refresh, so clients
+ * (and CDNs) revalidating the resources get {@code 304} if nothing has changed.</p>
+ *
+ * <p>The hash is calculated once and kept in LRU cache keyed by resource URL (which includes bundle id and, for
+ * Felix, bundle revision), last modification time and size.</p>
+ */
+public class ContentHashETagStrategy implements ResourceETagStrategy {
+
+	public static final String STRATEGY_DEFAULT = "default";
+	public static final String STRATEGY_HASH = "hash";
+
+	/**
+	 * Suggested pattern for names of fingerprinted resources - names with a segment of at least 8 lower case hex
+	 * digits (with at least one digit and one letter) just before the extension (like {@code app.3f2a9c1b.js}).
+	 * It's not used by default - {@code immutable} caching is enabled only when a pattern is configured.
+	 */
+	public static final String HEX_HASH_IMMUTABLE_PATTERN
+			= "^.+[.-](?=[0-9a-f]*[0-9])(?=[0-9a-f]*[a-f])[0-9a-f]{8,}\\.[A-Za-z0-9]+$";
+
+	public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+	private static final Logger LOG = LoggerFactory.getLogger(ContentHashETagStrategy.class);
+
+	/**
+	 * Number of bytes of the hash used in {@code ETag}. Hex encoding is used, because Jetty treats everything after
+	 * last {@code -} in {@code ETag} as a suffix of compressed variant.
+	 */
+	private static final int HASH_LENGTH = 16;
+
+	private final Pattern immutablePattern;
+
+	private final Map<String, String> etags;
+
+	public ContentHashETagStrategy(String immutablePattern, int maxEntries) {
+		this.immutablePattern = immutablePattern == null || immutablePattern.trim().isEmpty()
+				? null : Pattern.compile(immutablePattern);
+		this.etags = new LinkedHashMap<>(64, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Creates {@link ResourceETagStrategy} for given {@link ResourceConfiguration} or returns {@code null} if
+	 * runtimes' default {@code ETags} should be used.
+	 * @param configuration
+	 * @return
+	 */
+	public static ResourceETagStrategy create(ResourceConfiguration configuration) {
+		if (configuration == null || !STRATEGY_HASH.equalsIgnoreCase(configuration.etagStrategy())) {
+			return null;
+		}
+		// without configured pattern, no resource is sent with "immutable" Cache-Control
+		return new ContentHashETagStrategy(configuration.immutablePattern(), DEFAULT_MAX_ENTRIES);
+	}
+
+	@Override
+	public String getETag(URL url, long lastModified, long length) {
+		if (url == null || url.getPath() == null || url.getPath().endsWith("/")) {
+			return null;
+		}
+		String key = url.toExternalForm() + "@" + lastModified + "/" + length;
+		String etag = get(key);
+		if (etag == null) {
+			etag = hash(url);
+			if (etag != null) {
+				put(key, etag);
+			}
+		}
+		return etag;
+	}
+
+	@Override
+	public boolean isImmutable(String path) {
+		if (immutablePattern == null || path == null || path.endsWith("/")) {
+			return false;
+		}
+		return immutablePattern.matcher(path.substring(path.lastIndexOf('/') + 1)).matches();
+	}
+
+	private String hash(URL url) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			try (InputStream in = new DigestInputStream(url.openStream(), digest)) {
+				in.transferTo(OutputStream.nullOutputStream());
+			}
+			byte[] hash = digest.digest();
+			StringBuilder sb = new StringBuilder(HASH_LENGTH * 2 + 2).append('"');
+			for (int i = 0; i < HASH_LENGTH; i++) {
+				sb.append(Character.forDigit((hash[i] >> 4) & 0x0F, 16)).append(Character.forDigit(hash[i] & 0x0F, 16));
+			}
+			return sb.append('"').toString();
+		} catch (IOException e) {
+			LOG.debug("Can't calculate hash of {}: {}", url, e.getMessage());
+			return null;
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
+	private synchronized String get(String key) {
+		return etags.get(key);
+	}
+
+	private synchronized void put(String key, String etag) {
+		etags.put(key, etag);
+	}
+
+	public synchronized int getCachedEntries() {
+		return etags.size();
+	}
+
+}
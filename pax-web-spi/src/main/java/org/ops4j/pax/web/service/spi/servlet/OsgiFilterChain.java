@@ -16,7 +16,6 @@
 package org.ops4j.pax.web.service.spi.servlet;
 
 import java.io.IOException;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Consumer;
 import jakarta.servlet.FilterChain;
@@ -39,19 +38,18 @@ import org.osgi.service.servlet.whiteboard.Preprocessor;
  *     {@link org.osgi.service.servlet.context.ServletContextHelper#handleSecurity} +
  *     {@link org.osgi.service.servlet.context.ServletContextHelper#finishSecurity}</li>
  * </ul>
+ *
+ * <p>The chain itself keeps only the per-request state (current position). Everything else is held in
+ * (possibly cached and shared) {@link CompiledOsgiFilterChain}.</p>
  */
 public class OsgiFilterChain implements FilterChain {
 
-	private final List<Preprocessor> preprocessors = new LinkedList<>();
-
-	private final ServletContext servletContext;
-	private final WebContainerContext webContext;
-
-	private final OsgiSessionAttributeListener osgiSessionsBridge;
-	private final Consumer<HttpServletRequest> authListener;
+	private final CompiledOsgiFilterChain compiled;
 
 	private FilterChain chain;
 
+	private Consumer<HttpServletRequest> authListener;
+
 	private int index = 0;
 
 	/**
@@ -66,31 +64,50 @@ public class OsgiFilterChain implements FilterChain {
 	public OsgiFilterChain(List<Preprocessor> preprocessors, ServletContext servletContext,
 			WebContainerContext context, FilterChain originalChain,
 			OsgiSessionAttributeListener osgiSessionsBridge, Consumer<HttpServletRequest> authListener) {
-		this.preprocessors.addAll(preprocessors);
-		this.webContext = context;
-		this.servletContext = servletContext;
-		this.chain = originalChain;
-		this.osgiSessionsBridge = osgiSessionsBridge;
-		this.authListener = authListener;
+		this(new CompiledOsgiFilterChain(preprocessors.toArray(new Preprocessor[0]), servletContext, context,
+				originalChain, osgiSessionsBridge, authListener));
+	}
+
+	/**
+	 * Creates {@link FilterChain} for single request using already {@link CompiledOsgiFilterChain compiled} chain.
+	 *
+	 * @param compiled
+	 */
+	public OsgiFilterChain(CompiledOsgiFilterChain compiled) {
+		this.compiled = compiled;
+		this.chain = compiled.getChain();
+		this.authListener = compiled.getAuthListener();
 	}
 
 	public void setChain(FilterChain chain) {
 		this.chain = chain;
 	}
 
+	/**
+	 * Overrides the listener of {@link CompiledOsgiFilterChain} with a listener specific to current request.
+	 * @param authListener
+	 */
+	public void setAuthListener(Consumer<HttpServletRequest> authListener) {
+		this.authListener = authListener;
+	}
+
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
 		HttpServletRequest req = (HttpServletRequest) request;
 		HttpServletResponse res = (HttpServletResponse) response;
 
+		ServletContext servletContext = compiled.getServletContext();
+		Preprocessor[] preprocessors = compiled.getPreprocessors();
+		WebContainerContext webContext = compiled.getWebContext();
+
 		// Here's the best place to wrap a request - but only when called for the first time!
 		if (index == 0 && servletContext != null) {
-			req = new OsgiHttpServletRequestWrapper(req, servletContext, osgiSessionsBridge);
+			req = new OsgiHttpServletRequestWrapper(req, servletContext, compiled.getOsgiSessionsBridge());
 		}
 
-		if (index < preprocessors.size()) {
+		if (index < preprocessors.length) {
 			// still something left
-			Preprocessor filter = preprocessors.get(index++);
+			Preprocessor filter = preprocessors[index++];
 			filter.doFilter(req, res, this);
 			return;
 		}
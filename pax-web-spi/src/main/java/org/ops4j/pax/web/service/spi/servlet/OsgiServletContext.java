@@ -110,6 +110,12 @@ public class OsgiServletContext implements ServletContext {
 
 	private boolean acceptsServletContextListeners = true;
 
+	/** Cache of resource lookups for default (bundle-backed) contexts */
+	private final ResourceLookupCache resourceLookupCache = new ResourceLookupCache();
+
+	/** {@link BundleContext} used to track bundle changes that invalidate {@link #resourceLookupCache} */
+	private final BundleContext resourceLookupBundleContext;
+
 	/**
 	 * Constructor called when {@link OsgiContextModel} is passed to given
 	 * {@link org.ops4j.pax.web.service.spi.ServerController}. We still can't grab an instance of
@@ -164,6 +170,9 @@ public class OsgiServletContext implements ServletContext {
 
 		jspAvailable = FrameworkUtil.getBundle(getClass()) == null
 				|| Utils.getPaxWebJspBundle(FrameworkUtil.getBundle(getClass())) != null;
+
+		Bundle cacheBundle = ownerBundle != null ? ownerBundle : FrameworkUtil.getBundle(OsgiServletContext.class);
+		this.resourceLookupBundleContext = cacheBundle == null ? null : cacheBundle.getBundleContext();
 	}
 
 	public WebContainerContext getResolvedWebContainerContext() {
@@ -233,6 +242,7 @@ public class OsgiServletContext implements ServletContext {
 				registration = null;
 			}
 		}
+		resourceLookupCache.stop();
 	}
 
 	/**
@@ -241,6 +251,7 @@ public class OsgiServletContext implements ServletContext {
 	 * reference when needed.
 	 */
 	public void releaseWebContainerContext() {
+		resourceLookupCache.stop();
 		osgiContextModel.releaseHttpContext(osgiContextModel.getOwnerBundle());
 	}
 
@@ -277,6 +288,15 @@ public class OsgiServletContext implements ServletContext {
 		return servletContextModel;
 	}
 
+	/**
+	 * Returns the cache of {@link #getResource(WebContainerContext, String)} and
+	 * {@link #getResourcePaths(WebContainerContext, String)} lookups (with hit/miss statistics).
+	 * @return
+	 */
+	public ResourceLookupCache getResourceLookupCache() {
+		return resourceLookupCache;
+	}
+
 	/**
 	 * We have to be able to replace server-specific {@link ServletContext}, because we can't freely
 	 * replace web elements in Undertow. In Undertow we have to recreate entire context, thus getting new
@@ -689,7 +709,12 @@ public class OsgiServletContext implements ServletContext {
 			return mapping.get(path);
 		}
 
-		return context.getResource(path);
+		return lookupResource(context, path);
+	}
+
+	private URL lookupResource(WebContainerContext context, String path) {
+		resourceLookupCache.start(resourceLookupBundleContext);
+		return resourceLookupCache.getResource(context, path);
 	}
 
 	@Override
@@ -698,7 +723,7 @@ public class OsgiServletContext implements ServletContext {
 	}
 
 	public InputStream getResourceAsStream(WebContainerContext context, String path) {
-		URL resource = context.getResource(path);
+		URL resource = lookupResource(context, path);
 		if (resource != null) {
 			try {
 				return resource.openStream();
@@ -715,7 +740,8 @@ public class OsgiServletContext implements ServletContext {
 	}
 
 	public Set<String> getResourcePaths(WebContainerContext context, String path) {
-		return context.getResourcePaths(path);
+		resourceLookupCache.start(resourceLookupBundleContext);
+		return resourceLookupCache.getResourcePaths(context, path);
 	}
 
 	// --- methods backed by the OsgiContextModel (object "customized" by trackers from ServletContextHelper)
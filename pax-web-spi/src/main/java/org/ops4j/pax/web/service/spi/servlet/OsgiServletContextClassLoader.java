@@ -21,10 +21,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import jakarta.servlet.ServletContext;
 
 import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
 import org.osgi.framework.BundleReference;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.SynchronousBundleListener;
 import org.osgi.framework.wiring.BundleWiring;
 
 /**
@@ -61,11 +70,33 @@ import org.osgi.framework.wiring.BundleWiring;
  * </ul></p>
  *
  * <p>This {@link ClassLoader} implements {@link BundleReference}</p>
+ *
+ * <p>After {@link #makeImmutable()} is called, this {@link ClassLoader} remembers which bundle loaded given class
+ * (or provided given resource) and which classes/resources were not found at all, so frameworks that perform
+ * a lot of TCCL lookups don't have to ask every bundle again. The remembered information (together with
+ * {@link BundleWiring wirings} of the bundles) is dropped after any bundle is installed, resolved, unresolved,
+ * updated or uninstalled - such events may change the wirings (refresh/update) or make classes available through
+ * {@code DynamicImport-Package}. Bundle events are tracked by single listener, so lookups don't have to check the
+ * wirings.</p>
  */
 public class OsgiServletContextClassLoader extends ClassLoader implements BundleReference {
 
+	/** Maximum number of remembered misses (for classes and resources separately) */
+	private static final int MAX_MISSES = 4096;
+
+	/** Number of bundle events that invalidate all the {@link LookupCache lookup caches} */
+	private static final AtomicLong BUNDLE_CHANGES = new AtomicLong();
+
+	/** {@link BundleContext} used to track bundle events */
+	private static final AtomicReference<BundleContext> LISTENER_CONTEXT = new AtomicReference<>();
+
+	private static final SynchronousBundleListener BUNDLE_LISTENER = OsgiServletContextClassLoader::bundleChanged;
+
 	private List<Bundle> bundles = new ArrayList<>();
 
+	/** Cache of lookups, available only after {@link #makeImmutable()} */
+	private volatile LookupCache cache;
+
 	public OsgiServletContextClassLoader() {
 		super(null);
 	}
@@ -108,23 +139,48 @@ public class OsgiServletContextClassLoader extends ClassLoader implements Bundle
 	 */
 	public void makeImmutable() {
 		bundles = Collections.unmodifiableList(bundles);
+		listenToBundleEvents();
+		cache = new LookupCache(bundles);
 	}
 
 	@Override
 	public Class<?> loadClass(String name) throws ClassNotFoundException {
+		LookupCache c = currentCache();
+		if (c != null) {
+			Integer owner = c.classOwners.get(name);
+			if (owner != null) {
+				ClassLoader cl = c.classLoader(owner);
+				if (cl != null) {
+					try {
+						return cl.loadClass(name);
+					} catch (Exception ignored) {
+						c.classOwners.remove(name);
+					}
+				}
+			} else if (c.missingClasses.contains(name)) {
+				throw new ClassNotFoundException(name);
+			}
+		}
+
 		List<Exception> suppressed = new ArrayList<>(bundles.size());
-		for (Bundle b : bundles) {
-			BundleWiring bw = b.adapt(BundleWiring.class);
-			ClassLoader cl = bw == null ? null : bw.getClassLoader();
+		for (int i = 0; i < bundles.size(); i++) {
+			ClassLoader cl = c != null ? c.classLoader(i) : classLoader(bundles.get(i));
 			if (cl != null) {
 				try {
-					return cl.loadClass(name);
+					Class<?> cls = cl.loadClass(name);
+					if (c != null) {
+						c.classOwners.put(name, i);
+					}
+					return cls;
 				} catch (Exception e) {
 					suppressed.add(e);
 				}
 			}
 		}
 
+		if (c != null) {
+			c.miss(c.missingClasses, name);
+		}
 		ClassNotFoundException cnfe = new ClassNotFoundException(name);
 		suppressed.forEach(cnfe::addSuppressed);
 		throw cnfe;
@@ -132,26 +188,50 @@ public class OsgiServletContextClassLoader extends ClassLoader implements Bundle
 
 	@Override
 	protected URL findResource(String name) {
-		for (Bundle b : bundles) {
-			BundleWiring bw = b.adapt(BundleWiring.class);
-			ClassLoader cl = bw == null ? null : bw.getClassLoader();
+		LookupCache c = currentCache();
+		if (c != null) {
+			Integer owner = c.resourceOwners.get(name);
+			if (owner != null) {
+				ClassLoader cl = c.classLoader(owner);
+				URL res = cl == null ? null : cl.getResource(name);
+				if (res != null) {
+					return res;
+				}
+				c.resourceOwners.remove(name);
+			} else if (c.missingResources.contains(name)) {
+				return null;
+			}
+		}
+
+		for (int i = 0; i < bundles.size(); i++) {
+			ClassLoader cl = c != null ? c.classLoader(i) : classLoader(bundles.get(i));
 			if (cl != null) {
 				URL res = cl.getResource(name);
 				if (res != null) {
+					if (c != null) {
+						c.resourceOwners.put(name, i);
+					}
 					return res;
 				}
 			}
 		}
 
+		if (c != null) {
+			c.miss(c.missingResources, name);
+		}
 		return null;
 	}
 
 	@Override
 	protected Enumeration<URL> findResources(String name) throws IOException {
+		LookupCache c = currentCache();
+		if (c != null && c.missingResources.contains(name)) {
+			return Collections.emptyEnumeration();
+		}
+
 		List<URL> urls = new ArrayList<>(32);
-		for (Bundle b : bundles) {
-			BundleWiring bw = b.adapt(BundleWiring.class);
-			ClassLoader cl = bw == null ? null : bw.getClassLoader();
+		for (int i = 0; i < bundles.size(); i++) {
+			ClassLoader cl = c != null ? c.classLoader(i) : classLoader(bundles.get(i));
 			if (cl != null) {
 				Enumeration<URL> e = cl.getResources(name);
 				if (e != null) {
@@ -162,13 +242,103 @@ public class OsgiServletContextClassLoader extends ClassLoader implements Bundle
 			}
 		}
 
+		if (c != null && urls.isEmpty()) {
+			c.miss(c.missingResources, name);
+		}
 		return Collections.enumeration(urls);
 	}
 
+	/**
+	 * Returns the lookup cache if it's still valid. If there were bundle events since the cache was created,
+	 * new (empty) cache is created.
+	 * @return
+	 */
+	private LookupCache currentCache() {
+		LookupCache c = cache;
+		if (c != null && c.bundleChanges != BUNDLE_CHANGES.get()) {
+			c = new LookupCache(bundles);
+			cache = c;
+		}
+		return c;
+	}
+
+	/**
+	 * Adds (once for each {@link BundleContext} of pax-web-spi bundle) a listener that invalidates
+	 * {@link LookupCache lookup caches} of all the class loaders. Outside of OSGi, there are no bundle events.
+	 */
+	private static void listenToBundleEvents() {
+		Bundle bundle = FrameworkUtil.getBundle(OsgiServletContextClassLoader.class);
+		BundleContext bc = bundle == null ? null : bundle.getBundleContext();
+		BundleContext previous = LISTENER_CONTEXT.get();
+		if (bc == null || bc == previous || !LISTENER_CONTEXT.compareAndSet(previous, bc)) {
+			return;
+		}
+		try {
+			bc.addBundleListener(BUNDLE_LISTENER);
+		} catch (IllegalStateException e) {
+			LISTENER_CONTEXT.compareAndSet(bc, null);
+		}
+	}
+
+	static void bundleChanged(BundleEvent event) {
+		switch (event.getType()) {
+			case BundleEvent.INSTALLED:
+			case BundleEvent.RESOLVED:
+			case BundleEvent.UNRESOLVED:
+			case BundleEvent.UPDATED:
+			case BundleEvent.UNINSTALLED:
+				BUNDLE_CHANGES.incrementAndGet();
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static ClassLoader classLoader(Bundle b) {
+		BundleWiring bw = b.adapt(BundleWiring.class);
+		return bw == null ? null : bw.getClassLoader();
+	}
+
 	@Override
 	protected Class<?> findClass(String name) throws ClassNotFoundException {
 		// this classloader never loads classes on its own
 		throw new ClassNotFoundException(name);
 	}
 
+	/**
+	 * Remembered results of class and resource lookups for given {@link BundleWiring wirings} of the bundles.
+	 * Owners are remembered as indexes into immutable list of bundles.
+	 */
+	private static class LookupCache {
+		/** Value of {@link #BUNDLE_CHANGES} for which this cache is valid */
+		private final long bundleChanges;
+		private final BundleWiring[] wirings;
+
+		private final Map<String, Integer> classOwners = new ConcurrentHashMap<>();
+		private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+		private final Map<String, Integer> resourceOwners = new ConcurrentHashMap<>();
+		private final Set<String> missingResources = ConcurrentHashMap.newKeySet();
+
+		LookupCache(List<Bundle> bundles) {
+			// read before the wirings, so an event during creation makes the cache invalid
+			this.bundleChanges = BUNDLE_CHANGES.get();
+			this.wirings = new BundleWiring[bundles.size()];
+			for (int i = 0; i < wirings.length; i++) {
+				wirings[i] = bundles.get(i).adapt(BundleWiring.class);
+			}
+		}
+
+		ClassLoader classLoader(int idx) {
+			BundleWiring bw = wirings[idx];
+			return bw == null ? null : bw.getClassLoader();
+		}
+
+		void miss(Set<String> misses, String name) {
+			if (misses.size() >= MAX_MISSES) {
+				misses.clear();
+			}
+			misses.add(name);
+		}
+	}
+
 }
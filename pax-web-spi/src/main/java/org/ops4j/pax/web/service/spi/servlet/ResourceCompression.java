@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.ops4j.pax.web.service.spi.config.ResourceConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Compression of static resources shared by resource servlets of all the runtimes (Jetty, Tomcat and Undertow).
+ * Each resource servlet resolves resources in its own way, so it passes a lookup function to
+ * {@link #serve(HttpServletRequest, HttpServletResponse, String, Function)} and only when this method returns
+ * {@code false}, the resource is served by the original (container specific) resource servlet.</p>
+ *
+ * <p>Two mechanisms are supported:<ul>
+ *     <li>{@code .br} / {@code .gz} siblings (precompressed resources) available in a bundle</li>
+ *     <li>gzip compression of resources with compressible MIME types. Compressed content is kept in size-bounded
+ *     LRU cache keyed by resource URL (which includes bundle id and path) and last modification time.</li>
+ * </ul>
+ * Compressed representation has its own {@code ETag} (derived from {@link ResourceETagStrategy} if configured)
+ * and {@code Vary: Accept-Encoding} header is added to
+ * all the responses for resources which may be compressed. Range requests and includes are never compressed.</p>
+ */
+public class ResourceCompression {
+
+	public static final String[] DEFAULT_MIME_TYPES = new String[] {
+			"text/html", "text/css", "text/plain", "text/xml", "text/javascript", "application/javascript",
+			"application/json", "application/xml", "image/svg+xml"
+	};
+
+	public static final int DEFAULT_MIN_SIZE = 1024;
+	public static final int DEFAULT_CACHE_SIZE = 10 * 1024;
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceCompression.class);
+
+	/** Marker for resources which don't get smaller after compression */
+	private static final byte[] NOT_COMPRESSIBLE = new byte[0];
+
+	/** Rough size of cache entry without the content */
+	private static final int ENTRY_OVERHEAD = 64;
+
+	private final boolean precompressed;
+	private final boolean gzip;
+	private final Set<String> mimeTypes;
+	private final int minSize;
+	private final long maxCacheSize;
+
+	private ResourceETagStrategy etagStrategy;
+
+	private final Map<String, byte[]> cache = new LinkedHashMap<>(64, 0.75f, true);
+	private long cacheSize = 0L;
+
+	public ResourceCompression(boolean precompressed, boolean gzip, String[] mimeTypes, int minSize, long maxCacheSize) {
+		this.precompressed = precompressed;
+		this.gzip = gzip;
+		this.mimeTypes = new HashSet<>(Arrays.asList(mimeTypes == null ? DEFAULT_MIME_TYPES : mimeTypes));
+		this.minSize = minSize;
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	/**
+	 * Creates {@link ResourceCompression} for given {@link ResourceConfiguration} or returns {@code null} if
+	 * resources should not be compressed at all.
+	 * @param configuration
+	 * @return
+	 */
+	public static ResourceCompression create(ResourceConfiguration configuration) {
+		if (configuration == null || (!configuration.precompressed() && !configuration.gzip())) {
+			return null;
+		}
+		Integer minSize = configuration.compressionMinSize();
+		Integer cacheSize = configuration.compressionCacheSize();
+		return new ResourceCompression(configuration.precompressed(), configuration.gzip(),
+				configuration.compressibleMimeTypes(),
+				minSize == null ? DEFAULT_MIN_SIZE : minSize,
+				(cacheSize == null ? DEFAULT_CACHE_SIZE : cacheSize) * 1024L);
+	}
+
+	/**
+	 * Sets {@link ResourceETagStrategy} used to calculate {@code ETags} of compressed representations.
+	 * @param etagStrategy
+	 */
+	public void setETagStrategy(ResourceETagStrategy etagStrategy) {
+		this.etagStrategy = etagStrategy;
+	}
+
+	/**
+	 * Serves compressed version of a resource if possible.
+	 * @param request
+	 * @param response
+	 * @param path path of the resource relative to the resource servlet's base
+	 * @param lookup function that returns {@link URL} of existing, non-directory resource for given path
+	 *        (used also for {@code .br} and {@code .gz} siblings)
+	 * @return {@code true} if the response was sent, {@code false} if original resource should be served
+	 * @throws IOException
+	 */
+	public boolean serve(HttpServletRequest request, HttpServletResponse response, String path,
+			Function<String, URL> lookup) throws IOException {
+		String method = request.getMethod();
+		if (path == null || path.isEmpty() || path.endsWith("/")
+				|| !("GET".equals(method) || "HEAD".equals(method))
+				|| request.getAttribute(RequestDispatcher.INCLUDE_REQUEST_URI) != null
+				|| request.getHeader("Range") != null) {
+			return false;
+		}
+
+		String mimeType = request.getServletContext().getMimeType(path);
+		boolean compressible = gzip && mimeType != null && mimeTypes.contains(baseType(mimeType));
+		if (!precompressed && !compressible) {
+			return false;
+		}
+
+		URL url = lookup.apply(path);
+		if (url == null) {
+			return false;
+		}
+
+		// whatever happens, the representation of this resource depends on Accept-Encoding
+		response.addHeader("Vary", "Accept-Encoding");
+
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+		boolean acceptsBr = accepts(acceptEncoding, "br");
+		boolean acceptsGzip = accepts(acceptEncoding, "gzip");
+		if (!acceptsBr && !acceptsGzip) {
+			return false;
+		}
+
+		if (precompressed) {
+			if (acceptsBr && serveSibling(request, response, path, url, ".br", "br", mimeType, lookup)) {
+				return true;
+			}
+			if (acceptsGzip && serveSibling(request, response, path, url, ".gz", "gzip", mimeType, lookup)) {
+				return true;
+			}
+		}
+
+		if (compressible && acceptsGzip) {
+			long[] info = info(url);
+			long length = info[0];
+			long lastModified = info[1];
+			if (length >= 0 && (length < minSize || length > maxCacheSize)) {
+				return false;
+			}
+			String key = url.toExternalForm() + "@" + lastModified;
+			byte[] compressed = get(key);
+			if (compressed == null) {
+				compressed = compress(url, length);
+				put(key, compressed);
+			}
+			if (compressed == NOT_COMPRESSIBLE) {
+				return false;
+			}
+			send(request, response, mimeType, "gzip", lastModified,
+					etag(url, lastModified, length, "gzip"), compressed.length, compressed, null);
+			return true;
+		}
+
+		return false;
+	}
+
+	private boolean serveSibling(HttpServletRequest request, HttpServletResponse response, String path, URL url,
+			String extension, String encoding, String mimeType, Function<String, URL> lookup) throws IOException {
+		URL sibling = lookup.apply(path + extension);
+		if (sibling == null || sibling.toExternalForm().equals(url.toExternalForm())) {
+			// when resource servlet is mapped directly to a file, any path resolves to the same resource
+			return false;
+		}
+		long[] info = info(sibling);
+		send(request, response, mimeType, encoding, info[1], etag(sibling, info[1], info[0], encoding), info[0], null, sibling);
+		return true;
+	}
+
+	private void send(HttpServletRequest request, HttpServletResponse response, String mimeType, String encoding,
+			long lastModified, String etag, long length, byte[] content, URL url) throws IOException {
+		response.setHeader("ETag", etag);
+		if (lastModified > 0) {
+			response.setDateHeader("Last-Modified", lastModified);
+		}
+		if (notModified(request, etag, lastModified)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		if (mimeType != null) {
+			response.setContentType(mimeType);
+		}
+		response.setHeader("Content-Encoding", encoding);
+		if (length >= 0) {
+			response.setContentLengthLong(length);
+		}
+		if ("HEAD".equals(request.getMethod())) {
+			return;
+		}
+		OutputStream out = response.getOutputStream();
+		if (content != null) {
+			out.write(content);
+		} else {
+			try (InputStream in = url.openStream()) {
+				in.transferTo(out);
+			}
+		}
+	}
+
+	private boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+		String ifNoneMatch = request.getHeader("If-None-Match");
+		if (ifNoneMatch != null) {
+			for (String value : ifNoneMatch.split("\\s*,\\s*")) {
+				String tag = value.trim();
+				if (tag.startsWith("W/")) {
+					tag = tag.substring(2);
+				}
+				if ("*".equals(tag) || etag.equals(tag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		if (lastModified > 0) {
+			try {
+				long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+				return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+			} catch (IllegalArgumentException e) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private byte[] compress(URL url, long length) {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(length > 0 ? (int) (length / 4) : 1024);
+		long originalLength;
+		try (InputStream in = url.openStream(); GZIPOutputStream gzos = new GZIPOutputStream(baos)) {
+			originalLength = in.transferTo(gzos);
+		} catch (IOException e) {
+			LOG.warn("Problem compressing {}: {}", url, e.getMessage());
+			return NOT_COMPRESSIBLE;
+		}
+		if (originalLength < minSize || baos.size() >= originalLength) {
+			return NOT_COMPRESSIBLE;
+		}
+		return baos.toByteArray();
+	}
+
+	private synchronized byte[] get(String key) {
+		return cache.get(key);
+	}
+
+	private synchronized void put(String key, byte[] content) {
+		long size = content.length + ENTRY_OVERHEAD;
+		if (size > maxCacheSize) {
+			return;
+		}
+		byte[] previous = cache.put(key, content);
+		if (previous != null) {
+			cacheSize -= previous.length + ENTRY_OVERHEAD;
+		}
+		cacheSize += size;
+		for (Iterator<byte[]> it = cache.values().iterator(); it.hasNext() && cacheSize > maxCacheSize; ) {
+			cacheSize -= it.next().length + ENTRY_OVERHEAD;
+			it.remove();
+		}
+	}
+
+	/**
+	 * Clears the cache of compressed resources.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+		cacheSize = 0L;
+	}
+
+	public synchronized int getCachedEntries() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns length and last modification time of the resource
+	 * @param url
+	 * @return
+	 */
+	private static long[] info(URL url) throws IOException {
+		if ("file".equals(url.getProtocol())) {
+			try {
+				File file = new File(url.toURI());
+				return new long[] { file.length(), file.lastModified() };
+			} catch (URISyntaxException | IllegalArgumentException ignored) {
+			}
+		}
+		URLConnection connection = url.openConnection();
+		connection.setUseCaches(false);
+		return new long[] { connection.getContentLengthLong(), connection.getLastModified() };
+	}
+
+	private String etag(URL url, long lastModified, long length, String encoding) {
+		String etag = etagStrategy == null ? null : etagStrategy.getETag(url, lastModified, length);
+		if (etag != null && etag.endsWith("\"")) {
+			return etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+		}
+		return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "-" + encoding + "\"";
+	}
+
+	private static String baseType(String mimeType) {
+		int idx = mimeType.indexOf(';');
+		return (idx < 0 ? mimeType : mimeType.substring(0, idx)).trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Checks whether {@code Accept-Encoding} header value accepts given encoding (with non-zero quality). The
+	 * quality of the encoding listed by name takes precedence over the quality of {@code *}, which applies only
+	 * to encodings not listed explicitly (RFC 9110, 12.5.3).
+	 * @param acceptEncoding
+	 * @param encoding
+	 * @return
+	 */
+	static boolean accepts(String acceptEncoding, String encoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		float wildcard = -1f;
+		for (String token : acceptEncoding.split(",")) {
+			String[] parts = token.split(";");
+			String name = parts[0].trim().toLowerCase(Locale.ROOT);
+			if (name.equals(encoding)) {
+				return quality(parts) > 0f;
+			}
+			if (name.equals("*")) {
+				wildcard = quality(parts);
+			}
+		}
+		return wildcard > 0f;
+	}
+
+	/**
+	 * Returns the value of {@code q} parameter of single {@code Accept-Encoding} element ({@code 0} if invalid).
+	 * @param parts the coding and its parameters
+	 * @return
+	 */
+	private static float quality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String[] param = parts[i].split("=", 2);
+			if (param.length == 2 && "q".equalsIgnoreCase(param[0].trim())) {
+				try {
+					return Float.parseFloat(param[1].trim());
+				} catch (NumberFormatException e) {
+					return 0f;
+				}
+			}
+		}
+		return 1f;
+	}
+
+}
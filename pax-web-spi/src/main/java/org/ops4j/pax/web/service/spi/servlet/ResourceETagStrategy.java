@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.net.URL;
+
+/**
+ * <p>Strategy to calculate {@code ETag} of static resources, used by resource servlets of all the runtimes
+ * (Jetty, Tomcat and Undertow) instead of their own (usually weak, based on size and modification time)
+ * {@code ETags}. Each runtime still handles conditional requests ({@code If-None-Match}, {@code If-Match},
+ * {@code If-Range}) in its own way - only the value of {@code ETag} is replaced.</p>
+ */
+public interface ResourceETagStrategy {
+
+	/**
+	 * {@code Cache-Control} header value sent for {@link #isImmutable(String) immutable} resources.
+	 */
+	String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+	/**
+	 * Returns {@code ETag} (with quotes and optional {@code W/} prefix) for a resource.
+	 * @param url the location of the resource
+	 * @param lastModified last modification time of the resource (may be {@code <= 0} if not known)
+	 * @param length the size of the resource (may be {@code < 0} if not known)
+	 * @return {@code null} if runtime's default {@code ETag} should be used
+	 */
+	String getETag(URL url, long lastModified, long length);
+
+	/**
+	 * Checks whether a resource at given path is fingerprinted (its path changes whenever the content changes),
+	 * so it can be cached by clients forever with {@link #IMMUTABLE_CACHE_CONTROL}.
+	 * @param path path of the resource relative to the resource servlet's base
+	 * @return
+	 */
+	boolean isImmutable(String path);
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.util.Path;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Cache of bundle resources extracted to the file system, shared by resource servlets of all the runtimes
+ * (Jetty, Tomcat and Undertow).</p>
+ *
+ * <p>Resources available through {@code bundle:}/{@code bundleentry:} URLs can only be streamed (and copied
+ * in user space for each request). When a resource servlet finds such resource, it may call
+ * {@link #extract(URL)} to get {@code file:} URL of extracted copy, which is then served by the runtime like any
+ * other file (with {@code FileChannel} transfers, sendfile or memory mapped buffers - depending on the runtime).</p>
+ *
+ * <p>Resources are extracted once to {@code <tmpdir>/<bundle URL host>/<path>} - Felix includes bundle revision
+ * in the host of its URLs and the extracted files are always validated against size and last modification time
+ * of the bundle entries. When listening to bundle events, the validation is done once after each change
+ * to any bundle.</p>
+ */
+public class ResourceExtractionCache implements BundleListener {
+
+	public static final int DEFAULT_MIN_SIZE = 64 * 1024;
+	public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceExtractionCache.class);
+
+	private final File directory;
+	private final long minSize;
+
+	/** Maps bundle URLs to URLs of extracted files or to themselves if the resource is not extracted */
+	private final Map<String, URL> urls = new ConcurrentHashMap<>();
+
+	/** Incremented on each {@link #clear()}, so URLs checked concurrently with clearing are not cached */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final AtomicBoolean listening = new AtomicBoolean(false);
+	private volatile BundleContext bundleContext;
+
+	public ResourceExtractionCache(File directory, long minSize) {
+		this.directory = directory;
+		this.minSize = minSize;
+	}
+
+	/**
+	 * Creates {@link ResourceExtractionCache} for given {@link Configuration} or returns {@code null} if
+	 * bundle resources should not be extracted.
+	 * @param configuration
+	 * @return
+	 */
+	public static ResourceExtractionCache create(Configuration configuration) {
+		if (configuration == null || configuration.resources() == null || !configuration.resources().extraction()) {
+			return null;
+		}
+		Integer minSize = configuration.resources().extractionMinSize();
+		File directory = new File(configuration.server().getTemporaryDirectory(), "pax-web-resources");
+		return new ResourceExtractionCache(directory, minSize == null ? DEFAULT_MIN_SIZE : minSize);
+	}
+
+	/**
+	 * Removes previously extracted files and starts listening to bundle events, so extracted files are validated
+	 * only after bundles change.
+	 * @param bundleContext
+	 */
+	public void start(BundleContext bundleContext) {
+		delete(directory);
+		if (bundleContext != null && listening.compareAndSet(false, true)) {
+			try {
+				bundleContext.addBundleListener(this);
+				this.bundleContext = bundleContext;
+			} catch (IllegalStateException e) {
+				LOG.debug("Can't add bundle listener: {}", e.getMessage());
+				listening.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Stops listening to bundle events and removes extracted files.
+	 */
+	public void stop() {
+		BundleContext bc = bundleContext;
+		if (bc != null && listening.compareAndSet(true, false)) {
+			try {
+				bc.removeBundleListener(this);
+			} catch (IllegalStateException ignored) {
+			}
+			bundleContext = null;
+		}
+		clear();
+		delete(directory);
+	}
+
+	@Override
+	public void bundleChanged(BundleEvent event) {
+		switch (event.getType()) {
+			case BundleEvent.UPDATED:
+			case BundleEvent.UNRESOLVED:
+			case BundleEvent.UNINSTALLED:
+				clear();
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Returns {@code file:} URL of extracted copy of a bundle resource or the passed URL if the resource is
+	 * not a bundle resource, is a directory, is too small or can't be extracted.
+	 * @param url
+	 * @return
+	 */
+	public URL extract(URL url) {
+		if (url == null || !isBundleURL(url)) {
+			return url;
+		}
+
+		String key = url.toExternalForm();
+		if (listening.get()) {
+			URL result = urls.get(key);
+			if (result != null) {
+				return result;
+			}
+		}
+
+		long currentGeneration = generation.get();
+		URL result = doExtract(url);
+		if (listening.get() && currentGeneration == generation.get()) {
+			if (urls.size() >= DEFAULT_MAX_ENTRIES) {
+				clear();
+			} else {
+				urls.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets all the checked URLs, so extracted files are validated again on next access.
+	 */
+	public void clear() {
+		generation.incrementAndGet();
+		urls.clear();
+	}
+
+	private URL doExtract(URL url) {
+		String path = url.getPath() == null ? null : Path.securePath(url.getPath());
+		if (path == null || path.isEmpty() || path.endsWith("/")) {
+			return url;
+		}
+		String host = url.getHost() == null ? "" : url.getHost();
+		if (url.getPort() >= 0) {
+			host += "_" + url.getPort();
+		}
+		File target = new File(new File(directory, host.replaceAll("[^A-Za-z0-9._-]", "_")), path);
+
+		File tmp = null;
+		try {
+			URLConnection connection = url.openConnection();
+			try (InputStream in = connection.getInputStream()) {
+				long length = connection.getContentLengthLong();
+				long lastModified = connection.getLastModified();
+				if (length <= 0 || length < minSize) {
+					return url;
+				}
+				if (target.isFile() && target.length() == length
+						&& target.lastModified() / 1000L == lastModified / 1000L) {
+					return target.toURI().toURL();
+				}
+
+				File dir = target.getParentFile();
+				if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+					LOG.warn("Can't create directory {} for extracted resources", dir);
+					return url;
+				}
+				tmp = File.createTempFile(target.getName(), ".tmp", dir);
+				Files.copy(in, tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				if (tmp.length() != length) {
+					LOG.debug("Size of {} doesn't match its content length", url);
+					return url;
+				}
+				if (lastModified > 0L) {
+					tmp.setLastModified(lastModified);
+				}
+				Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+				tmp = null;
+				LOG.debug("Extracted {} to {}", url, target);
+				return target.toURI().toURL();
+			}
+		} catch (MalformedURLException e) {
+			return url;
+		} catch (IOException e) {
+			LOG.warn("Can't extract {}: {}", url, e.getMessage());
+			return url;
+		} finally {
+			if (tmp != null && !tmp.delete()) {
+				tmp.deleteOnExit();
+			}
+		}
+	}
+
+	private static boolean isBundleURL(URL url) {
+		String protocol = url.getProtocol();
+		return "bundle".equals(protocol) || "bundleentry".equals(protocol) || "bundleresource".equals(protocol);
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		if (file.exists() && !file.delete()) {
+			LOG.debug("Can't delete {}", file);
+		}
+	}
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.net.URL;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.ops4j.pax.web.service.WebContainerContext;
+import org.ops4j.pax.web.service.spi.context.CacheableResourceLookup;
+import org.ops4j.pax.web.service.spi.context.DefaultHttpContext;
+import org.ops4j.pax.web.service.spi.context.DefaultServletContextHelper;
+import org.ops4j.pax.web.service.spi.context.UniqueWebContainerContextWrapper;
+import org.ops4j.pax.web.service.spi.context.WebContainerContextWrapper;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.service.servlet.context.ServletContextHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Cache of {@link WebContainerContext#getResource(String)} and {@link WebContainerContext#getResourcePaths(String)}
+ * results kept by {@link OsgiServletContext} (so there's one cache per {@link org.ops4j.pax.web.service.spi.model.OsgiContextModel}
+ * in each runtime).</p>
+ *
+ * <p>With default contexts, each lookup ends with {@link org.osgi.framework.Bundle#getResource(String)} or
+ * {@link org.osgi.framework.Bundle#findEntries(String, String, boolean)}, which are not cheap and JSP/JSF
+ * engines repeat the same lookups all the time. Both positive and negative results are cached, but only
+ * for the contexts known to depend on bundle content only (see {@link CacheableResourceLookup}).
+ * The cache is cleared when it's full and when any bundle is updated, refreshed or uninstalled.</p>
+ */
+public class ResourceLookupCache implements BundleListener {
+
+	public static final int DEFAULT_MAX_SIZE = 4096;
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceLookupCache.class);
+
+	/** Used for default contexts which don't implement {@link CacheableResourceLookup} themselves */
+	private static final CacheableResourceLookup DEFAULT_LOOKUP = new CacheableResourceLookup() { };
+
+	private final int maxSize;
+
+	private final Map<Key, Entry> resources = new ConcurrentHashMap<>();
+	private final Map<Key, Entry> resourcePaths = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/** Incremented on each {@link #clear()}, so values loaded concurrently with clearing are not cached */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final AtomicBoolean listening = new AtomicBoolean(false);
+	private volatile BundleContext bundleContext;
+
+	public ResourceLookupCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public ResourceLookupCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Starts listening to bundle events, so the cache is cleared when bundles change. Without this,
+	 * the cache would never be invalidated, so {@link #getResource} and {@link #getResourcePaths} simply delegate
+	 * to the context. Can be called many times - the listener is added only once.
+	 * @param bundleContext
+	 */
+	public void start(BundleContext bundleContext) {
+		if (bundleContext == null || listening.get()) {
+			return;
+		}
+		if (listening.compareAndSet(false, true)) {
+			try {
+				bundleContext.addBundleListener(this);
+				this.bundleContext = bundleContext;
+			} catch (IllegalStateException e) {
+				LOG.debug("Can't add bundle listener: {}", e.getMessage());
+				listening.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Stops listening to bundle events and clears the cache.
+	 */
+	public void stop() {
+		BundleContext bc = bundleContext;
+		if (bc != null && listening.compareAndSet(true, false)) {
+			try {
+				bc.removeBundleListener(this);
+			} catch (IllegalStateException ignored) {
+			}
+			bundleContext = null;
+		}
+		clear();
+	}
+
+	@Override
+	public void bundleChanged(BundleEvent event) {
+		switch (event.getType()) {
+			case BundleEvent.UPDATED:
+			case BundleEvent.UNRESOLVED:
+			case BundleEvent.RESOLVED:
+			case BundleEvent.UNINSTALLED:
+				clear();
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Returns (possibly cached) result of {@link WebContainerContext#getResource(String)}.
+	 * @param context
+	 * @param path
+	 * @return
+	 */
+	public URL getResource(WebContainerContext context, String path) {
+		return (URL) lookup(resources, context, path, context::getResource);
+	}
+
+	/**
+	 * Returns (possibly cached) result of {@link WebContainerContext#getResourcePaths(String)}. Each call returns
+	 * new {@link Set}, so callers can't change the cached value.
+	 * @param context
+	 * @param path
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public Set<String> getResourcePaths(WebContainerContext context, String path) {
+		Set<String> paths = (Set<String>) lookup(resourcePaths, context, path, p -> {
+			Set<String> result = context.getResourcePaths(p);
+			return result == null ? null : new LinkedHashSet<>(result);
+		});
+		return paths == null ? null : new LinkedHashSet<>(paths);
+	}
+
+	private Object lookup(Map<Key, Entry> cache, WebContainerContext context, String path,
+			Function<String, Object> loader) {
+		CacheableResourceLookup cacheable = path == null || !listening.get() ? null : cacheableLookup(context);
+		if (cacheable == null) {
+			return loader.apply(path);
+		}
+
+		long revision = cacheable.getResourceLookupRevision();
+		Key key = new Key(context, path);
+		Entry entry = cache.get(key);
+		if (entry != null && entry.revision == revision) {
+			hits.increment();
+			return entry.value;
+		}
+
+		misses.increment();
+		long currentGeneration = generation.get();
+		Object value = loader.apply(path);
+		if (resources.size() + resourcePaths.size() >= maxSize) {
+			clear();
+		} else if (currentGeneration == generation.get()) {
+			cache.put(key, new Entry(value, revision));
+		}
+		return value;
+	}
+
+	/**
+	 * Checks whether lookups in given {@link WebContainerContext} may be cached and returns an object which
+	 * provides lookup revision.
+	 * @param context
+	 * @return {@code null} if the lookups can't be cached
+	 */
+	static CacheableResourceLookup cacheableLookup(WebContainerContext context) {
+		if (context instanceof UniqueWebContainerContextWrapper) {
+			context = ((UniqueWebContainerContextWrapper) context).getDelegate();
+		}
+		if (context instanceof CacheableResourceLookup) {
+			return (CacheableResourceLookup) context;
+		}
+		if (context == null) {
+			return null;
+		}
+		// exact classes only - subclasses may override getResource() in any way
+		if (context.getClass() == DefaultHttpContext.class) {
+			return DEFAULT_LOOKUP;
+		}
+		if (context instanceof WebContainerContextWrapper) {
+			WebContainerContextWrapper wrapper = (WebContainerContextWrapper) context;
+			ServletContextHelper helper = wrapper.getServletContextHelper();
+			if (helper != null) {
+				if (helper instanceof CacheableResourceLookup) {
+					return (CacheableResourceLookup) helper;
+				}
+				return helper.getClass() == DefaultServletContextHelper.class ? DEFAULT_LOOKUP : null;
+			}
+			if (wrapper.getHttpContext() instanceof CacheableResourceLookup) {
+				return (CacheableResourceLookup) wrapper.getHttpContext();
+			}
+		}
+		return null;
+	}
+
+	public void clear() {
+		generation.incrementAndGet();
+		resources.clear();
+		resourcePaths.clear();
+	}
+
+	public int size() {
+		return resources.size() + resourcePaths.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	private static final class Key {
+		private final WebContainerContext context;
+		private final String path;
+		private final int hash;
+
+		Key(WebContainerContext context, String path) {
+			this.context = context;
+			this.path = path;
+			this.hash = 31 * System.identityHashCode(context) + path.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return context == other.context && Objects.equals(path, other.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long revision;
+
+		Entry(Object value, long revision) {
+			this.value = value;
+			this.revision = revision;
+		}
+	}
+
+}
@@ -17,15 +17,21 @@ package org.ops4j.pax.web.service.spi.util;
 
 import java.io.File;
 import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,6 +44,7 @@ import org.ops4j.pax.web.service.PaxWebConstants;
 import org.ops4j.pax.web.service.WebContainer;
 import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
 import org.ops4j.pax.web.service.spi.model.elements.ElementModel;
+import org.osgi.dto.DTO;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -57,6 +64,16 @@ public class Utils {
 
 	private static final Bundle BUNDLE = FrameworkUtil.getBundle(Utils.class);
 
+	/** Public instance fields of {@link DTO} classes, copied by {@link #copyDTO(DTO)} */
+	private static final ClassValue<Field[]> DTO_FIELDS = new ClassValue<>() {
+		@Override
+		protected Field[] computeValue(Class<?> type) {
+			return Arrays.stream(type.getFields())
+					.filter(f -> !Modifier.isStatic(f.getModifiers()) && !Modifier.isFinal(f.getModifiers()))
+					.toArray(Field[]::new);
+		}
+	};
+
 	private Utils() { }
 
 	public static boolean same(Dictionary<String, ?> cfg1, Dictionary<String, ?> cfg2) {
@@ -724,4 +741,57 @@ public class Utils {
 		}
 	}
 
+	/**
+	 * Creates a deep copy of a {@link DTO}. Arrays, maps, collections and nested {@link DTO DTOs} found in public
+	 * fields are copied too, other values (strings, numbers, ...) are shared.
+	 * @param dto
+	 * @param <T>
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends DTO> T copyDTO(T dto) {
+		return (T) copyValue(dto);
+	}
+
+	private static Object copyValue(Object value) {
+		if (value == null) {
+			return null;
+		}
+		Class<?> type = value.getClass();
+		if (value instanceof DTO) {
+			try {
+				Object copy = type.getConstructor().newInstance();
+				for (Field field : DTO_FIELDS.get(type)) {
+					field.set(copy, copyValue(field.get(value)));
+				}
+				return copy;
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalArgumentException("Can't copy " + type.getName() + ": " + e.getMessage(), e);
+			}
+		}
+		if (type.isArray()) {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(type.getComponentType(), length);
+			if (type.getComponentType().isPrimitive()) {
+				System.arraycopy(value, 0, copy, 0, length);
+			} else {
+				for (int i = 0; i < length; i++) {
+					Array.set(copy, i, copyValue(Array.get(value, i)));
+				}
+			}
+			return copy;
+		}
+		if (value instanceof Map) {
+			Map<Object, Object> copy = new LinkedHashMap<>();
+			((Map<?, ?>) value).forEach((k, v) -> copy.put(k, copyValue(v)));
+			return copy;
+		}
+		if (value instanceof Collection) {
+			List<Object> copy = new ArrayList<>();
+			((Collection<?>) value).forEach(v -> copy.add(copyValue(v)));
+			return copy;
+		}
+		return value;
+	}
+
 }
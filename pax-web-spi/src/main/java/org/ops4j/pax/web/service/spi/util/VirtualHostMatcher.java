@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+
+/**
+ * <p>Compiled virtual host / connector rules of a context, matched as in
+ * {@code org.eclipse.jetty.server.handler.ContextHandler#checkVirtualHost()}. Supported rules are:<ul>
+ *     <li>{@code www.hostname.com} - exact host (case insensitive)</li>
+ *     <li>{@code *.hostname.com} - host with one additional subdomain level</li>
+ *     <li>{@code @connectorName} - any host, but only for given connector</li>
+ *     <li>{@code host@connectorName} - both host and connector have to match</li>
+ * </ul></p>
+ *
+ * <p>Instead of checking the rules one by one for each request, hosts are kept in hash tables, so the cost of
+ * matching doesn't depend on the number of virtual hosts. This class also contains a single-pass check for the
+ * protected directories mentioned in "128.3.5 Static Content".</p>
+ */
+public final class VirtualHostMatcher {
+
+	/** Matcher for a context without virtual hosts and connectors - it matches everything */
+	public static final VirtualHostMatcher ANY = new VirtualHostMatcher(null);
+
+	/** Protected directories (without leading slash, in upper case) */
+	private static final String META_INF = "META-INF";
+	private static final String WEB_INF = "WEB-INF";
+	private static final String OSGI_INF = "OSGI-INF";
+	private static final String OSGI_OPT = "OSGI-OPT";
+
+	private final boolean restricted;
+
+	/** Lower case names of connectors for which any host matches */
+	private final Set<String> anyHostConnectors = new HashSet<>();
+
+	/**
+	 * Lower case host names mapped to lower case connector names. {@code null} connector in a set means
+	 * that the host matches for any connector.
+	 */
+	private final Map<String, Set<String>> hosts = new HashMap<>();
+
+	/** Lower case wildcard host suffixes (like {@code .example.com}) mapped to connector names */
+	private final Map<String, Set<String>> wildcardHosts = new HashMap<>();
+
+	private VirtualHostMatcher(String[] virtualHosts) {
+		restricted = virtualHosts != null && virtualHosts.length > 0;
+		if (!restricted) {
+			return;
+		}
+		for (String vh : virtualHosts) {
+			if (vh == null || "".equals(vh.trim())) {
+				continue;
+			}
+			if (vh.startsWith("@")) {
+				// connector only
+				anyHostConnectors.add(lower(vh.substring(1)));
+				continue;
+			}
+			String host;
+			String connector = null;
+			int atpos = vh.indexOf("@");
+			if (atpos >= 0) {
+				// host@connector
+				host = vh.substring(0, atpos).trim();
+				connector = vh.substring(atpos + 1).trim();
+			} else {
+				// host only
+				host = vh.trim();
+			}
+			if ("".equals(connector)) {
+				connector = null;
+			}
+			if ("".equals(host)) {
+				if (connector != null) {
+					anyHostConnectors.add(lower(connector));
+				}
+				continue;
+			}
+			Map<String, Set<String>> table = hosts;
+			if (host.startsWith("*.")) {
+				// *.example.com -> .example.com
+				table = wildcardHosts;
+				host = host.substring(1);
+			}
+			table.computeIfAbsent(lower(host), h -> new HashSet<>()).add(connector == null ? null : lower(connector));
+		}
+	}
+
+	/**
+	 * Compiles virtual host rules (in {@code host}, {@code *.host}, {@code @connector} or {@code host@connector}
+	 * format).
+	 * @param virtualHosts
+	 * @return
+	 */
+	public static VirtualHostMatcher compile(String[] virtualHosts) {
+		return virtualHosts == null || virtualHosts.length == 0 ? ANY : new VirtualHostMatcher(virtualHosts);
+	}
+
+	/**
+	 * Collects virtual hosts and connectors of {@link OsgiContextModel} (or global ones from {@link Configuration}
+	 * if the context doesn't specify any) as a list of rules, where connectors are prefixed with {@code @}.
+	 * @param osgiContextModel
+	 * @param configuration
+	 * @return
+	 */
+	public static List<String> collect(OsgiContextModel osgiContextModel, Configuration configuration) {
+		List<String> allVirtualHosts = new ArrayList<>();
+		List<String> vhosts = new ArrayList<>(osgiContextModel.getVirtualHosts());
+		if (vhosts.isEmpty()) {
+			vhosts.addAll(Arrays.asList(configuration.server().getVirtualHosts()));
+		}
+		List<String> connectors = new ArrayList<>(osgiContextModel.getConnectors());
+		if (connectors.isEmpty()) {
+			connectors.addAll(Arrays.asList(configuration.server().getConnectors()));
+		}
+		for (String vhost : vhosts) {
+			if (vhost == null || "".equals(vhost.trim())) {
+				continue;
+			}
+			// both normal virtual hosts and "@connector" rules are added without processing
+			allVirtualHosts.add(vhost);
+		}
+		for (String c : connectors) {
+			if (c == null || "".equals(c.trim())) {
+				continue;
+			}
+			// connector should be added as "@" prefixed VHost
+			allVirtualHosts.add(c.startsWith("@") ? c : "@" + c);
+		}
+		return Collections.unmodifiableList(allVirtualHosts);
+	}
+
+	/**
+	 * Checks whether request to given host (without port), received by a connector with given name, should be
+	 * handled by the context.
+	 * @param vhost
+	 * @param connectorName
+	 * @return
+	 */
+	public boolean matches(String vhost, String connectorName) {
+		if (!restricted) {
+			return true;
+		}
+
+		String connector = connectorName == null ? null : lower(connectorName);
+		if (connector != null && anyHostConnectors.contains(connector)) {
+			return true;
+		}
+		if (vhost == null) {
+			return false;
+		}
+
+		if (!hosts.isEmpty() && matches(hosts.get(lower(vhost)), connector)) {
+			return true;
+		}
+		if (!wildcardHosts.isEmpty()) {
+			// wildcard only at the beginning, and only for one additional subdomain level
+			int index = vhost.indexOf('.');
+			return index >= 0 && matches(wildcardHosts.get(lower(vhost.substring(index))), connector);
+		}
+		return false;
+	}
+
+	private static boolean matches(Set<String> connectors, String connector) {
+		return connectors != null && (connectors.contains(null) || (connector != null && connectors.contains(connector)));
+	}
+
+	/**
+	 * Checks whether the path (relative to context) points to one of protected directories: {@code /META-INF},
+	 * {@code /WEB-INF}, {@code /OSGI-INF} or {@code /OSGI-OPT} (case insensitive).
+	 * @param path
+	 * @return
+	 */
+	public static boolean isProtectedPath(CharSequence path) {
+		if (path == null || path.length() < 8 || path.charAt(0) != '/') {
+			return false;
+		}
+		switch (path.charAt(1)) {
+			case 'M':
+			case 'm':
+				return matchesSegment(path, META_INF);
+			case 'W':
+			case 'w':
+				return matchesSegment(path, WEB_INF);
+			case 'O':
+			case 'o':
+				char c = path.charAt(6);
+				if (c == 'I' || c == 'i') {
+					return matchesSegment(path, OSGI_INF);
+				}
+				return (c == 'O' || c == 'o') && matchesSegment(path, OSGI_OPT);
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Checks if the path starts with {@code /name} followed by end of the path or {@code /}.
+	 * @param path
+	 * @param name
+	 * @return
+	 */
+	private static boolean matchesSegment(CharSequence path, String name) {
+		int len = name.length();
+		if (path.length() < len + 1) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			char c = path.charAt(i + 1);
+			if (c != name.charAt(i) && Character.toUpperCase(c) != name.charAt(i)) {
+				return false;
+			}
+		}
+		return path.length() == len + 1 || path.charAt(len + 1) == '/';
+	}
+
+	private static String lower(String s) {
+		return s.toLowerCase(Locale.ROOT);
+	}
+
+}
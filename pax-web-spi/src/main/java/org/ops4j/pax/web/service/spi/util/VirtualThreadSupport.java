@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Access to virtual threads (JDK 21+) using reflection, because Pax Web is still compiled for JDK 17. On older
+ * JVMs virtual threads are not {@link #isSupported() supported}.</p>
+ *
+ * <p>All the runtimes use {@link #useVirtualThreads(boolean)} to decide whether virtual threads can be used, so
+ * the decision (and the fallback to platform threads) is the same for Jetty, Tomcat and Undertow. Tomcat creates
+ * its own virtual thread executor, Jetty and Undertow use {@link #newVirtualThreadPerTaskExecutor(String)}.</p>
+ */
+public final class VirtualThreadSupport {
+
+	private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadSupport.class);
+
+	private static final Method OF_VIRTUAL;
+	private static final Method BUILDER_NAME;
+	private static final Method BUILDER_FACTORY;
+	private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+	static {
+		Method ofVirtual = null;
+		Method builderName = null;
+		Method builderFactory = null;
+		Method newThreadPerTaskExecutor = null;
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			builderName = builderClass.getMethod("name", String.class, long.class);
+			builderFactory = builderClass.getMethod("factory");
+			newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+		} catch (ClassNotFoundException | NoSuchMethodException e) {
+			LOG.debug("Virtual threads are not supported by this JVM");
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		BUILDER_NAME = builderName;
+		BUILDER_FACTORY = builderFactory;
+		NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+	}
+
+	private VirtualThreadSupport() {
+	}
+
+	/**
+	 * Checks whether the JVM supports virtual threads.
+	 * @return
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Decides whether requests should be handled in virtual threads. If they're configured, but not supported by
+	 * the JVM, a warning is logged and platform threads should be used.
+	 * @param configured value of {@code org.ops4j.pax.web.server.virtualThreads} option
+	 * @return
+	 */
+	public static boolean useVirtualThreads(boolean configured) {
+		if (!configured) {
+			return false;
+		}
+		if (!isSupported()) {
+			LOG.warn("Virtual threads are not supported by this JVM, using platform threads to handle requests");
+			return false;
+		}
+		LOG.info("Using virtual threads to handle requests");
+		return true;
+	}
+
+	/**
+	 * Creates an {@link ExecutorService} that starts new virtual thread for each task. Threads are named
+	 * {@code <namePrefix><number>}.
+	 * @param namePrefix
+	 * @return the executor or {@code null} if virtual threads are not supported
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+		if (!isSupported()) {
+			return null;
+		}
+		try {
+			Object builder = OF_VIRTUAL.invoke(null);
+			builder = BUILDER_NAME.invoke(builder, namePrefix, 0L);
+			ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+			return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			LOG.warn("Can't create virtual thread executor: {}", e.getMessage(), e);
+			return null;
+		}
+	}
+
+}
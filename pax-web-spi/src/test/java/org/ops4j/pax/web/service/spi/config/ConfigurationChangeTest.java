@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.config;
+
+import java.util.Hashtable;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.PaxWebConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurationChangeTest {
+
+	@Test
+	public void scopes() {
+		Hashtable<String, Object> previous = new Hashtable<>();
+		previous.put("service.pid", "org.ops4j.pax.web");
+		previous.put(PaxWebConfig.PID_CFG_HTTP_PORT, "8181");
+		previous.put(PaxWebConfig.PID_CFG_SERVER_MAX_THREADS, "200");
+
+		Hashtable<String, Object> current = new Hashtable<>(previous);
+		ConfigurationChange change = ConfigurationChange.between(previous, current);
+		assertThat(change.isEmpty()).isTrue();
+		assertThat(change.getScope()).isEqualTo(ConfigurationChange.Scope.LIVE);
+
+		current.put(PaxWebConfig.PID_CFG_SERVER_MAX_THREADS, "100");
+		current.put(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT, "5000");
+		change = ConfigurationChange.between(previous, current);
+		assertThat(change.getChangedProperties()).containsExactly(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT,
+				PaxWebConfig.PID_CFG_SERVER_MAX_THREADS);
+		assertThat(change.getScope()).isEqualTo(ConfigurationChange.Scope.LIVE);
+
+		current.remove(PaxWebConfig.PID_CFG_HTTP_PORT);
+		assertThat(ConfigurationChange.between(previous, current).getScope()).isEqualTo(ConfigurationChange.Scope.CONNECTOR);
+
+		current.put("org.ops4j.pax.web.ssl.password", "secret");
+		assertThat(ConfigurationChange.between(previous, current).getScope()).isEqualTo(ConfigurationChange.Scope.CONNECTOR);
+
+		current.put(PaxWebConfig.PID_CFG_SESSION_TIMEOUT, "30");
+		assertThat(ConfigurationChange.between(previous, current).getScope()).isEqualTo(ConfigurationChange.Scope.RESTART);
+
+		assertThat(ConfigurationChange.between(null, previous).getChangedProperties()).hasSize(3);
+	}
+
+}
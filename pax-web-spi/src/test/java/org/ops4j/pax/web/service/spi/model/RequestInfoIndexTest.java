@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.model;
+
+import org.junit.jupiter.api.Test;
+import org.osgi.service.servlet.runtime.dto.FilterDTO;
+import org.osgi.service.servlet.runtime.dto.RequestInfoDTO;
+import org.osgi.service.servlet.runtime.dto.ResourceDTO;
+import org.osgi.service.servlet.runtime.dto.ServletContextDTO;
+import org.osgi.service.servlet.runtime.dto.ServletDTO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestInfoIndexTest {
+
+	@Test
+	public void servletMappingRules() {
+		ServletContextDTO root = context(1L, "/",
+				new ServletDTO[] {
+						servlet("exact", "/a/b"),
+						servlet("prefix", "/a/*"),
+						servlet("longerPrefix", "/a/b/c/*"),
+						servlet("extension", "*.jsp"),
+						servlet("default", "/"),
+						servlet("root", "")
+				},
+				new ResourceDTO[] { resource("/static/*") },
+				new FilterDTO[] {
+						filter("all", new String[] { "/*" }, null, null),
+						filter("jsps", new String[] { "*.jsp" }, null, new String[] { "FORWARD" }),
+						filter("regex", null, "^/a/.*\\.txt$", null)
+				});
+		ServletContextDTO app = context(2L, "/app",
+				new ServletDTO[] { servlet("app", "/*") }, null, null);
+
+		RequestInfoIndex index = new RequestInfoIndex(new ServletContextDTO[] { root, app });
+
+		assertThat(index.calculateRequestInfoDTO("/a/b").servletDTO.name).isEqualTo("exact");
+		assertThat(index.calculateRequestInfoDTO("/a/b/").servletDTO.name).isEqualTo("prefix");
+		assertThat(index.calculateRequestInfoDTO("/a").servletDTO.name).isEqualTo("prefix");
+		assertThat(index.calculateRequestInfoDTO("/a/b/c").servletDTO.name).isEqualTo("longerPrefix");
+		assertThat(index.calculateRequestInfoDTO("/a/b/cd").servletDTO.name).isEqualTo("prefix");
+		assertThat(index.calculateRequestInfoDTO("/a/x.jsp").servletDTO.name).isEqualTo("prefix");
+		assertThat(index.calculateRequestInfoDTO("/x/y.jsp").servletDTO.name).isEqualTo("extension");
+		assertThat(index.calculateRequestInfoDTO("/x.jsp/y").servletDTO.name).isEqualTo("default");
+		assertThat(index.calculateRequestInfoDTO("/ab").servletDTO.name).isEqualTo("default");
+		assertThat(index.calculateRequestInfoDTO("/").servletDTO.name).isEqualTo("root");
+		assertThat(index.calculateRequestInfoDTO("/static/x.jsp?q=1").resourceDTO).isNotNull();
+
+		RequestInfoDTO info = index.calculateRequestInfoDTO("/a/b.txt");
+		assertThat(info.servletContextId).isEqualTo(1L);
+		assertThat(info.filterDTOs).extracting(f -> f.name).containsExactly("all", "regex");
+		assertThat(index.calculateRequestInfoDTO("/x/y.jsp").filterDTOs).extracting(f -> f.name).containsExactly("all");
+
+		info = index.calculateRequestInfoDTO("/app/x");
+		assertThat(info.servletContextId).isEqualTo(2L);
+		assertThat(info.servletDTO.name).isEqualTo("app");
+		assertThat(info.filterDTOs).isEmpty();
+		assertThat(index.calculateRequestInfoDTO("/application").servletContextId).isEqualTo(1L);
+	}
+
+	@Test
+	public void filterPrefixMatchesWholeSegments() {
+		ServletContextDTO root = context(1L, "/",
+				new ServletDTO[] { servlet("default", "/") },
+				null,
+				new FilterDTO[] { filter("foo", new String[] { "/foo/*" }, null, null) });
+
+		RequestInfoIndex index = new RequestInfoIndex(new ServletContextDTO[] { root });
+
+		assertThat(index.calculateRequestInfoDTO("/foo").filterDTOs).extracting(f -> f.name).containsExactly("foo");
+		assertThat(index.calculateRequestInfoDTO("/foo/").filterDTOs).extracting(f -> f.name).containsExactly("foo");
+		assertThat(index.calculateRequestInfoDTO("/foo/bar").filterDTOs).extracting(f -> f.name).containsExactly("foo");
+		assertThat(index.calculateRequestInfoDTO("/foobar").filterDTOs).isEmpty();
+	}
+
+	private static ServletContextDTO context(long id, String contextPath, ServletDTO[] servlets,
+			ResourceDTO[] resources, FilterDTO[] filters) {
+		ServletContextDTO dto = new ServletContextDTO();
+		dto.serviceId = id;
+		dto.contextPath = contextPath;
+		dto.servletDTOs = servlets;
+		dto.resourceDTOs = resources;
+		dto.filterDTOs = filters;
+		return dto;
+	}
+
+	private static ServletDTO servlet(String name, String pattern) {
+		ServletDTO dto = new ServletDTO();
+		dto.name = name;
+		dto.patterns = new String[] { pattern };
+		return dto;
+	}
+
+	private static ResourceDTO resource(String pattern) {
+		ResourceDTO dto = new ResourceDTO();
+		dto.patterns = new String[] { pattern };
+		return dto;
+	}
+
+	private static FilterDTO filter(String name, String[] patterns, String regex, String[] dispatcher) {
+		FilterDTO dto = new FilterDTO();
+		dto.name = name;
+		dto.patterns = patterns;
+		dto.regexs = regex == null ? null : new String[] { regex };
+		dto.dispatcher = dispatcher;
+		return dto;
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.model;
+
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.spi.util.NamedThreadFactory;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.framework.dto.ServiceReferenceDTO;
+import org.osgi.service.servlet.runtime.HttpServiceRuntime;
+import org.osgi.service.servlet.runtime.dto.RuntimeDTO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServerModelTest {
+
+	private ExecutorService pool;
+	private ServerModel model;
+	private final AtomicLong published = new AtomicLong(0L);
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void init() {
+		pool = Executors.newSingleThreadExecutor(new NamedThreadFactory("paxweb-config-test"));
+		model = new ServerModel(pool);
+
+		ServiceRegistration<HttpServiceRuntime> reg = mock(ServiceRegistration.class);
+		ServiceReference<HttpServiceRuntime> ref = mock(ServiceReference.class);
+		when(reg.getReference()).thenReturn(ref);
+		when(ref.getPropertyKeys()).thenReturn(new String[0]);
+		when(ref.getUsingBundles()).thenReturn(new Bundle[0]);
+		doAnswer(i -> {
+			published.set((Long) ((Dictionary<String, Object>) i.getArgument(0)).get("service.changecount"));
+			return null;
+		}).when(reg).setProperties(any());
+		ServiceReferenceDTO dto = new ServiceReferenceDTO();
+		dto.properties = new HashMap<>();
+		model.setHttpServiceRuntimeInformation(reg, dto);
+	}
+
+	@AfterEach
+	public void cleanup() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void synchronousTaskPublishesChangeCountBeforeReturning() throws Exception {
+		model.run(() -> null, false);
+		assertThat(published.get()).isEqualTo(1L);
+
+		// repeated, so the publication isn't only triggered by time passed since previous one
+		for (long count = 3L; count <= 9L; count += 2L) {
+			CountDownLatch release = new CountDownLatch(1);
+			model.run(() -> {
+				// task queued after this one, still pending when this one finishes
+				model.runAsync(() -> {
+					await(release);
+					return null;
+				});
+				return null;
+			}, false);
+
+			// both tasks incremented the count
+			assertThat(published.get()).isEqualTo(count);
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void changeCountPublishedUnderConstantLoad() throws Exception {
+		CountDownLatch checked = new CountDownLatch(1);
+		AtomicLong seenDuringLoad = new AtomicLong(-1L);
+		for (int i = 0; i < 8; i++) {
+			model.runAsync(() -> {
+				sleep(50);
+				return null;
+			});
+		}
+		model.runAsync(() -> {
+			// 8 * 50ms of tasks already finished and there's still one queued
+			seenDuringLoad.set(published.get());
+			await(checked);
+			return null;
+		});
+		model.runAsync(() -> null);
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (seenDuringLoad.get() < 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		checked.countDown();
+		assertThat(seenDuringLoad.get()).isGreaterThan(0L);
+	}
+
+	@Test
+	public void runtimeDTOIsCopied() {
+		RuntimeDTO dto1 = model.getRuntimeDTO();
+		RuntimeDTO dto2 = model.getRuntimeDTO();
+		assertThat(dto1).isNotSameAs(dto2);
+		assertThat(dto1.servletContextDTOs).isNotSameAs(dto2.servletContextDTOs);
+		assertThat(dto1.failedServletDTOs).isNotSameAs(dto2.failedServletDTOs);
+		assertThat(dto1.preprocessorDTOs).isNotSameAs(dto2.preprocessorDTOs);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentHashETagStrategyTest {
+
+	@TempDir
+	public File dir;
+
+	@Test
+	public void sameContentSameETag() throws Exception {
+		File f1 = new File(dir, "a.js");
+		File f2 = new File(dir, "b.js");
+		Files.writeString(f1.toPath(), "var x = 42;");
+		Files.writeString(f2.toPath(), "var x = 42;");
+		ContentHashETagStrategy strategy = new ContentHashETagStrategy(null, 16);
+
+		URL url1 = f1.toURI().toURL();
+		String etag = strategy.getETag(url1, f1.lastModified(), f1.length());
+		assertThat(etag).matches("\"[0-9a-f]{32}\"");
+		assertThat(strategy.getETag(f2.toURI().toURL(), 42L, f2.length())).isEqualTo(etag);
+		assertThat(strategy.getETag(url1, f1.lastModified(), f1.length())).isEqualTo(etag);
+		assertThat(strategy.getCachedEntries()).isEqualTo(2);
+
+		// changed content
+		Files.writeString(f1.toPath(), "var x = 43;");
+		assertThat(strategy.getETag(url1, f1.lastModified() + 1000L, f1.length())).isNotEqualTo(etag);
+
+		assertThat(strategy.getETag(new File(dir, "missing.js").toURI().toURL(), -1L, -1L)).isNull();
+		assertThat(strategy.getETag(dir.toURI().toURL(), -1L, -1L)).isNull();
+	}
+
+	@Test
+	public void immutablePaths() {
+		ContentHashETagStrategy strategy = new ContentHashETagStrategy(ContentHashETagStrategy.HEX_HASH_IMMUTABLE_PATTERN, 16);
+
+		assertThat(strategy.isImmutable("/js/app.3f2a9c1b.js")).isTrue();
+		assertThat(strategy.isImmutable("/assets/index-0b7e3d2a.css")).isTrue();
+		assertThat(strategy.isImmutable("/main.min.0123456789abcdef0123.js")).isTrue();
+
+		assertThat(strategy.isImmutable("/js/app.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/app-settings.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/app-version2.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/module2024.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/app-deadbeef.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/jquery-3.6.0.min.js")).isFalse();
+		assertThat(strategy.isImmutable("/js/bundle-production.js")).isFalse();
+		assertThat(strategy.isImmutable("/assets/index-BqL9a2Xz.css")).isFalse();
+		assertThat(strategy.isImmutable("/backup-20240101.sql")).isFalse();
+		assertThat(strategy.isImmutable("/app.3f2a9c1b/")).isFalse();
+
+		assertThat(new ContentHashETagStrategy("", 16).isImmutable("/js/app.3f2a9c1b.js")).isFalse();
+		assertThat(new ContentHashETagStrategy(null, 16).isImmutable("/js/app.3f2a9c1b.js")).isFalse();
+	}
+
+}
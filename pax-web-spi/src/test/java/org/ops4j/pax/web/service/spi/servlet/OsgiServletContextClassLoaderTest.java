@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.wiring.BundleWiring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OsgiServletContextClassLoaderTest {
+
+	@Test
+	public void cachedLookups() throws Exception {
+		CountingClassLoader cl1 = new CountingClassLoader(null);
+		CountingClassLoader cl2 = new CountingClassLoader(OsgiServletContextClassLoaderTest.class.getClassLoader());
+		Bundle b1 = bundle(cl1);
+		Bundle b2 = bundle(cl2);
+
+		OsgiServletContextClassLoader loader = new OsgiServletContextClassLoader();
+		loader.addBundles(b1, b2);
+		loader.makeImmutable();
+
+		assertThat(loader.loadClass(Test.class.getName())).isSameAs(Test.class);
+		assertThat(loader.loadClass(Test.class.getName())).isSameAs(Test.class);
+		// first lookup asks both bundles, second only the one that loaded the class
+		assertThat(cl1.classLookups.get()).isEqualTo(1);
+		assertThat(cl2.classLookups.get()).isEqualTo(2);
+
+		assertThatThrownBy(() -> loader.loadClass("com.example.Missing")).isInstanceOf(ClassNotFoundException.class);
+		assertThatThrownBy(() -> loader.loadClass("com.example.Missing")).isInstanceOf(ClassNotFoundException.class);
+		assertThat(cl1.classLookups.get()).isEqualTo(2);
+		assertThat(cl2.classLookups.get()).isEqualTo(3);
+
+		assertThat(loader.getResource("com/example/missing.txt")).isNull();
+		assertThat(loader.getResources("com/example/missing.txt").hasMoreElements()).isFalse();
+		assertThat(cl1.resourceLookups.get()).isEqualTo(1);
+
+		// refresh of a bundle drops the cache
+		OsgiServletContextClassLoader.bundleChanged(new BundleEvent(BundleEvent.UNRESOLVED, b1));
+		assertThatThrownBy(() -> loader.loadClass("com.example.Missing")).isInstanceOf(ClassNotFoundException.class);
+		assertThat(cl1.classLookups.get()).isEqualTo(3);
+
+		// events that don't change wirings or available packages keep the cache
+		OsgiServletContextClassLoader.bundleChanged(new BundleEvent(BundleEvent.STARTED, b1));
+		assertThatThrownBy(() -> loader.loadClass("com.example.Missing")).isInstanceOf(ClassNotFoundException.class);
+		assertThat(cl1.classLookups.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void missingClassFoundAfterDynamicImport() throws Exception {
+		AtomicBoolean wired = new AtomicBoolean(false);
+		ClassLoader cl = new ClassLoader(null) {
+			@Override
+			public Class<?> loadClass(String name) throws ClassNotFoundException {
+				if (wired.get() && Test.class.getName().equals(name)) {
+					return Test.class;
+				}
+				throw new ClassNotFoundException(name);
+			}
+		};
+		Bundle b = bundle(cl);
+
+		OsgiServletContextClassLoader loader = new OsgiServletContextClassLoader();
+		loader.addBundle(b);
+		loader.makeImmutable();
+
+		assertThatThrownBy(() -> loader.loadClass(Test.class.getName())).isInstanceOf(ClassNotFoundException.class);
+
+		// bundle exporting the package is installed and resolved - the wiring of the bundle with
+		// DynamicImport-Package is still current, but the class is available now
+		wired.set(true);
+		OsgiServletContextClassLoader.bundleChanged(new BundleEvent(BundleEvent.RESOLVED, mock(Bundle.class)));
+		assertThat(loader.loadClass(Test.class.getName())).isSameAs(Test.class);
+	}
+
+	private static Bundle bundle(ClassLoader cl) {
+		Bundle bundle = mock(Bundle.class);
+		BundleWiring wiring = mock(BundleWiring.class);
+		when(wiring.getClassLoader()).thenReturn(cl);
+		when(bundle.adapt(BundleWiring.class)).thenReturn(wiring);
+		return bundle;
+	}
+
+	private static class CountingClassLoader extends ClassLoader {
+		private final AtomicInteger classLookups = new AtomicInteger();
+		private final AtomicInteger resourceLookups = new AtomicInteger();
+
+		CountingClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		public Class<?> loadClass(String name) throws ClassNotFoundException {
+			classLookups.incrementAndGet();
+			return super.loadClass(name);
+		}
+
+		@Override
+		public URL getResource(String name) {
+			resourceLookups.incrementAndGet();
+			return super.getResource(name);
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceCompressionTest {
+
+	@TempDir
+	public File dir;
+
+	@Test
+	public void acceptEncoding() {
+		assertThat(ResourceCompression.accepts("gzip, deflate, br", "br")).isTrue();
+		assertThat(ResourceCompression.accepts("gzip;q=0.5", "gzip")).isTrue();
+		assertThat(ResourceCompression.accepts("gzip;q=0", "gzip")).isFalse();
+		assertThat(ResourceCompression.accepts("*", "gzip")).isTrue();
+		assertThat(ResourceCompression.accepts("identity", "gzip")).isFalse();
+		assertThat(ResourceCompression.accepts(null, "gzip")).isFalse();
+		// explicitly listed coding wins over "*", regardless of the order
+		assertThat(ResourceCompression.accepts("*, gzip;q=0", "gzip")).isFalse();
+		assertThat(ResourceCompression.accepts("*;q=0, br", "br")).isTrue();
+		assertThat(ResourceCompression.accepts("br, *;q=0", "gzip")).isFalse();
+		assertThat(ResourceCompression.accepts("gzip; Q = 0", "gzip")).isFalse();
+	}
+
+	@Test
+	public void gzipOnceAndCache() throws Exception {
+		String js = "var x = 42;\n".repeat(500);
+		Files.writeString(new File(dir, "app.js").toPath(), js);
+		ResourceCompression compression = new ResourceCompression(false, true, null, 1024, 1024 * 1024);
+
+		for (int i = 0; i < 2; i++) {
+			Map<String, String> headers = new HashMap<>();
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			assertThat(compression.serve(request("gzip, deflate"), response(headers, body), "/app.js", lookup())).isTrue();
+			assertThat(headers).containsEntry("Content-Encoding", "gzip").containsEntry("Vary", "Accept-Encoding");
+			assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(body.toByteArray())).readAllBytes(),
+					StandardCharsets.UTF_8)).isEqualTo(js);
+		}
+		assertThat(compression.getCachedEntries()).isEqualTo(1);
+
+		// client which doesn't accept gzip gets original resource from the container
+		Map<String, String> headers = new HashMap<>();
+		assertThat(compression.serve(request(null), response(headers, new ByteArrayOutputStream()), "/app.js", lookup())).isFalse();
+		assertThat(headers).containsEntry("Vary", "Accept-Encoding");
+
+		// too small
+		Files.writeString(new File(dir, "small.js").toPath(), "var x;");
+		assertThat(compression.serve(request("gzip"), response(new HashMap<>(), new ByteArrayOutputStream()), "/small.js", lookup())).isFalse();
+	}
+
+	@Test
+	public void precompressedSiblingsAndConditionalRequests() throws Exception {
+		Files.writeString(new File(dir, "app.css").toPath(), "body { }");
+		Files.write(new File(dir, "app.css.br").toPath(), new byte[] { 1, 2, 3 });
+		ResourceCompression compression = new ResourceCompression(true, false, null, 1024, 1024 * 1024);
+
+		Map<String, String> headers = new HashMap<>();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		assertThat(compression.serve(request("gzip, br"), response(headers, body), "/app.css", lookup())).isTrue();
+		assertThat(headers).containsEntry("Content-Encoding", "br");
+		assertThat(body.toByteArray()).containsExactly(1, 2, 3);
+
+		// no .gz sibling
+		assertThat(compression.serve(request("gzip"), response(new HashMap<>(), new ByteArrayOutputStream()), "/app.css", lookup())).isFalse();
+
+		HttpServletRequest conditional = request("br");
+		when(conditional.getHeader("If-None-Match")).thenReturn(headers.get("ETag"));
+		HttpServletResponse response = response(new HashMap<>(), new ByteArrayOutputStream());
+		assertThat(compression.serve(conditional, response, "/app.css", lookup())).isTrue();
+		verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		verify(response, never()).getOutputStream();
+	}
+
+	private Function<String, URL> lookup() {
+		return path -> {
+			File f = new File(dir, path.substring(1));
+			try {
+				return f.isFile() ? f.toURI().toURL() : null;
+			} catch (MalformedURLException e) {
+				return null;
+			}
+		};
+	}
+
+	private HttpServletRequest request(String acceptEncoding) {
+		HttpServletRequest request = mock(HttpServletRequest.class);
+		ServletContext context = mock(ServletContext.class);
+		when(context.getMimeType(anyString())).thenAnswer(i -> {
+			String path = i.getArgument(0);
+			return path.endsWith(".js") ? "text/javascript" : path.endsWith(".css") ? "text/css" : null;
+		});
+		when(request.getServletContext()).thenReturn(context);
+		when(request.getMethod()).thenReturn("GET");
+		when(request.getHeader("Accept-Encoding")).thenReturn(acceptEncoding);
+		when(request.getDateHeader("If-Modified-Since")).thenReturn(-1L);
+		return request;
+	}
+
+	private HttpServletResponse response(Map<String, String> headers, ByteArrayOutputStream body) throws IOException {
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		doAnswer(i -> headers.put(i.getArgument(0), i.getArgument(1)))
+				.when(response).setHeader(anyString(), anyString());
+		doAnswer(i -> headers.put(i.getArgument(0), i.getArgument(1)))
+				.when(response).addHeader(anyString(), anyString());
+		when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+
+			@Override
+			public void write(int b) {
+				body.write(b);
+			}
+		});
+		return response;
+	}
+
+}
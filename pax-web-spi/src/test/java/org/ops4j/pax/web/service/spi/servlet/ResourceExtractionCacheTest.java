@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ResourceExtractionCacheTest {
+
+	@TempDir
+	public File dir;
+
+	private final Map<String, byte[]> entries = new HashMap<>();
+	private final AtomicInteger connections = new AtomicInteger();
+
+	private final URLStreamHandler handler = new URLStreamHandler() {
+		@Override
+		protected URLConnection openConnection(URL u) {
+			connections.incrementAndGet();
+			return new URLConnection(u) {
+				@Override
+				public void connect() {
+				}
+
+				@Override
+				public long getContentLengthLong() {
+					byte[] content = entries.get(u.getPath());
+					return content == null ? -1L : content.length;
+				}
+
+				@Override
+				public long getLastModified() {
+					return 1_700_000_000_000L + entries.get(u.getPath()).length;
+				}
+
+				@Override
+				public InputStream getInputStream() {
+					return new ByteArrayInputStream(entries.get(u.getPath()));
+				}
+			};
+		}
+	};
+
+	@Test
+	public void largeResourcesAreExtractedOnce() throws Exception {
+		entries.put("/static/firmware.bin", new byte[100_000]);
+		entries.put("/static/small.txt", new byte[10]);
+		ResourceExtractionCache cache = new ResourceExtractionCache(dir, 1024);
+		cache.start(mock(BundleContext.class));
+
+		URL url = new URL("bundle", "42.0", 1, "/static/firmware.bin", handler);
+		URL extracted = cache.extract(url);
+		assertThat(extracted.getProtocol()).isEqualTo("file");
+		File file = new File(extracted.toURI());
+		assertThat(file.toPath().startsWith(dir.toPath())).isTrue();
+		assertThat(Files.readAllBytes(file.toPath())).hasSize(100_000);
+		assertThat(cache.extract(url)).isEqualTo(extracted);
+		assertThat(connections.get()).isEqualTo(1);
+
+		URL small = new URL("bundle", "42.0", 1, "/static/small.txt", handler);
+		assertThat(cache.extract(small)).isSameAs(small);
+		URL http = new URL("http://localhost/static/firmware.bin");
+		assertThat(cache.extract(http)).isSameAs(http);
+
+		// updated bundle - the file is extracted again
+		entries.put("/static/firmware.bin", new byte[200_000]);
+		cache.bundleChanged(new BundleEvent(BundleEvent.UPDATED, mock(Bundle.class)));
+		assertThat(new File(cache.extract(url).toURI()).length()).isEqualTo(200_000L);
+
+		cache.stop();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	public void pathsCantEscapeTheDirectory() throws Exception {
+		entries.put("/../../etc/passwd", new byte[100_000]);
+		ResourceExtractionCache cache = new ResourceExtractionCache(new File(dir, "resources"), 1024);
+
+		URL url = new URL("bundle", "42.0", 1, "/../../etc/passwd", handler);
+		assertThat(cache.extract(url)).isSameAs(url);
+		assertThat(new File(dir, "resources")).doesNotExist();
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.servlet;
+
+import java.net.URL;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.spi.context.DefaultHttpContext;
+import org.ops4j.pax.web.service.spi.context.DefaultMultiBundleWebContainerContext;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceLookupCacheTest {
+
+	@Test
+	public void positiveAndNegativeLookups() throws Exception {
+		Bundle bundle = mock(Bundle.class);
+		URL url = new URL("file:/bundle42/index.html");
+		when(bundle.getResource("index.html")).thenReturn(url);
+
+		ResourceLookupCache cache = new ResourceLookupCache();
+		cache.start(mock(BundleContext.class));
+		DefaultHttpContext context = new DefaultHttpContext(bundle);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(cache.getResource(context, "/index.html")).isSameAs(url);
+			assertThat(cache.getResource(context, "/missing.html")).isNull();
+		}
+		verify(bundle, times(1)).getResource("index.html");
+		verify(bundle, times(1)).getResource("missing.html");
+		assertThat(cache.getMisses()).isEqualTo(2L);
+		assertThat(cache.getHits()).isEqualTo(4L);
+
+		cache.bundleChanged(new BundleEvent(BundleEvent.UPDATED, bundle));
+		assertThat(cache.size()).isZero();
+		cache.getResource(context, "/index.html");
+		verify(bundle, times(2)).getResource("index.html");
+	}
+
+	@Test
+	public void customContextsAreNotCached() {
+		Bundle bundle = mock(Bundle.class);
+
+		ResourceLookupCache cache = new ResourceLookupCache();
+		cache.start(mock(BundleContext.class));
+		DefaultHttpContext context = new DefaultHttpContext(bundle) {
+			@Override
+			public URL getResource(String name) {
+				return super.getResource(name);
+			}
+		};
+
+		cache.getResource(context, "/index.html");
+		cache.getResource(context, "/index.html");
+		verify(bundle, times(2)).getResource("index.html");
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void notCachedWithoutBundleListener() {
+		Bundle bundle = mock(Bundle.class);
+
+		ResourceLookupCache cache = new ResourceLookupCache();
+		DefaultHttpContext context = new DefaultHttpContext(bundle);
+
+		cache.getResource(context, "/index.html");
+		cache.getResource(context, "/index.html");
+		verify(bundle, times(2)).getResource("index.html");
+	}
+
+	@Test
+	public void multiBundleContextRevision() throws Exception {
+		Bundle bundle1 = mock(Bundle.class);
+		Bundle bundle2 = mock(Bundle.class);
+		URL url = new URL("file:/bundle43/index.html");
+		when(bundle2.getResource("index.html")).thenReturn(url);
+
+		ResourceLookupCache cache = new ResourceLookupCache();
+		cache.start(mock(BundleContext.class));
+		DefaultMultiBundleWebContainerContext context
+				= new DefaultMultiBundleWebContainerContext(new DefaultHttpContext(bundle1, "shared"));
+		context.registerBundle(bundle1);
+
+		assertThat(cache.getResource(context, "/index.html")).isNull();
+		assertThat(cache.getResource(context, "/index.html")).isNull();
+
+		// negative result is no longer valid
+		context.registerBundle(bundle2);
+		assertThat(cache.getResource(context, "/index.html")).isSameAs(url);
+		verify(bundle1, times(2)).getResource("index.html");
+	}
+
+	@Test
+	public void boundedSize() {
+		Bundle bundle = mock(Bundle.class);
+
+		ResourceLookupCache cache = new ResourceLookupCache(10);
+		cache.start(mock(BundleContext.class));
+		DefaultHttpContext context = new DefaultHttpContext(bundle);
+
+		for (int i = 0; i < 25; i++) {
+			cache.getResource(context, "/r" + i);
+		}
+		assertThat(cache.size()).isLessThanOrEqualTo(10);
+	}
+
+}
@@ -15,7 +15,13 @@
  */
 package org.ops4j.pax.web.service.spi.util;
 
+import java.util.HashMap;
+
 import org.junit.jupiter.api.Test;
+import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
+import org.osgi.service.servlet.runtime.dto.RuntimeDTO;
+import org.osgi.service.servlet.runtime.dto.ServletContextDTO;
+import org.osgi.service.servlet.runtime.dto.ServletDTO;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,4 +32,34 @@ public class UtilsTest {
 		assertThat(Utils.resolve("${java.home}")).isNotEqualTo("${java.home}");
 	}
 
+	@Test
+	public void dtoDeepCopy() {
+		OsgiContextModel.RankedServletContextDTO scDTO = new OsgiContextModel.RankedServletContextDTO();
+		scDTO.name = "c1";
+		scDTO.rank = 3;
+		scDTO.attributes = new HashMap<>();
+		scDTO.attributes.put("a", new String[] { "v" });
+		ServletDTO sDTO = new ServletDTO();
+		sDTO.name = "s1";
+		sDTO.patterns = new String[] { "/s" };
+		scDTO.servletDTOs = new ServletDTO[] { sDTO };
+		RuntimeDTO dto = new RuntimeDTO();
+		dto.servletContextDTOs = new ServletContextDTO[] { scDTO };
+
+		RuntimeDTO copy = Utils.copyDTO(dto);
+
+		assertThat(copy.servletContextDTOs).isNotSameAs(dto.servletContextDTOs);
+		ServletContextDTO scCopy = copy.servletContextDTOs[0];
+		assertThat(scCopy).isNotSameAs(scDTO).isInstanceOf(OsgiContextModel.RankedServletContextDTO.class);
+		assertThat(((OsgiContextModel.RankedServletContextDTO) scCopy).rank).isEqualTo(3);
+		assertThat(scCopy.name).isEqualTo("c1");
+		assertThat(scCopy.attributes).isNotSameAs(scDTO.attributes);
+		assertThat((String[]) scCopy.attributes.get("a")).isNotSameAs(scDTO.attributes.get("a")).containsExactly("v");
+		assertThat(scCopy.servletDTOs[0]).isNotSameAs(sDTO);
+		assertThat(scCopy.servletDTOs[0].patterns).isNotSameAs(sDTO.patterns).containsExactly("/s");
+
+		copy.servletContextDTOs[0].servletDTOs[0].name = "changed";
+		assertThat(sDTO.name).isEqualTo("s1");
+	}
+
 }
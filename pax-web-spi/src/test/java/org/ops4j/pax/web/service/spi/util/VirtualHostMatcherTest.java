@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualHostMatcherTest {
+
+	@Test
+	public void virtualHosts() {
+		assertThat(VirtualHostMatcher.compile(null).matches("anything", null)).isTrue();
+		assertThat(VirtualHostMatcher.compile(new String[0]).matches("anything", "default")).isTrue();
+
+		VirtualHostMatcher matcher = VirtualHostMatcher.compile(new String[] {
+				"www.example.com", "*.example.org", "@admin", "internal@secure", " "
+		});
+		assertThat(matcher.matches("WWW.example.com", "default")).isTrue();
+		assertThat(matcher.matches("example.com", "default")).isFalse();
+		assertThat(matcher.matches("a.example.org", null)).isTrue();
+		assertThat(matcher.matches("a.b.example.org", null)).isFalse();
+		assertThat(matcher.matches("example.org", null)).isFalse();
+		assertThat(matcher.matches("other", "ADMIN")).isTrue();
+		assertThat(matcher.matches(null, "admin")).isTrue();
+		assertThat(matcher.matches("internal", "secure")).isTrue();
+		assertThat(matcher.matches("internal", "default")).isFalse();
+		assertThat(matcher.matches("internal", null)).isFalse();
+	}
+
+	@Test
+	public void protectedPaths() {
+		assertThat(VirtualHostMatcher.isProtectedPath("/WEB-INF")).isTrue();
+		assertThat(VirtualHostMatcher.isProtectedPath("/web-inf/web.xml")).isTrue();
+		assertThat(VirtualHostMatcher.isProtectedPath("/META-INF/MANIFEST.MF")).isTrue();
+		assertThat(VirtualHostMatcher.isProtectedPath("/osgi-inf/")).isTrue();
+		assertThat(VirtualHostMatcher.isProtectedPath("/OSGI-OPT")).isTrue();
+		assertThat(VirtualHostMatcher.isProtectedPath("/OSGI-OPTS")).isFalse();
+		assertThat(VirtualHostMatcher.isProtectedPath("/WEB-INFO/index.html")).isFalse();
+		assertThat(VirtualHostMatcher.isProtectedPath("/static/WEB-INF")).isFalse();
+		assertThat(VirtualHostMatcher.isProtectedPath("WEB-INF/web.xml")).isFalse();
+		assertThat(VirtualHostMatcher.isProtectedPath("/")).isFalse();
+		assertThat(VirtualHostMatcher.isProtectedPath(null)).isFalse();
+	}
+
+}
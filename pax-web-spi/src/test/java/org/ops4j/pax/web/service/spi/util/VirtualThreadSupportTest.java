@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.spi.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadSupportTest {
+
+	@Test
+	public void notConfigured() {
+		assertThat(captureWarnings(() -> assertThat(VirtualThreadSupport.useVirtualThreads(false)).isFalse())).isEmpty();
+	}
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	public void virtualThreadsUsed() {
+		assertThat(captureWarnings(() -> assertThat(VirtualThreadSupport.useVirtualThreads(true)).isTrue())).isEmpty();
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	public void platformThreadsWithoutVirtualThreadsSupport() {
+		List<String> warnings = captureWarnings(() -> assertThat(VirtualThreadSupport.useVirtualThreads(true)).isFalse());
+
+		assertThat(VirtualThreadSupport.newVirtualThreadPerTaskExecutor("test-")).isNull();
+		assertThat(warnings).containsExactly("Virtual threads are not supported by this JVM, using platform threads to handle requests");
+	}
+
+	private static List<String> captureWarnings(Runnable action) {
+		List<String> warnings = new CopyOnWriteArrayList<>();
+		Logger logger = (Logger) LogManager.getLogger(VirtualThreadSupport.class);
+		Appender appender = new AbstractAppender("warnings", null, null, true, Property.EMPTY_ARRAY) {
+			@Override
+			public void append(LogEvent event) {
+				if (event.getLevel() == Level.WARN) {
+					warnings.add(event.getMessage().getFormattedMessage());
+				}
+			}
+		};
+		appender.start();
+		logger.addAppender(appender);
+		try {
+			action.run();
+		} finally {
+			logger.removeAppender(appender);
+			appender.stop();
+		}
+		return warnings;
+	}
+
+}
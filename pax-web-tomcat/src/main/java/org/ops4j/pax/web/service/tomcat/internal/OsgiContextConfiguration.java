@@ -20,7 +20,6 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -52,6 +51,7 @@ import org.ops4j.pax.web.service.spi.model.elements.LoginConfigModel;
 import org.ops4j.pax.web.service.spi.model.elements.SecurityConfigurationModel;
 import org.ops4j.pax.web.service.spi.model.elements.SecurityConstraintModel;
 import org.ops4j.pax.web.service.spi.model.elements.SessionConfigurationModel;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -155,39 +155,7 @@ public class OsgiContextConfiguration implements LifecycleListener {
 
 			// taking virtual host / connector configuration from OsgiContextModel - see
 			// org.eclipse.jetty.server.handler.ContextHandler.checkVirtualHost() and similar pax-web-jetty code
-			List<String> allVirtualHosts = new ArrayList<>();
-			List<String> vhosts = new ArrayList<>(osgiContextModel.getVirtualHosts());
-			if (vhosts.isEmpty()) {
-				vhosts.addAll(Arrays.asList(configuration.server().getVirtualHosts()));
-			}
-			List<String> connectors = new ArrayList<>(osgiContextModel.getConnectors());
-			if (connectors.isEmpty()) {
-				connectors.addAll(Arrays.asList(configuration.server().getConnectors()));
-			}
-			for (String vhost : vhosts) {
-				if (vhost == null || "".equals(vhost.trim())) {
-					continue;
-				}
-				if (vhost.startsWith("@")) {
-					// it is a connector
-					allVirtualHosts.add(vhost);
-				} else {
-					// it is a normal virtual host (yes - don't process it anyway)
-					allVirtualHosts.add(vhost);
-				}
-			}
-			for (String c : connectors) {
-				if (c == null || "".equals(c.trim())) {
-					continue;
-				}
-				if (c.startsWith("@")) {
-					// it is a connector, but should be specified as special Jetty's VHost - add without processing
-					allVirtualHosts.add(c);
-				} else {
-					// it is a connector, but should be added as "@" prefixed VHost
-					allVirtualHosts.add("@" + c);
-				}
-			}
+			List<String> allVirtualHosts = VirtualHostMatcher.collect(osgiContextModel, configuration);
 
 			context.setVirtualHosts(allVirtualHosts.toArray(new String[0]));
 
@@ -23,7 +23,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.function.Consumer;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Filter;
 import jakarta.servlet.Servlet;
@@ -31,6 +30,7 @@ import jakarta.servlet.ServletContainerInitializer;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSessionListener;
 
@@ -49,6 +49,7 @@ import org.ops4j.pax.web.service.spi.model.elements.EventListenerKey;
 import org.ops4j.pax.web.service.spi.model.elements.EventListenerModel;
 import org.ops4j.pax.web.service.spi.model.elements.FilterModel;
 import org.ops4j.pax.web.service.spi.model.elements.ServletModel;
+import org.ops4j.pax.web.service.spi.servlet.CompiledOsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.Default404Servlet;
 import org.ops4j.pax.web.service.spi.servlet.OsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
@@ -56,6 +57,8 @@ import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiSessionAttributeListener;
 import org.ops4j.pax.web.service.spi.servlet.PreprocessorFilterConfig;
 import org.ops4j.pax.web.service.spi.servlet.SCIWrapper;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
+import org.ops4j.pax.web.service.tomcat.internal.PaxWebStandardWrapperValve.TomcatRequestWrapper;
 import org.osgi.service.servlet.context.ServletContextHelper;
 import org.osgi.service.servlet.whiteboard.Preprocessor;
 import org.slf4j.Logger;
@@ -75,14 +78,6 @@ public class PaxWebStandardContext extends StandardContext {
 	 * Name of an attribute that indicates a {@link PaxWebStandardContext} for given request processing
 	 */
 	public static final String PAXWEB_STANDARD_CONTEXT = ".paxweb.standard.context";
-	/**
-	 * Name of an attribute that indicates a {@link PaxWebStandardWrapper} for given request processing
-	 */
-	public static final String PAXWEB_STANDARD_WRAPPER = ".paxweb.standard.wrapper";
-	/**
-	 * Name of the attribute for real {@link org.apache.catalina.connector.Request}
-	 */
-	public static final String PAXWEB_TOMCAT_REQUEST = ".paxweb.tomcat.request";
 
 	/**
 	 * Default {@link ServletContext} to use for chains without target servlet (e.g., filters only)
@@ -111,6 +106,13 @@ public class PaxWebStandardContext extends StandardContext {
 	 */
 	private final List<PreprocessorFilterConfig> preprocessors = new LinkedList<>();
 
+	/**
+	 * Current generation of {@link CompiledOsgiFilterChain precompiled chains}. It's replaced (never modified)
+	 * whenever preprocessors or default context change, so chains compiled for previous generation (even
+	 * concurrently with the change) are never used again.
+	 */
+	private volatile OsgiFilterChains osgiFilterChains = new OsgiFilterChains();
+
 	private final Collection<SCIWrapper> servletContainerInitializers = new LinkedList<>();
 
 	/**
@@ -125,10 +127,8 @@ public class PaxWebStandardContext extends StandardContext {
 
 	private final OsgiSessionAttributeListener osgiSessionsBridge;
 
-	// as in org.eclipse.jetty.server.handler.ContextHandler._vhosts, _vhostswildcard and _vconnectors
-	private String[] virtualHosts;
-	private boolean[] virtualHostWildcards;
-	private String[] connectorNames;
+	/** Compiled virtual hosts and connectors of this context */
+	private VirtualHostMatcher virtualHostMatcher = VirtualHostMatcher.ANY;
 	private boolean whiteboardTCCL;
 
 	public PaxWebStandardContext(Default404Servlet defaultServlet, OsgiSessionAttributeListener osgiSessionsBridge) {
@@ -146,52 +146,34 @@ public class PaxWebStandardContext extends StandardContext {
 	 */
 	public void createInitialOsgiFilter() {
 		// turn a chain into a filter - to satisfy Tomcat's static methods
-		Filter osgiInitFilter = (request, response, chain) -> {
-			// this is definitiely the first filter, so we should get these attributes
-			PaxWebStandardContext delegate = PaxWebStandardContext.this;
-			PaxWebStandardWrapper wrapper = (PaxWebStandardWrapper) request.getAttribute(PAXWEB_STANDARD_WRAPPER);
-			request.removeAttribute(PAXWEB_STANDARD_WRAPPER);
-			Request tomcatRequest = (Request) request.getAttribute(PAXWEB_TOMCAT_REQUEST);
-			request.removeAttribute(PAXWEB_TOMCAT_REQUEST);
-
-			if (wrapper == null) {
-				Container[] children = PaxWebStandardContext.this.findChildren();
-				for (Container c : children) {
-					if (c instanceof PaxWebStandardWrapper && request instanceof HttpServletRequest
-							&& c.getName() != null
-							&& c.getName().equals(((HttpServletRequest) request).getHttpServletMapping().getServletName())) {
-						wrapper = (PaxWebStandardWrapper) c;
-					}
-				}
+		Filter osgiInitFilter = (req, response, chain) -> {
+			// this is definitiely the first filter, so for dispatches that went through PaxWebStandardWrapperValve
+			// we get the Tomcat request in a wrapper created by the valve. Nested dispatches (forward, include)
+			// get the request used by the dispatching code and the wrapper is found by name
+			TomcatRequestWrapper holder = req instanceof TomcatRequestWrapper ? (TomcatRequestWrapper) req : null;
+			ServletRequest request = holder == null ? req : holder.unwrap();
+			Request tomcatRequest = holder == null ? null : holder.getTomcatRequest();
+			PaxWebStandardWrapper wrapper = null;
+			if (tomcatRequest != null && tomcatRequest.getWrapper() instanceof PaxWebStandardWrapper) {
+				wrapper = (PaxWebStandardWrapper) tomcatRequest.getWrapper();
 			}
 
-			// listener called when org.osgi.service.http.HttpContext.handleSecurity() returns true
-			Consumer<HttpServletRequest> authListener = (req) -> {
-				final Object user = req.getAttribute(ServletContextHelper.REMOTE_USER);
-				final Object authType = req.getAttribute(ServletContextHelper.AUTHENTICATION_TYPE);
-
-				if (user != null || authType != null) {
-					// translate it into Tomcat specific authentication
-					String userName = user != null ? user.toString() : null;
-					String authMethod = authType != null ? authType.toString() : null;
-					if (tomcatRequest.getPrincipal() == null) {
-						tomcatRequest.setUserPrincipal(new GenericPrincipal(userName, Collections.emptyList(), null));
-					}
+			if (wrapper == null && request instanceof HttpServletRequest) {
+				String servletName = ((HttpServletRequest) request).getHttpServletMapping().getServletName();
+				Container child = servletName == null ? null : findChild(servletName);
+				if (child instanceof PaxWebStandardWrapper) {
+					wrapper = (PaxWebStandardWrapper) child;
 				}
-			};
-
-			final OsgiFilterChain osgiChain;
-			List<Preprocessor> preprocessorInstances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toList();
-			if (wrapper != null && !wrapper.is404()) {
-				osgiChain = new OsgiFilterChain(new ArrayList<>(preprocessorInstances),
-						wrapper.getServletContext(), wrapper.getWebContainerContext(), null, osgiSessionsBridge, authListener);
-			} else {
-				osgiChain = new OsgiFilterChain(new ArrayList<>(preprocessorInstances),
-						delegate.getDefaultServletContext(), delegate.getDefaultWebContainerContext(), null, osgiSessionsBridge, authListener);
 			}
 
+			OsgiFilterChain osgiChain = getOsgiFilterChain(wrapper).newChain();
+
 			// this chain will be called (or not)
 			osgiChain.setChain(chain);
+			if (tomcatRequest != null) {
+				// the listener keeps the request, so the chain may be continued in any thread
+				osgiChain.setAuthListener(hsr -> authenticate(tomcatRequest, hsr));
+			}
 			osgiChain.doFilter(request, response);
 		};
 
@@ -220,6 +202,66 @@ public class PaxWebStandardContext extends StandardContext {
 	 */
 	public void setDefaultServletContext(OsgiServletContext defaultServletContext) {
 		this.defaultServletContext = defaultServletContext;
+		clearOsgiFilterChains();
+	}
+
+	/**
+	 * Returns (creating if needed) {@link CompiledOsgiFilterChain} for given wrapper (or for requests without
+	 * target servlet).
+	 * @param wrapper
+	 * @return
+	 */
+	private CompiledOsgiFilterChain getOsgiFilterChain(PaxWebStandardWrapper wrapper) {
+		OsgiFilterChains current = osgiFilterChains;
+		Preprocessor[] instances = current.instances;
+		if (instances == null) {
+			instances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).toArray(Preprocessor[]::new);
+			current.instances = instances;
+		}
+		if (wrapper != null && !wrapper.is404()) {
+			CachedOsgiFilterChain cached = wrapper.getOsgiFilterChain();
+			if (cached == null || cached.source != current) {
+				// authListener is set for each request
+				cached = new CachedOsgiFilterChain(current, new CompiledOsgiFilterChain(instances,
+						wrapper.getServletContext(), wrapper.getWebContainerContext(), null, osgiSessionsBridge, null));
+				wrapper.setOsgiFilterChain(cached);
+			}
+			return cached.chain;
+		}
+		CompiledOsgiFilterChain compiled = current.defaultChain;
+		if (compiled == null) {
+			compiled = new CompiledOsgiFilterChain(instances, getDefaultServletContext(),
+					getDefaultWebContainerContext(), null, osgiSessionsBridge, null);
+			current.defaultChain = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Drops resolved preprocessors and all {@link CompiledOsgiFilterChain precompiled chains}.
+	 */
+	private void clearOsgiFilterChains() {
+		osgiFilterChains = new OsgiFilterChains();
+	}
+
+	/**
+	 * Translates {@link ServletContextHelper#REMOTE_USER} and {@link ServletContextHelper#AUTHENTICATION_TYPE}
+	 * into Tomcat specific authentication. Called when
+	 * {@link org.osgi.service.servlet.context.ServletContextHelper#handleSecurity} returns {@code true}.
+	 * @param tomcatRequest
+	 * @param req
+	 */
+	private static void authenticate(Request tomcatRequest, HttpServletRequest req) {
+		final Object user = req.getAttribute(ServletContextHelper.REMOTE_USER);
+		final Object authType = req.getAttribute(ServletContextHelper.AUTHENTICATION_TYPE);
+
+		if (user != null || authType != null) {
+			// translate it into Tomcat specific authentication
+			String userName = user != null ? user.toString() : null;
+			if (tomcatRequest.getPrincipal() == null) {
+				tomcatRequest.setUserPrincipal(new GenericPrincipal(userName, Collections.emptyList(), null));
+			}
+		}
 	}
 
 	/**
@@ -262,6 +304,7 @@ public class PaxWebStandardContext extends StandardContext {
 
 	@Override
 	public boolean filterStart() {
+		clearOsgiFilterChains();
 		for (PreprocessorFilterConfig fc : preprocessors) {
 			try {
 				fc.getInstance().init(fc);
@@ -276,6 +319,7 @@ public class PaxWebStandardContext extends StandardContext {
 	@Override
 	public boolean filterStop() {
 		boolean result = super.filterStop();
+		clearOsgiFilterChains();
 
 		// destroy the preprocessors
 		for (PreprocessorFilterConfig fc : preprocessors) {
@@ -525,6 +569,7 @@ public class PaxWebStandardContext extends StandardContext {
 	public void setDefaultOsgiContextModel(OsgiContextModel defaultOsgiContextModel, WebContainerContext resolvedWebContainerContext) {
 		this.defaultOsgiContextModel = defaultOsgiContextModel;
 		this.defaultWebContainerContext = resolvedWebContainerContext;
+		clearOsgiFilterChains();
 	}
 
 	public OsgiServletContext getDefaultServletContext() {
@@ -544,54 +589,7 @@ public class PaxWebStandardContext extends StandardContext {
 	}
 
 	public void setVirtualHosts(String[] virtualHosts) {
-		int size = virtualHosts == null ? 0 : virtualHosts.length;
-		if (size == 0) {
-			this.virtualHosts = null;
-			this.virtualHostWildcards = null;
-			this.connectorNames = null;
-		} else {
-			this.virtualHosts = new String[size];
-			this.virtualHostWildcards = new boolean[size];
-			this.connectorNames = new String[size];
-
-			for (int i = 0; i < size; i++) {
-				this.virtualHosts[i] = null;
-				this.virtualHostWildcards[i] = false;
-				this.connectorNames[i] = null;
-
-				String vh = virtualHosts[i];
-				if (vh == null || "".equals(vh.trim())) {
-					continue;
-				}
-				if (vh.startsWith("@")) {
-					// connector only
-					this.connectorNames[i] = vh.substring(1);
-				} else {
-					String host;
-					String connector = null;
-					int atpos = vh.indexOf("@");
-					if (atpos >= 0) {
-						// host@connector
-						host = vh.substring(0, atpos).trim();
-						connector = vh.substring(atpos + 1).trim();
-					} else {
-						// host only
-						host = vh.trim();
-					}
-					if (connector != null && !"".equals(connector)) {
-						this.connectorNames[i] = connector;
-					}
-					if (!"".equals(host)) {
-						this.virtualHosts[i] = host;
-						if (host.startsWith("*.")) {
-							this.virtualHostWildcards[i] = true;
-							// *.example.com -> .example.com
-							this.virtualHosts[i] = host.substring(1);
-						}
-					}
-				}
-			}
-		}
+		this.virtualHostMatcher = VirtualHostMatcher.compile(virtualHosts);
 	}
 
 	/**
@@ -601,43 +599,36 @@ public class PaxWebStandardContext extends StandardContext {
 	 * @param connectorName
 	 */
 	public boolean matches(String vhost, String connectorName) {
-		if (this.virtualHosts == null || virtualHosts.length == 0) {
-			return true;
-		}
+		return virtualHostMatcher.matches(vhost, connectorName);
+	}
 
-		for (int i = 0; i < virtualHosts.length; i++) {
-			String vh = virtualHosts[i];
-			String connector = connectorNames[i];
+	public void setWhiteboardTCCL(boolean whiteboardTCCL) {
+		this.whiteboardTCCL = whiteboardTCCL;
+	}
 
-			if (connector != null) {
-				// always chck connector name - if it doesn't match, return false regardless of Host header
-				if (!connector.equalsIgnoreCase(connectorName)) {
-					continue;
-				}
 
-				if (vh == null) {
-					// plain @connectorName rule - Host header doesn't matter
-					return true;
-				}
-			}
-
-			if (vh != null) {
-				if (virtualHostWildcards[i]) {
-					// wildcard only at the beginning, and only for one additional subdomain level
-					int index = vhost.indexOf(".");
-					if (index >= 0 && vhost.substring(index).equalsIgnoreCase(vh)) {
-						return true;
-					}
-				} else if (vhost.equalsIgnoreCase(vh)) {
-					return true;
-				}
-			}
-		}
-		return false;
+	/**
+	 * Resolved preprocessors and {@link CompiledOsgiFilterChain} for requests without target servlet. Chains
+	 * for {@link PaxWebStandardWrapper wrappers} are kept in the wrappers and are valid only for the instance
+	 * they were compiled with.
+	 */
+	private static final class OsgiFilterChains {
+		private volatile Preprocessor[] instances;
+		private volatile CompiledOsgiFilterChain defaultChain;
 	}
 
-	public void setWhiteboardTCCL(boolean whiteboardTCCL) {
-		this.whiteboardTCCL = whiteboardTCCL;
+	/**
+	 * {@link CompiledOsgiFilterChain} of a {@link PaxWebStandardWrapper} together with the generation of
+	 * chains it was compiled for.
+	 */
+	static final class CachedOsgiFilterChain {
+		private final OsgiFilterChains source;
+		private final CompiledOsgiFilterChain chain;
+
+		CachedOsgiFilterChain(OsgiFilterChains source, CompiledOsgiFilterChain chain) {
+			this.source = source;
+			this.chain = chain;
+		}
 	}
 
 }
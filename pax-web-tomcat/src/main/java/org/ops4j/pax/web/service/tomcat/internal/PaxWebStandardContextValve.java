@@ -25,6 +25,7 @@ import org.apache.catalina.connector.Response;
 import org.apache.catalina.valves.ValveBase;
 import org.apache.tomcat.util.buf.MessageBytes;
 import org.ops4j.pax.web.service.spi.servlet.Default404Servlet;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
 
 /**
  * <p>This valve for entire context ensures (for now, could do more soon) that if there's no target servlet
@@ -54,11 +55,9 @@ public class PaxWebStandardContextValve extends ValveBase {
 		// org.apache.catalina.core.StandardContextValve.invoke() checks for WEB-INF and META-INF paths
 		// we'll check also for OSGI-INF and OSGI-OPT according to "128.3.5 Static Content"
 		MessageBytes requestPathMB = request.getRequestPathMB();
-		if ((requestPathMB.startsWithIgnoreCase("/META-INF/", 0)) || (requestPathMB.equalsIgnoreCase("/META-INF"))
-				|| (requestPathMB.startsWithIgnoreCase("/WEB-INF/", 0)) || (requestPathMB.equalsIgnoreCase("/WEB-INF"))
-				|| (requestPathMB.startsWithIgnoreCase("/OSGI-INF/", 0)) || (requestPathMB.equalsIgnoreCase("/OSGI-INF"))
-				|| (requestPathMB.startsWithIgnoreCase("/OSGI-OPT/", 0)) || (requestPathMB.equalsIgnoreCase("/OSGI-OPT"))
-		) {
+		CharSequence requestPath = requestPathMB.getType() == MessageBytes.T_CHARS
+				? requestPathMB.getCharChunk() : requestPathMB.toString();
+		if (VirtualHostMatcher.isProtectedPath(requestPath)) {
 			response.sendError(HttpServletResponse.SC_NOT_FOUND);
 			return;
 		}
@@ -75,6 +75,9 @@ public class PaxWebStandardWrapper extends StandardWrapper {
 
 	private boolean whiteboardTCCL;
 
+	/** Chain compiled by {@link PaxWebStandardContext} for this wrapper */
+	private volatile PaxWebStandardContext.CachedOsgiFilterChain osgiFilterChain;
+
 	/**
 	 * Constructor to use when wrapping internal {@link Servlet servlets} which won't use OSGi machinery.
 	 * @param name
@@ -276,4 +279,12 @@ public class PaxWebStandardWrapper extends StandardWrapper {
 		this.highestRankedContext = highestRankedContext;
 	}
 
+	PaxWebStandardContext.CachedOsgiFilterChain getOsgiFilterChain() {
+		return osgiFilterChain;
+	}
+
+	void setOsgiFilterChain(PaxWebStandardContext.CachedOsgiFilterChain osgiFilterChain) {
+		this.osgiFilterChain = osgiFilterChain;
+	}
+
 }
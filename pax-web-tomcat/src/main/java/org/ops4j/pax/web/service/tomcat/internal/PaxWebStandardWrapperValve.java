@@ -17,14 +17,13 @@ package org.ops4j.pax.web.service.tomcat.internal;
 
 import java.io.IOException;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import org.apache.catalina.connector.Request;
 import org.apache.catalina.connector.Response;
 import org.apache.catalina.valves.ValveBase;
 
-import static org.ops4j.pax.web.service.tomcat.internal.PaxWebStandardContext.PAXWEB_STANDARD_WRAPPER;
-import static org.ops4j.pax.web.service.tomcat.internal.PaxWebStandardContext.PAXWEB_TOMCAT_REQUEST;
-
 public class PaxWebStandardWrapperValve extends ValveBase {
 
 	public PaxWebStandardWrapperValve(ValveBase next, PaxWebStandardWrapper wrapper) {
@@ -44,11 +43,50 @@ public class PaxWebStandardWrapperValve extends ValveBase {
 	 */
 	@Override
 	public void invoke(Request request, Response response) throws IOException, ServletException {
-		// attributes to be used ONLY by "initial OSGi filter"
-		request.setAttribute(PAXWEB_STANDARD_WRAPPER, request.getWrapper());
-		request.setAttribute(PAXWEB_TOMCAT_REQUEST, request);
+		// Tomcat's StandardWrapperValve passes request.getRequest() to the filter chain, so the initial OSGi
+		// filter gets the Tomcat request without any attribute (and without attribute listener events).
+		// The filter restores the original application request as soon as it gets it
+		HttpServletRequest applicationRequest = request.getRequest();
+		TomcatRequestWrapper wrapper = new TomcatRequestWrapper(applicationRequest, request);
+		request.setRequest(wrapper);
+		try {
+			getNext().invoke(request, response);
+		} finally {
+			if (request.getRequest() == wrapper) {
+				// initial OSGi filter was not called
+				request.setRequest(applicationRequest);
+			}
+		}
+	}
+
+	/**
+	 * {@link HttpServletRequestWrapper} that carries Tomcat's {@link Request} from
+	 * {@link PaxWebStandardWrapperValve} to the initial OSGi filter, which only sees
+	 * {@link org.apache.catalina.connector.RequestFacade}. It's never passed further.
+	 */
+	static final class TomcatRequestWrapper extends HttpServletRequestWrapper {
+
+		private final HttpServletRequest applicationRequest;
+		private final Request tomcatRequest;
+
+		TomcatRequestWrapper(HttpServletRequest applicationRequest, Request tomcatRequest) {
+			super(applicationRequest);
+			this.applicationRequest = applicationRequest;
+			this.tomcatRequest = tomcatRequest;
+		}
+
+		/**
+		 * Restores the application request in Tomcat's {@link Request} and returns it.
+		 * @return
+		 */
+		HttpServletRequest unwrap() {
+			tomcatRequest.setRequest(applicationRequest);
+			return applicationRequest;
+		}
 
-		getNext().invoke(request, response);
+		Request getTomcatRequest() {
+			return tomcatRequest;
+		}
 	}
 
 }
@@ -28,6 +28,7 @@ import org.apache.catalina.Service;
 import org.apache.catalina.connector.Connector;
 import org.apache.catalina.core.StandardServer;
 import org.apache.catalina.core.StandardThreadExecutor;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
 import org.apache.catalina.startup.Catalina;
 import org.apache.catalina.startup.ConnectorCreateRule;
 import org.apache.catalina.startup.ContextConfig;
@@ -39,6 +40,7 @@ import org.apache.tomcat.util.net.SSLHostConfigCertificate;
 import org.ops4j.pax.web.service.spi.config.Configuration;
 import org.ops4j.pax.web.service.spi.config.SecurityConfiguration;
 import org.ops4j.pax.web.service.spi.config.ServerConfiguration;
+import org.ops4j.pax.web.service.spi.util.VirtualThreadSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
@@ -111,6 +113,15 @@ public class TomcatFactory {
 		}
 		String prefix = sc.getServerThreadNamePrefix();
 
+		if (VirtualThreadSupport.useVirtualThreads(sc.isServerVirtualThreads())) {
+			StandardVirtualThreadExecutor executor = new StandardVirtualThreadExecutor();
+			executor.setName("default");
+			if (prefix != null) {
+				executor.setNamePrefix(prefix);
+			}
+			return executor;
+		}
+
 		StandardThreadExecutor executor = new StandardThreadExecutor();
 		executor.setName("default");
 		executor.setMaxThreads(maxThreads);
@@ -124,6 +135,46 @@ public class TomcatFactory {
 		return executor;
 	}
 
+	/**
+	 * Changes sizes and idle time of running {@link StandardThreadExecutor}, using the same defaults as
+	 * {@link #createThreadPool(Configuration)}. Virtual thread executors are not changed.
+	 *
+	 * @param executor
+	 * @param configuration
+	 */
+	public void reconfigureThreadPool(Executor executor, Configuration configuration) {
+		if (!(executor instanceof StandardThreadExecutor ste)) {
+			return;
+		}
+		ServerConfiguration sc = configuration.server();
+
+		Integer maxThreads = sc.getServerMaxThreads();
+		if (maxThreads == null) {
+			maxThreads = 200;
+		}
+		Integer minThreads = sc.getServerMinThreads();
+		if (minThreads == null) {
+			minThreads = Math.min(8, maxThreads);
+		}
+		minThreads = Math.min(minThreads, maxThreads);
+		Integer idleTimeout = sc.getServerIdleTimeout();
+		if (idleTimeout == null) {
+			idleTimeout = 60000;
+		}
+
+		LOG.info("Changing Tomcat executor {} configuration: minSpareThreads={}, maxThreads={}, maxIdleTime={}",
+				ste.getName(), minThreads, maxThreads, idleTimeout);
+		// the underlying ThreadPoolExecutor doesn't allow core pool size greater than max pool size
+		if (maxThreads < ste.getMinSpareThreads()) {
+			ste.setMinSpareThreads(minThreads);
+			ste.setMaxThreads(maxThreads);
+		} else {
+			ste.setMaxThreads(maxThreads);
+			ste.setMinSpareThreads(minThreads);
+		}
+		ste.setMaxIdleTime(idleTimeout);
+	}
+
 	/*
 	 * Simpler (than in Jetty) hierarchy of connector/protocol related classes in Tomcat
 	 * org.apache.coyote.ProtocolHandler
@@ -26,8 +26,13 @@ import jakarta.servlet.Servlet;
 import org.ops4j.pax.web.service.spi.ServerController;
 import org.ops4j.pax.web.service.spi.ServerState;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.model.events.ServerEvent;
 import org.ops4j.pax.web.service.spi.model.events.ServerListener;
+import org.ops4j.pax.web.service.spi.servlet.ContentHashETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.ops4j.pax.web.service.spi.task.Batch;
 import org.ops4j.pax.web.service.tomcat.internal.web.TomcatResourceServlet;
 import org.osgi.framework.Bundle;
@@ -60,6 +65,15 @@ class TomcatServerController implements ServerController {
 	 */
 	private TomcatServerWrapper tomcatServerWrapper;
 
+	/** Compression of static resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceCompression resourceCompression;
+
+	/** Extraction of bundle resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceExtractionCache resourceExtraction;
+
+	/** {@code ETag} strategy shared by all resource servlets ({@code null} to use Tomcat's own {@code ETags}) */
+	private final ResourceETagStrategy etagStrategy;
+
 	TomcatServerController(Bundle paxWebTomcatBundle, ClassLoader classLoader,
 			TomcatFactory tomcatFactory, Configuration configuration) {
 		this.paxWebTomcatBundle = paxWebTomcatBundle;
@@ -69,6 +83,12 @@ class TomcatServerController implements ServerController {
 		this.state = ServerState.UNCONFIGURED;
 
 		this.listeners = Collections.synchronizedSet(new LinkedHashSet<>());
+		this.resourceCompression = ResourceCompression.create(configuration.resources());
+		this.resourceExtraction = ResourceExtractionCache.create(configuration);
+		this.etagStrategy = ContentHashETagStrategy.create(configuration.resources());
+		if (resourceCompression != null) {
+			resourceCompression.setETagStrategy(etagStrategy);
+		}
 	}
 
 	// --- lifecycle methods
@@ -103,6 +123,9 @@ class TomcatServerController implements ServerController {
 		}
 
 		tomcatServerWrapper.start();
+		if (resourceExtraction != null) {
+			resourceExtraction.start(paxWebTomcatBundle == null ? null : paxWebTomcatBundle.getBundleContext());
+		}
 
 		state = ServerState.STARTED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STARTED, tomcatServerWrapper.getAddresses(true)));
@@ -117,6 +140,9 @@ class TomcatServerController implements ServerController {
 		}
 
 		tomcatServerWrapper.stop();
+		if (resourceExtraction != null) {
+			resourceExtraction.stop();
+		}
 
 		state = ServerState.STOPPED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STOPPED, null));
@@ -127,6 +153,20 @@ class TomcatServerController implements ServerController {
 		return configuration;
 	}
 
+	@Override
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		if (state != ServerState.STARTED) {
+			return false;
+		}
+		LOG.info("Reconfiguring {} with changed properties {}", this, change.getChangedProperties());
+		try {
+			return tomcatServerWrapper.reconfigure(configuration, change);
+		} catch (Exception e) {
+			LOG.warn("Problem reconfiguring Tomcat server: {}", e.getMessage(), e);
+			return false;
+		}
+	}
+
 	// --- listener related methods
 
 	@Override
@@ -168,7 +208,11 @@ class TomcatServerController implements ServerController {
 		try {
 			// TCCL is needed so StringManagers in Tomcat code work
 			Thread.currentThread().setContextClassLoader(TomcatServerWrapper.class.getClassLoader());
-			return new TomcatResourceServlet(baseDirectory, chroot, configuration.resources());
+			TomcatResourceServlet servlet = new TomcatResourceServlet(baseDirectory, chroot, configuration.resources());
+			servlet.setResourceCompression(resourceCompression);
+			servlet.setResourceExtraction(resourceExtraction);
+			servlet.setETagStrategy(etagStrategy);
+			return servlet;
 		} finally {
 			Thread.currentThread().setContextClassLoader(tccl);
 		}
@@ -84,6 +84,7 @@ import org.apache.tomcat.util.http.Rfc6265CookieProcessor;
 import org.apache.tomcat.util.http.SameSiteCookies;
 import org.ops4j.pax.web.service.PaxWebConfig;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.config.LogConfiguration;
 import org.ops4j.pax.web.service.spi.config.SessionConfiguration;
 import org.ops4j.pax.web.service.spi.model.ContextMetadataModel;
@@ -689,6 +690,39 @@ class TomcatServerWrapper implements BatchVisitor {
 		LOG.info("NCSARequestlogging is using directory {}", lc.getLogNCSADirectory());
 	}
 
+	/**
+	 * Applies changed configuration to running Tomcat server: executor sizes and connection timeout of the
+	 * connectors. Request log retention is not used by Tomcat.
+	 *
+	 * @param configuration
+	 * @param change
+	 * @return {@code false} if any of the changed properties can't be applied without restart
+	 */
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		Set<String> changed = change.getChangedProperties();
+
+		Integer connectorIdleTimeout = configuration.server().getConnectorIdleTimeout();
+		if (changed.contains(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT) && connectorIdleTimeout == null) {
+			// we don't know the timeout that was used by the connectors before the property was set
+			return false;
+		}
+
+		if (changed.contains(PaxWebConfig.PID_CFG_SERVER_MAX_THREADS)
+				|| changed.contains(PaxWebConfig.PID_CFG_SERVER_MIN_THREADS)
+				|| changed.contains(PaxWebConfig.PID_CFG_SERVER_IDLE_TIMEOUT)) {
+			tomcatFactory.reconfigureThreadPool(serverExecutor, configuration);
+		}
+
+		if (changed.contains(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT)) {
+			for (Connector connector : service.findConnectors()) {
+				LOG.info("Changing connection timeout of {} to {}ms", connector, connectorIdleTimeout);
+				connector.setProperty("connectionTimeout", connectorIdleTimeout.toString());
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * Simply start Tomcat server
 	 *
@@ -40,6 +40,7 @@ import org.apache.catalina.webresources.EmptyResource;
 import org.apache.catalina.webresources.FileResource;
 import org.apache.catalina.webresources.StandardRoot;
 import org.apache.juli.logging.Log;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,9 +54,11 @@ class OsgiStandardRoot extends StandardRoot {
 	private final String chroot;
 	private final WebResourceRoot root;
 	private final int maxEntrySize;
+	private final ResourceExtractionCache resourceExtraction;
 	private boolean directFileMapping = false;
 
-	OsgiStandardRoot(WebResourceRoot root, File baseDirectory, String chroot, ServletContext osgiScopedServletContext, int maxEntrySize) {
+	OsgiStandardRoot(WebResourceRoot root, File baseDirectory, String chroot, ServletContext osgiScopedServletContext,
+			int maxEntrySize, ResourceExtractionCache resourceExtraction) {
 		super(root.getContext());
 		this.root = root;
 		this.baseDirectory = baseDirectory;
@@ -68,6 +71,7 @@ class OsgiStandardRoot extends StandardRoot {
 		}
 
 		this.maxEntrySize = maxEntrySize;
+		this.resourceExtraction = resourceExtraction;
 	}
 
 	/**
@@ -129,6 +133,10 @@ class OsgiStandardRoot extends StandardRoot {
 							return new EmptyResource(root, path);
 						}
 					}
+					if (resourceExtraction != null) {
+						// extracted bundle resource is served as FileResource (with sendfile support)
+						resource = resourceExtraction.extract(resource);
+					}
 					if (resource.getProtocol().equals("file")) {
 						try {
 							File file = new File(resource.toURI());
@@ -17,6 +17,7 @@ package org.ops4j.pax.web.service.tomcat.internal.web;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URL;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletContext;
@@ -33,6 +34,9 @@ import org.apache.catalina.servlets.DefaultServlet;
 import org.ops4j.pax.web.service.spi.config.ResourceConfiguration;
 import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.ops4j.pax.web.service.spi.util.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +73,12 @@ public class TomcatResourceServlet extends DefaultServlet {
 
 	private OsgiServletContext highestRankedContext;
 
+	private ResourceCompression resourceCompression;
+
+	private ResourceExtractionCache resourceExtraction;
+
+	private ResourceETagStrategy etagStrategy;
+
 	public TomcatResourceServlet(File baseDirectory, String chroot, ResourceConfiguration resourceConfig) {
 		this.baseDirectory = baseDirectory;
 		this.chroot = chroot;
@@ -93,6 +103,18 @@ public class TomcatResourceServlet extends DefaultServlet {
 		this.redirectWelcome = welcomeFilesRedirect;
 	}
 
+	public void setResourceCompression(ResourceCompression resourceCompression) {
+		this.resourceCompression = resourceCompression;
+	}
+
+	public void setResourceExtraction(ResourceExtractionCache resourceExtraction) {
+		this.resourceExtraction = resourceExtraction;
+	}
+
+	public void setETagStrategy(ResourceETagStrategy etagStrategy) {
+		this.etagStrategy = etagStrategy;
+	}
+
 	@Override
 	public void init() throws ServletException {
 		final ServletContext osgiScopedServletContext = getServletContext();
@@ -125,7 +147,8 @@ public class TomcatResourceServlet extends DefaultServlet {
 				? (int) resources.getCacheMaxSize() / 20 : resourceConfig.maxCacheEntrySize();
 
 		// and tweak org.apache.catalina.servlets.DefaultServlet.resources
-		resources = new OsgiStandardRoot(this.resources, baseDirectory, chroot, osgiScopedServletContext, maxEntrySize * 1024);
+		resources = new OsgiStandardRoot(this.resources, baseDirectory, chroot, osgiScopedServletContext, maxEntrySize * 1024,
+				resourceExtraction);
 		directFileMapping = ((OsgiStandardRoot) resources).isDirectFileMapping();
 
 		resources.setCachingAllowed(true);
@@ -180,6 +203,14 @@ public class TomcatResourceServlet extends DefaultServlet {
 		}
 
 		if (requestURI == null || !requestURI.endsWith("/")) {
+			String path = included ? null : getRelativePath(request, true);
+			if (path != null && etagStrategy != null && etagStrategy.isImmutable(path) && resourceURL(path) != null) {
+				response.setHeader("Cache-Control", ResourceETagStrategy.IMMUTABLE_CACHE_CONTROL);
+			}
+			if (path != null && resourceCompression != null
+					&& resourceCompression.serve(request, response, path, this::resourceURL)) {
+				return;
+			}
 			super.serveResource(request, response, content, inputEncoding);
 			return;
 		}
@@ -337,6 +368,27 @@ public class TomcatResourceServlet extends DefaultServlet {
 		return childPath;
 	}
 
+	/**
+	 * Returns {@link URL} of existing, non-directory resource, so it can be compressed or cached as immutable
+	 * @param path
+	 * @return
+	 */
+	private URL resourceURL(String path) {
+		WebResource resource = resources.getResource(path);
+		return resource.exists() && resource.isFile() ? resource.getURL() : null;
+	}
+
+	@Override
+	protected String generateETag(WebResource resource) {
+		if (etagStrategy != null && resource.isFile()) {
+			String etag = etagStrategy.getETag(resource.getURL(), resource.getLastModified(), resource.getContentLength());
+			if (etag != null) {
+				return etag;
+			}
+		}
+		return super.generateETag(resource);
+	}
+
 	@Override
 	protected String determineMethodsAllowed(HttpServletRequest req) {
 		// Jetty removed POST as allowed method for DefaultServlet
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.tomcat.internal;
+
+import java.util.concurrent.Executor;
+
+import org.apache.catalina.core.StandardThreadExecutor;
+import org.apache.catalina.core.StandardVirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.ops4j.pax.web.service.spi.config.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TomcatFactoryTest {
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	public void virtualThreadsExecutor() {
+		TomcatFactory factory = new TomcatFactory(TomcatFactory.class.getClassLoader());
+		Executor executor = factory.createThreadPool(configuration());
+
+		assertThat(executor).isInstanceOf(StandardVirtualThreadExecutor.class);
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	public void platformThreadsWithoutVirtualThreadsSupport() {
+		// the fallback itself (and its warning) is checked in VirtualThreadSupportTest
+		TomcatFactory factory = new TomcatFactory(TomcatFactory.class.getClassLoader());
+		Executor executor = factory.createThreadPool(configuration());
+
+		assertThat(executor).isInstanceOf(StandardThreadExecutor.class);
+		assertThat(((StandardThreadExecutor) executor).getMaxThreads()).isEqualTo(10);
+	}
+
+	private static Configuration configuration() {
+		Configuration configuration = mock(Configuration.class, RETURNS_DEEP_STUBS);
+		when(configuration.server().isServerVirtualThreads()).thenReturn(true);
+		when(configuration.server().getServerMaxThreads()).thenReturn(10);
+		when(configuration.server().getServerMinThreads()).thenReturn(2);
+		when(configuration.server().getServerIdleTimeout()).thenReturn(60000);
+		when(configuration.server().getServerThreadNamePrefix()).thenReturn("test");
+		return configuration;
+	}
+
+}
@@ -23,76 +23,47 @@ import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.PathHandler;
 import io.undertow.server.handlers.ResponseCodeHandler;
-import io.undertow.server.handlers.cache.LRUCache;
-import org.ops4j.pax.web.annotations.Review;
 import org.ops4j.pax.web.service.http.HttpContext;
 
 /**
- * <p>A {@link PathHandler} that can (try to) resolve conflicts when registering multiple contexts under
- * the same path.</p>
+ * <p>A {@link PathHandler} that reports conflicts when registering multiple contexts under the same path.</p>
  * <p>The problem is that when using {@code etc/undertow.xml} with {@code <location>} handlers <strong>and</strong>
  * when using normal WARs and {@link org.ops4j.pax.web.service.http.HttpService#registerServlet(String, Servlet, Dictionary, HttpContext)} we may
- * end up with multiple {@link io.undertow.server.HttpHandler handlers} handling {@code "/"} path. We should always prefer
- * the path from {@code etc/undertow.xml} configuration - assuming it's configured and user know what (s)he's
- * doing.</p>
- * <p>It's a direct fork of original {@link PathHandler} but with different {@link io.undertow.util.PathMatcher}</p>
+ * end up with multiple {@link io.undertow.server.HttpHandler handlers} handling {@code "/"} path. As with original
+ * {@link PathHandler}, last registered handler is used, but a warning is logged when another handler is
+ * shadowed.</p>
+ * <p>It's a direct fork of original {@link PathHandler} but with different {@link io.undertow.util.PathMatcher}, which
+ * matches the paths without locking and allocation and without the need for {@code LRUCache} of matches.</p>
  */
-@Review("Is it needed?")
 public class ContextAwarePathHandler extends PathHandler {
 
 	private final PathMatcher<HttpHandler> pathMatcher = new PathMatcher<>();
 
-	private final LRUCache<String, PathMatcher.PathMatch<HttpHandler>> cache;
-
 	public ContextAwarePathHandler(final HttpHandler defaultHandler) {
-		this(0);
-		pathMatcher.addPrefixPath("/", defaultHandler);
-	}
-
-	public ContextAwarePathHandler(final HttpHandler defaultHandler, int cacheSize) {
-		this(cacheSize);
 		pathMatcher.addPrefixPath("/", defaultHandler);
 	}
 
 	public ContextAwarePathHandler() {
-		this(0);
-	}
-
-	public ContextAwarePathHandler(int cacheSize) {
-		if (cacheSize > 0) {
-			cache = new LRUCache<>(cacheSize, -1, true);
-		} else {
-			cache = null;
-		}
 	}
 
 	@Override
 	public void handleRequest(HttpServerExchange exchange) throws Exception {
-		PathMatcher.PathMatch<HttpHandler> match = null;
-		boolean hit = false;
-		if (cache != null) {
-			match = cache.get(exchange.getRelativePath());
-			hit = true;
-		}
-		if (match == null) {
-			match = pathMatcher.match(exchange.getRelativePath());
-		}
+		final String path = exchange.getRelativePath();
+		PathMatcher.PathMatch<HttpHandler> match = pathMatcher.match(path);
 		if (match.getValue() == null) {
 			ResponseCodeHandler.HANDLE_404.handleRequest(exchange);
 			return;
 		}
-		if (hit) {
-			cache.add(exchange.getRelativePath(), match);
-		}
-		exchange.setRelativePath(match.getRemaining());
+		String matched = match.getMatched(path);
+		exchange.setRelativePath(match.getRemaining(path));
 		if (exchange.getResolvedPath().isEmpty()) {
 			//first path handler, we can just use the matched part
-			exchange.setResolvedPath(match.getMatched());
+			exchange.setResolvedPath(matched);
 		} else {
 			//already something in the resolved path
-			StringBuilder sb = new StringBuilder(exchange.getResolvedPath().length() + match.getMatched().length());
+			StringBuilder sb = new StringBuilder(exchange.getResolvedPath().length() + matched.length());
 			sb.append(exchange.getResolvedPath());
-			sb.append(match.getMatched());
+			sb.append(matched);
 			exchange.setResolvedPath(sb.toString());
 		}
 		match.getValue().handleRequest(exchange);
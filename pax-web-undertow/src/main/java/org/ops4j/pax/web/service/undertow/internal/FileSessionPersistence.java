@@ -17,61 +17,193 @@ package org.ops4j.pax.web.service.undertow.internal;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.undertow.servlet.api.SessionPersistenceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * <p>{@link SessionPersistenceManager} storing sessions of each deployment in a directory.</p>
+ *
+ * <p>Each session is serialized separately and appended to {@code <deployment>.<n>.seg} segment files,
+ * while {@code <deployment>.idx} index keeps session id, expiration time and location of the session's record.
+ * Only the index is read when the deployment starts - Undertow's {@code SessionRestoringHandler} restores
+ * the sessions on first access by session id and only then is the record of the session deserialized.</p>
+ *
+ * <p>Sessions stored in single {@code <deployment>} file by previous versions are still loaded.</p>
+ */
 public class FileSessionPersistence implements SessionPersistenceManager {
 
 	public static final Logger LOG = LoggerFactory.getLogger(FileSessionPersistence.class);
 
+	/** Segment files are rolled over after reaching this size */
+	public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024L * 1024L;
+
+	private static final int INDEX_MAGIC = 0x50575349;
+	private static final int INDEX_VERSION = 1;
+
 	private final File sessionsDir;
+	private final long segmentSize;
 
 	public FileSessionPersistence(File sessionsDir) {
+		this(sessionsDir, DEFAULT_SEGMENT_SIZE);
+	}
+
+	public FileSessionPersistence(File sessionsDir, long segmentSize) {
 		this.sessionsDir = sessionsDir;
+		this.segmentSize = segmentSize;
 	}
 
 	@Override
 	public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
-		if (deploymentName == null || "".equals(deploymentName.trim())) {
-			deploymentName = "_ROOT_deployment";
+		deploymentName = fileName(deploymentName);
+		if (sessionData.isEmpty()) {
+			LOG.debug("No sessions to persist for deployment " + deploymentName);
+			return;
 		}
-		Map<String, Object> map = new LinkedHashMap<>();
-		for (Map.Entry<String, PersistentSession> e : sessionData.entrySet()) {
-			Map<String, Object> mps = new LinkedHashMap<>();
-			mps.put("expiration", e.getValue().getExpiration().getTime());
-			mps.put("data", e.getValue().getSessionData());
-			map.put(e.getKey(), mps);
+
+		List<File> segments = new ArrayList<>();
+		File index = new File(sessionsDir, deploymentName + ".idx.tmp");
+		int count = 0;
+		try (DataOutputStream idx = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(index)))) {
+			idx.writeInt(INDEX_MAGIC);
+			idx.writeInt(INDEX_VERSION);
+
+			ByteArrayOutputStream record = new ByteArrayOutputStream(4096);
+			OutputStream segment = null;
+			long offset = 0L;
+			try {
+				for (Map.Entry<String, PersistentSession> e : sessionData.entrySet()) {
+					record.reset();
+					try (ObjectOutputStream oos = new ObjectOutputStream(record)) {
+						oos.writeObject(e.getValue().getSessionData());
+					} catch (IOException ex) {
+						LOG.warn("Can't persist session {} of deployment {}: {}", e.getKey(), deploymentName, ex.getMessage());
+						continue;
+					}
+					if (segment == null || offset > 0L && offset + record.size() > segmentSize) {
+						if (segment != null) {
+							segment.close();
+						}
+						File file = new File(sessionsDir, deploymentName + "." + segments.size() + ".seg.tmp");
+						segments.add(file);
+						segment = new BufferedOutputStream(new FileOutputStream(file));
+						offset = 0L;
+					}
+					record.writeTo(segment);
+
+					idx.writeBoolean(true);
+					idx.writeUTF(e.getKey());
+					idx.writeLong(e.getValue().getExpiration().getTime());
+					idx.writeInt(segments.size() - 1);
+					idx.writeLong(offset);
+					idx.writeInt(record.size());
+					offset += record.size();
+					count++;
+				}
+			} finally {
+				if (segment != null) {
+					segment.close();
+				}
+			}
+			idx.writeBoolean(false);
+		} catch (IOException e) {
+			LOG.info("Error persisting sessions for deployment " + deploymentName, e);
+			segments.forEach(File::delete);
+			index.delete();
+			return;
 		}
-		if (sessionData.size() > 0) {
-			try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(new File(sessionsDir, deploymentName))))) {
-				oos.writeObject(map);
-			} catch (Exception e) {
-				LOG.info("Error persisting sessions for deployment " + deploymentName, e);
+
+		try {
+			deleteSessionFiles(deploymentName);
+			for (File file : segments) {
+				String name = file.getName();
+				Files.move(file.toPath(), new File(sessionsDir, name.substring(0, name.length() - 4)).toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
 			}
-		} else {
-			LOG.debug("No sessions to persist for deployment " + deploymentName);
+			Files.move(index.toPath(), new File(sessionsDir, deploymentName + ".idx").toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOG.debug("Persisted {} sessions of deployment {} in {} segments", count, deploymentName, segments.size());
+		} catch (IOException e) {
+			LOG.info("Error persisting sessions for deployment " + deploymentName, e);
+			deleteSessionFiles(deploymentName);
 		}
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, ClassLoader classLoader) {
-		if (deploymentName == null || "".equals(deploymentName.trim())) {
-			deploymentName = "_ROOT_deployment";
+		deploymentName = fileName(deploymentName);
+		File index = new File(sessionsDir, deploymentName + ".idx");
+		if (!index.isFile()) {
+			return loadLegacySessions(deploymentName, classLoader);
 		}
+
 		Map<String, PersistentSession> sessionData = new LinkedHashMap<>();
-		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(new File(sessionsDir, deploymentName))))) {
+		long now = System.currentTimeMillis();
+		int expired = 0;
+		try (DataInputStream idx = new DataInputStream(new BufferedInputStream(new FileInputStream(index)))) {
+			if (idx.readInt() != INDEX_MAGIC || idx.readInt() != INDEX_VERSION) {
+				LOG.warn("Unsupported format of session index {}", index);
+				return sessionData;
+			}
+			while (idx.readBoolean()) {
+				String id = idx.readUTF();
+				long expiration = idx.readLong();
+				int segment = idx.readInt();
+				long offset = idx.readLong();
+				int length = idx.readInt();
+				if (expiration <= now) {
+					expired++;
+					continue;
+				}
+				File file = new File(sessionsDir, deploymentName + "." + segment + ".seg");
+				sessionData.put(id, new LazyPersistentSession(new Date(expiration), file, offset, length, classLoader));
+			}
+		} catch (IOException e) {
+			LOG.info("Error loading sessions for deployment " + deploymentName, e);
+		}
+		LOG.debug("Found {} sessions ({} expired) of deployment {}", sessionData.size() + expired, expired, deploymentName);
+		return sessionData;
+	}
+
+	@Override
+	public void clear(String deploymentName) {
+		deleteSessionFiles(fileName(deploymentName));
+	}
+
+	/**
+	 * Loads all the sessions stored by previous versions in single Java-serialized map.
+	 * @param deploymentName
+	 * @param classLoader
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, PersistentSession> loadLegacySessions(String deploymentName, ClassLoader classLoader) {
+		Map<String, PersistentSession> sessionData = new LinkedHashMap<>();
+		try (ObjectInputStream ois = new ClassLoaderObjectInputStream(new BufferedInputStream(new FileInputStream(new File(sessionsDir, deploymentName))), classLoader)) {
 			Map<String, Map<String, Object>> map = (Map<String, Map<String, Object>>) ois.readObject();
 			for (Map.Entry<String, Map<String, Object>> e : map.entrySet()) {
 				long expiration = (Long) e.getValue().get("expiration");
@@ -86,9 +218,88 @@ public class FileSessionPersistence implements SessionPersistenceManager {
 		return sessionData;
 	}
 
-	@Override
-	public void clear(String deploymentName) {
+	/**
+	 * Deletes index, segments and legacy session file of a deployment.
+	 * @param deploymentName
+	 */
+	private void deleteSessionFiles(String deploymentName) {
 		new File(sessionsDir, deploymentName).delete();
+		new File(sessionsDir, deploymentName + ".idx").delete();
+		String prefix = deploymentName + ".";
+		File[] segments = sessionsDir.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(".seg")
+				&& name.substring(prefix.length(), name.length() - 4).chars().allMatch(Character::isDigit));
+		if (segments != null) {
+			for (File segment : segments) {
+				segment.delete();
+			}
+		}
+	}
+
+	private static String fileName(String deploymentName) {
+		if (deploymentName == null || "".equals(deploymentName.trim())) {
+			return "_ROOT_deployment";
+		}
+		return deploymentName;
+	}
+
+	/**
+	 * {@link PersistentSession} which reads (and deserializes) its attributes only when Undertow restores
+	 * the session.
+	 */
+	private static class LazyPersistentSession extends PersistentSession {
+
+		private final File segment;
+		private final long offset;
+		private final int length;
+		private final ClassLoader classLoader;
+
+		LazyPersistentSession(Date expiration, File segment, long offset, int length, ClassLoader classLoader) {
+			super(expiration, null);
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map<String, Object> getSessionData() {
+			byte[] record = new byte[length];
+			try (RandomAccessFile raf = new RandomAccessFile(segment, "r")) {
+				raf.seek(offset);
+				raf.readFully(record);
+				try (ObjectInputStream ois = new ClassLoaderObjectInputStream(new ByteArrayInputStream(record), classLoader)) {
+					return (Map<String, Object>) ois.readObject();
+				}
+			} catch (Exception e) {
+				LOG.info("Error loading session from " + segment, e);
+				return Collections.emptyMap();
+			}
+		}
+	}
+
+	/**
+	 * {@link ObjectInputStream} resolving classes of session attributes using deployment's {@link ClassLoader}.
+	 */
+	private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+		private final ClassLoader classLoader;
+
+		ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+			super(in);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (classLoader != null) {
+				try {
+					return Class.forName(desc.getName(), false, classLoader);
+				} catch (ClassNotFoundException ignored) {
+				}
+			}
+			return super.resolveClass(desc);
+		}
 	}
 
 }
@@ -15,40 +15,40 @@
  */
 package org.ops4j.pax.web.service.undertow.internal;
 
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentMap;
 
-import io.undertow.UndertowLogger;
 import io.undertow.UndertowMessages;
 import io.undertow.server.handlers.resource.ResourceHandler;
-import io.undertow.util.CopyOnWriteMap;
-import io.undertow.util.SubstringMap;
 import io.undertow.util.URLUtils;
-import org.ops4j.pax.web.annotations.Review;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@Review("Is it needed?")
+/**
+ * <p>Fork of {@link io.undertow.util.PathMatcher} with different handling of {@code "/"} path.</p>
+ *
+ * <p>Registered paths are compiled into immutable {@link Routes} (a character trie of prefix paths and
+ * a map of exact paths) which are replaced on each registration change. {@link #match(String)} doesn't lock,
+ * doesn't allocate and returns {@link PathMatch} objects created when compiling the routes.</p>
+ */
 public class PathMatcher<T> {
 
 	public static final Logger LOG = LoggerFactory.getLogger(PathMatcher.class);
 
 	private static final String STRING_PATH_SEPARATOR = "/";
 
-	private volatile T defaultHandler;
-	private final SubstringMap<T> paths = new SubstringMap<>();
-	private final ConcurrentMap<String, T> exactPathMatches = new CopyOnWriteMap<>();
+	private T defaultHandler;
+	private final Map<String, T> paths = new HashMap<>();
+	private final Map<String, T> exactPathMatches = new HashMap<>();
 
-	/**
-	 * lengths of all registered paths
-	 */
-	private volatile int[] lengths = {};
+	/** Compiled routes used by {@link #match(String)} */
+	private volatile Routes<T> routes = new Routes<>(null, Collections.emptyMap(), Collections.emptyMap());
 
 	public PathMatcher(final T defaultHandler) {
 		this.defaultHandler = defaultHandler;
+		compile();
 	}
 
 	public PathMatcher() {
@@ -60,39 +60,29 @@ public class PathMatcher<T> {
 	 * @return The match match. This will never be null, however if none matched its value field will be
 	 */
 	public PathMatcher.PathMatch<T> match(String path) {
-		if (!exactPathMatches.isEmpty()) {
-			T match = getExactPath(path);
+		final Routes<T> routes = this.routes;
+		if (!routes.exactPaths.isEmpty()) {
+			PathMatch<T> match = routes.exactPaths.get(URLUtils.normalizeSlashes(path));
 			if (match != null) {
-				UndertowLogger.REQUEST_LOGGER.debugf("Matched exact path %s", path);
-				return new PathMatcher.PathMatch<>(path, "", match);
+				return match;
 			}
 		}
 
-		int length = path.length();
-		final int[] lengths = this.lengths;
-		for (int i = 0; i < lengths.length; ++i) {
-			int pathLength = lengths[i];
-			if (pathLength == length) {
-				SubstringMap.SubstringMatch<T> next = paths.get(path, length);
-				if (next != null) {
-					UndertowLogger.REQUEST_LOGGER.debugf("Matched prefix path %s for path %s", next.getKey(), path);
-					return new PathMatcher.PathMatch<>(path, "", next.getValue());
-				}
-			} else if (pathLength < length) {
-				char c = path.charAt(pathLength);
-				if (c == '/') {
-
-					//String part = path.substring(0, pathLength);
-					SubstringMap.SubstringMatch<T> next = paths.get(path, pathLength);
-					if (next != null) {
-						UndertowLogger.REQUEST_LOGGER.debugf("Matched prefix path %s for path %s", next.getKey(), path);
-						return new PathMatcher.PathMatch<>(next.getKey(), path.substring(pathLength), next.getValue());
-					}
-				}
+		// longest registered prefix followed by "/" or by the end of the path
+		PathMatch<T> match = routes.defaultMatch;
+		Node<T> node = routes.root;
+		final int length = path.length();
+		for (int i = 0; i < length && node != null; i++) {
+			char c = path.charAt(i);
+			if (c == '/' && node.match != null) {
+				match = node.match;
 			}
+			node = node.child(c);
+		}
+		if (node != null && node.match != null) {
+			match = node.match;
 		}
-		UndertowLogger.REQUEST_LOGGER.debugf("Matched default handler path %s", path);
-		return new PathMatcher.PathMatch<>("", path, defaultHandler);
+		return match;
 	}
 
 	/**
@@ -115,29 +105,21 @@ public class PathMatcher<T> {
 		final String normalizedPath = URLUtils.normalizeSlashes(path);
 
 		if (PathMatcher.STRING_PATH_SEPARATOR.equals(normalizedPath)) {
-			if (this.defaultHandler == null) {
-				// it was null, so just use new one
-				this.defaultHandler = handler;
-			} else {
-				if (handler instanceof ResourceHandler) {
-					// new one is not a org.ops4j.pax.web.service.undertow.internal.Context, so use it
-					this.defaultHandler = handler;
-				} else {
-					// there are two default handlers which come from different (?) Contexts, so we
-					// have a collision, but let's assume user knows what (s)he's doing
-					if (this.defaultHandler != handler && !(this.defaultHandler instanceof ResourceHandler)) {
-						LOG.warn("Overwriting existing default context {} with a new one {}",
-								this.defaultHandler, handler);
-						this.defaultHandler = handler;
-					}
-				}
+			// just as in original io.undertow.util.PathMatcher, last registration wins - but we warn when
+			// a different handler (for example a ResourceHandler from undertow.xml) is shadowed
+			if (this.defaultHandler != null && this.defaultHandler != handler) {
+				LOG.warn("Overwriting existing {} handler {} with a new one {}",
+						this.defaultHandler instanceof ResourceHandler ? "resource" : "default context",
+						this.defaultHandler, handler);
 			}
+			this.defaultHandler = handler;
+			compile();
 			return this;
 		}
 
 		paths.put(normalizedPath, handler);
 
-		buildLengths();
+		compile();
 		return this;
 	}
 
@@ -147,11 +129,13 @@ public class PathMatcher<T> {
 			throw UndertowMessages.MESSAGES.pathMustBeSpecified();
 		}
 		exactPathMatches.put(URLUtils.normalizeSlashes(path), handler);
+		compile();
 		return this;
 	}
 
 	public T getExactPath(final String path) {
-		return exactPathMatches.get(URLUtils.normalizeSlashes(path));
+		PathMatch<T> match = routes.exactPaths.get(URLUtils.normalizeSlashes(path));
+		return match == null ? null : match.getValue();
 	}
 
 	public T getPrefixPath(final String path) {
@@ -159,35 +143,14 @@ public class PathMatcher<T> {
 		final String normalizedPath = URLUtils.normalizeSlashes(path);
 
 		// enable the prefix path mechanism to return the default handler
-		SubstringMap.SubstringMatch<T> match = paths.get(normalizedPath);
+		final Routes<T> routes = this.routes;
+		T match = routes.paths.get(normalizedPath);
 		if (PathMatcher.STRING_PATH_SEPARATOR.equals(normalizedPath) && match == null) {
-			return this.defaultHandler;
-		}
-		if (match == null) {
-			return null;
+			return routes.defaultMatch.getValue();
 		}
 
 		// return the value for the given path
-		return match.getValue();
-	}
-
-	private void buildLengths() {
-		final Set<Integer> lengths = new TreeSet<>(new Comparator<Integer>() {
-			@Override
-			public int compare(Integer o1, Integer o2) {
-				return -o1.compareTo(o2);
-			}
-		});
-		for (String p : paths.keys()) {
-			lengths.add(p.length());
-		}
-
-		int[] lengthArray = new int[lengths.size()];
-		int pos = 0;
-		for (int i : lengths) {
-			lengthArray[pos++] = i;
-		}
-		this.lengths = lengthArray;
+		return match;
 	}
 
 	@Deprecated
@@ -204,12 +167,13 @@ public class PathMatcher<T> {
 
 		if (PathMatcher.STRING_PATH_SEPARATOR.equals(normalizedPath)) {
 			defaultHandler = null;
+			compile();
 			return this;
 		}
 
 		paths.remove(normalizedPath);
 
-		buildLengths();
+		compile();
 		return this;
 	}
 
@@ -220,42 +184,118 @@ public class PathMatcher<T> {
 
 		exactPathMatches.remove(URLUtils.normalizeSlashes(path));
 
+		compile();
 		return this;
 	}
 
 	public synchronized PathMatcher clearPaths() {
 		paths.clear();
 		exactPathMatches.clear();
-		this.lengths = new int[0];
 		defaultHandler = null;
+		compile();
 		return this;
 	}
 
 	public Map<String, T> getPaths() {
-		return paths.toMap();
+		return routes.paths;
 	}
 
 	public T getDefaultHandler() {
-		return defaultHandler;
+		return routes.defaultMatch.getValue();
+	}
+
+	/**
+	 * Builds new {@link Routes} from current registrations. Called with the lock held.
+	 */
+	private void compile() {
+		this.routes = new Routes<>(defaultHandler, paths, exactPathMatches);
 	}
 
+	/**
+	 * Immutable snapshot of registered paths.
+	 * @param <T>
+	 */
+	private static final class Routes<T> {
+		private final PathMatch<T> defaultMatch;
+		private final Node<T> root = new Node<>();
+		private final Map<String, PathMatch<T>> exactPaths;
+		private final Map<String, T> paths;
+
+		Routes(T defaultHandler, Map<String, T> paths, Map<String, T> exactPaths) {
+			this.defaultMatch = new PathMatch<>("", defaultHandler, false);
+			this.paths = Collections.unmodifiableMap(new HashMap<>(paths));
+			for (Map.Entry<String, T> e : paths.entrySet()) {
+				Node<T> node = root;
+				for (int i = 0; i < e.getKey().length(); i++) {
+					node = node.addChild(e.getKey().charAt(i));
+				}
+				node.match = new PathMatch<>(e.getKey(), e.getValue(), false);
+			}
+			Map<String, PathMatch<T>> exact = new HashMap<>();
+			exactPaths.forEach((path, handler) -> exact.put(path, new PathMatch<>(path, handler, true)));
+			this.exactPaths = exact.isEmpty() ? Collections.emptyMap() : exact;
+		}
+	}
+
+	/**
+	 * Node of the trie of prefix paths - children are kept in small arrays scanned linearly, because context
+	 * paths share most of their characters.
+	 * @param <T>
+	 */
+	private static final class Node<T> {
+		private static final char[] NO_CHARS = new char[0];
+
+		private char[] chars = NO_CHARS;
+		private Node<T>[] children;
+		private PathMatch<T> match;
+
+		Node<T> child(char c) {
+			final char[] chars = this.chars;
+			for (int i = 0; i < chars.length; i++) {
+				if (chars[i] == c) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		Node<T> addChild(char c) {
+			Node<T> child = child(c);
+			if (child == null) {
+				child = new Node<>();
+				int n = chars.length;
+				chars = Arrays.copyOf(chars, n + 1);
+				children = children == null ? new Node[1] : Arrays.copyOf(children, n + 1);
+				chars[n] = c;
+				children[n] = child;
+			}
+			return child;
+		}
+	}
+
+	/**
+	 * Result of {@link #match(String)} - the instances are created once for each registered path, so matched
+	 * and remaining parts are calculated for the actual request path.
+	 * @param <T>
+	 */
 	public static final class PathMatch<T> {
 		private final String matched;
-		private final String remaining;
 		private final T value;
+		private final boolean exact;
 
-		public PathMatch(String matched, String remaining, T value) {
+		PathMatch(String matched, T value, boolean exact) {
 			this.matched = matched;
-			this.remaining = remaining;
 			this.value = value;
+			this.exact = exact;
 		}
 
-		public String getRemaining() {
-			return remaining;
+		public String getRemaining(String path) {
+			return exact ? "" : path.substring(matched.length());
 		}
 
-		public String getMatched() {
-			return matched;
+		public String getMatched(String path) {
+			return exact ? path : matched;
 		}
 
 		public T getValue() {
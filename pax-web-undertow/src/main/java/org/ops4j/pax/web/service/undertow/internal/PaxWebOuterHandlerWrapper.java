@@ -30,6 +30,7 @@ import org.ops4j.pax.web.service.spi.model.OsgiContextModel;
 import org.ops4j.pax.web.service.spi.servlet.OsgiHttpServletRequestWrapper;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiSessionAttributeListener;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
 
 /**
  * This {@link HandlerWrapper} ensures that {@link org.osgi.service.servlet.whiteboard.Preprocessor preprocessors},
@@ -42,10 +43,8 @@ public class PaxWebOuterHandlerWrapper implements HandlerWrapper {
 
 	private final OsgiSessionAttributeListener osgiSessionsBridge;
 
-	// as in org.eclipse.jetty.server.handler.ContextHandler._vhosts, _vhostswildcard and _vconnectors
-	private String[] virtualHosts;
-	private boolean[] virtualHostWildcards;
-	private String[] connectorNames;
+	/** Compiled virtual hosts and connectors of the context */
+	private VirtualHostMatcher virtualHostMatcher = VirtualHostMatcher.ANY;
 
 	public PaxWebOuterHandlerWrapper(OsgiSessionAttributeListener osgiSessionsBridge) {
 		this.osgiSessionsBridge = osgiSessionsBridge;
@@ -64,11 +63,7 @@ public class PaxWebOuterHandlerWrapper implements HandlerWrapper {
 				// We can handle them before proceeding further, even if
 				// io.undertow.servlet.handlers.ServletInitialHandler.handleRequest() checked some of the prefixes
 				// already
-				String path = exchange.getRelativePath();
-				if (path.regionMatches(true, 0, "/meta-inf", 0, "/meta-inf".length())
-						|| path.regionMatches(true, 0, "/web-inf", 0, "/web-inf".length())
-						|| path.regionMatches(true, 0, "/osgi-inf", 0, "/osgi-inf".length())
-						|| path.regionMatches(true, 0, "/osgi-opt", 0, "/osgi-opt".length())) {
+				if (VirtualHostMatcher.isProtectedPath(exchange.getRelativePath())) {
 					exchange.setStatusCode(StatusCodes.NOT_FOUND);
 					return;
 				}
@@ -146,99 +141,18 @@ public class PaxWebOuterHandlerWrapper implements HandlerWrapper {
 		this.defaultServletContext = defaultServletContext;
 	}
 
-	// similar as in org.ops4j.pax.web.service.tomcat.internal.PaxWebStandardContext.setVirtualHosts
 	public void setVirtualHosts(String[] virtualHosts) {
-		int size = virtualHosts == null ? 0 : virtualHosts.length;
-		if (size == 0) {
-			this.virtualHosts = null;
-			this.virtualHostWildcards = null;
-			this.connectorNames = null;
-		} else {
-			this.virtualHosts = new String[size];
-			this.virtualHostWildcards = new boolean[size];
-			this.connectorNames = new String[size];
-
-			for (int i = 0; i < size; i++) {
-				this.virtualHosts[i] = null;
-				this.virtualHostWildcards[i] = false;
-				this.connectorNames[i] = null;
-
-				String vh = virtualHosts[i];
-				if (vh == null || "".equals(vh.trim())) {
-					continue;
-				}
-				if (vh.startsWith("@")) {
-					// connector only
-					this.connectorNames[i] = vh.substring(1);
-				} else {
-					String host;
-					String connector = null;
-					int atpos = vh.indexOf("@");
-					if (atpos >= 0) {
-						// host@connector
-						host = vh.substring(0, atpos).trim();
-						connector = vh.substring(atpos + 1).trim();
-					} else {
-						// host only
-						host = vh.trim();
-					}
-					if (connector != null && !"".equals(connector)) {
-						this.connectorNames[i] = connector;
-					}
-					if (!"".equals(host)) {
-						this.virtualHosts[i] = host;
-						if (host.startsWith("*.")) {
-							this.virtualHostWildcards[i] = true;
-							// *.example.com -> .example.com
-							this.virtualHosts[i] = host.substring(1);
-						}
-					}
-				}
-			}
-		}
+		this.virtualHostMatcher = VirtualHostMatcher.compile(virtualHosts);
 	}
 
 	/**
 	 * Method similar to {@code org.eclipse.jetty.server.handler.ContextHandler#checkVirtualHost()} and reimplements
-	 * Undertow's approach to Virtual Hosts, but at context level. This is actually a copy of
-	 * {@code org.ops4j.pax.web.service.tomcat.internal.PaxWebStandardContext#matches()}.
+	 * Undertow's approach to Virtual Hosts, but at context level.
 	 * @param vhost
 	 * @param connectorName
 	 */
 	public boolean matches(String vhost, String connectorName) {
-		if (this.virtualHosts == null || virtualHosts.length == 0) {
-			return true;
-		}
-
-		for (int i = 0; i < virtualHosts.length; i++) {
-			String vh = virtualHosts[i];
-			String connector = connectorNames[i];
-
-			if (connector != null) {
-				// always chck connector name - if it doesn't match, return false regardless of Host header
-				if (!connector.equalsIgnoreCase(connectorName)) {
-					continue;
-				}
-
-				if (vh == null) {
-					// plain @connectorName rule - Host header doesn't matter
-					return true;
-				}
-			}
-
-			if (vh != null) {
-				if (virtualHostWildcards[i]) {
-					// wildcard only at the beginning, and only for one additional subdomain level
-					int index = vhost.indexOf(".");
-					if (index >= 0 && vhost.substring(index).equalsIgnoreCase(vh)) {
-						return true;
-					}
-				} else if (vhost.equalsIgnoreCase(vh)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return virtualHostMatcher.matches(vhost, connectorName);
 	}
 
 }
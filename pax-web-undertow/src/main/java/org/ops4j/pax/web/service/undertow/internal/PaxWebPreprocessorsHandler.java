@@ -16,14 +16,9 @@
 package org.ops4j.pax.web.service.undertow.internal;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletContext;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -31,60 +26,140 @@ import io.undertow.server.HandlerWrapper;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.util.AttachmentKey;
+import org.ops4j.pax.web.service.spi.servlet.CompiledOsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.OsgiFilterChain;
 import org.ops4j.pax.web.service.spi.servlet.PreprocessorFilterConfig;
 import org.osgi.service.servlet.whiteboard.Preprocessor;
 
 /**
- * This {@link HandlerWrapper} ensures that {@link org.osgi.service.servlet.whiteboard.Preprocessor preprocessors},
- * filters and target servlet use proper request wrapper that returns proper {@link ServletContext}.
+ * <p>This {@link HandlerWrapper} ensures that {@link org.osgi.service.servlet.whiteboard.Preprocessor preprocessors},
+ * filters and target servlet use proper request wrapper that returns proper {@link ServletContext}.</p>
+ *
+ * <p>The list of preprocessors is copied on write and published atomically together with resolved
+ * {@link Preprocessor} instances, so request threads never see the list being changed. When there are no
+ * preprocessors, the wrapped handler is called directly.</p>
  */
 public class PaxWebPreprocessorsHandler implements HandlerWrapper {
 
+	/** Exception thrown by the wrapped handler, to be rethrown after the preprocessors */
+	private static final AttachmentKey<Exception> HANDLER_EXCEPTION = AttachmentKey.create(Exception.class);
+
 	/**
 	 * {@link Preprocessor} are registered as filters, but without particular target
 	 * {@link org.ops4j.pax.web.service.spi.servlet.OsgiServletContext}, so they're effectively registered in
 	 * all available physical servlet contexts.
 	 */
-	private final List<PreprocessorFilterConfig> preprocessors = new LinkedList<>();
+	private volatile Preprocessors preprocessors = new Preprocessors(Collections.emptyList());
 
 	@Override
-	@SuppressWarnings("Convert2Lambda")
 	public HttpHandler wrap(HttpHandler handler) {
-		return new HttpHandler() {
-			@Override
-			public void handleRequest(HttpServerExchange exchange) throws Exception {
-				ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
-				HttpServletRequest incomingRequest = (HttpServletRequest) context.getServletRequest();
-				HttpServletResponse outgoingRequest = (HttpServletResponse) context.getServletResponse();
+		return new PreprocessorsHandler(handler);
+	}
+
+	/**
+	 * Returns unmodifiable snapshot of current preprocessors.
+	 * @return
+	 */
+	public List<PreprocessorFilterConfig> getPreprocessors() {
+		return preprocessors.configs;
+	}
+
+	/**
+	 * Replaces current preprocessors.
+	 * @param configs
+	 */
+	public void setPreprocessors(List<PreprocessorFilterConfig> configs) {
+		preprocessors = new Preprocessors(Collections.unmodifiableList(new ArrayList<>(configs)));
+	}
 
-				List<Preprocessor> preprocessorInstances = preprocessors.stream().map(PreprocessorFilterConfig::getInstance).collect(Collectors.toList());
+	/**
+	 * Drops resolved {@link Preprocessor} instances - should be called after the preprocessors are destroyed
+	 * or initialized again.
+	 */
+	public void resetPreprocessors() {
+		preprocessors = new Preprocessors(preprocessors.configs);
+	}
+
+	/**
+	 * Immutable list of {@link PreprocessorFilterConfig} with lazily resolved instances.
+	 */
+	private static final class Preprocessors {
+		private final List<PreprocessorFilterConfig> configs;
+		private volatile Preprocessor[] instances;
 
-				final Exception[] ex = new Exception[] { null };
+		Preprocessors(List<PreprocessorFilterConfig> configs) {
+			this.configs = configs;
+		}
+
+		Preprocessor[] getInstances() {
+			Preprocessor[] result = instances;
+			if (result == null) {
+				result = configs.stream().map(PreprocessorFilterConfig::getInstance).toArray(Preprocessor[]::new);
+				instances = result;
+			}
+			return result;
+		}
+	}
+
+	private final class PreprocessorsHandler implements HttpHandler {
+
+		private final HttpHandler handler;
+
+		/** Chain compiled for current {@link Preprocessors} */
+		private volatile CompiledChain compiled;
+
+		PreprocessorsHandler(HttpHandler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void handleRequest(HttpServerExchange exchange) throws Exception {
+			Preprocessors current = preprocessors;
+			if (current.configs.isEmpty()) {
+				handler.handleRequest(exchange);
+				return;
+			}
+
+			CompiledChain chain = compiled;
+			if (chain == null || chain.source != current) {
 				// in Undertow we use authListener in org.ops4j.pax.web.service.undertow.internal.PaxWebSecurityHandler
-				Consumer<HttpServletRequest> authListener = null;
-				FilterChain chain = new OsgiFilterChain(new ArrayList<>(preprocessorInstances), null, null, new FilterChain() {
-					@Override
-					public void doFilter(ServletRequest request, ServletResponse response) {
-						// just proceed
-						try {
-							handler.handleRequest(exchange);
-						} catch (Exception e) {
-							ex[0] = e;
-						}
-					}
-				}, null, authListener);
-
-				chain.doFilter(incomingRequest, outgoingRequest);
-				if (ex[0] != null) {
-					throw ex[0];
-				}
+				chain = new CompiledChain(current, new CompiledOsgiFilterChain(current.getInstances(), null, null, null, null, null));
+				compiled = chain;
+			}
+
+			ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+			HttpServletRequest incomingRequest = (HttpServletRequest) context.getServletRequest();
+			HttpServletResponse outgoingRequest = (HttpServletResponse) context.getServletResponse();
+
+			// the last element of the chain keeps the exchange, so it may be called in any thread
+			OsgiFilterChain osgiChain = chain.chain.newChain();
+			osgiChain.setChain((request, response) -> proceed(exchange));
+			osgiChain.doFilter(incomingRequest, outgoingRequest);
+			Exception ex = exchange.removeAttachment(HANDLER_EXCEPTION);
+			if (ex != null) {
+				throw ex;
 			}
-		};
+		}
+
+		private void proceed(HttpServerExchange exchange) {
+			// just proceed
+			try {
+				handler.handleRequest(exchange);
+			} catch (Exception e) {
+				exchange.putAttachment(HANDLER_EXCEPTION, e);
+			}
+		}
 	}
 
-	public List<PreprocessorFilterConfig> getPreprocessors() {
-		return preprocessors;
+	private static final class CompiledChain {
+		private final Preprocessors source;
+		private final CompiledOsgiFilterChain chain;
+
+		CompiledChain(Preprocessors source, CompiledOsgiFilterChain chain) {
+			this.source = source;
+			this.chain = chain;
+		}
 	}
 
 }
@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.net.ssl.CertPathTrustManagerParameters;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
@@ -71,6 +72,7 @@ import io.undertow.util.HttpString;
 import org.ops4j.pax.web.service.spi.config.Configuration;
 import org.ops4j.pax.web.service.spi.config.SecurityConfiguration;
 import org.ops4j.pax.web.service.spi.model.elements.FilterModel;
+import org.ops4j.pax.web.service.spi.util.VirtualThreadSupport;
 import org.ops4j.pax.web.service.undertow.configuration.model.IoSubsystem;
 import org.ops4j.pax.web.service.undertow.configuration.model.SecurityRealm;
 import org.ops4j.pax.web.service.undertow.configuration.model.Server;
@@ -202,6 +204,21 @@ public class UndertowFactory {
 		return new DefaultByteBufferPool(direct, bufferSize, maxPoolSize, threadLocalCacheSize, leakDetectionPercent);
 	}
 
+	/**
+	 * Creates an executor that handles servlet requests in virtual threads if it's configured and supported by
+	 * the JVM. Otherwise requests are handled by task threads of XNIO worker.
+	 * @param configuration
+	 * @return
+	 */
+	public ExecutorService createVirtualThreadsExecutor(Configuration configuration) {
+		if (!VirtualThreadSupport.useVirtualThreads(configuration.server().isServerVirtualThreads())) {
+			return null;
+		}
+		// similar to XNIO task thread names
+		String prefix = configuration.server().getServerThreadNamePrefix();
+		return VirtualThreadSupport.newVirtualThreadPerTaskExecutor((prefix != null ? prefix : "XNIO-default") + " virtual-");
+	}
+
 	public XnioWorker getDefaultWorker(Configuration configuration) {
 		if (defaultWorker == null) {
 			// default worker if not specified in XML
@@ -228,6 +245,32 @@ public class UndertowFactory {
 		return defaultWorker;
 	}
 
+	/**
+	 * Changes the number of task threads of default {@link XnioWorker} (if it was created). Like in
+	 * {@link #getDefaultWorker(Configuration)}, both core and max number of task threads are set to
+	 * {@link org.ops4j.pax.web.service.spi.config.ServerConfiguration#getServerMaxThreads()}.
+	 * @param configuration
+	 */
+	public void reconfigureDefaultWorker(Configuration configuration) throws IOException {
+		if (defaultWorker == null) {
+			return;
+		}
+		Integer maxThreads = configuration.server().getServerMaxThreads();
+		if (maxThreads == null) {
+			maxThreads = new IoSubsystem.Worker().getTaskMaxThreads();
+		}
+		LOG.info("Changing number of task threads of {} to {}", defaultWorker.getName(), maxThreads);
+		// core size can't be greater than max size, so order matters
+		Integer currentMax = defaultWorker.getOption(Options.WORKER_TASK_MAX_THREADS);
+		if (currentMax == null || maxThreads > currentMax) {
+			defaultWorker.setOption(Options.WORKER_TASK_MAX_THREADS, maxThreads);
+			defaultWorker.setOption(Options.WORKER_TASK_CORE_THREADS, maxThreads);
+		} else {
+			defaultWorker.setOption(Options.WORKER_TASK_CORE_THREADS, maxThreads);
+			defaultWorker.setOption(Options.WORKER_TASK_MAX_THREADS, maxThreads);
+		}
+	}
+
 	public void closeDefaultPoolAndBuffer() {
 		if (defaultWorker != null) {
 			defaultWorker.shutdown();
@@ -27,8 +27,13 @@ import io.undertow.security.idm.IdentityManager;
 import org.ops4j.pax.web.service.spi.ServerController;
 import org.ops4j.pax.web.service.spi.ServerState;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.model.events.ServerEvent;
 import org.ops4j.pax.web.service.spi.model.events.ServerListener;
+import org.ops4j.pax.web.service.spi.servlet.ContentHashETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.ops4j.pax.web.service.spi.task.Batch;
 import org.ops4j.pax.web.service.undertow.internal.web.UndertowResourceServlet;
 import org.osgi.framework.Bundle;
@@ -59,6 +64,15 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 	 */
 	private UndertowServerWrapper undertowServerWrapper;
 
+	/** Compression of static resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceCompression resourceCompression;
+
+	/** Extraction of bundle resources shared by all resource servlets ({@code null} if disabled) */
+	private final ResourceExtractionCache resourceExtraction;
+
+	/** {@code ETag} strategy shared by all resource servlets ({@code null} to use Undertow's own {@code ETags}) */
+	private final ResourceETagStrategy etagStrategy;
+
 				private IdentityManager identityManager;
 
 	public UndertowServerController(Bundle paxWebUndertowBundle, ClassLoader classLoader,
@@ -70,6 +84,12 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 		this.state = ServerState.UNCONFIGURED;
 
 		this.listeners = Collections.synchronizedSet(new LinkedHashSet<>());
+		this.resourceCompression = ResourceCompression.create(configuration.resources());
+		this.resourceExtraction = ResourceExtractionCache.create(configuration);
+		this.etagStrategy = ContentHashETagStrategy.create(configuration.resources());
+		if (resourceCompression != null) {
+			resourceCompression.setETagStrategy(etagStrategy);
+		}
 	}
 
 	// --- lifecycle methods
@@ -104,6 +124,9 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 		}
 
 		undertowServerWrapper.start();
+		if (resourceExtraction != null) {
+			resourceExtraction.start(paxWebUndertowBundle == null ? null : paxWebUndertowBundle.getBundleContext());
+		}
 
 		state = ServerState.STARTED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STARTED, undertowServerWrapper.getAddresses(true)));
@@ -118,6 +141,9 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 		}
 
 		undertowServerWrapper.stop();
+		if (resourceExtraction != null) {
+			resourceExtraction.stop();
+		}
 
 		state = ServerState.STOPPED;
 		notifyListeners(new ServerEvent(ServerEvent.State.STOPPED, null));
@@ -128,6 +154,20 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 		return configuration;
 	}
 
+	@Override
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) {
+		if (state != ServerState.STARTED) {
+			return false;
+		}
+		LOG.info("Reconfiguring {} with changed properties {}", this, change.getChangedProperties());
+		try {
+			return undertowServerWrapper.reconfigure(configuration, change);
+		} catch (Exception e) {
+			LOG.warn("Problem reconfiguring Undertow server: {}", e.getMessage(), e);
+			return false;
+		}
+	}
+
 	// --- listener related methods
 
 	@Override
@@ -166,6 +206,9 @@ public class UndertowServerController implements ServerController/*, IdentityMan
 		String chroot = baseDirectory == null ? base : null;
 
 		UndertowResourceServlet undertowResourceServlet = new UndertowResourceServlet(baseDirectory, chroot);
+		undertowResourceServlet.setResourceCompression(resourceCompression);
+		undertowResourceServlet.setResourceExtraction(resourceExtraction);
+		undertowResourceServlet.setETagStrategy(etagStrategy);
 
 		// acces via "web root directory" - Pax Web special
 		Integer maxSize = configuration.resources().maxTotalCacheSize();
@@ -19,6 +19,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -45,6 +46,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
@@ -56,10 +58,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.SessionCookieConfig;
 import jakarta.servlet.annotation.ServletSecurity;
 import jakarta.servlet.http.HttpSessionAttributeListener;
+import javax.management.ObjectName;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParserFactory;
 
-import io.undertow.Handlers;
 import io.undertow.Undertow;
 import io.undertow.connector.ByteBufferPool;
 import io.undertow.predicate.Predicate;
@@ -112,6 +114,7 @@ import io.undertow.servlet.util.InMemorySessionPersistence;
 import org.ops4j.pax.web.service.AuthenticatorService;
 import org.ops4j.pax.web.service.PaxWebConfig;
 import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.ops4j.pax.web.service.spi.config.ConfigurationChange;
 import org.ops4j.pax.web.service.spi.config.LogConfiguration;
 import org.ops4j.pax.web.service.spi.config.SessionConfiguration;
 import org.ops4j.pax.web.service.spi.model.ContextMetadataModel;
@@ -164,6 +167,7 @@ import org.ops4j.pax.web.service.spi.task.TransactionStateChange;
 import org.ops4j.pax.web.service.spi.task.WebSocketModelChange;
 import org.ops4j.pax.web.service.spi.task.WelcomeFileModelChange;
 import org.ops4j.pax.web.service.spi.util.Utils;
+import org.ops4j.pax.web.service.spi.util.VirtualHostMatcher;
 import org.ops4j.pax.web.service.undertow.PaxWebUndertowExtension;
 import org.ops4j.pax.web.service.undertow.UndertowSupport;
 import org.ops4j.pax.web.service.undertow.configuration.model.Interface;
@@ -175,6 +179,7 @@ import org.ops4j.pax.web.service.undertow.configuration.model.UndertowConfigurat
 import org.ops4j.pax.web.service.undertow.configuration.model.UndertowSubsystem;
 import org.ops4j.pax.web.service.undertow.internal.configuration.ResolvingContentHandler;
 import org.ops4j.pax.web.service.undertow.internal.configuration.UnmarshallingContentHandler;
+import org.ops4j.pax.web.service.undertow.internal.security.CachingIdentityManager;
 import org.ops4j.pax.web.service.undertow.internal.security.JaasIdentityManager;
 import org.ops4j.pax.web.service.undertow.internal.security.PropertiesIdentityManager;
 import org.ops4j.pax.web.service.undertow.internal.web.FlexibleErrorPages;
@@ -249,6 +254,15 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 
 	private IdentityManager identityManager;
 
+	/** Name under which {@link CachingIdentityManager} is registered in platform MBean server (if it is used) */
+	private ObjectName credentialCacheName;
+
+	/**
+	 * Executor for servlet requests (set in {@link DeploymentInfo#setExecutor}) - only when virtual threads are
+	 * used, otherwise requests are dispatched to XNIO worker.
+	 */
+	private ExecutorService virtualThreadsExecutor;
+
 	/**
 	 * A set of context paths that are being configured within <em>transactions</em> - context is started only at
 	 * the end of the transaction.
@@ -417,7 +431,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 		LOG.info("Creating Undertow server instance using configuration properties.");
 
 		// initially rootHandler == pathHandler without any particular path registered
-		pathHandler = Handlers.path();
+		pathHandler = new ContextAwarePathHandler();
 		rootHandler = pathHandler;
 
 		// apply single (if exists) external undertow.xml file by reading it according to Wildfly XSDs,
@@ -434,6 +448,8 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 		// PID config: org.osgi.service.http.enabled and org.osgi.service.http.secure.enabled
 		verifyListenerConfiguration();
 
+		virtualThreadsExecutor = undertowFactory.createVirtualThreadsExecutor(configuration);
+
 		// default session configuration is prepared, but not set in the server instance. It can be set
 		// only after first context is created. Configuration from undertow.xml has higher priority than PID.
 		if (defaultSessionCookieConfig == null) {
@@ -593,6 +609,13 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 
 				identityManager = new PropertiesIdentityManager(users);
 			}
+
+			Long credentialCacheTtl = configuration.security().getCredentialCacheTtl();
+			if (identityManager != null && credentialCacheTtl != null && credentialCacheTtl > 0L) {
+				LOG.info("Caching verified credentials for {} ms", credentialCacheTtl);
+				identityManager = new CachingIdentityManager(identityManager, credentialCacheTtl,
+						configuration.security().getCredentialCacheMaxEntries());
+			}
 		}
 
 		// /undertow/subsystem/server/host/location - file handlers for static context paths.
@@ -1028,6 +1051,54 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 		}
 	}
 
+	/**
+	 * Registers the credential cache as MBean, so administrators can invalidate it explicitly.
+	 * @param cache
+	 */
+	private void registerCredentialCache(CachingIdentityManager cache) {
+		try {
+			ObjectName name = new ObjectName(CachingIdentityManager.OBJECT_NAME);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(cache, name);
+			credentialCacheName = name;
+			LOG.info("Registered credential cache MBean {}", name);
+		} catch (Throwable t) {
+			LOG.warn("Can't register credential cache MBean {}: {}", CachingIdentityManager.OBJECT_NAME, t.getMessage());
+		}
+	}
+
+	private void unregisterCredentialCache() {
+		if (credentialCacheName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(credentialCacheName);
+		} catch (Throwable t) {
+			LOG.warn("Can't unregister credential cache MBean {}: {}", credentialCacheName, t.getMessage());
+		}
+		credentialCacheName = null;
+	}
+
+	/**
+	 * Applies changed configuration to running Undertow server. Only the number of task threads of default
+	 * worker can be changed - idle timeout is an option of the listeners, so it requires restart.
+	 *
+	 * @param configuration
+	 * @param change
+	 * @return {@code false} if any of the changed properties can't be applied without restart
+	 */
+	public boolean reconfigure(Configuration configuration, ConfigurationChange change) throws Exception {
+		Set<String> changed = change.getChangedProperties();
+		if (changed.contains(PaxWebConfig.PID_CFG_CONNECTOR_IDLE_TIMEOUT)) {
+			return false;
+		}
+		if (changed.contains(PaxWebConfig.PID_CFG_SERVER_MAX_THREADS)) {
+			undertowFactory.reconfigureDefaultWorker(configuration);
+		}
+		// min threads and server idle timeout are not used for default worker and NCSA log retention is not
+		// supported by Undertow's access log receiver
+		return true;
+	}
+
 	/**
 	 * Simply start Undertow server
 	 * @throws Exception
@@ -1035,6 +1106,10 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 	public void start() throws Exception {
 		LOG.info("Starting {}", this);
 
+		if (identityManager instanceof CachingIdentityManager) {
+			registerCredentialCache((CachingIdentityManager) identityManager);
+		}
+
 		this.listeners.values().forEach(l -> l.getAcceptingChannel().resumeAccepts());
 	}
 
@@ -1060,6 +1135,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 								fc.setInitCalled(false);
 							}
 						}
+						preprocessorsHandlers.get(contextPath).resetPreprocessors();
 					}
 
 					deployment.stop();
@@ -1085,6 +1161,15 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 		this.bufferPools.clear();
 		undertowFactory.closeDefaultPoolAndBuffer();
 
+		if (identityManager instanceof CachingIdentityManager) {
+			unregisterCredentialCache();
+			((CachingIdentityManager) identityManager).invalidateAll();
+		}
+		if (virtualThreadsExecutor != null) {
+			virtualThreadsExecutor.shutdown();
+			virtualThreadsExecutor = null;
+		}
+
 		// I found this necessary, when pax-web-undertow is restarted/refreshed without affecting
 		// pax-web-extender-whiteboard
 		osgiServletContexts.values().forEach(OsgiServletContext::unregister);
@@ -1189,6 +1274,10 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 			// checks will be handled depending on OsgiContextModel
 			deploymentInfo.setIdentityManager(identityManager);
 
+			if (virtualThreadsExecutor != null) {
+				deploymentInfo.setExecutor(virtualThreadsExecutor);
+			}
+
 			// In Jetty and Tomcat we can operate on FilterChains, here we have to split the OsgiFilterChain's
 			// functionality into different HandlerWrappers:
 			//  - to wrap request, so proper ServletContext is returned
@@ -1871,8 +1960,8 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 			// in PaxWebFilterHolders
 			List<PreprocessorFilterConfig> toInit = new LinkedList<>();
 
-			// clear to keep the order of all available preprocessors
-			preprocessorsHandler.getPreprocessors().clear();
+			// new list to keep the order of all available preprocessors
+			List<PreprocessorFilterConfig> newPreprocessors = new ArrayList<>();
 
 			for (Iterator<FilterModel> iterator = filters.iterator(); iterator.hasNext(); ) {
 				FilterModel model = iterator.next();
@@ -1893,10 +1982,11 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 							return match;
 						});
 					}
-					preprocessorsHandler.getPreprocessors().add(filterConfig);
+					newPreprocessors.add(filterConfig);
 					iterator.remove();
 				}
 			}
+			preprocessorsHandler.setPreprocessors(newPreprocessors);
 
 			if (manager != null && manager.getState() == DeploymentManager.State.STARTED) {
 				for (PreprocessorFilterConfig fc : toInit) {
@@ -1911,6 +2001,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 					fc.destroy();
 					fc.setInitCalled(false);
 				}
+				preprocessorsHandler.resetPreprocessors();
 			}
 		}
 
@@ -2705,7 +2796,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 			// org.keycloak.adapters.undertow.KeycloakServletExtension#handleDeployment where we don't have
 			// access to Osgi contexts - keep it even if Pax Web 10 no longer provides dedicated
 			// Keycloak support
-			deployment.setResourceManager(new OsgiResourceManager("", highestRankedContext));
+			deployment.setResourceManager(new OsgiResourceManager("", highestRankedContext, null));
 
 			// handle Pax Web specific extensions
 			ServiceLoader<PaxWebUndertowExtension> extensions = ServiceLoader.load(PaxWebUndertowExtension.class, highestRankedContext.getClassLoader());
@@ -2931,39 +3022,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 
 			// taking virtual host / connector configuration from OsgiContextModel - see
 			// org.eclipse.jetty.server.handler.ContextHandler.checkVirtualHost() and similar pax-web-jetty code
-			List<String> allVirtualHosts = new ArrayList<>();
-			List<String> vhosts = new ArrayList<>(highestRanked.getVirtualHosts());
-			if (vhosts.isEmpty()) {
-				vhosts.addAll(Arrays.asList(configuration.server().getVirtualHosts()));
-			}
-			List<String> connectors = new ArrayList<>(highestRanked.getConnectors());
-			if (connectors.isEmpty()) {
-				connectors.addAll(Arrays.asList(configuration.server().getConnectors()));
-			}
-			for (String vhost : vhosts) {
-				if (vhost == null || "".equals(vhost.trim())) {
-					continue;
-				}
-				if (vhost.startsWith("@")) {
-					// it is a connector
-					allVirtualHosts.add(vhost);
-				} else {
-					// it is a normal virtual host (yes - don't process it anyway)
-					allVirtualHosts.add(vhost);
-				}
-			}
-			for (String c : connectors) {
-				if (c == null || "".equals(c.trim())) {
-					continue;
-				}
-				if (c.startsWith("@")) {
-					// it is a connector, but should be specified as special Jetty's VHost - add without processing
-					allVirtualHosts.add(c);
-				} else {
-					// it is a connector, but should be added as "@" prefixed VHost
-					allVirtualHosts.add("@" + c);
-				}
-			}
+			List<String> allVirtualHosts = VirtualHostMatcher.collect(highestRanked, configuration);
 
 			PaxWebOuterHandlerWrapper handlerWrapper = wrappingHandlers.get(contextPath);
 			if (handlerWrapper != null) {
@@ -2985,6 +3044,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 					fc.setInitCalled(true);
 				}
 			}
+			preprocessorsHandlers.get(contextPath).resetPreprocessors();
 
 			highestRankedDynamicContext.rememberAttributesFromSCIs();
 
@@ -3171,6 +3231,7 @@ class UndertowServerWrapper implements BatchVisitor, UndertowSupport {
 							fc.setInitCalled(false);
 						}
 					}
+					preprocessorsHandlers.get(contextPath).resetPreprocessors();
 				}
 
 				manager.stop();
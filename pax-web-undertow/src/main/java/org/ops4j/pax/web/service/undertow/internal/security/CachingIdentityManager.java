@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal.security;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.security.idm.Account;
+import io.undertow.security.idm.Credential;
+import io.undertow.security.idm.IdentityManager;
+import io.undertow.security.idm.PasswordCredential;
+
+/**
+ * <p>{@link IdentityManager} that caches {@link Account accounts} verified by a delegate identity manager, so
+ * for example JAAS login isn't performed for every request using BASIC authentication.</p>
+ *
+ * <p>Only successful {@link PasswordCredential} verifications are cached. The cache is keyed by user id and
+ * a salted SHA-256 hash of the password (the salt is random for each instance), so plain passwords are never
+ * kept in memory. The cache is bounded (least recently used entries are evicted) and each entry expires after
+ * configured time.</p>
+ *
+ * <p>The cache can be cleared by administrators through JMX - see {@link CachingIdentityManagerMBean}.</p>
+ */
+public class CachingIdentityManager implements IdentityManager, CachingIdentityManagerMBean {
+
+	public static final String OBJECT_NAME = "org.ops4j.pax.web:type=CredentialCache";
+
+	private final IdentityManager delegate;
+	private final long ttlNanos;
+
+	private final byte[] salt = new byte[16];
+	private final MessageDigest digest;
+
+	/** Access-ordered LRU map of verified credentials. Guarded by itself. */
+	private final Map<Key, Entry> cache;
+
+	public CachingIdentityManager(IdentityManager delegate, long ttl, final int maxEntries) {
+		this.delegate = delegate;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+		new SecureRandom().nextBytes(salt);
+		try {
+			this.digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	public IdentityManager getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public Account verify(Account account) {
+		return delegate.verify(account);
+	}
+
+	@Override
+	public Account verify(Credential credential) {
+		return delegate.verify(credential);
+	}
+
+	@Override
+	public Account verify(String id, Credential credential) {
+		if (id == null || !(credential instanceof PasswordCredential)) {
+			return delegate.verify(id, credential);
+		}
+
+		Key key = new Key(id, hash(id, ((PasswordCredential) credential).getPassword()));
+		long now = System.nanoTime();
+		synchronized (cache) {
+			Entry entry = cache.get(key);
+			if (entry != null) {
+				if (now - entry.created < ttlNanos) {
+					return entry.account;
+				}
+				cache.remove(key);
+			}
+		}
+
+		Account account = delegate.verify(id, credential);
+		if (account != null) {
+			synchronized (cache) {
+				cache.put(key, new Entry(account, now));
+			}
+		}
+		return account;
+	}
+
+	@Override
+	public void invalidate(String id) {
+		synchronized (cache) {
+			cache.keySet().removeIf(k -> k.id.equals(id));
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	@Override
+	public int getSize() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	private byte[] hash(String id, char[] password) {
+		MessageDigest md;
+		try {
+			md = (MessageDigest) digest.clone();
+		} catch (CloneNotSupportedException e) {
+			try {
+				md = MessageDigest.getInstance(digest.getAlgorithm());
+			} catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex.getMessage(), ex);
+			}
+		}
+		md.update(salt);
+		md.update(id.getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+		ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+		md.update(bytes.duplicate());
+		if (bytes.hasArray()) {
+			Arrays.fill(bytes.array(), (byte) 0);
+		}
+		return md.digest();
+	}
+
+	private static final class Key {
+		private final String id;
+		private final byte[] hash;
+		private final int hashCode;
+
+		Key(String id, byte[] hash) {
+			this.id = id;
+			this.hash = hash;
+			this.hashCode = 31 * id.hashCode() + Arrays.hashCode(hash);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return id.equals(other.id) && MessageDigest.isEqual(hash, other.hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class Entry {
+		private final Account account;
+		private final long created;
+
+		Entry(Account account, long created) {
+			this.account = account;
+			this.created = created;
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal.security;
+
+/**
+ * JMX interface of {@link CachingIdentityManager}, registered as {@link CachingIdentityManager#OBJECT_NAME}, so
+ * administrators can drop cached credentials (e.g., after changing a password or revoking a user) without waiting
+ * for the entries to expire.
+ */
+public interface CachingIdentityManagerMBean {
+
+	/**
+	 * Removes all cached credentials of given user.
+	 * @param id
+	 */
+	void invalidate(String id);
+
+	/**
+	 * Removes all cached credentials.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Returns number of cached credentials (including expired ones, not yet removed).
+	 * @return
+	 */
+	int getSize();
+
+}
@@ -15,7 +15,6 @@
  */
 package org.ops4j.pax.web.service.undertow.internal.security;
 
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -41,8 +40,12 @@ public class PropertiesIdentityManager implements IdentityManager {
 
 	public static final Logger LOG = LoggerFactory.getLogger(PropertiesIdentityManager.class);
 
-	private final Map<String, String> users = new HashMap<>();
-	private final Map<String, Set<String>> roles = new HashMap<>();
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final Map<String, User> users = new HashMap<>();
+
+	/** Prototypes of {@link MessageDigest} for hashed passwords, cloned for each verification */
+	private final Map<String, MessageDigest> digests = new HashMap<>();
 
 	public PropertiesIdentityManager(Map<String, String> config) {
 		config.forEach((user, credentials) -> {
@@ -50,16 +53,14 @@ public class PropertiesIdentityManager implements IdentityManager {
 			if (creds.length == 0) {
 				return;
 			}
-			this.users.put(user, creds[0].trim());
-			if (creds.length > 1) {
-				Set<String> roles = new HashSet<>();
-				for (int i = 1; i < creds.length; i++) {
-					roles.add(creds[i].trim());
-				}
-				this.roles.put(user, roles);
-			} else {
-				this.roles.put(user, Collections.emptySet());
+			Set<String> roles = new HashSet<>();
+			for (int i = 1; i < creds.length; i++) {
+				roles.add(creds[i].trim());
 			}
+			// account (and its roles) is created once and reused for each successful verification
+			AccountImpl account = new AccountImpl(new SimplePrincipal(user),
+					roles.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(roles));
+			this.users.put(user, new User(creds[0].trim(), account));
 		});
 	}
 
@@ -77,31 +78,80 @@ public class PropertiesIdentityManager implements IdentityManager {
 	public Account verify(String id, Credential credential) {
 		if (credential instanceof PasswordCredential) {
 			char[] password = ((PasswordCredential) credential).getPassword();
-			String pwd = users.get(id);
-			if (pwd != null) {
-				if (compare(pwd, new String(password))) {
-					return new AccountImpl(new SimplePrincipal(id), roles.get(id));
+			User user = users.get(id);
+			if (user != null) {
+				if (compare(user, new String(password))) {
+					return user.account;
 				}
 			}
 		}
 		return null;
 	}
 
-	private boolean compare(String stored, String provided) {
-		if (stored.contains(":")) {
-			String alg = stored.substring(0, stored.indexOf(':'));
-			stored = stored.substring(stored.indexOf(':') + 1).toUpperCase();
-			try {
-				MessageDigest md = MessageDigest.getInstance(alg);
-				byte[] hash = md.digest(provided.getBytes(StandardCharsets.UTF_8));
-				String encoded = encode(hash);
-				return stored.equals(encoded);
-			} catch (NoSuchAlgorithmException e) {
-				LOG.warn("Can't verify credentials: {}", e.getMessage(), e);
+	private boolean compare(User user, String provided) {
+		if (user.algorithm != null) {
+			if (user.hash == null) {
+				// stored value is not a hex encoded hash
+				return false;
+			}
+			MessageDigest md = digest(user.algorithm);
+			if (md == null) {
 				return false;
 			}
+			byte[] hash = md.digest(provided.getBytes(StandardCharsets.UTF_8));
+			return MessageDigest.isEqual(user.hash, hash);
 		} else {
-			return stored.equals(provided);
+			return user.password.equals(provided);
+		}
+	}
+
+	private MessageDigest digest(String algorithm) {
+		MessageDigest prototype;
+		synchronized (digests) {
+			prototype = digests.get(algorithm);
+			if (prototype == null) {
+				try {
+					prototype = MessageDigest.getInstance(algorithm);
+				} catch (NoSuchAlgorithmException e) {
+					LOG.warn("Can't verify credentials: {}", e.getMessage(), e);
+					return null;
+				}
+				digests.put(algorithm, prototype);
+			}
+		}
+		try {
+			return (MessageDigest) prototype.clone();
+		} catch (CloneNotSupportedException e) {
+			try {
+				return MessageDigest.getInstance(algorithm);
+			} catch (NoSuchAlgorithmException ex) {
+				LOG.warn("Can't verify credentials: {}", ex.getMessage(), ex);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * User with parsed password (plain or {@code algorithm:hex-encoded-hash}) and an {@link Account}.
+	 */
+	private static final class User {
+		private final String password;
+		private final String algorithm;
+		private final byte[] hash;
+		private final AccountImpl account;
+
+		User(String stored, AccountImpl account) {
+			this.account = account;
+			int colon = stored.indexOf(':');
+			if (colon >= 0) {
+				this.password = null;
+				this.algorithm = stored.substring(0, colon);
+				this.hash = decode(stored.substring(colon + 1));
+			} else {
+				this.password = stored;
+				this.algorithm = null;
+				this.hash = null;
+			}
 		}
 	}
 
@@ -139,12 +189,34 @@ public class PropertiesIdentityManager implements IdentityManager {
 	}
 
 	public static String encode(byte[] bytes) {
-		StringWriter sw = new StringWriter();
-		for (byte b : bytes) {
-			sw.append(String.format("%02x", b));
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+			chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
 		}
 
-		return sw.toString().toUpperCase();
+		return new String(chars);
+	}
+
+	/**
+	 * Decodes hex encoded bytes (case insensitive)
+	 * @param hex
+	 * @return decoded bytes or {@code null} if the value is not hex encoded
+	 */
+	static byte[] decode(String hex) {
+		if (hex.length() % 2 != 0) {
+			return null;
+		}
+		byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			int hi = Character.digit(hex.charAt(i * 2), 16);
+			int lo = Character.digit(hex.charAt(i * 2 + 1), 16);
+			if (hi < 0 || lo < 0) {
+				return null;
+			}
+			bytes[i] = (byte) ((hi << 4) | lo);
+		}
+		return bytes;
 	}
 
 }
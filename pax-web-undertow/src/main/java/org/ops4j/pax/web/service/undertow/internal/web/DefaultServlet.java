@@ -308,8 +308,15 @@ public class DefaultServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Pax Web: returns the {@link ETag} of a resource, so subclasses can use own ETag strategy
+     */
+    protected ETag getETag(Resource resource) {
+        return resource.getETag();
+    }
+
     private void serveFileBlocking(final HttpServletRequest req, final HttpServletResponse resp, final Resource resource, HttpServerExchange exchange) throws IOException {
-        final ETag etag = resource.getETag();
+        final ETag etag = getETag(resource);
         final Date lastModified = resource.getLastModified();
         if(req.getDispatcherType() != DispatcherType.INCLUDE) {
             if (!ETagUtils.handleIfMatch(req.getHeader(Headers.IF_MATCH_STRING), etag, false) ||
@@ -366,7 +373,7 @@ public class DefaultServlet extends HttpServlet {
                     //TODO: figure out what to do with the content encoded resource manager
                     final ByteRange range = ByteRange.parse(req.getHeader(Headers.RANGE_STRING));
                     if(range != null) {
-                        rangeResponse = range.getResponseResult(resource.getContentLength(), req.getHeader(Headers.IF_RANGE_STRING), resource.getLastModified(), resource.getETag() == null ? null : resource.getETag().getTag());
+                        rangeResponse = range.getResponseResult(resource.getContentLength(), req.getHeader(Headers.IF_RANGE_STRING), resource.getLastModified(), etag == null ? null : etag.getTag());
                         if(rangeResponse != null){
                             start = rangeResponse.getStart();
                             end = rangeResponse.getEnd();
@@ -442,7 +449,7 @@ public class DefaultServlet extends HttpServlet {
 
     }
 
-    private boolean isAllowed(String path, DispatcherType dispatcherType) {
+    protected boolean isAllowed(String path, DispatcherType dispatcherType) {
         if (!path.isEmpty()) {
             if(dispatcherType == DispatcherType.REQUEST) {
                 //WFLY-3543 allow the dispatcher to access stuff in web-inf and meta inf
@@ -32,6 +32,7 @@ import io.undertow.server.handlers.resource.ResourceChangeListener;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.server.handlers.resource.URLResource;
 import org.ops4j.pax.web.service.http.HttpContext;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,11 +56,16 @@ public class OsgiResourceManager implements ResourceManager {
 	private final FileETagFunction fileETagFunction;
 	private final PathResourceManager pathResourceManager;
 
+	// used to serve bundle resources from the file system
+	private final ResourceExtractionCache resourceExtraction;
+
 	private boolean directFileMapping = false;
 
-	public OsgiResourceManager(String chroot, ServletContext osgiScopedServletContext) {
+	public OsgiResourceManager(String chroot, ServletContext osgiScopedServletContext,
+			ResourceExtractionCache resourceExtraction) {
 		this.chroot = chroot;
 		this.osgiScopedServletContext = osgiScopedServletContext;
+		this.resourceExtraction = resourceExtraction;
 		this.fileETagFunction = new FileETagFunction();
 		File location = (File) osgiScopedServletContext.getAttribute(ServletContext.TEMPDIR);
 		if (location == null) {
@@ -95,6 +101,10 @@ public class OsgiResourceManager implements ResourceManager {
 		if (resource == null) {
 			return null;
 		}
+		if (resourceExtraction != null) {
+			// extracted bundle resource is served as PathResource (with FileChannel transfers)
+			resource = resourceExtraction.extract(resource);
+		}
 
 		Resource res = null;
 		if (resource.getProtocol().equals("file")) {
@@ -17,7 +17,9 @@ package org.ops4j.pax.web.service.undertow.internal.web;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URL;
 import java.nio.file.Paths;
+import java.util.Date;
 import java.util.Enumeration;
 
 import jakarta.servlet.DispatcherType;
@@ -36,8 +38,12 @@ import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceChangeListener;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.servlet.spec.HttpServletRequestImpl;
+import io.undertow.util.ETag;
 import org.ops4j.pax.web.service.spi.servlet.OsgiScopedServletContext;
 import org.ops4j.pax.web.service.spi.servlet.OsgiServletContext;
+import org.ops4j.pax.web.service.spi.servlet.ResourceCompression;
+import org.ops4j.pax.web.service.spi.servlet.ResourceETagStrategy;
+import org.ops4j.pax.web.service.spi.servlet.ResourceExtractionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +90,12 @@ public class UndertowResourceServlet extends DefaultServlet implements ResourceM
 	private Integer maxSize;
 	private Integer maxAge;
 
+	private ResourceCompression resourceCompression;
+
+	private ResourceExtractionCache resourceExtraction;
+
+	private ResourceETagStrategy etagStrategy;
+
 	public UndertowResourceServlet(File baseDirectory, String chroot) {
 		this.baseDirectory = baseDirectory;
 		this.chroot = chroot;
@@ -123,6 +135,18 @@ public class UndertowResourceServlet extends DefaultServlet implements ResourceM
 		this.redirectWelcome = welcomeFilesRedirect;
 	}
 
+	public void setResourceCompression(ResourceCompression resourceCompression) {
+		this.resourceCompression = resourceCompression;
+	}
+
+	public void setResourceExtraction(ResourceExtractionCache resourceExtraction) {
+		this.resourceExtraction = resourceExtraction;
+	}
+
+	public void setETagStrategy(ResourceETagStrategy etagStrategy) {
+		this.etagStrategy = etagStrategy;
+	}
+
 	@Override
 	public void init(final ServletConfig config) throws ServletException {
 		configureCache();
@@ -192,7 +216,7 @@ public class UndertowResourceServlet extends DefaultServlet implements ResourceM
 			// resource will be obtained from HttpContext.getResource() / ServletContextHelper.getResource()
 			// assuming that servletContext is Osgi[Scoped]ServletContext that delegate to WebContainerContext
 			// it's important to get ServletContext from the passed config!
-			this.resourceManager = new OsgiResourceManager(chroot, config.getServletContext());
+			this.resourceManager = new OsgiResourceManager(chroot, config.getServletContext(), resourceExtraction);
 		}
 	}
 
@@ -228,6 +252,19 @@ public class UndertowResourceServlet extends DefaultServlet implements ResourceM
 		}
 
 		if (requestURI == null || !requestURI.endsWith("/")) {
+			if ((resourceCompression != null || etagStrategy != null) && !included) {
+				String path = getPath(req);
+				HttpServerExchange exchange = requireCurrentServletRequestContext().getOriginalRequest().getExchange();
+				if (isAllowed(path, req.getDispatcherType())) {
+					if (etagStrategy != null && etagStrategy.isImmutable(path) && resourceURL(exchange, path) != null) {
+						resp.setHeader("Cache-Control", ResourceETagStrategy.IMMUTABLE_CACHE_CONTROL);
+					}
+					if (resourceCompression != null
+							&& resourceCompression.serve(req, resp, path, p -> resourceURL(exchange, p))) {
+						return;
+					}
+				}
+			}
 			super.doGet(req, resp);
 			return;
 		}
@@ -337,6 +374,42 @@ public class UndertowResourceServlet extends DefaultServlet implements ResourceM
 		super.doGet(req, resp);
 	}
 
+	/**
+	 * Returns {@link URL} of existing, non-directory resource, so it can be compressed or cached as immutable
+	 * @param exchange
+	 * @param path
+	 * @return
+	 */
+	private URL resourceURL(HttpServerExchange exchange, String path) {
+		try {
+			Resource resource = resourceSupplier.getResource(exchange, path);
+			return resource == null || resource.isDirectory() ? null : resource.getUrl();
+		} catch (IOException e) {
+			LOG.debug("Can't resolve {}: {}", path, e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	protected ETag getETag(Resource resource) {
+		if (etagStrategy != null && !resource.isDirectory()) {
+			Date lastModified = resource.getLastModified();
+			Long length = resource.getContentLength();
+			String etag = etagStrategy.getETag(resource.getUrl(), lastModified == null ? -1L : lastModified.getTime(),
+					length == null ? -1L : length);
+			if (etag != null) {
+				// Undertow's ETag is without quotes
+				boolean weak = etag.startsWith("W/");
+				String tag = weak ? etag.substring(2) : etag;
+				if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+					tag = tag.substring(1, tag.length() - 1);
+				}
+				return new ETag(weak, tag);
+			}
+		}
+		return super.getETag(resource);
+	}
+
 	@Override
 	protected void doOptions(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		// https://github.com/ops4j/org.ops4j.pax.web/issues/1664
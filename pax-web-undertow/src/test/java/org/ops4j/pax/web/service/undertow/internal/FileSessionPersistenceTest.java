@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileSessionPersistenceTest {
+
+	@TempDir
+	public File dir;
+
+	@Test
+	public void sessionsAreStoredInSegmentsAndLoadedLazily() {
+		long future = System.currentTimeMillis() + 60_000L;
+		Map<String, PersistentSession> sessions = new LinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("n", i);
+			data.put("payload", new byte[1024]);
+			sessions.put("s" + i, new PersistentSession(new Date(future), data));
+		}
+		sessions.put("expired", new PersistentSession(new Date(42L), new LinkedHashMap<>()));
+
+		FileSessionPersistence persistence = new FileSessionPersistence(dir, 16 * 1024);
+		persistence.persistSessions("app", sessions);
+		assertThat(new File(dir, "app.idx")).isFile();
+		assertThat(dir.list((d, name) -> name.endsWith(".seg")).length).isGreaterThan(1);
+		assertThat(dir.list((d, name) -> name.endsWith(".tmp"))).isEmpty();
+
+		Map<String, PersistentSession> loaded = persistence.loadSessionAttributes("app", getClass().getClassLoader());
+		assertThat(loaded).hasSize(100).doesNotContainKey("expired");
+		assertThat(loaded.get("s42").getExpiration().getTime()).isEqualTo(future);
+		assertThat(loaded.get("s42").getSessionData()).containsEntry("n", 42);
+		assertThat((byte[]) loaded.get("s99").getSessionData().get("payload")).hasSize(1024);
+
+		// fewer sessions on next stop - previous segments are removed
+		persistence.persistSessions("app", Map.of("s1", sessions.get("s1")));
+		assertThat(dir.list((d, name) -> name.endsWith(".seg"))).containsExactly("app.0.seg");
+		assertThat(persistence.loadSessionAttributes("app", null)).containsOnlyKeys("s1");
+
+		persistence.clear("app");
+		assertThat(dir.list()).isEmpty();
+	}
+
+	@Test
+	public void legacySessionsAreLoaded() throws Exception {
+		Map<String, Object> session = new LinkedHashMap<>();
+		session.put("expiration", 1234L);
+		session.put("data", new LinkedHashMap<>(Map.of("a", "b")));
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("s1", session);
+		try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(new File(dir, "_ROOT_deployment"))))) {
+			oos.writeObject(map);
+		}
+
+		Map<String, PersistentSession> loaded = new FileSessionPersistence(dir).loadSessionAttributes("", null);
+		assertThat(loaded).containsOnlyKeys("s1");
+		assertThat(loaded.get("s1").getSessionData()).containsEntry("a", "b");
+	}
+
+}
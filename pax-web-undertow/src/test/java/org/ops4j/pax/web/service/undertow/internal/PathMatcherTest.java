@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.resource.ClassPathResourceManager;
+import io.undertow.server.handlers.resource.ResourceHandler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathMatcherTest {
+
+	@Test
+	public void longestPrefixMatches() {
+		PathMatcher<String> matcher = new PathMatcher<>("root");
+		matcher.addPrefixPath("/app", "app");
+		matcher.addPrefixPath("/app/admin", "admin");
+		matcher.addPrefixPath("/application", "application");
+
+		PathMatcher.PathMatch<String> match = matcher.match("/app/admin/users");
+		assertThat(match.getValue()).isEqualTo("admin");
+		assertThat(match.getMatched("/app/admin/users")).isEqualTo("/app/admin");
+		assertThat(match.getRemaining("/app/admin/users")).isEqualTo("/users");
+
+		assertThat(matcher.match("/app/administrator").getValue()).isEqualTo("app");
+		assertThat(matcher.match("/app").getValue()).isEqualTo("app");
+		assertThat(matcher.match("/app").getRemaining("/app")).isEmpty();
+		assertThat(matcher.match("/app/").getRemaining("/app/")).isEqualTo("/");
+		assertThat(matcher.match("/application/x").getValue()).isEqualTo("application");
+		assertThat(matcher.match("/applications").getValue()).isEqualTo("root");
+		assertThat(matcher.match("/ap").getRemaining("/ap")).isEqualTo("/ap");
+		assertThat(matcher.match("").getValue()).isEqualTo("root");
+
+		// the same, pre-allocated match object for each request
+		assertThat(matcher.match("/app/a")).isSameAs(matcher.match("/app/b"));
+
+		matcher.removePrefixPath("/app/admin");
+		assertThat(matcher.match("/app/admin/users").getValue()).isEqualTo("app");
+		matcher.removePrefixPath("/");
+		assertThat(matcher.match("/other").getValue()).isNull();
+		assertThat(matcher.getPaths()).containsOnlyKeys("/app", "/application");
+	}
+
+	@Test
+	public void exactPathsArePreferred() {
+		PathMatcher<String> matcher = new PathMatcher<>();
+		matcher.addPrefixPath("/app", "app");
+		matcher.addExactPath("/app/index", "index");
+
+		PathMatcher.PathMatch<String> match = matcher.match("/app/index/");
+		assertThat(match.getValue()).isEqualTo("index");
+		assertThat(match.getMatched("/app/index/")).isEqualTo("/app/index/");
+		assertThat(match.getRemaining("/app/index/")).isEmpty();
+		assertThat(matcher.match("/app/index/x").getValue()).isEqualTo("app");
+		assertThat(matcher.getExactPath("/app/index")).isEqualTo("index");
+	}
+
+	@Test
+	public void lastRootHandlerWins() {
+		HttpHandler resources = new ResourceHandler(new ClassPathResourceManager(getClass().getClassLoader()));
+		HttpHandler rootContext = exchange -> { };
+		HttpHandler otherRootContext = exchange -> { };
+
+		PathMatcher<HttpHandler> matcher = new PathMatcher<>();
+		matcher.addPrefixPath("/", resources);
+		matcher.addPrefixPath("/app", exchange -> { });
+		// root context registered after ResourceHandler from undertow.xml replaces it (with a warning)
+		matcher.addPrefixPath("/", rootContext);
+		assertThat(matcher.match("/index.html").getValue()).isSameAs(rootContext);
+		assertThat(matcher.getDefaultHandler()).isSameAs(rootContext);
+
+		matcher.addPrefixPath("/", resources);
+		assertThat(matcher.match("/index.html").getValue()).isSameAs(resources);
+		matcher.addPrefixPath("/", otherRootContext);
+		assertThat(matcher.match("/").getValue()).isSameAs(otherRootContext);
+		assertThat(matcher.match("/app/x").getValue()).isNotSameAs(otherRootContext);
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.ops4j.pax.web.service.spi.config.Configuration;
+import org.xnio.XnioProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UndertowFactoryTest {
+
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	public void virtualThreadsExecutor() throws Exception {
+		UndertowFactory factory = new UndertowFactory(UndertowFactory.class.getClassLoader(), mock(XnioProvider.class));
+		ExecutorService executor = factory.createVirtualThreadsExecutor(configuration());
+
+		assertThat(executor).isNotNull();
+		try {
+			CompletableFuture<String> name = new CompletableFuture<>();
+			executor.execute(() -> name.complete(Thread.currentThread().getName()));
+			assertThat(name.get(5, TimeUnit.SECONDS)).startsWith("test virtual-");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	public void platformThreadsWithoutVirtualThreadsSupport() {
+		// the fallback itself (and its warning) is checked in VirtualThreadSupportTest
+		UndertowFactory factory = new UndertowFactory(UndertowFactory.class.getClassLoader(), mock(XnioProvider.class));
+
+		// requests are handled by XNIO task threads
+		assertThat(factory.createVirtualThreadsExecutor(configuration())).isNull();
+	}
+
+	private static Configuration configuration() {
+		Configuration configuration = mock(Configuration.class, RETURNS_DEEP_STUBS);
+		when(configuration.server().isServerVirtualThreads()).thenReturn(true);
+		when(configuration.server().getServerMaxThreads()).thenReturn(10);
+		when(configuration.server().getServerMinThreads()).thenReturn(2);
+		when(configuration.server().getServerIdleTimeout()).thenReturn(60000);
+		when(configuration.server().getServerThreadNamePrefix()).thenReturn("test");
+		return configuration;
+	}
+
+}
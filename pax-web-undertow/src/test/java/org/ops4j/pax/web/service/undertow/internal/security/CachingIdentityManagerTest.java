@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.web.service.undertow.internal.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import io.undertow.security.idm.Account;
+import io.undertow.security.idm.Credential;
+import io.undertow.security.idm.IdentityManager;
+import io.undertow.security.idm.PasswordCredential;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingIdentityManagerTest {
+
+	@Test
+	public void cachedVerification() throws Exception {
+		Map<String, String> users = new HashMap<>();
+		users.put("admin", "MD5:" + PropertiesIdentityManager.encode(MessageDigest.getInstance("MD5")
+				.digest("secret".getBytes(StandardCharsets.UTF_8))).toLowerCase() + ", admin, manager");
+		users.put("user", "password");
+		CountingIdentityManager delegate = new CountingIdentityManager(new PropertiesIdentityManager(users));
+		CachingIdentityManager idm = new CachingIdentityManager(delegate, 60000L, 2);
+
+		Account account = idm.verify("admin", password("secret"));
+		assertThat(account).isNotNull();
+		assertThat(account.getRoles()).containsOnly("admin", "manager");
+		assertThat(idm.verify("admin", password("secret"))).isSameAs(account);
+		assertThat(delegate.count.get()).isEqualTo(1);
+
+		// failed verifications are not cached
+		assertThat(idm.verify("admin", password("wrong"))).isNull();
+		assertThat(idm.verify("admin", password("wrong"))).isNull();
+		assertThat(delegate.count.get()).isEqualTo(3);
+
+		assertThat(idm.verify("user", password("password"))).isNotNull();
+		assertThat(idm.getSize()).isEqualTo(2);
+
+		idm.invalidate("admin");
+		assertThat(idm.getSize()).isEqualTo(1);
+		assertThat(idm.verify("admin", password("secret"))).isSameAs(account);
+		assertThat(delegate.count.get()).isEqualTo(5);
+
+		idm.invalidateAll();
+		assertThat(idm.getSize()).isZero();
+	}
+
+	@Test
+	public void boundedAndExpiring() throws Exception {
+		Map<String, String> users = new HashMap<>();
+		for (int i = 0; i < 10; i++) {
+			users.put("u" + i, "p" + i);
+		}
+		CountingIdentityManager delegate = new CountingIdentityManager(new PropertiesIdentityManager(users));
+		CachingIdentityManager idm = new CachingIdentityManager(delegate, 60000L, 4);
+		for (int i = 0; i < 10; i++) {
+			assertThat(idm.verify("u" + i, password("p" + i))).isNotNull();
+		}
+		assertThat(idm.getSize()).isEqualTo(4);
+
+		idm = new CachingIdentityManager(delegate, 1L, 4);
+		delegate.count.set(0);
+		idm.verify("u1", password("p1"));
+		Thread.sleep(10);
+		idm.verify("u1", password("p1"));
+		assertThat(delegate.count.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void invalidationThroughJmx() throws Exception {
+		Map<String, String> users = new HashMap<>();
+		users.put("admin", "secret");
+		users.put("user", "password");
+		CachingIdentityManager idm = new CachingIdentityManager(new PropertiesIdentityManager(users), 60000L, 16);
+		idm.verify("admin", password("secret"));
+		idm.verify("user", password("password"));
+
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		ObjectName name = new ObjectName(CachingIdentityManager.OBJECT_NAME);
+		server.registerMBean(idm, name);
+
+		assertThat(server.getAttribute(name, "Size")).isEqualTo(2);
+		server.invoke(name, "invalidate", new Object[] { "admin" }, new String[] { String.class.getName() });
+		assertThat(idm.getSize()).isEqualTo(1);
+		server.invoke(name, "invalidateAll", new Object[0], new String[0]);
+		assertThat(idm.getSize()).isZero();
+	}
+
+	private static PasswordCredential password(String password) {
+		return new PasswordCredential(password.toCharArray());
+	}
+
+	private static class CountingIdentityManager implements IdentityManager {
+		private final IdentityManager delegate;
+		private final AtomicInteger count = new AtomicInteger();
+
+		CountingIdentityManager(IdentityManager delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Account verify(Account account) {
+			return delegate.verify(account);
+		}
+
+		@Override
+		public Account verify(String id, Credential credential) {
+			count.incrementAndGet();
+			return delegate.verify(id, credential);
+		}
+
+		@Override
+		public Account verify(Credential credential) {
+			return delegate.verify(credential);
+		}
+	}
+
+}